@@ -0,0 +1,42 @@
+package ca.ulaval.glo2004;
+
+import ca.ulaval.glo2004.patio.OptimalPatioAtlas;
+import ca.ulaval.glo2004.patio.PatioInfoFactory;
+import ca.ulaval.glo2004.utils.Dimensions;
+import ca.ulaval.glo2004.utils.OptimalPatioAtlasProgressListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Builds the atlas of the optimal patios of the default covering and prices, read by Pationator to suggest an optimal
+ * patio without searching. Arguments, all optional: the atlas file, the step of the grid, then the smallest and
+ * largest width, depth and height, in inches.
+ */
+public class AppOptimalPatioAtlas {
+    private static final float[] DEFAULT_GRID = {48f, 480f, 48f, 480f, 22.5f, 118.5f};
+
+    public static void main(String[] args) throws IOException {
+        Path file = args.length > 0 ? Paths.get(args[0]) : OptimalPatioAtlas.getDefaultFile();
+        float step = args.length > 1 ? Float.parseFloat(args[1]) : OptimalPatioAtlas.DEFAULT_STEP;
+
+        float[] grid = DEFAULT_GRID.clone();
+        for (int idxArg = 2; idxArg < args.length && idxArg - 2 < grid.length; idxArg++) {
+            grid[idxArg - 2] = Float.parseFloat(args[idxArg]);
+        }
+
+        final long startMillis = System.currentTimeMillis();
+        OptimalPatioAtlas.build(file, PatioInfoFactory.getInstance().createDefaultPatio(),
+                new Dimensions(grid[0], grid[4], grid[2]), new Dimensions(grid[1], grid[5], grid[3]), step,
+                new OptimalPatioAtlasProgressListener() {
+                    @Override
+                    public void onOptimalPatioAtlasProgress(int _nbSearchedCells, int _nbCells) {
+                        System.out.println(_nbSearchedCells + " / " + _nbCells + " cells searched in " +
+                                (System.currentTimeMillis() - startMillis) / 1000 + " s");
+                    }
+                });
+
+        System.out.println("Atlas written to " + file.toAbsolutePath());
+    }
+}
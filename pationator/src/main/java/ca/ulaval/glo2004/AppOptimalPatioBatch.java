@@ -0,0 +1,42 @@
+package ca.ulaval.glo2004;
+
+import ca.ulaval.glo2004.patio.OptimalPatioBatch;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Generates the optimal patio of every row of a CSV file of patio specifications, without opening any window, so it
+ * can run on a server. Arguments, all optional: the input CSV file and the output CSV file, - or nothing for the
+ * standard input and output, then the number of rows optimized at the same time.
+ */
+public class AppOptimalPatioBatch {
+    public static void main(String[] args) throws IOException {
+        //No window, font or toolkit is ever needed, even on a machine with a display
+        System.setProperty("java.awt.headless", "true");
+
+        boolean isReadingStandardInput = args.length < 1 || args[0].equals("-");
+        boolean isWritingStandardOutput = args.length < 2 || args[1].equals("-");
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        long startMillis = System.currentTimeMillis();
+        try (BufferedReader input = isReadingStandardInput ?
+                new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)) :
+                Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8);
+             Writer output = isWritingStandardOutput ?
+                     new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)) :
+                     Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+            int nbRows = new OptimalPatioBatch(parallelism).run(input, output);
+
+            System.err.println(nbRows + " rows written in " + (System.currentTimeMillis() - startMillis) / 1000 +
+                    " s");
+        }
+    }
+}
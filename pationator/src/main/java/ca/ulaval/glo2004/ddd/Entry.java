@@ -1,8 +1,11 @@
 package ca.ulaval.glo2004.ddd;
 
 import ca.ulaval.glo2004.patio.Component;
+import ca.ulaval.glo2004.patio.ComponentType;
 import ca.ulaval.glo2004.patio.PatioController;
+import ca.ulaval.glo2004.patio.PatioSnapshot;
 import ca.ulaval.glo2004.patio.WoodPiece;
+import ca.ulaval.glo2004.patio.WoodPieceVisitor;
 import ca.ulaval.glo2004.utils.Dimensions;
 
 import javax.swing.*;
@@ -108,53 +111,28 @@ public class Entry extends JPanel implements KeyListener, MouseWheelListener, Mo
 
         WoodPiece fixedPosition = Component.getFixedPosition(woodPiece, fixedOrientation);
 
-        xPos = fixedPosition.getCentralPosition().x - (width / 2);
-        yPos = fixedPosition.getCentralPosition().y - (height / 2);
-        zPos = fixedPosition.getCentralPosition().z - (depth / 2);
+        xPos = fixedPosition.getCentralX() - (width / 2);
+        yPos = fixedPosition.getCentralY() - (height / 2);
+        zPos = fixedPosition.getCentralZ() - (depth / 2);
         fixedPosition.setCentralPosition(xPos, yPos, zPos);
 
         return fixedPosition;
     }
 
     private void updateComponent(PatioController _patioController) {
-        for (Component component : _patioController.getPatio().getPosts()) {
-            Color color = component.getColor();
-            ArrayList<WoodPiece> woodPieces = component.getWoodPieces();
+        PatioSnapshot snapshot = _patioController.getPatio().getSnapshot();
 
-            for (WoodPiece woodPiece : woodPieces) {
-                WoodPiece fixedWoodPiece = fixWoodPieceFor3d(woodPiece);
-                woodPieces3d.add(get3dWoodPiece(fixedWoodPiece, color));
-            }
-        }
-
-        for(Component component : _patioController.getPatio().getBeams()) {
-            Color color = component.getColor();
-            ArrayList<WoodPiece> woodPieces = component.getWoodPieces();
-
-            for(WoodPiece woodPiece : woodPieces) {
-                WoodPiece fixedWoodPiece = fixWoodPieceFor3d(woodPiece);
-                woodPieces3d.add(get3dWoodPiece(fixedWoodPiece, color));
-            }
-        }
-
-        for(Component component : _patioController.getPatio().getSpans()) {
-            Color color = component.getColor();
-            ArrayList<WoodPiece> woodPieces = component.getWoodPieces();
+        for (ComponentType componentType : new ComponentType[]{ComponentType.POST, ComponentType.BEAM,
+                ComponentType.JOIST, ComponentType.COVERING_PLANK}) {
+            final Color color = _patioController.getColor(componentType);
 
-            for(WoodPiece woodPiece : woodPieces) {
-                WoodPiece fixedWoodPiece = fixWoodPieceFor3d(woodPiece);
-                woodPieces3d.add(get3dWoodPiece(fixedWoodPiece, color));
-            }
-        }
-
-        for(Component component : _patioController.getPatio().getCovering()) {
-            Color color = component.getColor();
-            ArrayList<WoodPiece> woodPieces = component.getWoodPieces();
-
-            for(WoodPiece woodPiece : woodPieces) {
-                WoodPiece fixedWoodPiece = fixWoodPieceFor3d(woodPiece);
-                woodPieces3d.add(get3dWoodPiece(fixedWoodPiece, color));
-            }
+            snapshot.visitPieces(new WoodPieceVisitor() {
+                @Override
+                public void visit(Component _component, WoodPiece _woodPiece) {
+                    WoodPiece fixedWoodPiece = fixWoodPieceFor3d(_woodPiece);
+                    woodPieces3d.add(get3dWoodPiece(fixedWoodPiece, color));
+                }
+            }, componentType);
         }
     }
 
@@ -195,12 +173,12 @@ public class Entry extends JPanel implements KeyListener, MouseWheelListener, Mo
     private Face3dPolygon[] get3dWoodPiece(WoodPiece _woodPiece, Color _color) {
         Face3dPolygon[] woodPiece3d = new Face3dPolygon[6];
 
-        double xPos = _woodPiece.getCentralPosition().x;
-        double yPos = _woodPiece.getCentralPosition().y;
-        double zPos = _woodPiece.getCentralPosition().z;
-        double width = _woodPiece.getDimensions().getActualWidth();
-        double height = _woodPiece.getDimensions().getActualHeight();
-        double depth = _woodPiece.getDimensions().getActualDepth();
+        double xPos = _woodPiece.getCentralX();
+        double yPos = _woodPiece.getCentralY();
+        double zPos = _woodPiece.getCentralZ();
+        double width = _woodPiece.getWidth();
+        double height = _woodPiece.getHeight();
+        double depth = _woodPiece.getDepth();
 
         woodPiece3d[0] = new Face3dPolygon(
                 new double[]{xPos, xPos + width, xPos + width, xPos},
@@ -39,9 +39,7 @@ public class Beam extends Component {
 
         for (int idxPlie = 0; idxPlie < nbPlies; idxPlie++) {
             Vector3 plieCentralPosition = getPlieCentralPosition(idxPlie);
-            WoodPiece plie = new WoodPiece(pliesDimensions, plieCentralPosition, ComponentType.BEAM);
-
-            woodPieces.add(plie);
+            addWoodPiece(pliesDimensions, plieCentralPosition, ComponentType.BEAM);
         }
     }
 
@@ -0,0 +1,68 @@
+package ca.ulaval.glo2004.patio;
+
+/**
+ * The smallest beams allowed by the structural tables for a post spacing and a joist span: a number of plies and a
+ * nominal plie size, and sometimes an alternate number of plies with a smaller plie size. A beam is allowed if it is at
+ * least as large as either of them. The properties are filled by the lookups, and can be reused between them.
+ */
+public class BeamProperties {
+    private int pliesCount;
+    private float beamHeight;
+    private float beamWidth;
+    private int alternatePliesCount;
+    private float alternateBeamHeight;
+    private float alternateBeamWidth;
+
+    /**
+     * Sets the properties found by a lookup
+     *
+     * @param _pliesCount          Number of plies
+     * @param _beamHeight          Nominal height of the plies
+     * @param _beamWidth           Nominal width of the plies
+     * @param _alternatePliesCount Alternate number of plies, or 0 if there are no alternate properties
+     * @param _alternateBeamHeight Alternate nominal height of the plies
+     * @param _alternateBeamWidth  Alternate nominal width of the plies
+     */
+    void set(int _pliesCount, float _beamHeight, float _beamWidth, int _alternatePliesCount,
+             float _alternateBeamHeight, float _alternateBeamWidth) {
+        pliesCount = _pliesCount;
+        beamHeight = _beamHeight;
+        beamWidth = _beamWidth;
+        alternatePliesCount = _alternatePliesCount;
+        alternateBeamHeight = _alternateBeamHeight;
+        alternateBeamWidth = _alternateBeamWidth;
+    }
+
+    public int getPliesCount() {
+        return pliesCount;
+    }
+
+    public float getBeamHeight() {
+        return beamHeight;
+    }
+
+    public float getBeamWidth() {
+        return beamWidth;
+    }
+
+    /**
+     * Indicates if a beam with fewer plies, but larger plies, is also allowed
+     *
+     * @return True if there are alternate properties
+     */
+    public boolean hasAlternate() {
+        return alternatePliesCount > 0;
+    }
+
+    public int getAlternatePliesCount() {
+        return alternatePliesCount;
+    }
+
+    public float getAlternateBeamHeight() {
+        return alternateBeamHeight;
+    }
+
+    public float getAlternateBeamWidth() {
+        return alternateBeamWidth;
+    }
+}
@@ -0,0 +1,307 @@
+package ca.ulaval.glo2004.patio;
+
+import ca.ulaval.glo2004.utils.Conversion;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Validates many candidate configurations in one call. The errors of every candidate are returned as a bitmask, the
+ * bit of a ValidationErrorType being 1 shifted by its ordinal. The BulkValidator holds no state besides its
+ * StructuralTables, which are never modified once loaded, so it can be shared and called from many threads at once,
+ * as long as the validated PatioCandidateStore is not modified during the call. The rules are the ones of the
+ * Validator, which evaluates them through the same methods.
+ */
+public class BulkValidator {
+    private static final ValidationErrorType[] ERROR_TYPES = ValidationErrorType.values();
+
+    private final StructuralTables structuralTables;
+
+    /**
+     * The BulkValidator constructor. It validates according to the default structural tables
+     */
+    public BulkValidator() {
+        this(StructuralTables.getDefault());
+    }
+
+    /**
+     * The BulkValidator constructor
+     *
+     * @param _structuralTables The structural tables the rules are looked up in
+     */
+    public BulkValidator(StructuralTables _structuralTables) {
+        structuralTables = _structuralTables;
+    }
+
+    /**
+     * Validates every candidate of a store
+     *
+     * @param _candidates The candidates to validate
+     * @return The bitmask of the errors of every candidate, 0 if the candidate is valid
+     */
+    public int[] validate(PatioCandidateStore _candidates) {
+        int[] errorsMasks = new int[_candidates.size()];
+        validate(_candidates, 0, errorsMasks.length, errorsMasks);
+
+        return errorsMasks;
+    }
+
+    /**
+     * Validates a range of candidates of a store. The threads validating a sweep can each validate their own range
+     * in a shared result array
+     *
+     * @param _candidates    The candidates to validate
+     * @param _idxFirst      The index of the first candidate to validate
+     * @param _idxEnd        The index following the last candidate to validate
+     * @param _errorsMasks   The array receiving the bitmask of the errors of every candidate, at the candidate index
+     */
+    public void validate(PatioCandidateStore _candidates, int _idxFirst, int _idxEnd, int[] _errorsMasks) {
+        if (_idxFirst < 0 || _idxEnd > _candidates.size() || _idxFirst > _idxEnd)
+            throw new IndexOutOfBoundsException("Invalid candidates range [" + _idxFirst + ", " + _idxEnd + ")");
+
+        //Confined to the call, so the validator stays stateless
+        BeamProperties allowedBeamProperties = new BeamProperties();
+
+        for (int idxCandidate = _idxFirst; idxCandidate < _idxEnd; idxCandidate++) {
+            _errorsMasks[idxCandidate] = validate(_candidates, idxCandidate, allowedBeamProperties);
+        }
+    }
+
+    /**
+     * Validates a candidate of a store, like Validator.validateConfiguration
+     *
+     * @param _candidates            The store of the candidate
+     * @param _idxCandidate          The index of the candidate
+     * @param _allowedBeamProperties The beam properties receiving the lookups of the beam rules
+     * @return The bitmask of the errors of the candidate
+     */
+    private int validate(PatioCandidateStore _candidates, int _idxCandidate, BeamProperties _allowedBeamProperties) {
+        int pliesPerBeam = _candidates.getCount(_idxCandidate, PatioCandidateStore.PLIES_PER_BEAM);
+        int nbBeams = _candidates.getCount(_idxCandidate, PatioCandidateStore.BEAM_AMOUNT);
+        float joistNominalWidth = _candidates.getValue(_idxCandidate, PatioCandidateStore.JOIST_NOMINAL_WIDTH);
+        float joistNominalHeight = _candidates.getValue(_idxCandidate, PatioCandidateStore.JOIST_NOMINAL_HEIGHT);
+        float joistSpan = _candidates.getValue(_idxCandidate, PatioCandidateStore.JOIST_SPAN);
+        float postSpacing = _candidates.getValue(_idxCandidate, PatioCandidateStore.POST_SPACING);
+        float beamNominalWidth = _candidates.getValue(_idxCandidate, PatioCandidateStore.BEAM_NOMINAL_WIDTH);
+        float beamNominalHeight = _candidates.getValue(_idxCandidate, PatioCandidateStore.BEAM_NOMINAL_HEIGHT);
+        int errorsMask = 0;
+
+        //The first beam is attached to the house, only the other ones are supported by posts
+        if (nbBeams > 1) {
+            errorsMask |= validatePost(structuralTables,
+                    _candidates.getValue(_idxCandidate, PatioCandidateStore.POST_NOMINAL_WIDTH),
+                    _candidates.getValue(_idxCandidate, PatioCandidateStore.POST_NOMINAL_HEIGHT),
+                    _candidates.getValue(_idxCandidate, PatioCandidateStore.POST_HEIGHT), pliesPerBeam);
+        }
+
+        errorsMask |= validateSpan(structuralTables,
+                _candidates.getValue(_idxCandidate, PatioCandidateStore.JOIST_SPACING), joistNominalWidth,
+                joistNominalHeight, joistSpan,
+                _candidates.getValue(_idxCandidate, PatioCandidateStore.COVERING_NOMINAL_WIDTH),
+                _candidates.getValue(_idxCandidate, PatioCandidateStore.COVERING_NOMINAL_HEIGHT));
+        errorsMask |= validateCantilever(structuralTables, joistNominalWidth, joistNominalHeight,
+                _candidates.getValue(_idxCandidate, PatioCandidateStore.CANTILEVER_LENGTH));
+
+        //The first and the last beams support a single span, or none if the patio has a single beam
+        errorsMask |= validateBeam(structuralTables, postSpacing, joistSpan, false, pliesPerBeam, beamNominalWidth,
+                beamNominalHeight, _allowedBeamProperties);
+        if (nbBeams > 2) {
+            errorsMask |= validateBeam(structuralTables, postSpacing, joistSpan, true, pliesPerBeam, beamNominalWidth,
+                    beamNominalHeight, _allowedBeamProperties);
+        }
+
+        return errorsMask;
+    }
+
+    /**
+     * Validates the posts supporting a beam from their dimensions and the number of plies of the beam
+     *
+     * @param _structuralTables  The structural tables the rule is looked up in
+     * @param _postNominalWidth  The nominal width of the posts
+     * @param _postNominalHeight The nominal height of the posts
+     * @param _postHeight        The height of the posts, in actual inches
+     * @param _pliesCount        The number of plies of the supported beam
+     * @return The bitmask of the errors found
+     */
+    static int validatePost(StructuralTables _structuralTables, float _postNominalWidth, float _postNominalHeight,
+                            float _postHeight, int _pliesCount) {
+        float postHeight = Conversion.inchesToFeet(_postHeight);
+        float validPostSize = _structuralTables.getAllowedPostNominalSize(postHeight, _pliesCount);
+        int errorsMask = 0;
+
+        if (validPostSize != -1) {
+            if (_postNominalWidth < validPostSize || _postNominalHeight < validPostSize) {
+                errorsMask |= getErrorBit(ValidationErrorType.POST_DIMENSIONS);
+            }
+
+            if (postHeight > 12f) {
+                errorsMask |= getErrorBit(ValidationErrorType.POST_HEIGHT);
+            }
+        } else {
+            errorsMask |= getErrorBit(ValidationErrorType.POST_HEIGHT);
+        }
+
+        return errorsMask;
+    }
+
+    /**
+     * Validates a span from its joists and the covering planks
+     *
+     * @param _structuralTables      The structural tables the rule is looked up in
+     * @param _joistSpacing          The spacing of the joists of the span
+     * @param _joistNominalWidth     The nominal width of the joists of the span
+     * @param _joistNominalHeight    The nominal height of the joists of the span
+     * @param _joistSpan             The length of the span
+     * @param _coveringNominalWidth  The nominal width of the covering planks
+     * @param _coveringNominalHeight The nominal height of the covering planks
+     * @return The bitmask of the errors found
+     */
+    static int validateSpan(StructuralTables _structuralTables, float _joistSpacing, float _joistNominalWidth,
+                            float _joistNominalHeight, float _joistSpan, float _coveringNominalWidth,
+                            float _coveringNominalHeight) {
+        int errorsMask = 0;
+
+        float allowedSpanLength = _structuralTables.getAllowedSpanLength(_joistSpacing, _joistNominalHeight,
+                _joistNominalWidth);
+        if (allowedSpanLength != -1) {
+            if (Float.compare(_joistSpan, allowedSpanLength) > 0) {
+                errorsMask |= getErrorBit(ValidationErrorType.SPAN_LENGTH);
+            }
+        } else if (_joistSpacing > 24) {
+            errorsMask |= getErrorBit(ValidationErrorType.JOIST_SPACING);
+        } else {
+            errorsMask |= getErrorBit(ValidationErrorType.JOIST_DIMENSIONS);
+        }
+
+        float allowedJoistSpacing = _structuralTables.getAllowedJoistSpacing(_coveringNominalHeight,
+                _coveringNominalWidth);
+        if (allowedJoistSpacing != -1) {
+            if (Float.compare(_joistSpacing, allowedJoistSpacing) > 0) {
+                errorsMask |= getErrorBit(ValidationErrorType.JOIST_SPACING);
+            }
+        } else {
+            errorsMask |= getErrorBit(ValidationErrorType.COVERING_DIMENSIONS);
+        }
+
+        return errorsMask;
+    }
+
+    /**
+     * Validates a cantilever length from the joists dimensions
+     *
+     * @param _structuralTables   The structural tables the rule is looked up in
+     * @param _joistNominalWidth  The nominal width of the joists
+     * @param _joistNominalHeight The nominal height of the joists
+     * @param _cantileverLength   The length of the cantilever
+     * @return The bitmask of the errors found
+     */
+    static int validateCantilever(StructuralTables _structuralTables, float _joistNominalWidth,
+                                  float _joistNominalHeight, float _cantileverLength) {
+        float allowedCantileverLength = _structuralTables.getAllowedCantileverLength(_joistNominalHeight,
+                _joistNominalWidth);
+
+        if (allowedCantileverLength == -1)
+            return getErrorBit(ValidationErrorType.JOIST_DIMENSIONS);
+
+        return Float.compare(_cantileverLength, allowedCantileverLength) > 0 ?
+                getErrorBit(ValidationErrorType.CANTILEVER_LENGTH) : 0;
+    }
+
+    /**
+     * Validates a beam from the spacing of its posts and the spans it supports
+     *
+     * @param _structuralTables      The structural tables the rule is looked up in
+     * @param _postSpacing           The spacing between the posts
+     * @param _spanLength            The length of the spans
+     * @param _isSupportingTwoSpans  True if the beam supports two spans
+     * @param _pliesPerBeam          The number of plies of the beam
+     * @param _plieNominalWidth      The nominal width of every ply of the beam
+     * @param _plieNominalHeight     The nominal height of every ply of the beam
+     * @param _allowedBeamProperties The beam properties receiving the lookup, reused between calls
+     * @return The bitmask of the errors found
+     */
+    static int validateBeam(StructuralTables _structuralTables, float _postSpacing, float _spanLength,
+                            boolean _isSupportingTwoSpans, int _pliesPerBeam, float _plieNominalWidth,
+                            float _plieNominalHeight, BeamProperties _allowedBeamProperties) {
+        boolean isBeamAllowed = _structuralTables.findAllowedBeamProperties(
+                _postSpacing, _spanLength, _isSupportingTwoSpans, _allowedBeamProperties);
+
+        if (!isBeamAllowed) {
+            return _postSpacing > Conversion.feetToInches(8) ? getErrorBit(ValidationErrorType.POST_SPACING) :
+                    getErrorBit(ValidationErrorType.SPAN_LENGTH);
+        }
+
+        // if alternate properties exist, the beam only needs to match one of them
+        boolean isAlternateMatched = _allowedBeamProperties.hasAlternate() &&
+                _pliesPerBeam >= _allowedBeamProperties.getAlternatePliesCount() &&
+                _plieNominalWidth >= _allowedBeamProperties.getAlternateBeamWidth() &&
+                _plieNominalHeight >= _allowedBeamProperties.getAlternateBeamHeight();
+        if (isAlternateMatched)
+            return 0;
+
+        int errorsMask = 0;
+        if (_pliesPerBeam < _allowedBeamProperties.getPliesCount()) {
+            errorsMask |= getErrorBit(_isSupportingTwoSpans ? ValidationErrorType.PLIES_PER_BEAM_TWO_SPANS :
+                    ValidationErrorType.PLIES_PER_BEAM_SINGLE_SPAN);
+        }
+        if (_plieNominalWidth < _allowedBeamProperties.getBeamWidth() ||
+                _plieNominalHeight < _allowedBeamProperties.getBeamHeight()) {
+            errorsMask |= getErrorBit(_isSupportingTwoSpans ? ValidationErrorType.BEAM_DIMENSIONS_TWO_SPANS :
+                    ValidationErrorType.BEAM_DIMENSIONS_SINGLE_SPAN);
+        }
+
+        return errorsMask;
+    }
+
+    /**
+     * Obtains the bit of an error in the bitmasks
+     *
+     * @param _error The error
+     * @return The bit of the error
+     */
+    public static int getErrorBit(ValidationErrorType _error) {
+        return 1 << _error.ordinal();
+    }
+
+    /**
+     * Obtains the errors of a bitmask
+     *
+     * @param _errorsMask The bitmask of the errors
+     * @return The errors of the bitmask
+     */
+    public static EnumSet<ValidationErrorType> getErrors(int _errorsMask) {
+        EnumSet<ValidationErrorType> errors = EnumSet.noneOf(ValidationErrorType.class);
+        addErrors(_errorsMask, errors);
+
+        return errors;
+    }
+
+    /**
+     * Obtains the bitmask of some errors
+     *
+     * @param _errors The errors
+     * @return The bitmask of the errors
+     */
+    public static int getErrorsMask(Set<ValidationErrorType> _errors) {
+        int errorsMask = 0;
+
+        for (ValidationErrorType error : _errors) {
+            errorsMask |= getErrorBit(error);
+        }
+
+        return errorsMask;
+    }
+
+    /**
+     * Adds the errors of a bitmask to an errors container
+     *
+     * @param _errorsMask The bitmask of the errors
+     * @param _errors     The container receiving the errors
+     */
+    static void addErrors(int _errorsMask, Set<ValidationErrorType> _errors) {
+        for (ValidationErrorType error : ERROR_TYPES) {
+            if ((_errorsMask & getErrorBit(error)) != 0)
+                _errors.add(error);
+        }
+    }
+}
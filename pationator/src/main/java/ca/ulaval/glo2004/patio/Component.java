@@ -4,87 +4,64 @@ import ca.ulaval.glo2004.utils.Dimensions;
 import ca.ulaval.glo2004.utils.LocaleText;
 import ca.ulaval.glo2004.utils.Vector3;
 
-import java.awt.*;
 import java.util.ArrayList;
 
 /**
  * This class represent a patio component.
  */
 public abstract class Component {
-    protected boolean isVisible;
-    protected boolean isColorFill;
-    protected Color color;
     protected ArrayList<WoodPiece> woodPieces;
+    protected final WoodPieceStore woodPieceStore;
 
     /**
      * Create a patio component.
      */
     public Component() {
-        isVisible = true;
         woodPieces = new ArrayList<>();
+        woodPieceStore = new WoodPieceStore();
     }
 
     /**
-     * Get the Component's WoodPieces array.
-     *
-     * @return Array of WoodPieces.
-     */
-    public ArrayList<WoodPiece> getWoodPieces() {
-        return woodPieces;
-    }
-
-    /**
-     * Get the current visibility state of the component.
+     * Add a WoodPiece to the component. Its geometry is kept in the component's WoodPieceStore.
      *
-     * @return True if the component is visible for the user.
+     * @param _width         Width of the WoodPiece in actual inches.
+     * @param _height        Height of the WoodPiece in actual inches.
+     * @param _depth         Depth of the WoodPiece in actual inches.
+     * @param _x             X central position of the WoodPiece in actual inches.
+     * @param _y             Y central position of the WoodPiece in actual inches.
+     * @param _z             Z central position of the WoodPiece in actual inches.
+     * @param _componentType Orientation of the WoodPiece.
+     * @return The added WoodPiece.
      */
-    public boolean isVisible() {
-        return isVisible;
-    }
+    protected WoodPiece addWoodPiece(float _width, float _height, float _depth, float _x, float _y, float _z,
+                                     ComponentType _componentType) {
+        int idxWoodPiece = woodPieceStore.add(_width, _height, _depth, _x, _y, _z, _componentType);
+        WoodPiece woodPiece = new WoodPiece(woodPieceStore, idxWoodPiece);
+        woodPieces.add(woodPiece);
 
-    /**
-     * Set the visibility of the component.
-     *
-     * @param _visible True if the component is visible for the user.
-     */
-    public void setVisible(boolean _visible) {
-        isVisible = _visible;
-    }
-
-    /**
-     * Get the color use for the component drawing.
-     *
-     * @return Current color.
-     */
-    public Color getColor() {
-        return color;
+        return woodPiece;
     }
 
     /**
-     * Set the component color use for drawing.
+     * Add a WoodPiece to the component. Its geometry is kept in the component's WoodPieceStore.
      *
-     * @param _color Component new color.
+     * @param _dimensions      Dimensions of the WoodPiece.
+     * @param _centralPosition Central position of the WoodPiece.
+     * @param _componentType   Orientation of the WoodPiece.
+     * @return The added WoodPiece.
      */
-    public void setColor(Color _color) {
-        color = _color;
+    protected WoodPiece addWoodPiece(Dimensions _dimensions, Vector3 _centralPosition, ComponentType _componentType) {
+        return addWoodPiece(_dimensions.getActualWidth(), _dimensions.getActualHeight(), _dimensions.getActualDepth(),
+                _centralPosition.x, _centralPosition.y, _centralPosition.z, _componentType);
     }
 
     /**
-     * Fill component is displayed or only the border (wireframe).
-     *
-     * @param _isColorFill True if the component is full.
-     */
-    public void setColorFilling(boolean _isColorFill) {
-        isColorFill = _isColorFill;
-    }
-
-    /**
-     * Fill component is displayed or only the border (wireframe).
+     * Get the Component's WoodPieces array.
      *
-     * @return True if the component is full.
+     * @return Array of WoodPieces.
      */
-    public boolean isColorFill() {
-        return isColorFill;
+    public ArrayList<WoodPiece> getWoodPieces() {
+        return woodPieces;
     }
 
     /**
@@ -95,10 +72,10 @@ public abstract class Component {
     public Dimensions getTotalDimension() {
         float width = 0, height = 0, depth = 0;
 
-        for (WoodPiece woodPiece : woodPieces) {
-            width += woodPiece.getDimensions().getActualWidth();
-            height += woodPiece.getDimensions().getActualHeight();
-            depth += woodPiece.getDimensions().getActualDepth();
+        for (int idxWoodPiece = 0; idxWoodPiece < woodPieceStore.size(); idxWoodPiece++) {
+            width += woodPieceStore.getWidth(idxWoodPiece);
+            height += woodPieceStore.getHeight(idxWoodPiece);
+            depth += woodPieceStore.getDepth(idxWoodPiece);
         }
 
         return new Dimensions(width, height, depth);
@@ -112,12 +89,12 @@ public abstract class Component {
     public Vector3 getGlobalPosition() {
         float posX = 0, posY = 0, posZ = 0;
 
-        for (WoodPiece woodPiece : woodPieces) {
-            posX += woodPiece.getCentralPosition().x;
-            posY += woodPiece.getCentralPosition().y;
-            posZ += woodPiece.getCentralPosition().z;
+        for (int idxWoodPiece = 0; idxWoodPiece < woodPieceStore.size(); idxWoodPiece++) {
+            posX += woodPieceStore.getCentralX(idxWoodPiece);
+            posY += woodPieceStore.getCentralY(idxWoodPiece);
+            posZ += woodPieceStore.getCentralZ(idxWoodPiece);
         }
-        int piecesQuantity = woodPieces.size();
+        int piecesQuantity = woodPieceStore.size();
 
         return new Vector3(posX / piecesQuantity, posY / piecesQuantity, posZ / piecesQuantity);
     }
@@ -199,16 +176,10 @@ public abstract class Component {
         ComponentType componentType = _woodPiece.getOrientation();
         float xPos, yPos, zPos;
 
-        xPos = _woodPiece.getCentralPosition().x;
-        yPos = _woodPiece.getCentralPosition().z;
-        zPos = _woodPiece.getCentralPosition().y;
+        xPos = _woodPiece.getCentralX();
+        yPos = _woodPiece.getCentralZ();
+        zPos = _woodPiece.getCentralY();
 
         return new WoodPiece(_fixedOrientation, new Vector3(xPos, yPos, zPos), componentType);
     }
 }
-
-
-
-
-
-
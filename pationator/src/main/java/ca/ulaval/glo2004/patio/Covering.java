@@ -1,7 +1,6 @@
 package ca.ulaval.glo2004.patio;
 
 import ca.ulaval.glo2004.utils.Dimensions;
-import ca.ulaval.glo2004.utils.Vector3;
 
 public class Covering extends Component {
     int nbCoveringPlanks;
@@ -36,52 +35,50 @@ public class Covering extends Component {
         coveringYPos = _coveringYPost;
         coveringLength = _coveringLength;
 
+        //The Z position is calculated by dividing the post spacing by two, and lowering it down int the -Z zone
+        //(because the top of the plank is on Z level 0).
+        float posZ = coveringLength / 2;
+
+        //The planks are laid out in a single pass: the X position of a plank is the X position of the previous one
+        //plus the offset between both, which gives the same sums as adding every offset from the first plank.
+        float posX = 0;
         for (int idxPlank = 0; idxPlank < nbCoveringPlanks; idxPlank++) {
             Dimensions currentPlankDimensions = coveringPlankDimensions;
             if (idxPlank == 0) {
                 currentPlankDimensions = firstCoveringPlankDimensions;
             }
 
-            Vector3 coveringPlankCentralPosition = getCoveringPlankCentralPosition(idxPlank);
-            WoodPiece coveringPlank = new WoodPiece(currentPlankDimensions, coveringPlankCentralPosition, ComponentType.COVERING_PLANK);
+            posX += getCoveringPlankXOffset(idxPlank);
+            WoodPiece coveringPlank = addWoodPiece(currentPlankDimensions.getActualWidth(),
+                    currentPlankDimensions.getActualHeight(), currentPlankDimensions.getActualDepth(),
+                    posX, coveringYPos, posZ, ComponentType.COVERING_PLANK);
             coveringPlank.setBuyingDimensions(coveringPlankDimensions);
-
-            woodPieces.add(coveringPlank);
         }
     }
 
     /**
-     * Obtains the central position for a given covering plank
+     * Obtains the offset on the X axis between a given covering plank and the previous one
      * @param _idxPlank The index of the covering plank
-     * @return A Vector3 representing the central position of the covering plank
+     * @return The X offset of the covering plank in actual inches
      */
-    private Vector3 getCoveringPlankCentralPosition(int _idxPlank) {
+    private float getCoveringPlankXOffset(int _idxPlank) {
         //The X position is calculated by summing the different spacings and widths of the planks used on the covering
         //floor. This makes the planks perfectly fit inside the patio depth.
-        float posX = 0;
-        for (int k = 0; k <= _idxPlank; k++) {
-            if (k == 0) {
-                //We iterate over the first plank, and we add the little spacing at the beginning, if necessary
-                //(sometimes, it is 0), we also sum the width of the first plank, that might be cut on its width.
-                //Finally, we subtract the beam width, to make the end of the plank meet the beam below.
-                posX += beginSpacing + (firstCoveringPlankDimensions.getActualWidth() / 2) - (beamWidth);
-            }
-            else if (k == 1) {
-                //We iterate over the second beam, we add half of the first covering plank, that might be cut on its
-                //width. We add the covering spacing, and finally, half the actual plank to place itself.
-                posX += (firstCoveringPlankDimensions.getActualWidth() / 2) + coveringSpacing + (coveringPlankDimensions.getActualWidth() / 2);
-            }
-            else {
-                //For every next plank, we add the whole width of a covering plank, plus the covering spacing.
-                posX += coveringPlankDimensions.getActualWidth() + coveringSpacing;
-            }
+        if (_idxPlank == 0) {
+            //For the first plank, we add the little spacing at the beginning, if necessary (sometimes, it is 0), we
+            //also sum the width of the first plank, that might be cut on its width. Finally, we subtract the beam
+            //width, to make the end of the plank meet the beam below.
+            return beginSpacing + (firstCoveringPlankDimensions.getActualWidth() / 2) - (beamWidth);
+        }
+        else if (_idxPlank == 1) {
+            //For the second plank, we add half of the first covering plank, that might be cut on its width. We add
+            //the covering spacing, and finally, half the actual plank to place itself.
+            return (firstCoveringPlankDimensions.getActualWidth() / 2) + coveringSpacing + (coveringPlankDimensions.getActualWidth() / 2);
+        }
+        else {
+            //For every next plank, we add the whole width of a covering plank, plus the covering spacing.
+            return coveringPlankDimensions.getActualWidth() + coveringSpacing;
         }
-
-        //The Z position is calculated by dividing the post spacing by two, and lowering it down int the -Z zone
-        //(because the top of the plank is on Z level 0).
-        float posZ = coveringLength / 2;
-
-        return new Vector3(posX, coveringYPos, posZ);
     }
 
     /**
@@ -8,8 +8,6 @@ public class DebugWoodPiece extends Component {
 
     public DebugWoodPiece(Dimensions woodPieceDimensions, Vector3 centralPosition, ComponentType _componentType) {
 
-        WoodPiece woodPiece = new WoodPiece(woodPieceDimensions, centralPosition, _componentType);
-
-        woodPieces.add(woodPiece);
+        addWoodPiece(woodPieceDimensions, centralPosition, _componentType);
     }
 }
\ No newline at end of file
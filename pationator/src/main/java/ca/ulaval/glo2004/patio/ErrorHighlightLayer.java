@@ -0,0 +1,106 @@
+package ca.ulaval.glo2004.patio;
+
+import ca.ulaval.glo2004.utils.ViewOrientation;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Holds the rectangles highlighting the wood pieces at fault in a drawing panel. The rectangles are computed once
+ * from the ValidationErrorLocations, then painted as is until the errors, the view orientation, the scale or the
+ * visible component types change, so a paint never walks the components of the patio.
+ */
+class ErrorHighlightLayer {
+    private static final Color FILL_COLOR = new Color(255, 0, 0, 80);
+    private static final Color BORDER_COLOR = new Color(220, 0, 0);
+    private static final int BORDER_SIZE = 4;
+
+    private ValidationErrorLocations errorLocations;
+    private int modificationCount;
+    private ViewOrientation viewOrientation;
+    private float unitInPixel;
+    private int visibleComponentTypesMask;
+
+    //The x, y, width and height of every rectangle
+    private int[] bounds = new int[16 * 4];
+    private int nbRectangles;
+
+    /**
+     * Indicates if the rectangles were computed for the current errors and view
+     *
+     * @param _errorLocations            The wood pieces at fault
+     * @param _viewOrientation           The view orientation of the drawing panel
+     * @param _unitInPixel               Conversion factor pixel/grid
+     * @param _visibleComponentTypesMask The bits of the ordinals of the visible component types
+     * @return True if the rectangles can be painted as is
+     */
+    boolean isComputedFor(ValidationErrorLocations _errorLocations, ViewOrientation _viewOrientation,
+                          float _unitInPixel, int _visibleComponentTypesMask) {
+        return errorLocations == _errorLocations && modificationCount == _errorLocations.getModificationCount() &&
+                viewOrientation == _viewOrientation && Float.compare(unitInPixel, _unitInPixel) == 0 &&
+                visibleComponentTypesMask == _visibleComponentTypesMask;
+    }
+
+    /**
+     * Forgets the rectangles, before they are computed for new errors or a new view
+     *
+     * @param _errorLocations            The wood pieces at fault
+     * @param _viewOrientation           The view orientation of the drawing panel
+     * @param _unitInPixel               Conversion factor pixel/grid
+     * @param _visibleComponentTypesMask The bits of the ordinals of the visible component types
+     */
+    void reset(ValidationErrorLocations _errorLocations, ViewOrientation _viewOrientation, float _unitInPixel,
+               int _visibleComponentTypesMask) {
+        errorLocations = _errorLocations;
+        modificationCount = _errorLocations.getModificationCount();
+        viewOrientation = _viewOrientation;
+        unitInPixel = _unitInPixel;
+        visibleComponentTypesMask = _visibleComponentTypesMask;
+        nbRectangles = 0;
+    }
+
+    /**
+     * Adds the rectangle of a wood piece at fault
+     *
+     * @param _rectangle The rectangle of the wood piece in the drawing panel
+     */
+    void add(Rectangle _rectangle) {
+        if ((nbRectangles + 1) * 4 > bounds.length)
+            bounds = Arrays.copyOf(bounds, bounds.length * 2);
+
+        int offset = nbRectangles * 4;
+        bounds[offset] = _rectangle.x;
+        bounds[offset + 1] = _rectangle.y;
+        bounds[offset + 2] = _rectangle.width;
+        bounds[offset + 3] = _rectangle.height;
+        nbRectangles++;
+    }
+
+    /**
+     * Forgets the rectangles, so they are computed again at the next paint
+     */
+    void invalidate() {
+        errorLocations = null;
+        nbRectangles = 0;
+    }
+
+    /**
+     * Paints every rectangle
+     *
+     * @param _graphics2D Graphics object.
+     */
+    void paint(Graphics2D _graphics2D) {
+        _graphics2D.setColor(FILL_COLOR);
+        for (int offset = 0; offset < nbRectangles * 4; offset += 4) {
+            _graphics2D.fillRect(bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3]);
+        }
+
+        _graphics2D.setColor(BORDER_COLOR);
+        _graphics2D.setStroke(new BasicStroke(BORDER_SIZE));
+        for (int offset = 0; offset < nbRectangles * 4; offset += 4) {
+            _graphics2D.drawRect(bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3]);
+        }
+
+        _graphics2D.setStroke(new BasicStroke(1));
+    }
+}
@@ -0,0 +1,12 @@
+package ca.ulaval.glo2004.patio;
+
+/**
+ * Evaluates every candidate configuration, one joist dimensions branch per task of the optimization pool. The cheapest
+ * configuration found is the optimal patio, unless the search is stopped or prunes candidates.
+ */
+public class ExhaustiveSearchStrategy implements OptimalPatioSearchStrategy {
+    @Override
+    public PatioConfigurationRanking search(Patio _patio, PatioInfo _patioInfo, OptimalPatioSearch _search) {
+        return _patio.iterateThroughPossibleJoistDimensions(_patioInfo, _search);
+    }
+}
@@ -0,0 +1,48 @@
+package ca.ulaval.glo2004.patio;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs some work on the fork/join pool for every index of a range, splitting the range in halves until a task holds a
+ * single index. The results must be stored by index, so they can be gathered in the same order as a sequential run.
+ * The patio uses it to generate its components, to search the joist dimensions branches of the optimal patio and to
+ * run the workers of the price sweep.
+ */
+class IndexedRangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 3126216651678896062L;
+
+    /**
+     * The work run on every index. It must only read immutable values and write to its own index.
+     */
+    interface IndexedWork {
+        void run(int _index);
+    }
+
+    private final IndexedWork work;
+    private final int fromIndex;
+    private final int toIndex;
+
+    /**
+     * The IndexedRangeTask constructor
+     * @param _work The work to run on every index
+     * @param _fromIndex The first index of the range, inclusive
+     * @param _toIndex The last index of the range, exclusive
+     */
+    IndexedRangeTask(IndexedWork _work, int _fromIndex, int _toIndex) {
+        work = _work;
+        fromIndex = _fromIndex;
+        toIndex = _toIndex;
+    }
+
+    @Override
+    protected void compute() {
+        if (toIndex - fromIndex <= 1) {
+            if (fromIndex < toIndex)
+                work.run(fromIndex);
+            return;
+        }
+
+        int middleIndex = (fromIndex + toIndex) >>> 1;
+        invokeAll(new IndexedRangeTask(work, fromIndex, middleIndex), new IndexedRangeTask(work, middleIndex, toIndex));
+    }
+}
@@ -0,0 +1,310 @@
+package ca.ulaval.glo2004.patio;
+
+import ca.ulaval.glo2004.utils.Dimensions;
+import ca.ulaval.glo2004.utils.Fingerprint;
+import ca.ulaval.glo2004.utils.LumberCatalog;
+import ca.ulaval.glo2004.utils.OptimalPatioAtlasProgressListener;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Holds the optimal configuration of every cell of a grid of patio dimensions (width, depth and height), precomputed
+ * with the optimal patio search for one covering and one set of prices. The table is memory-mapped, so the optimal
+ * configuration of patio dimensions on the grid is read in constant time, without searching. Patio dimensions off the
+ * grid, or another covering or other prices, are not covered by the atlas and must be searched.
+ * <p>
+ * The file starts with the fingerprints of the lumber catalog and of the validation tables. A file written with
+ * another catalog or other tables is not opened.
+ */
+public class OptimalPatioAtlas {
+    /**
+     * The default step between two patio dimensions of the grid, in inches
+     */
+    public static final float DEFAULT_STEP = 6f;
+
+    private static final int FILE_MAGIC = 0x50544f41;
+    //To increase whenever the generation of the configurations or the format of the file changes
+    private static final int FILE_VERSION = 1;
+    //Magic, version, catalog and tables fingerprints, search fingerprint, then minimum, step and count of 3 axes
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 8 + 3 * (4 + 4 + 4);
+    //Joist, beam and post lumber IDs, plies per beam, posts per beam, then 8 lengths
+    private static final int RECORD_SIZE = 1 + 1 + 1 + 1 + 2 + 8 * 4;
+    private static final byte NO_CONFIGURATION = -1;
+
+    private final MappedByteBuffer table;
+    private final long searchFingerprint;
+    private final float[] minimums;
+    private final float[] steps;
+    private final int[] counts;
+
+    private OptimalPatioAtlas(MappedByteBuffer _table) {
+        table = _table;
+        searchFingerprint = table.getLong(4 + 4 + 8 + 8);
+
+        minimums = new float[3];
+        steps = new float[3];
+        counts = new int[3];
+        for (int axis = 0; axis < 3; axis++) {
+            int axisOffset = 4 + 4 + 8 + 8 + 8 + axis * (4 + 4 + 4);
+            minimums[axis] = table.getFloat(axisOffset);
+            steps[axis] = table.getFloat(axisOffset + 4);
+            counts[axis] = table.getInt(axisOffset + 8);
+        }
+    }
+
+    /**
+     * Obtains the default file of the atlas, in the Pationator folder of the user home
+     *
+     * @return The path of the default atlas file
+     */
+    public static Path getDefaultFile() {
+        return Paths.get(System.getProperty("user.home"), ".pationator", "optimal-patio-atlas.bin");
+    }
+
+    /**
+     * Maps an atlas file written by build
+     *
+     * @param _file The atlas file
+     * @return The atlas, or null if the file is missing, damaged, or was written with another lumber catalog or other
+     * validation tables
+     */
+    public static OptimalPatioAtlas open(Path _file) {
+        if (!Files.exists(_file))
+            return null;
+
+        try (FileChannel channel = FileChannel.open(_file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE)
+                return null;
+
+            //The mapping stays valid once the channel is closed
+            MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (table.getInt(0) != FILE_MAGIC || table.getInt(4) != FILE_VERSION ||
+                    table.getLong(8) != LumberCatalog.getInstance().getFingerprint() ||
+                    table.getLong(16) != Validator.getTablesFingerprint())
+                return null;
+
+            OptimalPatioAtlas atlas = new OptimalPatioAtlas(table);
+            if (channel.size() != HEADER_SIZE + (long) atlas.getCellsCount() * RECORD_SIZE)
+                return null;
+
+            return atlas;
+        } catch (IOException | BufferUnderflowException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Searches the optimal configuration of every cell of a grid of patio dimensions, and writes them to an atlas
+     * file. The cells are searched one after the other, each search running its branches on the optimization pool
+     * of the patio
+     *
+     * @param _file             The atlas file to write
+     * @param _patioInfo        The PatioInfo holding the covering dimensions, the covering spacing and the prices
+     * @param _minDimensions    The smallest patio width, height and depth of the grid, in inches
+     * @param _maxDimensions    The largest patio width, height and depth of the grid, in inches
+     * @param _step             The step between two patio dimensions of the grid, in inches
+     * @param _progressListener A listener notified after every cell searched, or null
+     * @throws IOException If the file cannot be written
+     */
+    public static void build(Path _file, PatioInfo _patioInfo, Dimensions _minDimensions, Dimensions _maxDimensions,
+                             float _step, OptimalPatioAtlasProgressListener _progressListener) throws IOException {
+        float[] minimums = {_minDimensions.getActualWidth(), _minDimensions.getActualDepth(),
+                _minDimensions.getActualHeight()};
+        float[] maximums = {_maxDimensions.getActualWidth(), _maxDimensions.getActualDepth(),
+                _maxDimensions.getActualHeight()};
+        int[] counts = new int[3];
+        for (int axis = 0; axis < 3; axis++) {
+            counts[axis] = Math.max(0, (int) Math.floor((maximums[axis] - minimums[axis]) / _step) + 1);
+        }
+        int nbCells = counts[0] * counts[1] * counts[2];
+
+        Path parent = _file.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+
+        Path temporaryFile = Files.createTempFile(parent, _file.getFileName().toString(), ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temporaryFile)))) {
+            output.writeInt(FILE_MAGIC);
+            output.writeInt(FILE_VERSION);
+            output.writeLong(LumberCatalog.getInstance().getFingerprint());
+            output.writeLong(Validator.getTablesFingerprint());
+            output.writeLong(getSearchFingerprint(_patioInfo));
+            for (int axis = 0; axis < 3; axis++) {
+                output.writeFloat(minimums[axis]);
+                output.writeFloat(_step);
+                output.writeInt(counts[axis]);
+            }
+
+            Patio patio = new Patio();
+            int nbSearchedCells = 0;
+            for (int idxWidth = 0; idxWidth < counts[0]; idxWidth++) {
+                for (int idxDepth = 0; idxDepth < counts[1]; idxDepth++) {
+                    for (int idxHeight = 0; idxHeight < counts[2]; idxHeight++) {
+                        PatioInfo cellPatioInfo = new PatioInfo(_patioInfo);
+                        cellPatioInfo.setPatioDimensions(new Dimensions(minimums[0] + idxWidth * _step,
+                                minimums[2] + idxHeight * _step, minimums[1] + idxDepth * _step), false);
+
+                        writeConfiguration(output,
+                                patio.searchOptimalPatioConfiguration(cellPatioInfo, new OptimalPatioSearch()));
+
+                        if (_progressListener != null)
+                            _progressListener.onOptimalPatioAtlasProgress(++nbSearchedCells, nbCells);
+                    }
+                }
+            }
+        }
+
+        Files.move(temporaryFile, _file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Writes the record of a cell: the lumbers, the counts and the lengths the search chose. The other properties of
+     * the structure are the search inputs
+     */
+    private static void writeConfiguration(DataOutputStream _output, PatioInfo _configuration) throws IOException {
+        if (_configuration == null) {
+            _output.writeByte(NO_CONFIGURATION);
+            _output.write(new byte[RECORD_SIZE - 1]);
+            return;
+        }
+
+        _output.writeByte(getLumberId(_configuration.getJoistDimensions()));
+        _output.writeByte(getLumberId(_configuration.getBeamPlieDimensions()));
+        _output.writeByte(getLumberId(_configuration.getPostDimensions()));
+        _output.writeByte(_configuration.getPliesPerBeam());
+        _output.writeShort(_configuration.getPostsPerBeam());
+        _output.writeFloat(_configuration.getJoistSpanMaxLength());
+        _output.writeFloat(_configuration.getJoistSpacing());
+        _output.writeFloat(_configuration.getCantileverLength());
+        _output.writeFloat(_configuration.getPostSpacing());
+        _output.writeFloat(_configuration.getJoistDimensions().getActualDepth());
+        _output.writeFloat(_configuration.getBeamPlieDimensions().getActualDepth());
+        _output.writeFloat(_configuration.getPostDimensions().getActualDepth());
+        _output.writeFloat(_configuration.getCoveringDimensions().getActualDepth());
+    }
+
+    private static int getLumberId(Dimensions _dimensions) {
+        return LumberCatalog.getInstance().getLumberId(_dimensions.getActualHeight(), _dimensions.getActualWidth());
+    }
+
+    /**
+     * Obtains a fingerprint of the search inputs other than the patio dimensions: the covering width, height and
+     * spacing, the building code and the prices
+     */
+    private static long getSearchFingerprint(PatioInfo _patioInfo) {
+        long fingerprint = _patioInfo.getPricesFingerprint();
+
+        fingerprint = Fingerprint.add(fingerprint, _patioInfo.getCoveringDimensions().getActualWidth());
+        fingerprint = Fingerprint.add(fingerprint, _patioInfo.getCoveringDimensions().getActualHeight());
+        fingerprint = Fingerprint.add(fingerprint, _patioInfo.getCoveringSpacing());
+        return Fingerprint.add(fingerprint, _patioInfo.getBuildingCode());
+    }
+
+    /**
+     * Obtains the number of cells of the grid
+     *
+     * @return The number of patio dimensions the atlas holds the optimal configuration of
+     */
+    public int getCellsCount() {
+        return counts[0] * counts[1] * counts[2];
+    }
+
+    /**
+     * Indicates if the atlas holds the optimal configuration of a PatioInfo. Its patio dimensions must be exactly on
+     * the grid, and its covering and prices must be the ones the atlas was built with
+     *
+     * @param _patioInfo The PatioInfo holding the search inputs
+     * @return True if getOptimalConfiguration gives the configuration the search would find
+     */
+    public boolean isCovering(PatioInfo _patioInfo) {
+        return getCellIndex(_patioInfo.getPatioDimensions()) != -1 &&
+                getSearchFingerprint(_patioInfo) == searchFingerprint;
+    }
+
+    /**
+     * Obtains the optimal configuration of a PatioInfo covered by the atlas, in constant time
+     *
+     * @param _patioInfo The PatioInfo holding the search inputs, covered by the atlas
+     * @return A copy of the PatioInfo with the structure of the optimal configuration, or null if no configuration of
+     * these patio dimensions is valid
+     */
+    public PatioInfo getOptimalConfiguration(PatioInfo _patioInfo) {
+        int idxCell = getCellIndex(_patioInfo.getPatioDimensions());
+        if (idxCell == -1)
+            throw new IllegalArgumentException("The patio dimensions are not on the grid of the atlas");
+
+        int offset = HEADER_SIZE + idxCell * RECORD_SIZE;
+        int joistLumberId = table.get(offset);
+        if (joistLumberId == NO_CONFIGURATION)
+            return null;
+
+        int beamLumberId = table.get(offset + 1);
+        int postLumberId = table.get(offset + 2);
+        int pliesPerBeam = table.get(offset + 3);
+        int postsPerBeam = table.getShort(offset + 4);
+        float joistSpanMaxLength = table.getFloat(offset + 6);
+        float joistSpacing = table.getFloat(offset + 10);
+        float cantileverLength = table.getFloat(offset + 14);
+        float postSpacing = table.getFloat(offset + 18);
+        float joistDepth = table.getFloat(offset + 22);
+        float beamDepth = table.getFloat(offset + 26);
+        float postDepth = table.getFloat(offset + 30);
+        float coveringDepth = table.getFloat(offset + 34);
+
+        LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+        PatioInfo configuration = new PatioInfo(_patioInfo);
+        Dimensions coveringDimensions = _patioInfo.getCoveringDimensions();
+
+        configuration.setCoveringDimensions(new Dimensions(coveringDimensions.getActualWidth(),
+                coveringDimensions.getActualHeight(), coveringDepth), false);
+        configuration.setJoistSpanMaxLength(joistSpanMaxLength, false);
+        configuration.setJoistDimensions(new Dimensions(lumberCatalog.getActualWidth(joistLumberId),
+                lumberCatalog.getActualHeight(joistLumberId), joistDepth), false);
+        configuration.setJoistSpacing(joistSpacing);
+        configuration.setCantileverLength(cantileverLength, false);
+        configuration.setBeamDimensions(new Dimensions(lumberCatalog.getActualWidth(beamLumberId),
+                lumberCatalog.getActualHeight(beamLumberId), beamDepth), false);
+        configuration.setPliesPerBeam(pliesPerBeam);
+        configuration.setPostDimensions(new Dimensions(lumberCatalog.getActualWidth(postLumberId),
+                lumberCatalog.getActualHeight(postLumberId), postDepth), false);
+        configuration.setPostSpacing(postSpacing, false);
+        configuration.setPostsPerBeam(postsPerBeam, false);
+
+        return configuration;
+    }
+
+    /**
+     * Obtains the index of the cell of patio dimensions
+     *
+     * @param _patioDimensions The patio dimensions, in inches
+     * @return The index of the cell, or -1 if the dimensions are not exactly on the grid
+     */
+    private int getCellIndex(Dimensions _patioDimensions) {
+        float[] values = {_patioDimensions.getActualWidth(), _patioDimensions.getActualDepth(),
+                _patioDimensions.getActualHeight()};
+        int idxCell = 0;
+
+        for (int axis = 0; axis < 3; axis++) {
+            int idxValue = Math.round((values[axis] - minimums[axis]) / steps[axis]);
+            //The dimensions must be the ones the cell was searched with, so the configuration is the same
+            if (idxValue < 0 || idxValue >= counts[axis] || minimums[axis] + idxValue * steps[axis] != values[axis])
+                return -1;
+
+            idxCell = idxCell * counts[axis] + idxValue;
+        }
+
+        return idxCell;
+    }
+}
@@ -0,0 +1,391 @@
+package ca.ulaval.glo2004.patio;
+
+import ca.ulaval.glo2004.utils.Dimensions;
+import ca.ulaval.glo2004.utils.LumberCatalog;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates the optimal patio of every row of a CSV file of patio specifications, without any user interface. The
+ * first line names the columns: width, depth and height of the patio in inches are required, the covering lumber
+ * (like 2x6 or 5/4x6), the covering spacing in inches and the building code (like cwc-2020) are optional and default to
+ * the ones of the default patio. Other columns, like a quote number, are copied to the output as they are.
+ * <p>
+ * The rows are optimized in parallel, and written in the order they were read as soon as they are optimized, followed
+ * by the status of the search, the total price, the structure of the optimal patio and its bill of materials. A row
+ * that cannot be read, that is smaller than the editing form allows, or that has no valid configuration, gets an error
+ * status and no structure.
+ */
+public class OptimalPatioBatch {
+    static final String WIDTH_COLUMN = "width";
+    static final String DEPTH_COLUMN = "depth";
+    static final String HEIGHT_COLUMN = "height";
+    static final String COVERING_COLUMN = "covering";
+    static final String COVERING_SPACING_COLUMN = "covering_spacing";
+    static final String BUILDING_CODE_COLUMN = "building_code";
+
+    static final String OK_STATUS = "ok";
+    static final String NO_VALID_CONFIGURATION_STATUS = "no valid configuration";
+    static final String INVALID_ROW_STATUS = "invalid row: ";
+    static final String SEARCH_FAILED_STATUS = "search failed: ";
+
+    private static final String[] RESULT_COLUMNS = {"status", "total_price", "joist", "joist_spacing",
+            "cantilever_length", "beam", "plies_per_beam", "beam_amount", "post", "post_height", "posts_per_beam",
+            "post_spacing", "bill_of_materials"};
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private final int parallelism;
+
+    /**
+     * The OptimalPatioBatch constructor
+     *
+     * @param _parallelism The number of rows optimized at the same time
+     */
+    public OptimalPatioBatch(int _parallelism) {
+        parallelism = Math.max(1, _parallelism);
+    }
+
+    /**
+     * Optimizes every row of a CSV input and writes the results to a CSV output
+     *
+     * @param _input  The CSV patio specifications, starting with the names of the columns
+     * @param _output The output receiving the input columns followed by the results, one line per row
+     * @return The number of rows written
+     * @throws IOException If the input cannot be read, misses a required column, or if the output cannot be written
+     */
+    public int run(BufferedReader _input, Writer _output) throws IOException {
+        String headerLine = _input.readLine();
+        if (headerLine == null)
+            throw new IOException("The CSV input is empty");
+
+        final List<String> header = parseLine(headerLine);
+        for (String requiredColumn : new String[]{WIDTH_COLUMN, DEPTH_COLUMN, HEIGHT_COLUMN}) {
+            if (indexOfColumn(header, requiredColumn) == -1)
+                throw new IOException("The CSV input has no " + requiredColumn + " column");
+        }
+
+        List<String> outputHeader = new ArrayList<>(header);
+        outputHeader.addAll(Arrays.asList(RESULT_COLUMNS));
+        writeLine(_output, outputHeader);
+
+        //The rows being optimized, in the order they were read. The window is bounded, so the input is streamed
+        ExecutorService rowsExecutor = Executors.newFixedThreadPool(parallelism);
+        ArrayDeque<Future<List<String>>> pendingRows = new ArrayDeque<>();
+        int nbRows = 0;
+
+        try {
+            String line;
+            while ((line = _input.readLine()) != null) {
+                if (line.trim().isEmpty())
+                    continue;
+
+                final List<String> fields = parseLine(line);
+                pendingRows.add(rowsExecutor.submit(new Callable<List<String>>() {
+                    @Override
+                    public List<String> call() {
+                        return optimizeRow(header, fields);
+                    }
+                }));
+
+                if (pendingRows.size() >= 2 * parallelism) {
+                    writeLine(_output, getResult(pendingRows.poll()));
+                    nbRows++;
+                }
+            }
+
+            while (!pendingRows.isEmpty()) {
+                writeLine(_output, getResult(pendingRows.poll()));
+                nbRows++;
+            }
+        } finally {
+            rowsExecutor.shutdownNow();
+        }
+
+        _output.flush();
+
+        return nbRows;
+    }
+
+    /**
+     * Waits for the result of a row
+     *
+     * @param _pendingRow The optimization of the row
+     * @return The fields of the output line
+     * @throws IOException If the optimization was interrupted or failed unexpectedly
+     */
+    private static List<String> getResult(Future<List<String>> _pendingRow) throws IOException {
+        try {
+            return _pendingRow.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("The batch was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("A row could not be optimized", e.getCause());
+        }
+    }
+
+    /**
+     * Generates the optimal patio of a row
+     *
+     * @param _header The names of the columns
+     * @param _fields The fields of the row
+     * @return The fields of the row followed by the results
+     */
+    static List<String> optimizeRow(List<String> _header, List<String> _fields) {
+        List<String> outputFields = new ArrayList<>(_fields);
+        while (outputFields.size() < _header.size()) {
+            outputFields.add("");
+        }
+
+        PatioInfo patioInfo;
+        try {
+            patioInfo = createPatioInfo(_header, _fields);
+        } catch (IllegalArgumentException e) {
+            outputFields.add(INVALID_ROW_STATUS + e.getMessage());
+            return outputFields;
+        }
+
+        Patio patio = new Patio();
+        patio.setPatioInfo(patioInfo);
+        patio.setAsInitialPatioInfo();
+        try {
+            patio.generateOptimalPatio();
+        } catch (RuntimeException e) {
+            //A single row must not stop the other ones
+            outputFields.add(SEARCH_FAILED_STATUS + e);
+            return outputFields;
+        }
+
+        if (patio.getOptimalPatioRanking().getCheapestConfiguration() == null) {
+            outputFields.add(NO_VALID_CONFIGURATION_STATUS);
+            return outputFields;
+        }
+
+        LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+        PatioInfo optimalPatioInfo = patio.getPatioInfo();
+        Dimensions joistDimensions = optimalPatioInfo.getJoistDimensions();
+        Dimensions beamPlieDimensions = optimalPatioInfo.getBeamPlieDimensions();
+        Dimensions postDimensions = optimalPatioInfo.getPostDimensions();
+
+        outputFields.add(OK_STATUS);
+        outputFields.add(String.format(Locale.ROOT, "%.2f", patio.getTotalPrice()));
+        outputFields.add(lumberCatalog.getLumberName(
+                lumberCatalog.getLumberId(joistDimensions.getActualHeight(), joistDimensions.getActualWidth())));
+        outputFields.add(String.valueOf(optimalPatioInfo.getJoistSpacing()));
+        outputFields.add(String.valueOf(optimalPatioInfo.getCantileverLength()));
+        outputFields.add(lumberCatalog.getLumberName(
+                lumberCatalog.getLumberId(beamPlieDimensions.getActualHeight(), beamPlieDimensions.getActualWidth())));
+        outputFields.add(String.valueOf(optimalPatioInfo.getPliesPerBeam()));
+        outputFields.add(String.valueOf(optimalPatioInfo.getBeamAmount()));
+        outputFields.add(lumberCatalog.getLumberName(
+                lumberCatalog.getLumberId(postDimensions.getActualHeight(), postDimensions.getActualWidth())));
+        outputFields.add(String.valueOf(postDimensions.getActualDepth()));
+        outputFields.add(String.valueOf(optimalPatioInfo.getPostsPerBeam()));
+        outputFields.add(String.valueOf(optimalPatioInfo.getPostSpacing()));
+        outputFields.add(getBillOfMaterials(patio.getPiecesQuantities()));
+
+        return outputFields;
+    }
+
+    /**
+     * Creates the PatioInfo of a row, from the default patio
+     *
+     * @param _header The names of the columns
+     * @param _fields The fields of the row
+     * @return The PatioInfo holding the inputs of the optimal patio search
+     * @throws IllegalArgumentException If a field is missing or cannot be read
+     */
+    static PatioInfo createPatioInfo(List<String> _header, List<String> _fields) {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+
+        String covering = getField(_header, _fields, COVERING_COLUMN);
+        if (!covering.isEmpty()) {
+            int coveringLumberId = getCoveringLumberId(covering);
+            patioInfo.setCoveringDimensions(new Dimensions(LumberCatalog.getInstance().getActualWidth(coveringLumberId),
+                    LumberCatalog.getInstance().getActualHeight(coveringLumberId),
+                    patioInfo.getCoveringDimensions().getActualDepth()), false);
+        }
+
+        String coveringSpacing = getField(_header, _fields, COVERING_SPACING_COLUMN);
+        if (!coveringSpacing.isEmpty())
+            patioInfo.setCoveringSpacing(parsePositiveFloat(COVERING_SPACING_COLUMN, coveringSpacing));
+
+        String buildingCode = getField(_header, _fields, BUILDING_CODE_COLUMN);
+        if (!buildingCode.isEmpty()) {
+            if (!StructuralTables.getBuildingCodes().containsKey(buildingCode))
+                throw new IllegalArgumentException("unknown building code " + buildingCode);
+
+            patioInfo.setBuildingCode(buildingCode);
+        }
+
+        float width = parsePositiveFloat(WIDTH_COLUMN, getField(_header, _fields, WIDTH_COLUMN));
+        float height = parsePositiveFloat(HEIGHT_COLUMN, getField(_header, _fields, HEIGHT_COLUMN));
+        float depth = parsePositiveFloat(DEPTH_COLUMN, getField(_header, _fields, DEPTH_COLUMN));
+
+        //The same minimums as the editing form
+        if (width < patioInfo.getMinPatioWidth())
+            throw new IllegalArgumentException(WIDTH_COLUMN + " must be at least " + patioInfo.getMinPatioWidth() +
+                    " inches");
+        if (height < patioInfo.getMinPatioHeight())
+            throw new IllegalArgumentException(HEIGHT_COLUMN + " must be at least " + patioInfo.getMinPatioHeight() +
+                    " inches");
+
+        patioInfo.setPatioDimensions(new Dimensions(width, height, depth), true);
+
+        return patioInfo;
+    }
+
+    /**
+     * Obtains the covering lumber of its nominal dimensions
+     *
+     * @param _covering The nominal thickness and width of the covering planks, like 2x6 or 5/4x6
+     * @return The LumberCatalog ID of the covering lumber
+     * @throws IllegalArgumentException If no covering lumber has these dimensions
+     */
+    private static int getCoveringLumberId(String _covering) {
+        String[] nominalSize = _covering.toLowerCase(Locale.ROOT).replace("\"", "").replace(" ", "").split("x");
+
+        if (nominalSize.length == 2) {
+            try {
+                float nominalHeight = parseFraction(nominalSize[0]);
+                float nominalWidth = parseFraction(nominalSize[1]);
+
+                LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+                for (int idxLumber = 0; idxLumber < lumberCatalog.getLumberCount(ComponentType.COVERING_PLANK);
+                     idxLumber++) {
+                    int lumberId = lumberCatalog.getLumberId(ComponentType.COVERING_PLANK, idxLumber);
+
+                    if (lumberCatalog.getNominalHeight(lumberId) == nominalHeight &&
+                            lumberCatalog.getNominalWidth(lumberId) == nominalWidth)
+                        return lumberId;
+                }
+            } catch (NumberFormatException e) {
+                //Reported below like an unknown covering
+            }
+        }
+
+        throw new IllegalArgumentException("unknown covering " + _covering);
+    }
+
+    private static float parseFraction(String _value) {
+        int idxSlash = _value.indexOf('/');
+        if (idxSlash == -1)
+            return Float.parseFloat(_value);
+
+        return Float.parseFloat(_value.substring(0, idxSlash)) / Float.parseFloat(_value.substring(idxSlash + 1));
+    }
+
+    private static float parsePositiveFloat(String _column, String _value) {
+        try {
+            float value = Float.parseFloat(_value);
+            if (value > 0 && !Float.isInfinite(value))
+                return value;
+        } catch (NumberFormatException e) {
+            //Reported below like a negative value
+        }
+
+        throw new IllegalArgumentException(_column + " must be a positive number of inches");
+    }
+
+    private static String getField(List<String> _header, List<String> _fields, String _column) {
+        int idxColumn = indexOfColumn(_header, _column);
+
+        return idxColumn != -1 && idxColumn < _fields.size() ? _fields.get(idxColumn).trim() : "";
+    }
+
+    private static int indexOfColumn(List<String> _header, String _column) {
+        for (int idxColumn = 0; idxColumn < _header.size(); idxColumn++) {
+            if (_header.get(idxColumn).trim().equalsIgnoreCase(_column))
+                return idxColumn;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Describes the wood pieces to buy, like the material list of Pationator
+     *
+     * @param _piecesQuantities The quantity of pieces of every depth (in feet), for every lumber dimensions
+     * @return The pieces of every lumber dimensions, from the shortest to the longest, separated by semicolons
+     */
+    static String getBillOfMaterials(Map<String, Map<Float, Integer>> _piecesQuantities) {
+        StringBuilder billOfMaterials = new StringBuilder();
+
+        for (Map.Entry<String, Map<Float, Integer>> lumberQuantities : new TreeMap<>(_piecesQuantities).entrySet()) {
+            for (Map.Entry<Float, Integer> quantity : new TreeMap<>(lumberQuantities.getValue()).entrySet()) {
+                if (billOfMaterials.length() > 0)
+                    billOfMaterials.append("; ");
+
+                billOfMaterials.append(quantity.getValue()).append(" x ").append(lumberQuantities.getKey())
+                        .append(" of ").append(quantity.getKey()).append(" ft");
+            }
+        }
+
+        return billOfMaterials.toString();
+    }
+
+    /**
+     * Splits a CSV line in fields. A quoted field can hold separators, and two quotes for a quote
+     *
+     * @param _line The CSV line
+     * @return The fields of the line
+     */
+    static List<String> parseLine(String _line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+
+        for (int idxChar = 0; idxChar < _line.length(); idxChar++) {
+            char character = _line.charAt(idxChar);
+
+            if (isQuoted) {
+                if (character != QUOTE)
+                    field.append(character);
+                else if (idxChar + 1 < _line.length() && _line.charAt(idxChar + 1) == QUOTE)
+                    field.append(_line.charAt(++idxChar));
+                else
+                    isQuoted = false;
+            } else if (character == QUOTE) {
+                isQuoted = true;
+            } else if (character == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(character);
+            }
+        }
+        fields.add(field.toString());
+
+        return fields;
+    }
+
+    private static void writeLine(Writer _output, List<String> _fields) throws IOException {
+        for (int idxField = 0; idxField < _fields.size(); idxField++) {
+            if (idxField > 0)
+                _output.write(SEPARATOR);
+
+            String field = _fields.get(idxField);
+            if (field.indexOf(SEPARATOR) != -1 || field.indexOf(QUOTE) != -1 || field.indexOf('\n') != -1)
+                _output.write(QUOTE + field.replace("\"", "\"\"") + QUOTE);
+            else
+                _output.write(field);
+        }
+
+        _output.write(System.lineSeparator());
+    }
+}
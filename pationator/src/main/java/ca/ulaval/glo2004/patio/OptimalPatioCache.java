@@ -0,0 +1,207 @@
+package ca.ulaval.glo2004.patio;
+
+import ca.ulaval.glo2004.utils.LumberCatalog;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the results of the optimal patio search in a local file, so a search with the same inputs returns instantly,
+ * even in another session. A result is the complete ranking of the valid configurations, indexed by the search inputs
+ * fingerprint of the PatioInfo (patio dimensions, covering dimensions and covering spacing). The prices are not part
+ * of the key: the ranking is ranked again with the prices of the PatioInfo it is read for.
+ * <p>
+ * The file starts with the fingerprints of the lumber catalog and of the validation tables. A file written with
+ * another catalog or other tables is ignored, and replaced at the next result kept.
+ */
+public class OptimalPatioCache {
+    /**
+     * The default number of results kept by the cache
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final int FILE_MAGIC = 0x50544f43;
+    //To increase whenever the generation of the configurations or the format of the file changes
+    private static final int FILE_VERSION = 1;
+
+    private final Path file;
+    private final int capacity;
+    private final LinkedHashMap<Long, byte[]> results;
+    private long tablesFingerprint;
+    private boolean isLoaded;
+
+    /**
+     * The OptimalPatioCache constructor. The file is only read at the first lookup
+     *
+     * @param _file The file keeping the results
+     */
+    public OptimalPatioCache(Path _file) {
+        this(_file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * The OptimalPatioCache constructor. The file is only read at the first lookup
+     *
+     * @param _file     The file keeping the results
+     * @param _capacity The maximum number of results kept. The least recently used result is forgotten first
+     */
+    public OptimalPatioCache(Path _file, int _capacity) {
+        file = _file;
+        capacity = _capacity;
+        results = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> _eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Obtains the default file of the cache, in the Pationator folder of the user home
+     *
+     * @return The path of the default cache file
+     */
+    public static Path getDefaultFile() {
+        return Paths.get(System.getProperty("user.home"), ".pationator", "optimal-patio-cache.bin");
+    }
+
+    /**
+     * Obtains the result of a previous search with the same inputs
+     *
+     * @param _patioInfo The PatioInfo holding the search inputs and the prices
+     * @return The ranking of the configurations, ranked with the prices of the PatioInfo, or null if no result is kept
+     * for these inputs
+     */
+    public synchronized PatioConfigurationRanking get(PatioInfo _patioInfo) {
+        load();
+
+        byte[] result = results.get(_patioInfo.getSearchInputsFingerprint());
+        if (result == null)
+            return null;
+
+        try {
+            return PatioConfigurationRanking.read(new DataInputStream(new ByteArrayInputStream(result)), _patioInfo);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Keeps the result of a search and writes the cache file. Only complete rankings are kept, since the others can
+     * miss the cheapest configuration for other prices
+     *
+     * @param _patioInfo The PatioInfo holding the search inputs
+     * @param _ranking   The ranking of the configurations found by the search
+     */
+    public synchronized void put(PatioInfo _patioInfo, PatioConfigurationRanking _ranking) {
+        if (!_ranking.isComplete() || capacity <= 0)
+            return;
+
+        load();
+
+        try {
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            DataOutputStream resultOutput = new DataOutputStream(result);
+            _ranking.write(resultOutput);
+            resultOutput.flush();
+
+            results.put(_patioInfo.getSearchInputsFingerprint(), result.toByteArray());
+            save();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Forgets every result and deletes the cache file
+     */
+    public synchronized void clear() {
+        results.clear();
+        isLoaded = true;
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Obtains the number of results kept
+     *
+     * @return The number of results in the cache
+     */
+    public synchronized int size() {
+        load();
+
+        return results.size();
+    }
+
+    /**
+     * Reads the cache file once. A missing, unreadable or outdated file leaves the cache empty
+     */
+    private void load() {
+        if (isLoaded)
+            return;
+
+        isLoaded = true;
+        tablesFingerprint = Validator.getTablesFingerprint();
+        if (!Files.exists(file))
+            return;
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != FILE_MAGIC || input.readInt() != FILE_VERSION ||
+                    input.readLong() != LumberCatalog.getInstance().getFingerprint() ||
+                    input.readLong() != tablesFingerprint)
+                return;
+
+            int nbResults = input.readInt();
+            for (int idxResult = 0; idxResult < nbResults; idxResult++) {
+                long searchInputsFingerprint = input.readLong();
+                byte[] result = new byte[input.readInt()];
+                input.readFully(result);
+
+                results.put(searchInputsFingerprint, result);
+            }
+        } catch (IOException e) {
+            //A damaged file is ignored, and replaced at the next result kept
+            results.clear();
+        }
+    }
+
+    /**
+     * Writes every result to the cache file. The results are written to a temporary file first, so another session
+     * never reads a partial file
+     *
+     * @throws IOException If the file cannot be written
+     */
+    private void save() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+            Files.createDirectories(parent);
+
+        Path temporaryFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(temporaryFile)))) {
+            output.writeInt(FILE_MAGIC);
+            output.writeInt(FILE_VERSION);
+            output.writeLong(LumberCatalog.getInstance().getFingerprint());
+            output.writeLong(tablesFingerprint);
+
+            output.writeInt(results.size());
+            for (Map.Entry<Long, byte[]> result : results.entrySet()) {
+                output.writeLong(result.getKey());
+                output.writeInt(result.getValue().length);
+                output.write(result.getValue());
+            }
+        }
+
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,236 @@
+package ca.ulaval.glo2004.patio;
+
+import ca.ulaval.glo2004.utils.OptimalPatioProgressListener;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Follows a run of the optimal patio search. The branches of the search share it to know the best price found so far,
+ * to count the candidates they evaluate and to know when they must stop, because the search was cancelled or its time
+ * budget ran out. A search can only be run once.
+ */
+public class OptimalPatioSearch {
+    /**
+     * The time budget of a search that runs until every candidate is evaluated
+     */
+    public static final long NO_TIME_BUDGET = 0L;
+    /**
+     * The default minimum delay between two progress notifications, in milliseconds
+     */
+    public static final long DEFAULT_PROGRESS_INTERVAL = 100L;
+
+    private final long timeBudgetNanos;
+    private final long progressIntervalNanos;
+    private final CopyOnWriteArrayList<OptimalPatioProgressListener> progressListeners;
+    private final AtomicBoolean isCancelled;
+    private final AtomicInteger nbEvaluatedCandidates;
+    private final AtomicInteger nbPrunedCandidates;
+    //The prices are positive, so their bits are ordered like the prices
+    private final AtomicInteger bestPriceBits;
+    private final AtomicLong lastProgressNanos;
+    private volatile long startNanos;
+    private volatile boolean isTimeBudgetExhausted;
+    private volatile boolean isKeepingEveryConfiguration;
+    private volatile PatioConfigurationRanking ranking;
+
+    /**
+     * The OptimalPatioSearch constructor, for a search without time budget
+     */
+    public OptimalPatioSearch() {
+        this(NO_TIME_BUDGET, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The OptimalPatioSearch constructor
+     *
+     * @param _timeBudget The time after which the search stops and keeps the best configuration found, or
+     *                    NO_TIME_BUDGET to evaluate every candidate
+     * @param _unit       The unit of the time budget
+     */
+    public OptimalPatioSearch(long _timeBudget, TimeUnit _unit) {
+        timeBudgetNanos = Math.max(0L, _unit.toNanos(_timeBudget));
+        progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_PROGRESS_INTERVAL);
+        progressListeners = new CopyOnWriteArrayList<>();
+        isCancelled = new AtomicBoolean(false);
+        nbEvaluatedCandidates = new AtomicInteger(0);
+        nbPrunedCandidates = new AtomicInteger(0);
+        bestPriceBits = new AtomicInteger(Float.floatToIntBits(Float.MAX_VALUE));
+        lastProgressNanos = new AtomicLong(0L);
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Adds a listener notified of the progress of the search. It is called from the threads of the search
+     *
+     * @param _progressListener OptimalPatioProgressListener object
+     */
+    public void addProgressListener(OptimalPatioProgressListener _progressListener) {
+        progressListeners.add(_progressListener);
+    }
+
+    /**
+     * Starts counting the time budget. It is called by the patio when the search begins
+     */
+    void start() {
+        startNanos = System.nanoTime();
+        lastProgressNanos.set(startNanos);
+    }
+
+    /**
+     * Asks the search to stop. The branches stop before their next candidate, and the configuration found is not
+     * meant to be applied. It can be called from any thread
+     */
+    public void cancel() {
+        isCancelled.set(true);
+    }
+
+    /**
+     * Indicates if the search was cancelled
+     *
+     * @return True if cancel was called
+     */
+    public boolean isCancelled() {
+        return isCancelled.get();
+    }
+
+    /**
+     * Indicates if the search stopped because its time budget ran out
+     *
+     * @return True if the time budget ran out before every candidate was evaluated
+     */
+    public boolean isTimeBudgetExhausted() {
+        return isTimeBudgetExhausted;
+    }
+
+    /**
+     * Indicates if the branches of the search must stop, because the search was cancelled or its time budget ran out
+     *
+     * @return True if no other candidate must be evaluated
+     */
+    boolean isStopped() {
+        if (isCancelled.get() || isTimeBudgetExhausted)
+            return true;
+
+        if (timeBudgetNanos != NO_TIME_BUDGET && System.nanoTime() - startNanos >= timeBudgetNanos)
+            isTimeBudgetExhausted = true;
+
+        return isTimeBudgetExhausted;
+    }
+
+    /**
+     * Counts a candidate evaluated by a branch of the search, and notifies the listeners if the last notification is
+     * old enough
+     *
+     * @param _price The price of the candidate if it is valid, or Float.MAX_VALUE if it was pruned or is not valid
+     */
+    void onCandidateEvaluated(float _price) {
+        nbEvaluatedCandidates.incrementAndGet();
+
+        int priceBits = Float.floatToIntBits(_price);
+        int currentBestPriceBits = bestPriceBits.get();
+        while (priceBits < currentBestPriceBits && !bestPriceBits.compareAndSet(currentBestPriceBits, priceBits)) {
+            currentBestPriceBits = bestPriceBits.get();
+        }
+
+        long now = System.nanoTime();
+        long lastProgress = lastProgressNanos.get();
+        //Only the branch winning the exchange notifies, so the listeners are not flooded by every candidate
+        if (now - lastProgress >= progressIntervalNanos && lastProgressNanos.compareAndSet(lastProgress, now))
+            notifyProgress();
+    }
+
+    /**
+     * Counts a candidate skipped by a branch of the search because its lower bound price is higher than the best price
+     */
+    void onCandidatePruned() {
+        nbPrunedCandidates.incrementAndGet();
+        onCandidateEvaluated(Float.MAX_VALUE);
+    }
+
+    /**
+     * Notifies the listeners of the final progress. It is called by the patio when the search ends
+     */
+    void finish() {
+        notifyProgress();
+    }
+
+    /**
+     * Notifies the listeners of the number of candidates evaluated and of the best price found so far
+     */
+    private void notifyProgress() {
+        int nbCandidates = getEvaluatedCandidatesCount();
+        float bestPrice = getBestPrice();
+
+        for (OptimalPatioProgressListener listener : progressListeners) {
+            listener.onOptimalPatioProgress(nbCandidates, bestPrice);
+        }
+    }
+
+    /**
+     * Obtains the number of candidates evaluated so far, pruned candidates included
+     *
+     * @return The number of evaluated candidates
+     */
+    public int getEvaluatedCandidatesCount() {
+        return nbEvaluatedCandidates.get();
+    }
+
+    /**
+     * Obtains the number of candidates skipped because of their lower bound price
+     *
+     * @return The number of pruned candidates
+     */
+    public int getPrunedCandidatesCount() {
+        return nbPrunedCandidates.get();
+    }
+
+    /**
+     * Indicates if the search keeps every valid configuration, by not pruning any candidate
+     *
+     * @return True if the search does not prune the candidates
+     */
+    public boolean isKeepingEveryConfiguration() {
+        return isKeepingEveryConfiguration;
+    }
+
+    /**
+     * Sets if the search keeps every valid configuration. The pruned candidates cannot be ranked again for other
+     * prices, so a search whose ranking is meant to follow the price changes must not prune them
+     *
+     * @param _isKeepingEveryConfiguration True to evaluate every candidate without pruning
+     */
+    public void setKeepingEveryConfiguration(boolean _isKeepingEveryConfiguration) {
+        isKeepingEveryConfiguration = _isKeepingEveryConfiguration;
+    }
+
+    /**
+     * Obtains the valid configurations found by the search, ranked by price
+     *
+     * @return The ranking, or null if the search did not end yet
+     */
+    public PatioConfigurationRanking getRanking() {
+        return ranking;
+    }
+
+    /**
+     * Sets the valid configurations found by the search. It is called by the patio when the search ends
+     *
+     * @param _ranking The ranking of the valid configurations
+     */
+    void setRanking(PatioConfigurationRanking _ranking) {
+        ranking = _ranking;
+    }
+
+    /**
+     * Obtains the price of the cheapest valid configuration found so far by every branch of the search
+     *
+     * @return The best price found so far, or Float.MAX_VALUE if no valid configuration was found yet
+     */
+    public float getBestPrice() {
+        return Float.intBitsToFloat(bestPriceBits.get());
+    }
+}
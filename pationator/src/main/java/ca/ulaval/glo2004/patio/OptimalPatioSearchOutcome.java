@@ -0,0 +1,15 @@
+package ca.ulaval.glo2004.patio;
+
+/**
+ * Represents how an optimal patio search run in background ended, and whether its result was applied to the patio.
+ */
+public enum OptimalPatioSearchOutcome {
+    //The cheapest configuration found was applied, or the missing configuration was reported as an error
+    APPLIED,
+    //The search was cancelled, the patio was kept
+    CANCELLED,
+    //The search inputs or the prices were modified during the search, so its result was dropped
+    OUTDATED,
+    //The search threw an exception, the patio was kept
+    FAILED
+}
@@ -0,0 +1,19 @@
+package ca.ulaval.glo2004.patio;
+
+/**
+ * Explores the candidate configurations of the optimal patio search. A strategy generates its candidates with the patio
+ * it is given, and reports them to the run of the search, so the search can be followed and stopped the same way
+ * whatever the strategy.
+ */
+public interface OptimalPatioSearchStrategy {
+    /**
+     * Searches the valid configurations of the search inputs
+     *
+     * @param _patio     The patio searching, providing the candidate patios
+     * @param _patioInfo The PatioInfo holding the search inputs. It must not be modified
+     * @param _search    The run of the search, counting the candidates and telling when to stop
+     * @return The valid configurations found, ranked by price. The ranking is only complete if the strategy evaluated
+     * every candidate
+     */
+    PatioConfigurationRanking search(Patio _patio, PatioInfo _patioInfo, OptimalPatioSearch _search);
+}
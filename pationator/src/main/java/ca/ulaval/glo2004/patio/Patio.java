@@ -3,14 +3,26 @@ package ca.ulaval.glo2004.patio;
 import ca.ulaval.glo2004.utils.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Represents the patio to generate in the application
  */
 public class Patio {
+    /**
+     * The default number of wood pieces from which the spans, posts and beams are generated in parallel
+     */
+    public static final int DEFAULT_PARALLEL_GENERATION_THRESHOLD = 5000;
+    //The lower bound prices are summed in another order than the generated prices, so they are lowered to keep the
+    //float rounding from pruning a candidate that is not more expensive than the best one
+    private static final float LOWER_BOUND_PRICE_MARGIN = 0.99f;
+
     private final ArrayList<Component> components;
     private final ArrayList<Span> spans;
     private final ArrayList<Post> posts;
@@ -20,12 +32,34 @@ public class Patio {
     private final Validator patioValidator;
     private final ArrayList<ErrorsFoundListener> errorsFoundListener;
     private final ArrayList<NoErrorsFoundListener> noErrorsFoundListener;
-    private final ArrayList<Pair<Float, PatioInfo>> optimalPatioConfigurations;
+    private final PatioConfigurationRanking optimalPatioConfigurations;
     private final HashMap<String, HashMap<Float, Integer>> piecesQuantities;
+    //The quantity of pieces per fixed-point depth of every lumber ID, reused by every price calculation
+    private LongIntMap[] quantitiesPerLumber;
+    //The feet of lumber per lumber ID of the last generated patio
+    private float[] lumberLengths;
+    //The configurations of the last optimal patio search, and the structure of the configuration applied from them
+    private PatioConfigurationRanking optimalPatioRanking;
+    private long rankedStructureFingerprint;
+    private OptimalPatioCache optimalPatioCache;
+    private OptimalPatioSearchStrategy optimalPatioSearchStrategy;
     private ArrayList<Covering> covering;
     private PatioInfo patioInfo;
     private PatioInfo initialPatioInfo;
+    private PatioInfo generatedPatioInfo;
+    //The PatioInfo properties modified since the patio was last validated
+    private final EnumSet<PatioInfoField> unvalidatedFields;
     private final HashMap<String, Float> totalPricesPerLumberDimensions;
+    private int parallelGenerationThreshold;
+    private boolean isGeneratingInParallel;
+    private volatile PatioSnapshot snapshot;
+    private final PatioGeometryCache geometryCache;
+    private ForkJoinPool optimizationPool;
+    private boolean isPruningOptimalPatioSearch;
+    //The run of the optimal patio search a candidate patio belongs to, shared by every branch of the search
+    private OptimalPatioSearch optimalPatioSearch;
+    //The beam properties allowed for the candidate configuration being built, reused by every candidate
+    private final BeamProperties allowedBeamProperties;
 
     /**
      * The Patio Constructor. It instantiates the patio components and properties
@@ -40,11 +74,20 @@ public class Patio {
         beamsSupportPosts = new ArrayList<>();
         patioInfo = new PatioInfo();
         patioValidator = new Validator(this);
+        unvalidatedFields = EnumSet.allOf(PatioInfoField.class);
         errorsFoundListener = new ArrayList<>();
         noErrorsFoundListener = new ArrayList<>();
-        optimalPatioConfigurations = new ArrayList<>();
+        optimalPatioConfigurations = new PatioConfigurationRanking();
         totalPricesPerLumberDimensions = new HashMap<>();
         piecesQuantities = new HashMap<>();
+        quantitiesPerLumber = new LongIntMap[0];
+        lumberLengths = new float[0];
+        parallelGenerationThreshold = DEFAULT_PARALLEL_GENERATION_THRESHOLD;
+        snapshot = PatioSnapshot.EMPTY;
+        geometryCache = new PatioGeometryCache(PatioGeometryCache.DEFAULT_CAPACITY);
+        isPruningOptimalPatioSearch = true;
+        optimalPatioSearchStrategy = new ExhaustiveSearchStrategy();
+        allowedBeamProperties = new BeamProperties();
     }
 
     /**
@@ -66,11 +109,14 @@ public class Patio {
     }
 
     /**
-     * Updates the patio with the newly modified PatioInfo property
+     * Updates the patio with the newly modified PatioInfo property. Only the components and the validation rules
+     * reading a modified property are regenerated and evaluated again
      */
     public void updatePatio() {
-        generatePatio();
-        patioValidator.validate();
+        updateComponents();
+
+        patioValidator.validate(unvalidatedFields);
+        unvalidatedFields.clear();
 
         if (!patioValidator.getErrors().isEmpty() && errorsFoundListener != null)
             notifyErrorsFound();
@@ -78,6 +124,30 @@ public class Patio {
             notifyNoErrorsFound();
     }
 
+    /**
+     * Updates the components of the patio with the newly modified PatioInfo property, without validating them. Only
+     * the components reading a modified property are regenerated, unless a previously generated snapshot matches
+     */
+    private void updateComponents() {
+        EnumSet<PatioInfoField> modifiedFields = patioInfo.getModifiedFields();
+        EnumSet<ComponentType> modifiedComponentTypes = patioInfo != generatedPatioInfo ?
+                EnumSet.allOf(ComponentType.class) : PatioInfoField.getAffectedComponentTypes(modifiedFields);
+
+        if (!modifiedComponentTypes.isEmpty() || modifiedFields.contains(PatioInfoField.LUMBER_PRICE)) {
+            //The geometry or the price changed, so a previously generated snapshot might already match the PatioInfo
+            long fingerprint = patioInfo.getGeometryFingerprint();
+            PatioSnapshot cachedSnapshot = geometryCache.get(fingerprint);
+
+            if (cachedSnapshot != null) {
+                restoreSnapshot(cachedSnapshot);
+            } else {
+                regeneratePatio(modifiedComponentTypes);
+                geometryCache.put(fingerprint, snapshot);
+            }
+        } else
+            regeneratePatio(modifiedComponentTypes);
+    }
+
     /**
      * Notifies the listeners that errors were found while generating the patio
      */
@@ -99,44 +169,105 @@ public class Patio {
      * to lumber prices specified by the user
      */
     private void generatePatio() {
+        regeneratePatio(EnumSet.allOf(ComponentType.class));
+    }
+
+    /**
+     * Regenerates the specified component groups, keeping the other ones as they are. Recalculates the total price
+     * when the patio geometry or the lumber prices changed
+     *
+     * @param _componentTypes The component groups to regenerate
+     */
+    private void regeneratePatio(EnumSet<ComponentType> _componentTypes) {
+        boolean lumberPriceModified = patioInfo.getModifiedFields().contains(PatioInfoField.LUMBER_PRICE);
+        isGeneratingInParallel = getStructureWoodPiecesAmount() >= parallelGenerationThreshold;
+
+        if (_componentTypes.contains(ComponentType.JOIST))
+            generateSpans();
+        if (_componentTypes.contains(ComponentType.POST))
+            generatePosts();
+        //The beams are linked to the spans and posts, so they are regenerated with them instead of being modified
+        //while a published snapshot still refers to them
+        if (_componentTypes.contains(ComponentType.BEAM) || _componentTypes.contains(ComponentType.JOIST) ||
+                _componentTypes.contains(ComponentType.POST))
+            generateBeams();
+        if (_componentTypes.contains(ComponentType.COVERING_PLANK))
+            generateCovering();
+
         components.clear();
+        components.addAll(spans);
+        components.addAll(posts);
+        components.addAll(beams);
+        components.addAll(covering);
+
+        if (!_componentTypes.isEmpty() || lumberPriceModified) {
+            calculatePricesAndQuantities();
+        }
 
-        generateSpans();
-        generatePosts();
-        generateBeams();
-        generateCovering();
+        snapshot = new PatioSnapshot(spans, posts, beams, covering, totalPricesPerLumberDimensions, piecesQuantities);
 
-        calculateTotalPrice();
-        calculatePiecesQuantities();
+        markAsGenerated();
     }
 
-    private void calculatePiecesQuantities() {
+    /**
+     * Restores a previously generated snapshot, matching the geometry and the prices of the current PatioInfo, and
+     * publishes it again as is
+     *
+     * @param _snapshot The snapshot to restore
+     */
+    private void restoreSnapshot(PatioSnapshot _snapshot) {
+        spans.clear();
+        spans.addAll(_snapshot.getSpans());
+        posts.clear();
+        posts.addAll(_snapshot.getPosts());
+        beams.clear();
+        beams.addAll(_snapshot.getBeams());
+        covering = new ArrayList<>(_snapshot.getCovering());
+
+        beamsSupportedSpans.clear();
+        beamsSupportPosts.clear();
+        for (Beam beam : beams) {
+            beamsSupportedSpans.add(beam.getSupportedSpans());
+            beamsSupportPosts.add(beam.getSupportPosts());
+        }
+
+        components.clear();
+        components.addAll(_snapshot.getComponents());
+
+        totalPricesPerLumberDimensions.clear();
         piecesQuantities.clear();
+        for (Map.Entry<String, Map<Float, Integer>> lumberQuantities : _snapshot.getPiecesQuantities().entrySet()) {
+            String lumberDimensions = lumberQuantities.getKey();
 
-        for (Component component : components) {
-            for (WoodPiece woodPiece : component.getWoodPieces()) {
-                String nominalHeightString =
-                        new Fraction(woodPiece.getBuyingDimensions().getNominalHeight()).toString();
-                String nominalWidthString = new Fraction(woodPiece.getBuyingDimensions().getNominalWidth()).toString();
-                String lumberDimensions =
-                        LumberDimension.formatToImperialLumberDimensions(nominalHeightString, nominalWidthString);
-
-
-                float depth = Conversion.inchesToFeet(woodPiece.getDimensions().getActualDepth());
-                int quantity = 1;
-
-                if (piecesQuantities.containsKey(lumberDimensions)) {
-                    if (piecesQuantities.get(lumberDimensions).containsKey(depth))
-                        quantity = piecesQuantities.get(lumberDimensions).get(depth) + 1;
-                } else
-                    piecesQuantities.put(lumberDimensions, new HashMap<Float, Integer>());
-                piecesQuantities.get(lumberDimensions).put(depth, quantity);
-            }
+            totalPricesPerLumberDimensions.put(lumberDimensions, _snapshot.getLumberTotalPrice(lumberDimensions));
+            piecesQuantities.put(lumberDimensions, new HashMap<>(lumberQuantities.getValue()));
         }
+
+        snapshot = _snapshot;
+
+        markAsGenerated();
+    }
+
+    /**
+     * Forgets the modified properties of the PatioInfo once the patio is generated from it, keeping them until the
+     * patio is validated
+     */
+    private void markAsGenerated() {
+        //Every property of another PatioInfo might differ from the generated ones
+        unvalidatedFields.addAll(patioInfo != generatedPatioInfo ? EnumSet.allOf(PatioInfoField.class) :
+                patioInfo.getModifiedFields());
+
+        patioInfo.clearModifiedFields();
+        generatedPatioInfo = patioInfo;
     }
 
-    public HashMap<String, HashMap<Float, Integer>> getPiecesQuantities() {
-        return piecesQuantities;
+    /**
+     * Obtains the quantity of pieces of every depth (in feet), for every lumber dimensions
+     *
+     * @return The pieces quantities of the last generated patio
+     */
+    public Map<String, Map<Float, Integer>> getPiecesQuantities() {
+        return snapshot.getPiecesQuantities();
     }
 
     /**
@@ -146,28 +277,31 @@ public class Patio {
         spans.clear();
         beamsSupportedSpans.clear();
 
-        int nbSpans = patioInfo.getSpanAmount();
-        float joistSpacing = patioInfo.getJoistSpacing();
-        Dimensions joistDimensions = patioInfo.getJoistDimensions();
-        float joistSpan = patioInfo.getJoistSpan();
-        float joistYPos = patioInfo.getPostDimensions().getActualDepth() +
+        final int nbSpans = patioInfo.getSpanAmount();
+        final float joistSpacing = patioInfo.getJoistSpacing();
+        final Dimensions joistDimensions = patioInfo.getJoistDimensions();
+        final float joistSpan = patioInfo.getJoistSpan();
+        final float joistYPos = patioInfo.getPostDimensions().getActualDepth() +
                 patioInfo.getBeamPlieDimensions().getActualWidth() + joistDimensions.getActualWidth() / 2;
-        int nbJoistsPerSpan = patioInfo.getJoistAmountPerSpan();
+        final int nbJoistsPerSpan = patioInfo.getJoistAmountPerSpan();
+        final float cantileverLength = patioInfo.getCantileverLength();
 
-        for (int idxSpan = 0; idxSpan < nbSpans; idxSpan++) {
-            Span span = new Span(joistSpacing, joistDimensions, joistSpan, joistYPos, nbJoistsPerSpan, idxSpan);
+        final Span[] generatedSpans = new Span[nbSpans];
+        generateComponents(nbSpans, new IndexedRangeTask.IndexedWork() {
+            @Override
+            public void run(int _idxSpan) {
+                Span span = new Span(joistSpacing, joistDimensions, joistSpan, joistYPos, nbJoistsPerSpan, _idxSpan);
 
-            if (idxSpan == nbSpans - 1) {
-                float cantileverLength = patioInfo.getCantileverLength();
-                span.setCantileverLength(cantileverLength);
-            }
+                if (_idxSpan == nbSpans - 1) {
+                    span.setCantileverLength(cantileverLength);
+                }
 
-            span.setColor(patioInfo.getJoistColor());
-            span.setVisible(patioInfo.isJoistVisibility());
-            span.setColorFilling(patioInfo.isJoistColorFilling());
+                generatedSpans[_idxSpan] = span;
+            }
+        });
 
-            components.add(span);
-            spans.add(idxSpan, span);
+        for (int idxSpan = 0; idxSpan < nbSpans; idxSpan++) {
+            spans.add(idxSpan, generatedSpans[idxSpan]);
         }
 
         int nbBeams = patioInfo.getBeamAmount();
@@ -199,27 +333,37 @@ public class Patio {
         //There are at least two posts for every beam, and there aren't any posts
         //supporting the beam attached to the house
         int nbBeams = patioInfo.getBeamAmount();
-        int nbPostsPerBeam = patioInfo.getPostsPerBeam();
+        final int nbPostsPerBeam = patioInfo.getPostsPerBeam();
 
-        Dimensions postDimensions = patioInfo.getPostDimensions();
-        float postSpacing = patioInfo.getPostSpacing();
-        float joistSpan = patioInfo.getJoistSpan();
+        final Dimensions postDimensions = patioInfo.getPostDimensions();
+        final float postSpacing = patioInfo.getPostSpacing();
+        final float joistSpan = patioInfo.getJoistSpan();
 
         //We start adding posts for the second beam only, because the first beam is attached to the house, and thus
         //doesn't need any support posts
+        final Post[][] generatedPosts = new Post[nbBeams][];
+        generateComponents(nbBeams - 1, new IndexedRangeTask.IndexedWork() {
+            @Override
+            public void run(int _index) {
+                int idxSupportedBeam = _index + 1;
+                Post[] supportPostsForCurrentBeam = new Post[nbPostsPerBeam];
+
+                for (int idxPostInSupportedBeam = 0; idxPostInSupportedBeam < nbPostsPerBeam;
+                     idxPostInSupportedBeam++) {
+                    supportPostsForCurrentBeam[idxPostInSupportedBeam] = new Post(postDimensions, postSpacing,
+                            joistSpan, idxSupportedBeam, idxPostInSupportedBeam);
+                }
+
+                generatedPosts[idxSupportedBeam] = supportPostsForCurrentBeam;
+            }
+        });
+
         for (int idxSupportedBeam = 1; idxSupportedBeam < nbBeams; idxSupportedBeam++) {
             ArrayList<Post> supportPostsForCurrentBeam = new ArrayList<>();
 
-            for (int idxPostInSupportedBeam = 0; idxPostInSupportedBeam < nbPostsPerBeam; idxPostInSupportedBeam++) {
-                Post post = new Post(postDimensions, postSpacing, joistSpan, idxSupportedBeam, idxPostInSupportedBeam);
-
-                post.setColor(patioInfo.getPostColor());
-                post.setVisible(patioInfo.isPostVisibility());
-                post.setColorFilling(patioInfo.isPostColorFilling());
-
-                components.add(post);
+            for (Post post : generatedPosts[idxSupportedBeam]) {
                 posts.add(post);
-                supportPostsForCurrentBeam.add(idxPostInSupportedBeam, post);
+                supportPostsForCurrentBeam.add(post);
             }
 
             beamsSupportPosts.add(idxSupportedBeam, supportPostsForCurrentBeam);
@@ -233,27 +377,80 @@ public class Patio {
         beams.clear();
 
         int nbBeams = patioInfo.getBeamAmount();
-        int pliesPerBeam = patioInfo.getPliesPerBeam();
-        Dimensions beamPliesDimensions = patioInfo.getBeamPlieDimensions();
-        float joistSpan = patioInfo.getJoistSpan();
-        float beamYPos = patioInfo.getPostDimensions().getActualDepth() + (beamPliesDimensions.getActualWidth() / 2);
+        final int pliesPerBeam = patioInfo.getPliesPerBeam();
+        final Dimensions beamPliesDimensions = patioInfo.getBeamPlieDimensions();
+        final float joistSpan = patioInfo.getJoistSpan();
+        final float beamYPos =
+                patioInfo.getPostDimensions().getActualDepth() + (beamPliesDimensions.getActualWidth() / 2);
+
+        final Beam[] generatedBeams = new Beam[nbBeams];
+        generateComponents(nbBeams, new IndexedRangeTask.IndexedWork() {
+            @Override
+            public void run(int _idxBeam) {
+                boolean isAttachedToHouse = _idxBeam == 0;
+
+                generatedBeams[_idxBeam] = new Beam(pliesPerBeam, beamPliesDimensions, joistSpan, beamYPos,
+                        isAttachedToHouse, _idxBeam);
+            }
+        });
 
         for (int idxBeam = 0; idxBeam < nbBeams; idxBeam++) {
-            boolean isAttachedToHouse = idxBeam == 0;
-
-            Beam beam = new Beam(pliesPerBeam, beamPliesDimensions, joistSpan, beamYPos, isAttachedToHouse, idxBeam);
+            Beam beam = generatedBeams[idxBeam];
             beam.setSupportedSpans(beamsSupportedSpans.get(idxBeam));
             beam.setSupportPosts(beamsSupportPosts.get(idxBeam));
 
-            beam.setColor(patioInfo.getBeamColor());
-            beam.setVisible(patioInfo.isBeamVisibility());
-            beam.setColorFilling(patioInfo.isBeamColorFilling());
-
-            components.add(beam);
             beams.add(idxBeam, beam);
         }
     }
 
+    /**
+     * Generates the components of a group, in parallel on the fork/join pool if the patio is large enough. The
+     * generation stores every component at its index, so the result does not depend on the order of the tasks
+     *
+     * @param _nbComponents The number of components to generate
+     * @param _generation   The generation of a component at a given index
+     */
+    private void generateComponents(int _nbComponents, IndexedRangeTask.IndexedWork _generation) {
+        if (isGeneratingInParallel && _nbComponents > 1) {
+            ForkJoinPool.commonPool().invoke(new IndexedRangeTask(_generation, 0, _nbComponents));
+        } else {
+            for (int index = 0; index < _nbComponents; index++) {
+                _generation.run(index);
+            }
+        }
+    }
+
+    /**
+     * Obtains the number of joists, posts and beam plies the patio will have, without generating them
+     *
+     * @return The number of wood pieces in the structure of the patio
+     */
+    private int getStructureWoodPiecesAmount() {
+        int nbBeams = patioInfo.getBeamAmount();
+
+        return patioInfo.getSpanAmount() * patioInfo.getJoistAmountPerSpan() +
+                (nbBeams - 1) * patioInfo.getPostsPerBeam() + nbBeams * patioInfo.getPliesPerBeam();
+    }
+
+    /**
+     * Obtains the number of wood pieces from which the spans, posts and beams are generated in parallel
+     *
+     * @return The parallel generation threshold
+     */
+    public int getParallelGenerationThreshold() {
+        return parallelGenerationThreshold;
+    }
+
+    /**
+     * Sets the number of wood pieces from which the spans, posts and beams are generated in parallel
+     *
+     * @param _parallelGenerationThreshold The parallel generation threshold. Integer.MAX_VALUE disables the
+     *                                     parallel generation
+     */
+    public void setParallelGenerationThreshold(int _parallelGenerationThreshold) {
+        parallelGenerationThreshold = _parallelGenerationThreshold;
+    }
+
     /**
      * Generates the covering
      */
@@ -284,89 +481,155 @@ public class Patio {
                 nbCoveringPlanks, coveringSpacing, coveringPlankDimensions, firstCoveringPlankWidth,
                 beginSpacing, beamWidth, coveringYPos, coveringLength);
 
-        newCovering.setColor(patioInfo.getCoveringColor());
-        newCovering.setVisible(patioInfo.isCoveringVisibility());
-        newCovering.setColorFilling(patioInfo.isCoveringColorFilling());
-
-        components.add(newCovering);
-
         ArrayList<Covering> coverings = new ArrayList<>();
         coverings.add(newCovering);
         covering = coverings;
     }
 
     /**
-     * Calculates the total price with the lumber prices specified by the user
+     * Calculates, in a single pass over the wood pieces, the total price of every lumber dimensions with the lumber
+     * prices specified by the user and the quantity of pieces of every depth. The pieces are grouped by their lumber ID,
+     * the lumber dimensions string being only built for the lumbers used by the patio. The depths are grouped by their
+     * fixed-point length, so depths rounding to the same 1/64 inch are counted together
      */
-    public float calculateTotalPrice() {
-        totalPricesPerLumberDimensions.clear();
+    private void calculatePricesAndQuantities() {
+        LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+        int nbLumbers = lumberCatalog.size();
+        float[] subTotals = new float[nbLumbers];
+        float[] lengths = new float[nbLumbers];
+        float[] lumberPrices = new float[nbLumbers];
+        int[] lumberIdsInOrder = new int[nbLumbers];
+        int nbUsedLumbers = 0;
+
+        if (quantitiesPerLumber.length < nbLumbers) {
+            quantitiesPerLumber = Arrays.copyOf(quantitiesPerLumber, nbLumbers);
+        }
+        boolean[] usedLumbers = new boolean[nbLumbers];
 
         for (Component component : components) {
-            for (WoodPiece woodPiece : component.getWoodPieces()) {
-                String nominalHeightString =
-                        new Fraction(woodPiece.getBuyingDimensions().getNominalHeight()).toString();
-                String nominalWidthString = new Fraction(woodPiece.getBuyingDimensions().getNominalWidth()).toString();
-                String lumberDimensions =
-                        LumberDimension.formatToImperialLumberDimensions(nominalHeightString, nominalWidthString);
-
-                float previousSubTotal = totalPricesPerLumberDimensions.containsKey(lumberDimensions) ?
-                        totalPricesPerLumberDimensions.get(lumberDimensions) : 0f;
-                float newSubTotal = previousSubTotal + patioInfo.getLumberPricePerDimensions(lumberDimensions) *
-                        Conversion.inchesToFeet(woodPiece.getDimensions().getActualDepth());
-                totalPricesPerLumberDimensions.put(lumberDimensions, newSubTotal);
+            WoodPieceStore woodPieceStore = component.woodPieceStore;
+
+            for (int idxWoodPiece = 0; idxWoodPiece < woodPieceStore.size(); idxWoodPiece++) {
+                int lumberId = woodPieceStore.getLumberId(idxWoodPiece);
+
+                if (!usedLumbers[lumberId]) {
+                    usedLumbers[lumberId] = true;
+                    if (quantitiesPerLumber[lumberId] == null)
+                        quantitiesPerLumber[lumberId] = new LongIntMap();
+                    else
+                        quantitiesPerLumber[lumberId].clear();
+
+                    lumberPrices[lumberId] = patioInfo.getLumberPrice(lumberId);
+                    lumberIdsInOrder[nbUsedLumbers++] = lumberId;
+                }
+
+                float depth = woodPieceStore.getDepth(idxWoodPiece);
+                subTotals[lumberId] += lumberPrices[lumberId] * Conversion.inchesToFeet(depth);
+                lengths[lumberId] += Conversion.inchesToFeet(depth);
+                quantitiesPerLumber[lumberId].add(FixedLength.fromInches(depth), 1);
             }
         }
 
-        return getTotalPrice();
+        lumberLengths = lengths;
+
+        //The lumbers are added in the order they were first seen, like the pieces were added one by one before
+        totalPricesPerLumberDimensions.clear();
+        piecesQuantities.clear();
+        for (int idxLumber = 0; idxLumber < nbUsedLumbers; idxLumber++) {
+            int lumberId = lumberIdsInOrder[idxLumber];
+            String lumberDimensions = lumberCatalog.getLumberName(lumberId);
+            LongIntMap quantitiesPerFixedDepth = quantitiesPerLumber[lumberId];
+
+            HashMap<Float, Integer> quantitiesPerDepth = new HashMap<>();
+            for (int idxDepth = 0; idxDepth < quantitiesPerFixedDepth.size(); idxDepth++) {
+                quantitiesPerDepth.put(FixedLength.toFeet(quantitiesPerFixedDepth.keyAt(idxDepth)),
+                        quantitiesPerFixedDepth.valueAt(idxDepth));
+            }
+
+            totalPricesPerLumberDimensions.put(lumberDimensions, subTotals[lumberId]);
+            piecesQuantities.put(lumberDimensions, quantitiesPerDepth);
+        }
     }
 
     /**
      * Returns the total price of the patio
      *
-     * @return The total price of the patio
+     * @return The total price of the last generated patio
      */
     public float getTotalPrice() {
-        float totalPrice = 0f;
-
-        Iterator it = totalPricesPerLumberDimensions.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry lumberSubTotal = (Map.Entry) it.next();
-            totalPrice += (Float) lumberSubTotal.getValue();
-        }
-
-        return totalPrice;
+        return snapshot.getTotalPrice();
     }
 
     /**
      * Returns the total price of a specific wood piece lumber dimensions
      *
      * @param lumberDimensions The dimensions of a specific wood piece
-     * @return The total price of a specific wood piece lumber dimensions
+     * @return The total price of a specific wood piece lumber dimensions in the last generated patio
      */
     public float getLumberTotalPrice(String lumberDimensions) {
-        return totalPricesPerLumberDimensions.containsKey(lumberDimensions) ?
-                totalPricesPerLumberDimensions.get(lumberDimensions) : 0f;
+        return snapshot.getLumberTotalPrice(lumberDimensions);
     }
 
     /**
-     * Generates the cheapest patio using the patio width, depth and height, plus the covering dimensions and its spacing
+     * Generates the cheapest patio using the patio width, depth and height, plus the covering dimensions and its
+     * spacing. The search only keeps every configuration if the patio has an optimal patio cache, otherwise it prunes
+     * them
      */
     public void generateOptimalPatio() {
-        optimalPatioConfigurations.clear();
+        OptimalPatioSearch search = new OptimalPatioSearch();
+        search.setKeepingEveryConfiguration(optimalPatioCache != null);
 
-        Dimensions optimalPatioDimensions = patioInfo.getPatioDimensions();
-        Dimensions optimalCoveringDimensions = patioInfo.getCoveringDimensions();
-        float optimalCoveringSpacing = patioInfo.getCoveringSpacing();
-        boolean couldNotGenerateOptimalPatio = false;
+        applyOptimalPatioConfiguration(searchOptimalPatioConfiguration(new PatioInfo(patioInfo), search));
+        setOptimalPatioRanking(search.getRanking());
+    }
+
+    /**
+     * Searches the cheapest valid configuration using the patio width, depth and height, plus the covering dimensions
+     * and its spacing. The patio itself is not modified, so the search can run on another thread than the one drawing
+     * the patio, as long as the given PatioInfo is not modified during the search
+     *
+     * @param _patioInfo The PatioInfo holding the search inputs, usually a copy of the current one
+     * @param _search    The run of the search, used to follow its progress and to stop it
+     * @return The cheapest configuration found before the search ended or was stopped, or null if none was found.
+     * Every valid configuration found is kept in the ranking of the search. Unless the search keeps every
+     * configuration, the candidates that cannot be cheaper than the best one are pruned, and the ranking is incomplete.
+     * If the patio has an optimal patio cache holding the result of a search with the same inputs, no candidate is
+     * evaluated
+     */
+    public PatioInfo searchOptimalPatioConfiguration(PatioInfo _patioInfo, OptimalPatioSearch _search) {
+        _search.start();
+
+        PatioConfigurationRanking ranking = optimalPatioCache != null ? optimalPatioCache.get(_patioInfo) : null;
+        if (ranking == null) {
+            ranking = optimalPatioSearchStrategy.search(this, _patioInfo, _search);
+            ranking.setComplete(ranking.isComplete() && !_search.isCancelled() &&
+                    !_search.isTimeBudgetExhausted() && _search.getPrunedCandidatesCount() == 0);
+
+            //Only the complete rankings are kept by the cache
+            if (optimalPatioCache != null)
+                optimalPatioCache.put(_patioInfo, ranking);
+        }
+        _search.setRanking(ranking);
+
+        _search.finish();
 
-        iterateThroughPossibleJoistDimensions(
-                optimalPatioDimensions, optimalCoveringDimensions, optimalCoveringSpacing);
+        return ranking.getCheapestConfiguration();
+    }
+
+    /**
+     * Generates the configuration found by the optimal patio search, and notifies the error listeners. If no
+     * configuration was found, the initial patio is restored with an error
+     *
+     * @param _optimalPatioConfiguration The configuration found by searchOptimalPatioConfiguration, or null
+     */
+    public void applyOptimalPatioConfiguration(PatioInfo _optimalPatioConfiguration) {
+        boolean couldNotGenerateOptimalPatio = false;
 
-        if (optimalPatioConfigurations.isEmpty()) {
+        if (_optimalPatioConfiguration == null) {
             couldNotGenerateOptimalPatio = true;
             patioInfo = initialPatioInfo;
         } else {
-            patioInfo = getCheapestPatioConfiguration();
+            patioInfo = _optimalPatioConfiguration;
             setAsInitialPatioInfo();
         }
         generatePatio();
@@ -378,51 +641,236 @@ public class Patio {
     }
 
     /**
-     * Returns the cheapest patio configuration found
+     * Keeps the configurations of an optimal patio search, so they can be ranked again when the prices change. It must
+     * be called once the configuration found by the search was applied
+     *
+     * @param _ranking The ranking of the search, or null to forget the last one
+     */
+    public void setOptimalPatioRanking(PatioConfigurationRanking _ranking) {
+        optimalPatioRanking = _ranking;
+        rankedStructureFingerprint = patioInfo.getStructureFingerprint();
+    }
+
+    /**
+     * Ranks the configurations of the last optimal patio search again with the current prices, and takes the structure
+     * of the new cheapest one. No configuration is generated to rank them. Nothing is done if the ranking is missing
+     * configurations, or if the structure of the patio was modified since the configuration was applied. The patio is
+     * not regenerated
+     *
+     * @return True if the structure of the patio changed
+     */
+    public boolean rankOptimalPatioConfigurations() {
+        if (optimalPatioRanking == null || !optimalPatioRanking.isComplete() ||
+                patioInfo.getStructureFingerprint() != rankedStructureFingerprint)
+            return false;
+
+        optimalPatioRanking.rank(patioInfo);
+        PatioInfo cheapestPatioConfiguration = optimalPatioRanking.getCheapestConfiguration();
+        if (cheapestPatioConfiguration == null ||
+                cheapestPatioConfiguration.getStructureFingerprint() == rankedStructureFingerprint)
+            return false;
+
+        patioInfo.setStructure(cheapestPatioConfiguration);
+        rankedStructureFingerprint = patioInfo.getStructureFingerprint();
+        setAsInitialPatioInfo();
+
+        return true;
+    }
+
+    /**
+     * Obtains the cache keeping the results of the optimal patio search
      *
-     * @return The cheapest patio configuration found
+     * @return The cache set with setOptimalPatioCache, or null if the results are not cached
      */
-    private PatioInfo getCheapestPatioConfiguration() {
-        float cheapestPrice = Float.MAX_VALUE;
-        PatioInfo cheapestPatioConfiguration = null;
+    public OptimalPatioCache getOptimalPatioCache() {
+        return optimalPatioCache;
+    }
 
-        for (Pair<Float, PatioInfo> patioConfiguration : optimalPatioConfigurations) {
-            if (patioConfiguration.first < cheapestPrice) {
-                cheapestPrice = patioConfiguration.first;
-                cheapestPatioConfiguration = patioConfiguration.second;
+    /**
+     * Sets the cache keeping the results of the optimal patio search. Only the results of the searches keeping every
+     * configuration are cached, since a pruned result can miss the cheapest configuration for other prices
+     *
+     * @param _optimalPatioCache The cache to use, or null to always search
+     */
+    public void setOptimalPatioCache(OptimalPatioCache _optimalPatioCache) {
+        optimalPatioCache = _optimalPatioCache;
+    }
+
+    /**
+     * Obtains the strategy exploring the candidates of the optimal patio search
+     *
+     * @return The strategy set with setOptimalPatioSearchStrategy, the exhaustive search by default
+     */
+    public OptimalPatioSearchStrategy getOptimalPatioSearchStrategy() {
+        return optimalPatioSearchStrategy;
+    }
+
+    /**
+     * Sets the strategy exploring the candidates of the optimal patio search. Only the exhaustive search keeps every
+     * valid configuration, so the results of the other strategies are neither cached nor ranked again
+     *
+     * @param _optimalPatioSearchStrategy The strategy to use
+     */
+    public void setOptimalPatioSearchStrategy(OptimalPatioSearchStrategy _optimalPatioSearchStrategy) {
+        optimalPatioSearchStrategy = _optimalPatioSearchStrategy;
+    }
+
+    /**
+     * Obtains the configurations of the last optimal patio search
+     *
+     * @return The ranking set with setOptimalPatioRanking, or null
+     */
+    public PatioConfigurationRanking getOptimalPatioRanking() {
+        return optimalPatioRanking;
+    }
+
+    /**
+     * Identifies all the possible joist dimensions, and tries to create a valid patio with them
+     *
+     * @param _patioInfo The PatioInfo holding the search inputs, the configurations are copied from it
+     * @param _search The run of the search shared by the branches
+     * @return The valid configurations found, ranked by price
+     */
+    PatioConfigurationRanking iterateThroughPossibleJoistDimensions(PatioInfo _patioInfo,
+                                                                    final OptimalPatioSearch _search) {
+        int nbJoistLumbers = LumberCatalog.getInstance().getLumberCount(ComponentType.JOIST);
+        final PatioInfo[] joistConfigurations = new PatioInfo[nbJoistLumbers];
+
+        for (int idxJoistLumber = 0; idxJoistLumber < nbJoistLumbers; idxJoistLumber++) {
+            joistConfigurations[idxJoistLumber] = createJoistConfiguration(_patioInfo, idxJoistLumber);
+        }
+
+        //Every joist dimensions is searched by its own candidate patio, so the branches only share the best price
+        final PatioConfigurationRanking[] configurationsPerJoist = new PatioConfigurationRanking[nbJoistLumbers];
+        getOptimizationPool().invoke(new IndexedRangeTask(new IndexedRangeTask.IndexedWork() {
+            @Override
+            public void run(int _index) {
+                Patio candidatePatio = createCandidatePatio(_search);
+                candidatePatio.isPruningOptimalPatioSearch = isPruningOptimalPatioSearch;
+                candidatePatio.iterateThroughPossibleCantileverLengths(joistConfigurations[_index]);
+                configurationsPerJoist[_index] = candidatePatio.optimalPatioConfigurations;
             }
+        }, 0, nbJoistLumbers));
+
+        //The configurations are gathered in the joist order, so the cheapest one is the same as a sequential search
+        PatioConfigurationRanking patioConfigurations = new PatioConfigurationRanking();
+        for (PatioConfigurationRanking joistConfigurationsFound : configurationsPerJoist) {
+            patioConfigurations.addAll(joistConfigurationsFound);
         }
+        patioConfigurations.rank();
 
-        return cheapestPatioConfiguration;
+        return patioConfigurations;
     }
 
     /**
-     * Identifies all the possible joist dimensions, and tries to create a valid patio with them
+     * Creates the configuration of a joist dimensions branch of the optimal patio search
      *
-     * @param _optimalPatioDimensions The overall patio dimensions specified by the user
-     * @param _optimalCoveringDimensions The covering dimensions specified by the user
-     * @param _optimalCoveringSpacing The covering spacing specified by the user
+     * @param _patioInfo The PatioInfo holding the search inputs
+     * @param _idxJoistLumber The index of the joist lumber in the lumber catalog
+     * @return A copy of the PatioInfo with the search inputs and the joist dimensions
      */
-    private void iterateThroughPossibleJoistDimensions(
-            Dimensions _optimalPatioDimensions, Dimensions _optimalCoveringDimensions, float _optimalCoveringSpacing) {
-        String[] realJoistPossibility = LumberDimension.getPossibility(MeasureType.REAL, ComponentType.JOIST);
-        for (String joistDimensionsPossibility : realJoistPossibility) {
-            PatioInfo patioConfiguration = new PatioInfo(patioInfo);
+    private static PatioInfo createJoistConfiguration(PatioInfo _patioInfo, int _idxJoistLumber) {
+        PatioInfo patioConfiguration = new PatioInfo(_patioInfo);
 
-            patioConfiguration.setPatioDimensions(_optimalPatioDimensions, false);
-            patioConfiguration.setCoveringDimensions(_optimalCoveringDimensions, false);
-            patioConfiguration.setCoveringSpacing(_optimalCoveringSpacing);
+        patioConfiguration.setPatioDimensions(_patioInfo.getPatioDimensions(), false);
+        patioConfiguration.setCoveringDimensions(_patioInfo.getCoveringDimensions(), false);
+        patioConfiguration.setCoveringSpacing(_patioInfo.getCoveringSpacing());
 
-            String[] joistDimensionsString = LumberDimension.splitLumberDimensions(joistDimensionsPossibility);
-            float joistWidth = new Fraction(joistDimensionsString[1]).toFloat();
-            float joistHeight = new Fraction(joistDimensionsString[0]).toFloat();
-            float joistTempDepth = 0f;
+        LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+        int joistLumberId = lumberCatalog.getLumberId(ComponentType.JOIST, _idxJoistLumber);
+        float joistWidth = lumberCatalog.getActualWidth(joistLumberId);
+        float joistHeight = lumberCatalog.getActualHeight(joistLumberId);
+        float joistTempDepth = 0f;
 
-            Dimensions joistDimensions = new Dimensions(joistWidth, joistHeight, joistTempDepth);
-            patioConfiguration.setJoistDimensions(joistDimensions, false);
+        Dimensions joistDimensions = new Dimensions(joistWidth, joistHeight, joistTempDepth);
+        patioConfiguration.setJoistDimensions(joistDimensions, false);
 
-            iterateThroughPossibleCantileverLengths(patioConfiguration);
-        }
+        return patioConfiguration;
+    }
+
+    /**
+     * Creates the patio used to generate and validate the candidates of a branch of the optimal patio search. It
+     * generates sequentially and caches nothing, because every candidate is only generated once
+     *
+     * @param _search The run of the search the candidates are evaluated for
+     * @return A new patio with its own validator
+     */
+    Patio createCandidatePatio(OptimalPatioSearch _search) {
+        Patio candidatePatio = new Patio();
+        candidatePatio.optimalPatioSearch = _search;
+        candidatePatio.setParallelGenerationThreshold(Integer.MAX_VALUE);
+        candidatePatio.getGeometryCache().setCapacity(0);
+
+        return candidatePatio;
+    }
+
+    /**
+     * Obtains the fork/join pool running the branches of the optimal patio search
+     *
+     * @return The pool set with setOptimizationPool, or the common pool if none was set
+     */
+    public ForkJoinPool getOptimizationPool() {
+        return optimizationPool != null ? optimizationPool : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Sets the fork/join pool running the branches of the optimal patio search. A pool with a parallelism of 1
+     * searches the branches one after the other
+     *
+     * @param _optimizationPool The pool to use, or null to use the common pool
+     */
+    public void setOptimizationPool(ForkJoinPool _optimizationPool) {
+        optimizationPool = _optimizationPool;
+    }
+
+    /**
+     * Generates the patio for evenly spaced values of one property of a PatioInfo, the other properties being kept,
+     * and computes the price and the validity of every generated patio. The values are split in contiguous ranges, one
+     * per worker of the optimization pool. A worker generates its first value entirely, then only regenerates the
+     * components affected by the property for the next ones. The configurations of a worker are then validated at once
+     * by a BulkValidator shared by the workers. The patio itself is not modified
+     *
+     * @param _patioInfo  The PatioInfo to sweep, usually a copy of the current one. It is not modified
+     * @param _parameter  The property to sweep
+     * @param _fromValue  The first value, in inches
+     * @param _toValue    The last value, in inches
+     * @param _nbSamples  The number of values to generate, 2 or more to include the last value
+     * @return The price and the validity of every value
+     */
+    public PriceSweep sweepPrice(final PatioInfo _patioInfo, final SweepParameter _parameter, float _fromValue,
+                                 float _toValue, final int _nbSamples) {
+        final PriceSweep priceSweep = new PriceSweep(_parameter, _fromValue, _toValue, _nbSamples);
+        final int nbWorkers = Math.max(1, Math.min(_nbSamples, getOptimizationPool().getParallelism()));
+        final BulkValidator bulkValidator = new BulkValidator(StructuralTables.get(_patioInfo.getBuildingCode()));
+
+        getOptimizationPool().invoke(new IndexedRangeTask(new IndexedRangeTask.IndexedWork() {
+            @Override
+            public void run(int _idxWorker) {
+                Patio workerPatio = createCandidatePatio(null);
+                PatioInfo workerPatioInfo = new PatioInfo(_patioInfo);
+                workerPatio.setPatioInfo(workerPatioInfo);
+
+                int fromSample = (int) ((long) _nbSamples * _idxWorker / nbWorkers);
+                int toSample = (int) ((long) _nbSamples * (_idxWorker + 1) / nbWorkers);
+                PatioCandidateStore workerCandidates = new PatioCandidateStore(toSample - fromSample);
+                float[] workerPrices = new float[toSample - fromSample];
+                for (int idxSample = fromSample; idxSample < toSample; idxSample++) {
+                    _parameter.setValue(workerPatioInfo, priceSweep.getValue(idxSample));
+                    workerCandidates.add(workerPatioInfo);
+
+                    workerPatio.updateComponents();
+                    workerPrices[idxSample - fromSample] = workerPatio.getTotalPrice();
+                }
+
+                int[] errorsMasks = bulkValidator.validate(workerCandidates);
+                for (int idxSample = fromSample; idxSample < toSample; idxSample++) {
+                    priceSweep.setSample(idxSample, workerPrices[idxSample - fromSample],
+                            errorsMasks[idxSample - fromSample] == 0);
+                }
+            }
+        }, 0, nbWorkers));
+
+        return priceSweep;
     }
 
     /**
@@ -431,17 +879,37 @@ public class Patio {
      * @param _patioConfiguration The current patio configuration being tested
      */
     private void iterateThroughPossibleCantileverLengths(PatioInfo _patioConfiguration) {
-        float maxAllowedCantileverLength =
-                patioValidator.getAllowedCantileverLength(_patioConfiguration.getJoistDimensions());
-        if (maxAllowedCantileverLength != -1f) {
-            _patioConfiguration.setCantileverLength(maxAllowedCantileverLength, false);
+        patioValidator.setBuildingCode(_patioConfiguration.getBuildingCode());
+
+        if (applyCantileverLength(_patioConfiguration, true))
             iterateThroughPossiblePostDimensions(_patioConfiguration);
-        }
 
-        _patioConfiguration.setCantileverLength(0, false);
+        applyCantileverLength(_patioConfiguration, false);
         iterateThroughPossiblePostDimensions(_patioConfiguration);
     }
 
+    /**
+     * Sets the cantilever length of a configuration
+     *
+     * @param _patioConfiguration The current patio configuration being tested
+     * @param _isCantilevered True for the longest cantilever allowed for the joists, false for no cantilever
+     * @return False if the joists do not allow a cantilever
+     */
+    private boolean applyCantileverLength(PatioInfo _patioConfiguration, boolean _isCantilevered) {
+        if (!_isCantilevered) {
+            _patioConfiguration.setCantileverLength(0, false);
+            return true;
+        }
+
+        float maxAllowedCantileverLength =
+                patioValidator.getAllowedCantileverLength(_patioConfiguration.getJoistDimensions());
+        if (maxAllowedCantileverLength == -1f)
+            return false;
+
+        _patioConfiguration.setCantileverLength(maxAllowedCantileverLength, false);
+        return true;
+    }
+
     /**
      * Identifies all the possible post dimensions, and tries to create a valid patio with them
      *
@@ -450,94 +918,161 @@ public class Patio {
     private void iterateThroughPossiblePostDimensions(PatioInfo _patioConfiguration) {
         float maxJoistSpacing = patioValidator.getAllowedJoistSpacing(_patioConfiguration.getCoveringDimensions());
 
-        for (String postDimensionsPossibility : LumberDimension.getPossibility(MeasureType.REAL, ComponentType.POST)) {
-            String[] postDimensionsString = LumberDimension.splitLumberDimensions(postDimensionsPossibility);
-            float postWidth = new Fraction(postDimensionsString[1]).toFloat();
-            float postHeight = new Fraction(postDimensionsString[0]).toFloat();
-            float postTempDepth = 0f;
-
-            Dimensions postDimensions = new Dimensions(postWidth, postHeight, postTempDepth);
-            _patioConfiguration.setPostDimensions(postDimensions, false);
+        LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+        for (int idxPostLumber = 0; idxPostLumber < lumberCatalog.getLumberCount(ComponentType.POST); idxPostLumber++) {
+            applyPostDimensions(_patioConfiguration, idxPostLumber, maxJoistSpacing);
+            identifyAllowedBeamProperties(_patioConfiguration);
+        }
+    }
 
-            float beamTempWidth = 0f;
-            float beamTempHeight = 0f;
-            float beamDepth =
-                    _patioConfiguration.getPatioDimensions().getActualWidth() - postDimensions.getActualWidth();
+    /**
+     * Sets the post dimensions of a configuration, and the beam length, the joist spacing and the joist span they lead
+     * to
+     *
+     * @param _patioConfiguration The current patio configuration being tested
+     * @param _idxPostLumber The index of the post lumber in the lumber catalog
+     * @param _maxJoistSpacing The maximum joist spacing allowed for the covering
+     */
+    private void applyPostDimensions(PatioInfo _patioConfiguration, int _idxPostLumber, float _maxJoistSpacing) {
+        LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+        int postLumberId = lumberCatalog.getLumberId(ComponentType.POST, _idxPostLumber);
+        float postWidth = lumberCatalog.getActualWidth(postLumberId);
+        float postHeight = lumberCatalog.getActualHeight(postLumberId);
+        float postTempDepth = 0f;
+
+        Dimensions postDimensions = new Dimensions(postWidth, postHeight, postTempDepth);
+        _patioConfiguration.setPostDimensions(postDimensions, false);
+
+        float beamTempWidth = 0f;
+        float beamTempHeight = 0f;
+        float beamDepth =
+                _patioConfiguration.getPatioDimensions().getActualWidth() - postDimensions.getActualWidth();
+
+        Dimensions beamDimensions = new Dimensions(beamTempWidth, beamTempHeight, beamDepth);
+        _patioConfiguration.setBeamDimensions(beamDimensions, false);
+
+        float coveringWidth = _patioConfiguration.getCoveringDimensions().getActualWidth();
+        float coveringHeight = _patioConfiguration.getCoveringDimensions().getActualHeight();
+
+        Dimensions newCoveringDimensions = new Dimensions(coveringWidth, coveringHeight, beamDepth);
+        _patioConfiguration.setCoveringDimensions(newCoveringDimensions, false);
+
+        float totalJoistSpacingLength =
+                beamDepth - (2 * _patioConfiguration.getJoistDimensions().getActualHeight());
+        float joistSpacingRatio = totalJoistSpacingLength / _maxJoistSpacing;
+        int nbJoists = (int) Math.ceil(joistSpacingRatio);
+        float actualJoistSpacing = totalJoistSpacingLength / nbJoists;
+        _patioConfiguration.setJoistSpacing(actualJoistSpacing);
+
+        float maxJoistSpan =
+                patioValidator.getAllowedSpanLength(actualJoistSpacing, _patioConfiguration.getJoistDimensions());
+        _patioConfiguration.setJoistSpanMaxLength(maxJoistSpan, false);
+    }
 
-            Dimensions beamDimensions = new Dimensions(beamTempWidth, beamTempHeight, beamDepth);
-            _patioConfiguration.setBeamDimensions(beamDimensions, false);
+    /**
+     * Identifies all the allowed beam properties (dimensions, number of plies)
+     *
+     * @param _patioConfiguration The current patio configuration being tested
+     */
+    private void identifyAllowedBeamProperties(PatioInfo _patioConfiguration) {
+        if (!applyPostsPerBeam(_patioConfiguration))
+            return;
 
-            float coveringWidth = _patioConfiguration.getCoveringDimensions().getActualWidth();
-            float coveringHeight = _patioConfiguration.getCoveringDimensions().getActualHeight();
+        float actualJoistSpan = getActualJoistSpan(_patioConfiguration);
+        boolean hasAlternate = allowedBeamProperties.hasAlternate();
+        float alternateMinBeamHeight = getMinBeamHeight(true);
+        float alternateMinBeamWidth = getMinBeamWidth(true);
+        int alternateMinPliesPerBeam = getMinPliesPerBeam(true);
 
-            Dimensions newCoveringDimensions = new Dimensions(coveringWidth, coveringHeight, beamDepth);
-            _patioConfiguration.setCoveringDimensions(newCoveringDimensions, false);
+        iterateThroughPossibleBeamProperties(_patioConfiguration, actualJoistSpan,
+                getMinBeamHeight(false), getMinBeamWidth(false), getMinPliesPerBeam(false));
 
-            float totalJoistSpacingLength =
-                    beamDepth - (2 * _patioConfiguration.getJoistDimensions().getActualHeight());
-            float joistSpacingRatio = totalJoistSpacingLength / maxJoistSpacing;
-            int nbJoists = (int) Math.ceil(joistSpacingRatio);
-            float actualJoistSpacing = totalJoistSpacingLength / nbJoists;
-            _patioConfiguration.setJoistSpacing(actualJoistSpacing);
+        if (hasAlternate) {
+            iterateThroughPossibleBeamProperties(_patioConfiguration, actualJoistSpan, alternateMinBeamHeight,
+                    alternateMinBeamWidth, alternateMinPliesPerBeam);
+        }
+    }
 
-            float maxJoistSpan =
-                    patioValidator.getAllowedSpanLength(actualJoistSpacing, _patioConfiguration.getJoistDimensions());
-            _patioConfiguration.setJoistSpanMaxLength(maxJoistSpan, false);
+    /**
+     * Obtains the length of the joists between two beams of a configuration
+     *
+     * @param _patioConfiguration The current patio configuration being tested
+     * @return The actual joist span in inches
+     */
+    private static float getActualJoistSpan(PatioInfo _patioConfiguration) {
+        float joistSpanRatio = (_patioConfiguration.getPatioDimensions().getActualDepth() -
+                _patioConfiguration.getCantileverLength()) / _patioConfiguration.getJoistSpanMaxLength();
+        int nbSections = (int) Math.ceil(joistSpanRatio);
 
-            identifyAllowedBeamProperties(_patioConfiguration);
-        }
+        return (_patioConfiguration.getPatioDimensions().getActualDepth() -
+                _patioConfiguration.getCantileverLength()) / nbSections;
     }
 
     /**
-     * Identifies all the allowed beam properties (dimensions, number of plies)
+     * Sets the fewest posts per beam, and their spacing, for which the validator allows some beam properties. The
+     * beam properties allowed are kept in allowedBeamProperties
      *
      * @param _patioConfiguration The current patio configuration being tested
+     * @return False if no number of posts leads to allowed beam properties
      */
-    private void identifyAllowedBeamProperties(PatioInfo _patioConfiguration) {
+    private boolean applyPostsPerBeam(PatioInfo _patioConfiguration) {
         float joistSpanRatio = (_patioConfiguration.getPatioDimensions().getActualDepth() -
                 _patioConfiguration.getCantileverLength()) / _patioConfiguration.getJoistSpanMaxLength();
         int nbSections = (int) Math.ceil(joistSpanRatio);
 
         int nbPostsPerBeam = 2;
         float currentPostSpacing = _patioConfiguration.getBeamPlieDimensions().getActualDepth();
-        float actualJoistSpan = (_patioConfiguration.getPatioDimensions().getActualDepth() -
-                _patioConfiguration.getCantileverLength()) / nbSections;
+        float actualJoistSpan = getActualJoistSpan(_patioConfiguration);
         boolean presenceOfBeamsSupportingTwoSpans = nbSections > 1;
 
-        Map<String, Integer> beamProperties = patioValidator.getAllowedBeamProperties(
-                currentPostSpacing, actualJoistSpan, presenceOfBeamsSupportingTwoSpans);
-        while (beamProperties == null) {
+        boolean isBeamAllowed = patioValidator.findAllowedBeamProperties(
+                currentPostSpacing, actualJoistSpan, presenceOfBeamsSupportingTwoSpans, allowedBeamProperties);
+        while (!isBeamAllowed) {
             if (currentPostSpacing < _patioConfiguration.getMinPostSpacing()) {
-                return;
+                return false;
             }
 
             currentPostSpacing = _patioConfiguration.getBeamPlieDimensions().getActualDepth() / nbPostsPerBeam++;
-            beamProperties = patioValidator.getAllowedBeamProperties(
-                    currentPostSpacing, actualJoistSpan, presenceOfBeamsSupportingTwoSpans);
+            isBeamAllowed = patioValidator.findAllowedBeamProperties(
+                    currentPostSpacing, actualJoistSpan, presenceOfBeamsSupportingTwoSpans, allowedBeamProperties);
         }
 
         _patioConfiguration.setPostsPerBeam(nbPostsPerBeam, false);
         _patioConfiguration.setPostSpacing(currentPostSpacing, false);
 
-        float minBeamHeight = Conversion.getActualInchesFromNominal(beamProperties.get(Validator.BEAMS_HEIGHT_KEY));
-        float minBeamWidth = Conversion.getActualInchesFromNominal(beamProperties.get(Validator.BEAMS_WIDTH_KEY));
-        int minPliesPerBeam = beamProperties.get(Validator.PLIES_COUNT_KEY);
+        return true;
+    }
+
+    /**
+     * Obtains the smallest beam height allowed by the beam properties found by applyPostsPerBeam
+     *
+     * @param _isAlternate True for the alternate beam properties
+     * @return The minimum beam height in inches
+     */
+    private float getMinBeamHeight(boolean _isAlternate) {
+        return Conversion.getActualInchesFromNominal(_isAlternate ? allowedBeamProperties.getAlternateBeamHeight() :
+                allowedBeamProperties.getBeamHeight());
+    }
 
-        iterateThroughPossibleBeamProperties(_patioConfiguration, actualJoistSpan,
-                minBeamHeight, minBeamWidth, minPliesPerBeam);
-
-        if (beamProperties.get(Validator.ALTERNATE_BEAMS_HEIGHT_KEY) != null &&
-                beamProperties.get(Validator.ALTERNATE_BEAMS_WIDTH_KEY) != null &&
-                beamProperties.get(Validator.ALTERNATE_PLIES_COUNT_KEY) != null) {
-            float alternateMinBeamHeight =
-                    Conversion.getActualInchesFromNominal(beamProperties.get(Validator.ALTERNATE_BEAMS_HEIGHT_KEY));
-            float alternateMinBeamWidth =
-                    Conversion.getActualInchesFromNominal(beamProperties.get(Validator.ALTERNATE_BEAMS_WIDTH_KEY));
-            int alternateMinPliesPerBeam = beamProperties.get(Validator.ALTERNATE_PLIES_COUNT_KEY);
-
-            iterateThroughPossibleBeamProperties(_patioConfiguration, actualJoistSpan,
-                    alternateMinBeamHeight, alternateMinBeamWidth, alternateMinPliesPerBeam);
-        }
+    /**
+     * Obtains the smallest beam width allowed by the beam properties found by applyPostsPerBeam
+     *
+     * @param _isAlternate True for the alternate beam properties
+     * @return The minimum beam width in inches
+     */
+    private float getMinBeamWidth(boolean _isAlternate) {
+        return Conversion.getActualInchesFromNominal(_isAlternate ? allowedBeamProperties.getAlternateBeamWidth() :
+                allowedBeamProperties.getBeamWidth());
+    }
+
+    /**
+     * Obtains the fewest plies per beam allowed by the beam properties found by applyPostsPerBeam
+     *
+     * @param _isAlternate True for the alternate beam properties
+     * @return The minimum beam plies
+     */
+    private int getMinPliesPerBeam(boolean _isAlternate) {
+        return _isAlternate ? allowedBeamProperties.getAlternatePliesCount() : allowedBeamProperties.getPliesCount();
     }
 
     /**
@@ -551,91 +1086,298 @@ public class Patio {
      */
     private void iterateThroughPossibleBeamProperties(PatioInfo _patioConfiguration, float _actualJoistSpan,
                                                       float _minBeamHeight, float _minBeamWidth, int _minPliesPerBeam) {
-        for (String beamDimensionsPossibility : LumberDimension.getPossibility(MeasureType.REAL, ComponentType.BEAM)) {
-            String[] beamDimensionsString = LumberDimension.splitLumberDimensions(beamDimensionsPossibility);
-            float beamWidth = new Fraction(beamDimensionsString[1]).toFloat();
-            float beamHeight = new Fraction(beamDimensionsString[0]).toFloat();
+        LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+        for (int idxBeamLumber = 0; idxBeamLumber < lumberCatalog.getLumberCount(ComponentType.BEAM); idxBeamLumber++) {
+            int beamLumberId = lumberCatalog.getLumberId(ComponentType.BEAM, idxBeamLumber);
+            float beamWidth = lumberCatalog.getActualWidth(beamLumberId);
+            float beamHeight = lumberCatalog.getActualHeight(beamLumberId);
 
             if (beamWidth < _minBeamWidth || beamHeight < _minBeamHeight)
                 continue;
 
             int maxPliesPerBeam = _patioConfiguration.getMaxPliesPerBeam();
             for (int pliesPerBeam = _minPliesPerBeam; pliesPerBeam <= maxPliesPerBeam; pliesPerBeam++) {
-                _patioConfiguration.setBeamDimensions(new Dimensions(beamWidth, beamHeight,
-                        _patioConfiguration.getBeamPlieDimensions().getActualDepth()), false);
-                _patioConfiguration.setPliesPerBeam(_minPliesPerBeam);
+                if (optimalPatioSearch.isStopped())
+                    return;
 
-                float joistWidth = _patioConfiguration.getJoistDimensions().getActualWidth();
-                float joistHeight = _patioConfiguration.getJoistDimensions().getActualHeight();
-                float joistDepth = _actualJoistSpan + beamHeight;
+                applyBeamDimensions(_patioConfiguration, beamLumberId, _actualJoistSpan, _minPliesPerBeam);
 
-                _patioConfiguration.setJoistDimensions(new Dimensions(joistWidth, joistHeight, joistDepth), false);
-
-                float patioHeightWithoutPosts =
-                        _patioConfiguration.getPatioHeightExcludingComponent(ComponentType.POST);
-                float postWidth = _patioConfiguration.getPostDimensions().getActualWidth();
-                float postHeight = _patioConfiguration.getPostDimensions().getActualHeight();
-                float postDepth = Math.max(
-                        0, _patioConfiguration.getPatioDimensions().getActualHeight() - patioHeightWithoutPosts);
+                if (isPruningOptimalPatioSearch && !optimalPatioSearch.isKeepingEveryConfiguration() &&
+                        getLowerBoundPrice(_patioConfiguration) > optimalPatioSearch.getBestPrice()) {
+                    optimalPatioSearch.onCandidatePruned();
+                    continue;
+                }
 
-                _patioConfiguration.setPostDimensions(new Dimensions(postWidth, postHeight, postDepth), false);
+                evaluateCandidate(_patioConfiguration);
+            }
+        }
+    }
 
-                patioInfo = _patioConfiguration;
-                generatePatio();
-                patioValidator.validate();
+    /**
+     * Sets the beam dimensions and plies of a configuration, and the joist and post lengths they lead to
+     *
+     * @param _patioConfiguration The current patio configuration being tested
+     * @param _beamLumberId The LumberCatalog ID of the beam lumber
+     * @param _actualJoistSpan The actual joist span in inches
+     * @param _pliesPerBeam The plies per beam
+     */
+    private void applyBeamDimensions(PatioInfo _patioConfiguration, int _beamLumberId, float _actualJoistSpan,
+                                     int _pliesPerBeam) {
+        LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+        float beamWidth = lumberCatalog.getActualWidth(_beamLumberId);
+        float beamHeight = lumberCatalog.getActualHeight(_beamLumberId);
+
+        _patioConfiguration.setBeamDimensions(new Dimensions(beamWidth, beamHeight,
+                _patioConfiguration.getBeamPlieDimensions().getActualDepth()), false);
+        _patioConfiguration.setPliesPerBeam(_pliesPerBeam);
+
+        float joistWidth = _patioConfiguration.getJoistDimensions().getActualWidth();
+        float joistHeight = _patioConfiguration.getJoistDimensions().getActualHeight();
+        float joistDepth = _actualJoistSpan + beamHeight;
+
+        _patioConfiguration.setJoistDimensions(new Dimensions(joistWidth, joistHeight, joistDepth), false);
+
+        float patioHeightWithoutPosts =
+                _patioConfiguration.getPatioHeightExcludingComponent(ComponentType.POST);
+        float postWidth = _patioConfiguration.getPostDimensions().getActualWidth();
+        float postHeight = _patioConfiguration.getPostDimensions().getActualHeight();
+        float postDepth = Math.max(
+                0, _patioConfiguration.getPatioDimensions().getActualHeight() - patioHeightWithoutPosts);
+
+        _patioConfiguration.setPostDimensions(new Dimensions(postWidth, postHeight, postDepth), false);
+    }
 
-                if (!patioValidator.getErrors().isEmpty())
-                    continue;
+    /**
+     * Validates a candidate configuration, then generates it to compute its price. The validation only reads the
+     * dimensions of the configuration, so an invalid candidate is rejected without generating its geometry. A valid
+     * candidate is kept with its price
+     *
+     * @param _patioConfiguration The candidate configuration, with all its dimensions set
+     * @return The price of the generated candidate, or Float.MAX_VALUE if it is not valid
+     */
+    private float evaluateCandidate(PatioInfo _patioConfiguration) {
+        patioValidator.validateConfiguration(_patioConfiguration);
 
-                float totalPrice = getTotalPrice();
-                optimalPatioConfigurations.add(new Pair<>(totalPrice, new PatioInfo(_patioConfiguration)));
-            }
+        if (!patioValidator.getErrors().isEmpty()) {
+            optimalPatioSearch.onCandidateEvaluated(Float.MAX_VALUE);
+            return Float.MAX_VALUE;
         }
+
+        patioInfo = _patioConfiguration;
+        generatePatio();
+
+        float totalPrice = getTotalPrice();
+        optimalPatioConfigurations.add(new PatioInfo(_patioConfiguration), lumberLengths, totalPrice);
+        optimalPatioSearch.onCandidateEvaluated(totalPrice);
+
+        return totalPrice;
+    }
+
+    /**
+     * Obtains the valid configurations evaluated by this candidate patio
+     *
+     * @return The configurations kept in the order they were evaluated, not ranked
+     */
+    PatioConfigurationRanking getCandidateConfigurations() {
+        return optimalPatioConfigurations;
+    }
+
+    /**
+     * Obtains the number of options of every choice made to build a candidate configuration, in the order of the
+     * choices given to evaluateCandidateChoices: the joist lumber, the cantilever (none or the longest allowed), the post
+     * lumber, the beam properties (allowed or alternate) and the beam lumber
+     *
+     * @return The number of options per choice
+     */
+    int[] getCandidateChoicesCounts() {
+        LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+
+        return new int[]{lumberCatalog.getLumberCount(ComponentType.JOIST), 2,
+                lumberCatalog.getLumberCount(ComponentType.POST), 2, lumberCatalog.getLumberCount(ComponentType.BEAM)};
+    }
+
+    /**
+     * Builds the candidate configuration of some choices, like the exhaustive search does, then generates and validates
+     * it. The plies per beam are the minimum allowed by the beam properties, like in the exhaustive search. Every call
+     * is counted as an evaluated candidate by the search, the rejected choices included
+     *
+     * @param _patioInfo The PatioInfo holding the search inputs
+     * @param _choices The option of every choice, as counted by getCandidateChoicesCounts
+     * @return The price of the generated candidate, or Float.MAX_VALUE if the choices do not lead to a valid patio
+     */
+    float evaluateCandidateChoices(PatioInfo _patioInfo, int[] _choices) {
+        patioValidator.setBuildingCode(_patioInfo.getBuildingCode());
+
+        PatioInfo patioConfiguration = createJoistConfiguration(_patioInfo, _choices[0]);
+        if (!applyCantileverLength(patioConfiguration, _choices[1] == 0))
+            return rejectCandidate();
+
+        applyPostDimensions(patioConfiguration, _choices[2],
+                patioValidator.getAllowedJoistSpacing(patioConfiguration.getCoveringDimensions()));
+
+        if (!applyPostsPerBeam(patioConfiguration))
+            return rejectCandidate();
+
+        boolean isAlternate = _choices[3] == 1;
+        if (isAlternate && !allowedBeamProperties.hasAlternate())
+            return rejectCandidate();
+
+        int beamLumberId = LumberCatalog.getInstance().getLumberId(ComponentType.BEAM, _choices[4]);
+        if (LumberCatalog.getInstance().getActualWidth(beamLumberId) < getMinBeamWidth(isAlternate) ||
+                LumberCatalog.getInstance().getActualHeight(beamLumberId) < getMinBeamHeight(isAlternate))
+            return rejectCandidate();
+
+        applyBeamDimensions(patioConfiguration, beamLumberId, getActualJoistSpan(patioConfiguration),
+                getMinPliesPerBeam(isAlternate));
+
+        return evaluateCandidate(patioConfiguration);
+    }
+
+    /**
+     * Counts a candidate whose choices do not lead to a valid patio, like an invalid candidate of evaluateCandidate
+     *
+     * @return Float.MAX_VALUE, the price of an invalid candidate
+     */
+    private float rejectCandidate() {
+        optimalPatioSearch.onCandidateEvaluated(Float.MAX_VALUE);
+        return Float.MAX_VALUE;
+    }
+
+    /**
+     * Computes a lower bound of the price of a candidate configuration without generating it. The beams, posts and
+     * joists are counted like the generation does, and priced with the lumber price table. The covering is left out:
+     * it only depends on the search inputs, so it does not help to tell the candidates apart
+     *
+     * @param _patioConfiguration The candidate configuration, with all its dimensions set
+     * @return A price that the generated candidate cannot be cheaper than
+     */
+    private float getLowerBoundPrice(PatioInfo _patioConfiguration) {
+        LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+        Dimensions beamPlieDimensions = _patioConfiguration.getBeamPlieDimensions();
+        Dimensions postDimensions = _patioConfiguration.getPostDimensions();
+        Dimensions joistDimensions = _patioConfiguration.getJoistDimensions();
+
+        int nbBeams = _patioConfiguration.getBeamAmount();
+        int nbPosts = Math.max(0, nbBeams - 1) * _patioConfiguration.getPostsPerBeam();
+        int nbJoistsPerSpan = Math.max(0, _patioConfiguration.getJoistAmountPerSpan());
+        int nbJoists = _patioConfiguration.getSpanAmount() * nbJoistsPerSpan;
+
+        float beamsPrice = nbBeams * _patioConfiguration.getPliesPerBeam() *
+                Conversion.inchesToFeet(beamPlieDimensions.getActualDepth()) * _patioConfiguration.getLumberPrice(
+                lumberCatalog.getLumberId(beamPlieDimensions.getActualHeight(), beamPlieDimensions.getActualWidth()));
+        float postsPrice = nbPosts * Conversion.inchesToFeet(postDimensions.getActualDepth()) *
+                _patioConfiguration.getLumberPrice(
+                        lumberCatalog.getLumberId(postDimensions.getActualHeight(), postDimensions.getActualWidth()));
+        //The joists of the last span are extended by the cantilever
+        float joistsLength = nbJoists * joistDimensions.getActualDepth() +
+                nbJoistsPerSpan * _patioConfiguration.getCantileverLength();
+        float joistsPrice = Conversion.inchesToFeet(joistsLength) * _patioConfiguration.getLumberPrice(
+                lumberCatalog.getLumberId(joistDimensions.getActualHeight(), joistDimensions.getActualWidth()));
+
+        return (beamsPrice + postsPrice + joistsPrice) * LOWER_BOUND_PRICE_MARGIN;
+    }
+
+    /**
+     * Indicates if the optimal patio search skips the candidates whose lower bound price is higher than the best price
+     * found so far
+     *
+     * @return True if the search prunes the candidates
+     */
+    public boolean isPruningOptimalPatioSearch() {
+        return isPruningOptimalPatioSearch;
+    }
+
+    /**
+     * Sets if the optimal patio search skips the candidates whose lower bound price is higher than the best price found
+     * so far. The cheapest configuration is the same either way
+     *
+     * @param _isPruningOptimalPatioSearch True to prune the candidates
+     */
+    public void setPruningOptimalPatioSearch(boolean _isPruningOptimalPatioSearch) {
+        isPruningOptimalPatioSearch = _isPruningOptimalPatioSearch;
+    }
+
+    /**
+     * Obtains the last generated state of the patio. Readers should get the snapshot once and read everything from
+     * it, to stay consistent while the patio is regenerated
+     *
+     * @return The last published snapshot of the patio
+     */
+    public PatioSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Obtains a sized and splittable traversal of every wood piece of the last generated patio, for example to back
+     * a parallel stream with StreamSupport
+     *
+     * @return A spliterator over the wood pieces of the current snapshot
+     */
+    public Spliterator<WoodPiece> pieces() {
+        return snapshot.pieces();
+    }
+
+    /**
+     * Obtains the wood pieces at fault for the errors found by the last validation of the patio
+     *
+     * @return The index of the wood pieces at fault, updated whenever the patio is validated
+     */
+    public ValidationErrorLocations getErrorLocations() {
+        return patioValidator.getErrorLocations();
+    }
+
+    /**
+     * Obtains the cache of the previously generated snapshots, with its hit and miss counters
+     *
+     * @return The geometry cache of the patio
+     */
+    public PatioGeometryCache getGeometryCache() {
+        return geometryCache;
     }
 
     /**
      * Obtains all the patio components
      *
-     * @return An ArrayList containing all the patio components
+     * @return A list containing all the components of the last generated patio
      */
-    public ArrayList<Component> getComponents() {
-        return components;
+    public List<Component> getComponents() {
+        return snapshot.getComponents();
     }
 
     /**
      * Obtains all the patio spans
      *
-     * @return An ArrayList containing all the patio spans
+     * @return A list containing all the spans of the last generated patio
      */
-    public ArrayList<Span> getSpans() {
-        return spans;
+    public List<Span> getSpans() {
+        return snapshot.getSpans();
     }
 
     /**
      * Obtains all the patio posts
      *
-     * @return An ArrayList containing all the patio posts
+     * @return A list containing all the posts of the last generated patio
      */
-    public ArrayList<Post> getPosts() {
-        return posts;
+    public List<Post> getPosts() {
+        return snapshot.getPosts();
     }
 
     /**
      * Obtains the patio covering
      *
-     * @return An ArrayList containing all the patio coverings
+     * @return A list containing all the coverings of the last generated patio
      */
-    public ArrayList<Covering> getCovering() {
-        return covering;
+    public List<Covering> getCovering() {
+        return snapshot.getCovering();
     }
 
     /**
      * Obtains all the patio beams
      *
-     * @return An ArrayList containing all the patio beams
+     * @return A list containing all the beams of the last generated patio
      */
-    public ArrayList<Beam> getBeams() {
-        return beams;
+    public List<Beam> getBeams() {
+        return snapshot.getBeams();
     }
 
     /**
@@ -0,0 +1,176 @@
+package ca.ulaval.glo2004.patio;
+
+import ca.ulaval.glo2004.utils.Dimensions;
+
+import java.util.Arrays;
+
+/**
+ * Stores many candidate patio configurations in primitive arrays, keeping only the values the validation rules read.
+ * A candidate takes 13 floats and 2 integers instead of a PatioInfo, so a whole sweep of candidates can be validated
+ * in one call by the BulkValidator. The store is not synchronized, it must be filled before it is validated.
+ */
+public class PatioCandidateStore {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    //The offsets of the float values of a candidate
+    static final int COVERING_NOMINAL_WIDTH = 0;
+    static final int COVERING_NOMINAL_HEIGHT = 1;
+    static final int JOIST_NOMINAL_WIDTH = 2;
+    static final int JOIST_NOMINAL_HEIGHT = 3;
+    static final int JOIST_SPACING = 4;
+    static final int JOIST_SPAN = 5;
+    static final int CANTILEVER_LENGTH = 6;
+    static final int BEAM_NOMINAL_WIDTH = 7;
+    static final int BEAM_NOMINAL_HEIGHT = 8;
+    static final int POST_NOMINAL_WIDTH = 9;
+    static final int POST_NOMINAL_HEIGHT = 10;
+    static final int POST_HEIGHT = 11;
+    static final int POST_SPACING = 12;
+    static final int NB_VALUES = 13;
+
+    //The offsets of the integer values of a candidate
+    static final int PLIES_PER_BEAM = 0;
+    static final int BEAM_AMOUNT = 1;
+    static final int NB_COUNTS = 2;
+
+    private float[] values;
+    private int[] counts;
+    private int nbCandidates;
+
+    /**
+     * The PatioCandidateStore constructor
+     */
+    public PatioCandidateStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * The PatioCandidateStore constructor
+     *
+     * @param _capacity The number of candidates the store can hold before growing
+     */
+    public PatioCandidateStore(int _capacity) {
+        int capacity = Math.max(_capacity, 1);
+
+        values = new float[capacity * NB_VALUES];
+        counts = new int[capacity * NB_COUNTS];
+    }
+
+    /**
+     * Adds the configuration of a PatioInfo to the store
+     *
+     * @param _patioInfo The configuration to add, with all its dimensions set
+     * @return The index of the candidate in the store
+     */
+    public int add(PatioInfo _patioInfo) {
+        Dimensions coveringDimensions = _patioInfo.getCoveringDimensions();
+        Dimensions joistDimensions = _patioInfo.getJoistDimensions();
+        Dimensions beamPlieDimensions = _patioInfo.getBeamPlieDimensions();
+        Dimensions postDimensions = _patioInfo.getPostDimensions();
+
+        return add(coveringDimensions.getNominalWidth(), coveringDimensions.getNominalHeight(),
+                joistDimensions.getNominalWidth(), joistDimensions.getNominalHeight(), _patioInfo.getJoistSpacing(),
+                _patioInfo.getJoistSpan(), _patioInfo.getCantileverLength(), beamPlieDimensions.getNominalWidth(),
+                beamPlieDimensions.getNominalHeight(), _patioInfo.getPliesPerBeam(), _patioInfo.getBeamAmount(),
+                postDimensions.getNominalWidth(), postDimensions.getNominalHeight(), postDimensions.getActualDepth(),
+                _patioInfo.getPostSpacing());
+    }
+
+    /**
+     * Adds a candidate configuration to the store. The lengths are in actual inches
+     *
+     * @param _coveringNominalWidth  The nominal width of the covering planks
+     * @param _coveringNominalHeight The nominal height (thickness) of the covering planks
+     * @param _joistNominalWidth     The nominal width of the joists
+     * @param _joistNominalHeight    The nominal height of the joists
+     * @param _joistSpacing          The spacing between the joists
+     * @param _joistSpan             The length of a span
+     * @param _cantileverLength      The length of the cantilever
+     * @param _beamNominalWidth      The nominal width of a ply of the beams
+     * @param _beamNominalHeight     The nominal height of a ply of the beams
+     * @param _pliesPerBeam          The number of plies of every beam
+     * @param _beamAmount            The number of beams, the one attached to the house included
+     * @param _postNominalWidth      The nominal width of the posts
+     * @param _postNominalHeight     The nominal height of the posts
+     * @param _postHeight            The height of the posts
+     * @param _postSpacing           The spacing between the posts
+     * @return The index of the candidate in the store
+     */
+    public int add(float _coveringNominalWidth, float _coveringNominalHeight, float _joistNominalWidth,
+                   float _joistNominalHeight, float _joistSpacing, float _joistSpan, float _cantileverLength,
+                   float _beamNominalWidth, float _beamNominalHeight, int _pliesPerBeam, int _beamAmount,
+                   float _postNominalWidth, float _postNominalHeight, float _postHeight, float _postSpacing) {
+        if (nbCandidates * NB_COUNTS == counts.length)
+            grow();
+
+        int idxCandidate = nbCandidates++;
+        int valuesOffset = idxCandidate * NB_VALUES;
+        values[valuesOffset + COVERING_NOMINAL_WIDTH] = _coveringNominalWidth;
+        values[valuesOffset + COVERING_NOMINAL_HEIGHT] = _coveringNominalHeight;
+        values[valuesOffset + JOIST_NOMINAL_WIDTH] = _joistNominalWidth;
+        values[valuesOffset + JOIST_NOMINAL_HEIGHT] = _joistNominalHeight;
+        values[valuesOffset + JOIST_SPACING] = _joistSpacing;
+        values[valuesOffset + JOIST_SPAN] = _joistSpan;
+        values[valuesOffset + CANTILEVER_LENGTH] = _cantileverLength;
+        values[valuesOffset + BEAM_NOMINAL_WIDTH] = _beamNominalWidth;
+        values[valuesOffset + BEAM_NOMINAL_HEIGHT] = _beamNominalHeight;
+        values[valuesOffset + POST_NOMINAL_WIDTH] = _postNominalWidth;
+        values[valuesOffset + POST_NOMINAL_HEIGHT] = _postNominalHeight;
+        values[valuesOffset + POST_HEIGHT] = _postHeight;
+        values[valuesOffset + POST_SPACING] = _postSpacing;
+
+        int countsOffset = idxCandidate * NB_COUNTS;
+        counts[countsOffset + PLIES_PER_BEAM] = _pliesPerBeam;
+        counts[countsOffset + BEAM_AMOUNT] = _beamAmount;
+
+        return idxCandidate;
+    }
+
+    /**
+     * Doubles the capacity of the store
+     */
+    private void grow() {
+        int capacity = Math.max(nbCandidates, 1) * 2;
+
+        values = Arrays.copyOf(values, capacity * NB_VALUES);
+        counts = Arrays.copyOf(counts, capacity * NB_COUNTS);
+    }
+
+    /**
+     * Forgets every candidate, keeping the capacity of the store
+     */
+    public void clear() {
+        nbCandidates = 0;
+    }
+
+    /**
+     * Obtains the number of candidates in the store
+     *
+     * @return The number of candidates
+     */
+    public int size() {
+        return nbCandidates;
+    }
+
+    /**
+     * Obtains a float value of a candidate
+     *
+     * @param _idxCandidate The index of the candidate
+     * @param _offset       The offset of the value, like JOIST_SPAN
+     * @return The value
+     */
+    float getValue(int _idxCandidate, int _offset) {
+        return values[_idxCandidate * NB_VALUES + _offset];
+    }
+
+    /**
+     * Obtains an integer value of a candidate
+     *
+     * @param _idxCandidate The index of the candidate
+     * @param _offset       The offset of the value, like PLIES_PER_BEAM
+     * @return The value
+     */
+    int getCount(int _idxCandidate, int _offset) {
+        return counts[_idxCandidate * NB_COUNTS + _offset];
+    }
+}
@@ -0,0 +1,222 @@
+package ca.ulaval.glo2004.patio;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Keeps the valid configurations found by the optimal patio search, with the length of lumber of every lumber ID they
+ * are built with. The price of a configuration is the dot product of its lengths and the prices per foot, so the
+ * configurations can be ranked again for other prices without generating them.
+ */
+public class PatioConfigurationRanking {
+    private final ArrayList<PatioInfo> configurations;
+    //The feet of lumber per LumberCatalog ID of every configuration
+    private final ArrayList<float[]> lumberLengths;
+    private float[] prices;
+    private Integer[] ranks;
+    private boolean isComplete;
+
+    /**
+     * The PatioConfigurationRanking constructor. The ranking is empty and complete
+     */
+    public PatioConfigurationRanking() {
+        configurations = new ArrayList<>();
+        lumberLengths = new ArrayList<>();
+        prices = new float[0];
+        ranks = new Integer[0];
+        isComplete = true;
+    }
+
+    /**
+     * Adds a valid configuration after the ones already added. The ranking must be ranked again to include it
+     *
+     * @param _configuration The valid configuration
+     * @param _lumberLengths The feet of lumber per LumberCatalog ID of its generated patio
+     * @param _price         The price of its generated patio
+     */
+    void add(PatioInfo _configuration, float[] _lumberLengths, float _price) {
+        int idxConfiguration = configurations.size();
+        configurations.add(_configuration);
+        lumberLengths.add(_lumberLengths);
+
+        if (idxConfiguration == prices.length)
+            prices = Arrays.copyOf(prices, Math.max(16, 2 * prices.length));
+        prices[idxConfiguration] = _price;
+    }
+
+    /**
+     * Adds every configuration of another ranking after the ones already added
+     *
+     * @param _ranking The ranking to add
+     */
+    void addAll(PatioConfigurationRanking _ranking) {
+        for (int idxConfiguration = 0; idxConfiguration < _ranking.configurations.size(); idxConfiguration++) {
+            add(_ranking.configurations.get(idxConfiguration), _ranking.lumberLengths.get(idxConfiguration),
+                    _ranking.prices[idxConfiguration]);
+        }
+
+        isComplete &= _ranking.isComplete;
+    }
+
+    /**
+     * Ranks the configurations by the price they were added with. Configurations with the same price keep the order
+     * they were added in, so the cheapest one is the first cheapest configuration found by the search
+     */
+    void rank() {
+        ranks = new Integer[configurations.size()];
+        for (int idxConfiguration = 0; idxConfiguration < ranks.length; idxConfiguration++) {
+            ranks[idxConfiguration] = idxConfiguration;
+        }
+
+        Arrays.sort(ranks, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer _lhs, Integer _rhs) {
+                return Float.compare(prices[_lhs], prices[_rhs]);
+            }
+        });
+    }
+
+    /**
+     * Computes the price of every configuration with other prices per foot, and ranks them again. No configuration is
+     * generated
+     *
+     * @param _prices The PatioInfo holding the new prices per foot
+     */
+    public void rank(PatioInfo _prices) {
+        for (int idxConfiguration = 0; idxConfiguration < configurations.size(); idxConfiguration++) {
+            float[] configurationLengths = lumberLengths.get(idxConfiguration);
+            float price = 0f;
+
+            for (int lumberId = 0; lumberId < configurationLengths.length; lumberId++) {
+                if (configurationLengths[lumberId] != 0f)
+                    price += configurationLengths[lumberId] * _prices.getLumberPrice(lumberId);
+            }
+
+            prices[idxConfiguration] = price;
+        }
+
+        rank();
+    }
+
+    /**
+     * Writes the structure, the feet of lumber and the price of every configuration, in the order they were added
+     *
+     * @param _output The output to write the configurations to
+     * @throws IOException If the configurations cannot be written
+     */
+    void write(DataOutput _output) throws IOException {
+        _output.writeInt(configurations.size());
+
+        for (int idxConfiguration = 0; idxConfiguration < configurations.size(); idxConfiguration++) {
+            configurations.get(idxConfiguration).writeStructure(_output);
+
+            float[] configurationLengths = lumberLengths.get(idxConfiguration);
+            _output.writeInt(configurationLengths.length);
+            for (float length : configurationLengths) {
+                _output.writeFloat(length);
+            }
+
+            _output.writeFloat(prices[idxConfiguration]);
+        }
+    }
+
+    /**
+     * Reads the configurations written by write. Every configuration is a copy of a PatioInfo with the structure read,
+     * and the ranking is ranked with the prices of this PatioInfo
+     *
+     * @param _input     The input to read the configurations from
+     * @param _patioInfo The PatioInfo holding the properties other than the structure, and the prices
+     * @return The complete ranking of the configurations read
+     * @throws IOException If the configurations cannot be read
+     */
+    static PatioConfigurationRanking read(DataInput _input, PatioInfo _patioInfo) throws IOException {
+        PatioConfigurationRanking ranking = new PatioConfigurationRanking();
+        int nbConfigurations = _input.readInt();
+
+        for (int idxConfiguration = 0; idxConfiguration < nbConfigurations; idxConfiguration++) {
+            PatioInfo configuration = new PatioInfo(_patioInfo);
+            configuration.readStructure(_input);
+
+            float[] configurationLengths = new float[_input.readInt()];
+            for (int lumberId = 0; lumberId < configurationLengths.length; lumberId++) {
+                configurationLengths[lumberId] = _input.readFloat();
+            }
+
+            ranking.add(configuration, configurationLengths, _input.readFloat());
+        }
+        ranking.rank(_patioInfo);
+
+        return ranking;
+    }
+
+    /**
+     * Obtains the number of configurations kept
+     *
+     * @return The number of valid configurations
+     */
+    public int size() {
+        return configurations.size();
+    }
+
+    /**
+     * Obtains a configuration by its rank
+     *
+     * @param _rank The rank, 0 being the cheapest configuration
+     * @return The configuration at this rank. It must not be modified
+     */
+    public PatioInfo getConfiguration(int _rank) {
+        return configurations.get(ranks[_rank]);
+    }
+
+    /**
+     * Obtains the price of a configuration by its rank
+     *
+     * @param _rank The rank, 0 being the cheapest configuration
+     * @return The price of the configuration at this rank, with the prices it was last ranked with
+     */
+    public float getPrice(int _rank) {
+        return prices[ranks[_rank]];
+    }
+
+    /**
+     * Obtains the feet of lumber of a configuration by its rank
+     *
+     * @param _rank The rank, 0 being the cheapest configuration
+     * @return The feet of lumber per LumberCatalog ID. The array must not be modified
+     */
+    public float[] getLumberLengths(int _rank) {
+        return lumberLengths.get(ranks[_rank]);
+    }
+
+    /**
+     * Obtains the cheapest configuration
+     *
+     * @return The configuration of rank 0, or null if no valid configuration was found
+     */
+    public PatioInfo getCheapestConfiguration() {
+        return configurations.isEmpty() ? null : getConfiguration(0);
+    }
+
+    /**
+     * Indicates if the ranking holds every valid configuration of the search. A ranking missing the configurations
+     * pruned or left out by a stopped search can miss the cheapest configuration for other prices
+     *
+     * @return True if no candidate was left out
+     */
+    public boolean isComplete() {
+        return isComplete;
+    }
+
+    /**
+     * Sets if the ranking holds every valid configuration of the search
+     *
+     * @param _isComplete False if candidates were pruned or left out
+     */
+    void setComplete(boolean _isComplete) {
+        isComplete = _isComplete;
+    }
+}
@@ -11,6 +11,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class that interacts with the sub-system in order to modify or access any patio domain properties.
@@ -30,6 +34,12 @@ public class PatioController {
             new Vector2(0, 0), new Vector2(0, 0), new Vector2(0, 0), new Vector2(0, 0)};
     private final float[] zoomFactorWithIndex = new float[]{0.15f, 0.15f, 0.15f, 0.15f};
     private final ArrayList<ExportDoneListener> exportDoneListeners;
+    private final ArrayList<OptimalPatioProgressListener> optimalPatioProgressListeners;
+    private final ArrayList<OptimalPatioGeneratedListener> optimalPatioGeneratedListeners;
+    private final ArrayList<PriceSweepDoneListener> priceSweepDoneListeners;
+    private boolean isSweepingPrice;
+    private OptimalPatioSearch optimalPatioSearch;
+    private OptimalPatioAtlas optimalPatioAtlas;
     private boolean isOptimalMode;
     private final ArrayList<FileLoadedListener> fileLoadedListeners;
     private final ArrayList<FileSavedListener> fileSavedListeners;
@@ -46,6 +56,8 @@ public class PatioController {
      */
     public PatioController() {
         patio = new Patio();
+        patio.setOptimalPatioCache(new OptimalPatioCache(OptimalPatioCache.getDefaultFile()));
+        optimalPatioAtlas = OptimalPatioAtlas.open(OptimalPatioAtlas.getDefaultFile());
         patioDrawer = new PatioDrawer(this);
 
         changeMadeListeners = new ArrayList<>();
@@ -55,6 +67,9 @@ public class PatioController {
         fileLoadedListeners = new ArrayList<>();
         fileSavedListeners = new ArrayList<>();
         exportDoneListeners = new ArrayList<>();
+        optimalPatioProgressListeners = new ArrayList<>();
+        optimalPatioGeneratedListeners = new ArrayList<>();
+        priceSweepDoneListeners = new ArrayList<>();
 
         hoveredWoodPieceListeners = new ArrayList<>();
     }
@@ -77,6 +92,33 @@ public class PatioController {
         exportDoneListeners.add(_exportDoneListener);
     }
 
+    /**
+     * Add a new listener to the progress of the optimal patio generation.
+     *
+     * @param _optimalPatioProgressListener New optimal patio progress listener
+     */
+    public void addOptimalPatioProgressListener(OptimalPatioProgressListener _optimalPatioProgressListener) {
+        optimalPatioProgressListeners.add(_optimalPatioProgressListener);
+    }
+
+    /**
+     * Add a new listener to the end of the optimal patio generation.
+     *
+     * @param _optimalPatioGeneratedListener New optimal patio generated listener
+     */
+    public void addOptimalPatioGeneratedListener(OptimalPatioGeneratedListener _optimalPatioGeneratedListener) {
+        optimalPatioGeneratedListeners.add(_optimalPatioGeneratedListener);
+    }
+
+    /**
+     * Add a new listener to the end of the price sweep.
+     *
+     * @param _priceSweepDoneListener New price sweep done listener
+     */
+    public void addPriceSweepDoneListener(PriceSweepDoneListener _priceSweepDoneListener) {
+        priceSweepDoneListeners.add(_priceSweepDoneListener);
+    }
+
     /**
      * Assigns a position to the relative position of the cursor on the screen
      *
@@ -93,15 +135,16 @@ public class PatioController {
      * @return a specific component pointed by the cursor
      */
     public Pair<Component, WoodPiece> getComponentAndPieceAtMouse(int _index) {
+        PatioSnapshot snapshot = patio.getSnapshot();
         Pair<Component, WoodPiece> intersectedWoodPiece = getVisibility(ComponentType.COVERING_PLANK) ?
-                FindComponentAtMousePosition(patio.getCovering(), _index) : null;
+                FindComponentAtMousePosition(snapshot.getCovering(), _index) : null;
 
         intersectedWoodPiece = getVisibility(ComponentType.JOIST) ? intersectedWoodPiece != null ?
-                intersectedWoodPiece : FindComponentAtMousePosition(patio.getSpans(), _index) : intersectedWoodPiece;
+                intersectedWoodPiece : FindComponentAtMousePosition(snapshot.getSpans(), _index) : intersectedWoodPiece;
         intersectedWoodPiece = getVisibility(ComponentType.BEAM) ? intersectedWoodPiece != null ?
-                intersectedWoodPiece : FindComponentAtMousePosition(patio.getBeams(), _index) : intersectedWoodPiece;
+                intersectedWoodPiece : FindComponentAtMousePosition(snapshot.getBeams(), _index) : intersectedWoodPiece;
         intersectedWoodPiece = getVisibility(ComponentType.POST) ? intersectedWoodPiece != null ?
-                intersectedWoodPiece : FindComponentAtMousePosition(patio.getPosts(), _index) : intersectedWoodPiece;
+                intersectedWoodPiece : FindComponentAtMousePosition(snapshot.getPosts(), _index) : intersectedWoodPiece;
 
         return intersectedWoodPiece;
     }
@@ -136,24 +179,25 @@ public class PatioController {
      * component and its specific wood piece
      */
     private Pair<Component, WoodPiece> FindComponentAtMousePosition(
-            ArrayList<? extends Component> _components, int _index) {
+            List<? extends Component> _components, int _index) {
         for (Component component : _components) {
             for (WoodPiece woodPiece : component.getWoodPieces()) {
-                Vector3 min = woodPiece.getMinCornerPosition();
-                Vector3 max = woodPiece.getMaxCornerPosition();
                 float mouseX = inchMousePositionWithIndex[_index].x;
                 float mouseY = inchMousePositionWithIndex[_index].y;
                 switch (patioDrawer.getViewOrientation(_index)) {
                     case SIDE:
-                        if (coordinateRectangleIntersect(mouseX, mouseY, min.x, max.x, min.y, max.y))
+                        if (coordinateRectangleIntersect(mouseX, mouseY, woodPiece.getMinX(), woodPiece.getMaxX(),
+                                woodPiece.getMinY(), woodPiece.getMaxY()))
                             return new Pair(component, woodPiece);
                         break;
                     case TOP:
-                        if (coordinateRectangleIntersect(mouseX, mouseY, min.x, max.x, min.z, max.z))
+                        if (coordinateRectangleIntersect(mouseX, mouseY, woodPiece.getMinX(), woodPiece.getMaxX(),
+                                woodPiece.getMinZ(), woodPiece.getMaxZ()))
                             return new Pair(component, woodPiece);
                         break;
                     case FACE:
-                        if (coordinateRectangleIntersect(mouseX, mouseY, min.z, max.z, min.y, max.y))
+                        if (coordinateRectangleIntersect(mouseX, mouseY, woodPiece.getMinZ(), woodPiece.getMaxZ(),
+                                woodPiece.getMinY(), woodPiece.getMaxY()))
                             return new Pair(component, woodPiece);
                         break;
                 }
@@ -693,17 +737,17 @@ public class PatioController {
     }
 
     /**
-     * Update tabs values.
+     * Update tabs values. The patio is updated first, so the tabs read the snapshot of the modified patio.
      */
     public void updateTabsContent() {
         setInitPationator(false);
         changesToSave = true;
 
+        updatePatio();
+
         for (ChangeMadeListener changeMadeListener : changeMadeListeners) {
             changeMadeListener.onChangeMade();
         }
-
-        updatePatio();
     }
 
     /**
@@ -1036,6 +1080,33 @@ public class PatioController {
         }
     }
 
+    /**
+     * Get the building code the patio is validated against.
+     *
+     * @return The building code of the project, like cwc-2020.
+     */
+    public String getBuildingCode() {
+        return patio.getPatioInfo().getBuildingCode();
+    }
+
+    /**
+     * Set the building code the patio is validated against.
+     *
+     * @param _buildingCode One of the building codes of getBuildingCodes.
+     */
+    public void setBuildingCode(String _buildingCode) {
+        patio.getPatioInfo().setBuildingCode(_buildingCode);
+    }
+
+    /**
+     * Get the building codes bundled with Pationator.
+     *
+     * @return The description of every building code.
+     */
+    public Map<String, String> getBuildingCodes() {
+        return StructuralTables.getBuildingCodes();
+    }
+
     /**
      * Draws the patio with its components and the grid
      *
@@ -1048,13 +1119,16 @@ public class PatioController {
     }
 
     /**
-     * Sets a new price for a specific lumber dimensions
+     * Sets a new price for a specific lumber dimensions. If the patio is the optimal patio found by the last search, the
+     * patios found by the search are ranked again with the new price, and the patio takes the structure of the new
+     * cheapest one.
      *
      * @param _lumberDimension a specific lumber dimensions
      * @param _newValue        new price
      */
     public void setLumberDimensionPrice(String _lumberDimension, float _newValue) {
         patio.getPatioInfo().setLumberPricePerDimensions(_lumberDimension, _newValue);
+        patio.rankOptimalPatioConfigurations();
     }
 
     /**
@@ -1395,6 +1469,7 @@ public class PatioController {
      */
     public void setIsOptimalMode() {
         patio.setAsInitialPatioInfo();
+        patio.setOptimalPatioRanking(null);
     }
 
     /**
@@ -1404,6 +1479,203 @@ public class PatioController {
         patio.generateOptimalPatio();
     }
 
+    /**
+     * Searches the optimal patio on a background thread, so the user interface stays responsive. The progress
+     * listeners are notified on the event dispatch thread while the search runs. When the search ends, the cheapest
+     * patio found is generated on the event dispatch thread, unless the search was cancelled, and the generated
+     * listeners are notified. The result is dropped if the patio dimensions, the covering or the prices were
+     * modified while the search ran, since it was computed for the previous ones. If the search fails, the patio is
+     * kept and the listeners are notified of the failure.
+     *
+     * @param _timeBudget Seconds after which the best patio found so far is kept, or 0 to search every candidate.
+     */
+    public void generateOptimalPatioInBackground(long _timeBudget) {
+        if (isGeneratingOptimalPatio())
+            return;
+
+        //The patio dimensions on the grid of the atlas do not need a search
+        if (suggestOptimalPatio()) {
+            notifyOptimalPatioGenerated(OptimalPatioSearchOutcome.APPLIED);
+            return;
+        }
+
+        final OptimalPatioSearch search = new OptimalPatioSearch(_timeBudget, TimeUnit.SECONDS);
+        //A complete search keeps every valid patio, so it can be cached and a price change can rank the patios again
+        //instead of searching again. A time budget rarely lets the search complete, so it prunes the candidates
+        search.setKeepingEveryConfiguration(_timeBudget == 0);
+        //The search reads its own copy, so the patio can still be drawn and edited while it runs
+        final PatioInfo searchedPatioInfo = new PatioInfo(patio.getPatioInfo());
+        optimalPatioSearch = search;
+
+        SwingWorker<PatioInfo, float[]> worker = new SwingWorker<PatioInfo, float[]>() {
+            @Override
+            protected PatioInfo doInBackground() {
+                search.addProgressListener(new OptimalPatioProgressListener() {
+                    @Override
+                    public void onOptimalPatioProgress(int _nbEvaluatedCandidates, float _bestPrice) {
+                        publish(new float[]{_nbEvaluatedCandidates, _bestPrice});
+                    }
+                });
+
+                return patio.searchOptimalPatioConfiguration(searchedPatioInfo, search);
+            }
+
+            @Override
+            protected void process(List<float[]> _progress) {
+                float[] lastProgress = _progress.get(_progress.size() - 1);
+                notifyOptimalPatioProgress((int) lastProgress[0], lastProgress[1]);
+            }
+
+            @Override
+            protected void done() {
+                optimalPatioSearch = null;
+
+                PatioInfo optimalPatioConfiguration;
+                try {
+                    optimalPatioConfiguration = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    //A crash of the search is not a missing configuration, so the patio is kept as is
+                    e.printStackTrace();
+                    notifyOptimalPatioGenerated(OptimalPatioSearchOutcome.FAILED);
+                    return;
+                }
+
+                if (search.isCancelled()) {
+                    notifyOptimalPatioGenerated(OptimalPatioSearchOutcome.CANCELLED);
+                    return;
+                }
+
+                //The result was computed for the inputs and the prices the search started with
+                PatioInfo patioInfo = patio.getPatioInfo();
+                if (patioInfo.getSearchInputsFingerprint() != searchedPatioInfo.getSearchInputsFingerprint() ||
+                        patioInfo.getPricesFingerprint() != searchedPatioInfo.getPricesFingerprint()) {
+                    notifyOptimalPatioGenerated(OptimalPatioSearchOutcome.OUTDATED);
+                    return;
+                }
+
+                patio.applyOptimalPatioConfiguration(optimalPatioConfiguration);
+                patio.setOptimalPatioRanking(search.getRanking());
+                notifyOptimalPatioGenerated(OptimalPatioSearchOutcome.APPLIED);
+            }
+        };
+        worker.execute();
+    }
+
+    /**
+     * Generates the optimal patio read from the optimal patio atlas, without searching, if the atlas covers the
+     * current patio dimensions, covering and prices. Nothing is done while a search runs in background.
+     *
+     * @return True if the optimal patio was read from the atlas, false if it must be searched.
+     */
+    public boolean suggestOptimalPatio() {
+        PatioInfo patioInfo = patio.getPatioInfo();
+        if (optimalPatioAtlas == null || isGeneratingOptimalPatio() || !optimalPatioAtlas.isCovering(patioInfo))
+            return false;
+
+        patio.applyOptimalPatioConfiguration(optimalPatioAtlas.getOptimalConfiguration(patioInfo));
+        //The atlas only holds the cheapest configuration, so a price change cannot rank the others again
+        patio.setOptimalPatioRanking(null);
+
+        return true;
+    }
+
+    /**
+     * Obtains the atlas of the optimal patios precomputed for a grid of patio dimensions.
+     *
+     * @return The atlas, or null if none was built or it is outdated.
+     */
+    public OptimalPatioAtlas getOptimalPatioAtlas() {
+        return optimalPatioAtlas;
+    }
+
+    /**
+     * Sets the atlas of the optimal patios precomputed for a grid of patio dimensions.
+     *
+     * @param _optimalPatioAtlas The atlas, or null to always search.
+     */
+    public void setOptimalPatioAtlas(OptimalPatioAtlas _optimalPatioAtlas) {
+        optimalPatioAtlas = _optimalPatioAtlas;
+    }
+
+    /**
+     * Obtains the current value of a property that can be swept.
+     *
+     * @param _parameter Swept property.
+     * @return Value in inches.
+     */
+    public float getSweepValue(SweepParameter _parameter) {
+        return _parameter.getValue(patio.getPatioInfo());
+    }
+
+    /**
+     * Computes the price and the validity of the current patio for evenly spaced values of one of its properties, on
+     * a background thread. The current patio is not modified. The done listeners are notified on the event dispatch
+     * thread when every value was generated, or with no price sweep if the sweep failed.
+     *
+     * @param _parameter Property to sweep.
+     * @param _fromValue First value in inches.
+     * @param _toValue   Last value in inches.
+     * @param _nbSamples Number of values.
+     */
+    public void sweepPriceInBackground(final SweepParameter _parameter, final float _fromValue, final float _toValue,
+                                       final int _nbSamples) {
+        if (isSweepingPrice)
+            return;
+
+        isSweepingPrice = true;
+        final PatioInfo sweptPatioInfo = new PatioInfo(patio.getPatioInfo());
+
+        SwingWorker<PriceSweep, Void> worker = new SwingWorker<PriceSweep, Void>() {
+            @Override
+            protected PriceSweep doInBackground() {
+                return patio.sweepPrice(sweptPatioInfo, _parameter, _fromValue, _toValue, _nbSamples);
+            }
+
+            @Override
+            protected void done() {
+                isSweepingPrice = false;
+
+                PriceSweep priceSweep;
+                try {
+                    priceSweep = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    //The listeners still wait for the end of the sweep, so they are told it failed
+                    e.printStackTrace();
+                    priceSweep = null;
+                }
+
+                notifyPriceSweepDone(priceSweep);
+            }
+        };
+        worker.execute();
+    }
+
+    /**
+     * Indicates if a price sweep is running in background.
+     *
+     * @return True if the sweep is running.
+     */
+    public boolean isSweepingPrice() {
+        return isSweepingPrice;
+    }
+
+    /**
+     * Cancels the optimal patio search running in background. The current patio is kept.
+     */
+    public void cancelOptimalPatioGeneration() {
+        if (optimalPatioSearch != null)
+            optimalPatioSearch.cancel();
+    }
+
+    /**
+     * Indicates if an optimal patio search is running in background.
+     *
+     * @return True if the search is running.
+     */
+    public boolean isGeneratingOptimalPatio() {
+        return optimalPatioSearch != null;
+    }
+
     /**
      * Draw an information panel on the specified graphics object from
      *
@@ -1452,4 +1724,38 @@ public class PatioController {
             listener.onExportDone(_fileFormat, _path);
         }
     }
+
+    /**
+     * Notify the progress of the optimal patio generation.
+     *
+     * @param _nbEvaluatedCandidates Number of candidates evaluated so far.
+     * @param _bestPrice             Price of the cheapest patio found so far, or Float.MAX_VALUE if none was found.
+     */
+    private void notifyOptimalPatioProgress(int _nbEvaluatedCandidates, float _bestPrice) {
+        for (OptimalPatioProgressListener listener : optimalPatioProgressListeners) {
+            listener.onOptimalPatioProgress(_nbEvaluatedCandidates, _bestPrice);
+        }
+    }
+
+    /**
+     * Notify the end of the price sweep.
+     *
+     * @param _priceSweep Price and validity of every value swept, or null if the sweep failed.
+     */
+    private void notifyPriceSweepDone(PriceSweep _priceSweep) {
+        for (PriceSweepDoneListener listener : priceSweepDoneListeners) {
+            listener.onPriceSweepDone(_priceSweep);
+        }
+    }
+
+    /**
+     * Notify the end of the optimal patio generation.
+     *
+     * @param _outcome How the search ended, and whether its result was applied.
+     */
+    private void notifyOptimalPatioGenerated(OptimalPatioSearchOutcome _outcome) {
+        for (OptimalPatioGeneratedListener listener : optimalPatioGeneratedListeners) {
+            listener.onOptimalPatioGenerated(_outcome);
+        }
+    }
 }
\ No newline at end of file
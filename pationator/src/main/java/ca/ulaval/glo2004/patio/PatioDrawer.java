@@ -2,20 +2,29 @@ package ca.ulaval.glo2004.patio;
 
 import ca.ulaval.glo2004.utils.Dimensions;
 import ca.ulaval.glo2004.utils.LocaleText;
-import ca.ulaval.glo2004.utils.Vector3;
 import ca.ulaval.glo2004.utils.ViewOrientation;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Class to draw a patio on screen and in 2D file.
  */
 public class PatioDrawer extends JPanel {
+    private static final int VALID_STROKE_SIZE = 6;
+    private static final Stroke VALID_STROKE = new BasicStroke(VALID_STROKE_SIZE);
+    private static final Stroke OUTLINE_STROKE = new BasicStroke(1);
+    private static final Stroke HIDDEN_STROKE = new BasicStroke(1.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER,
+            10.0f, new float[]{10.0f}, 0.0f);
+
     private final PatioController patioController;
     private final ViewOrientation[] viewOrientationsWithIndex = new ViewOrientation[4];
+    //The highlights of the wood pieces at fault, computed once per drawing panel until the errors or the view change
+    private final ErrorHighlightLayer[] errorHighlightLayersWithIndex = new ErrorHighlightLayer[4];
     private float inchUnitInPixel;
+    //The rectangle of the wood piece being painted, reused so painting a wood piece does not allocate
+    private final Rectangle paintedRectangle = new Rectangle();
 
     /**
      * Create a patio drawer.
@@ -26,6 +35,9 @@ public class PatioDrawer extends JPanel {
         patioController = _patioController;
 
         initializeViewOrientationsWithIndex();
+        for (int drawingPanelIndex = 0; drawingPanelIndex < errorHighlightLayersWithIndex.length; drawingPanelIndex++) {
+            errorHighlightLayersWithIndex[drawingPanelIndex] = new ErrorHighlightLayer();
+        }
     }
 
     /**
@@ -67,7 +79,8 @@ public class PatioDrawer extends JPanel {
     }
 
     /**
-     * Draw the background, the grid, each component and their hidden edge.
+     * Draw the background, the grid, each component and their hidden edge. The wood pieces at fault are highlighted,
+     * except in an exported image.
      *
      * @param _graphics          Graphics object.
      * @param _unitInPixel       Conversion factor pixel/grid.
@@ -80,10 +93,11 @@ public class PatioDrawer extends JPanel {
         drawGrid(_graphics);
 
         Patio patio = patioController.getPatio();
-        ArrayList<Post> posts = patio.getPosts();
-        ArrayList<Beam> beams = patio.getBeams();
-        ArrayList<Span> spans = patio.getSpans();
-        ArrayList<Covering> covering = patio.getCovering();
+        PatioSnapshot snapshot = patio.getSnapshot();
+        List<Post> posts = snapshot.getPosts();
+        List<Beam> beams = snapshot.getBeams();
+        List<Span> spans = snapshot.getSpans();
+        List<Covering> covering = snapshot.getCovering();
 
         boolean postAreVisible = patioController.getVisibility(ComponentType.POST);
         boolean beamAreVisible = patioController.getVisibility(ComponentType.BEAM);
@@ -91,19 +105,19 @@ public class PatioDrawer extends JPanel {
         boolean coveringIsVisible = patioController.getVisibility(ComponentType.COVERING_PLANK);
 
         if (postAreVisible) {
-            drawComponent(_graphics, posts, _drawingPanelIndex);
+            drawComponent(_graphics, snapshot, ComponentType.POST, _drawingPanelIndex);
         }
 
         if (beamAreVisible) {
-            drawComponent(_graphics, beams, _drawingPanelIndex);
+            drawComponent(_graphics, snapshot, ComponentType.BEAM, _drawingPanelIndex);
         }
 
         if (joistAreVisible) {
-            drawComponent(_graphics, spans, _drawingPanelIndex);
+            drawComponent(_graphics, snapshot, ComponentType.JOIST, _drawingPanelIndex);
         }
 
         if (coveringIsVisible) {
-            drawComponent(_graphics, covering, _drawingPanelIndex);
+            drawComponent(_graphics, snapshot, ComponentType.COVERING_PLANK, _drawingPanelIndex);
         }
 
         if (patioController.getHiddenBorderVisibility()) {
@@ -124,6 +138,10 @@ public class PatioDrawer extends JPanel {
             }
         }
 
+        if (!_isExport) {
+            drawErrorHighlights(_graphics, patio.getErrorLocations(), _drawingPanelIndex);
+        }
+
         if(patioController.getArrowVisibility()) {
             drawArrowWithText(_graphics, patio, _drawingPanelIndex, _isExport);
         }
@@ -159,31 +177,79 @@ public class PatioDrawer extends JPanel {
     }
 
     /**
-     * Draw the selected component.
+     * Draw the components of a type.
      *
      * @param _graphics          Graphics object.
-     * @param components         Components to draw.
+     * @param _snapshot          Patio to draw.
+     * @param _componentType     Type of the components to draw.
      * @param _drawingPanelIndex Drawing panel index.
      */
-    private void drawComponent(Graphics _graphics, ArrayList<? extends Component> components, int _drawingPanelIndex) {
+    private void drawComponent(final Graphics _graphics, PatioSnapshot _snapshot, ComponentType _componentType,
+                               final int _drawingPanelIndex) {
+        final Color color = patioController.getColor(_componentType);
+        final boolean isColorFill = patioController.getColorFilling(_componentType);
+
         try {
-            for (Component component : components) {
-                for (WoodPiece woodPiece : component.getWoodPieces()) {
+            _snapshot.visitPieces(new WoodPieceVisitor() {
+                @Override
+                public void visit(Component _component, WoodPiece _woodPiece) {
                     drawPrimitiveRectangle(
                             _graphics,
-                            woodPiece.getMinCornerPosition(),
-                            woodPiece.getMaxCornerPosition(),
-                            component.getColor(),
-                            component.isColorFill(),
+                            _woodPiece,
+                            color,
+                            isColorFill,
                             _drawingPanelIndex
                     );
                 }
-            }
+            }, _componentType);
         } catch (Exception _exception) {
             repaint();
         }
     }
 
+    /**
+     * Highlight the visible wood pieces at fault. The highlights are computed from the error locations only when the
+     * errors, the view orientation, the scale or the visible component types changed since the last paint of the
+     * drawing panel.
+     *
+     * @param _graphics          Graphics object.
+     * @param _errorLocations    Wood pieces at fault.
+     * @param _drawingPanelIndex Drawing panel index.
+     */
+    private void drawErrorHighlights(Graphics _graphics, ValidationErrorLocations _errorLocations,
+                                     int _drawingPanelIndex) {
+        ErrorHighlightLayer errorHighlightLayer = errorHighlightLayersWithIndex[_drawingPanelIndex];
+        ViewOrientation viewOrientation = viewOrientationsWithIndex[_drawingPanelIndex];
+
+        int visibleComponentTypesMask = 0;
+        for (ComponentType componentType : ComponentType.values()) {
+            if (patioController.getVisibility(componentType))
+                visibleComponentTypesMask |= 1 << componentType.ordinal();
+        }
+
+        if (!errorHighlightLayer.isComputedFor(_errorLocations, viewOrientation, inchUnitInPixel,
+                visibleComponentTypesMask)) {
+            errorHighlightLayer.reset(_errorLocations, viewOrientation, inchUnitInPixel, visibleComponentTypesMask);
+
+            try {
+                for (int idxLocation = 0; idxLocation < _errorLocations.size(); idxLocation++) {
+                    WoodPiece woodPiece = _errorLocations.getWoodPiece(idxLocation);
+
+                    if ((visibleComponentTypesMask & 1 << woodPiece.getOrientation().ordinal()) != 0) {
+                        errorHighlightLayer.add(setRectangleBounds(new Rectangle(), woodPiece, _drawingPanelIndex));
+                    }
+                }
+            } catch (Exception _exception) {
+                //The patio was validated again during the paint, the highlights are computed at the next one
+                errorHighlightLayer.invalidate();
+                repaint();
+                return;
+            }
+        }
+
+        errorHighlightLayer.paint((Graphics2D) _graphics);
+    }
+
     /**
      * Draw hidden edge for the selected component.
      *
@@ -191,18 +257,11 @@ public class PatioDrawer extends JPanel {
      * @param components         Components to draw.
      * @param _drawingPanelIndex Drawing panel index.
      */
-    private void drawHiddenEdge(Graphics _graphics, ArrayList<? extends Component> components, int _drawingPanelIndex) {
+    private void drawHiddenEdge(Graphics _graphics, List<? extends Component> components, int _drawingPanelIndex) {
         if (components.size() > 0) {
             for (int i = components.size() - 1; i >= 0; i--) {
-                if (components.get(i).isVisible()) {
-                    for (WoodPiece woodPiece : components.get(i).getWoodPieces()) {
-                        drawHiddenWoodPiece(
-                                (Graphics2D) _graphics,
-                                woodPiece.getMinCornerPosition(),
-                                woodPiece.getMaxCornerPosition(),
-                                _drawingPanelIndex
-                        );
-                    }
+                for (WoodPiece woodPiece : components.get(i).getWoodPieces()) {
+                    drawHiddenWoodPiece((Graphics2D) _graphics, woodPiece, _drawingPanelIndex);
                 }
             }
         }
@@ -335,33 +394,30 @@ public class PatioDrawer extends JPanel {
      * Draw component rectangle. Represent visible pieces.
      *
      * @param _graphics          Graphic objet.
-     * @param _minPosition       Mix corner position.
-     * @param _maxPosition       Max corner position.
+     * @param _woodPiece         Wood piece to draw.
      * @param _color             Component color.
      * @param _fill              True if the component is colored fill.
      * @param _drawingPanelIndex Drawing panel index.
      */
-    private void drawPrimitiveRectangle(Graphics _graphics, Vector3 _minPosition, Vector3 _maxPosition, Color _color,
-                                        boolean _fill, int _drawingPanelIndex) {
+    private void drawPrimitiveRectangle(Graphics _graphics, WoodPiece _woodPiece, Color _color, boolean _fill,
+                                        int _drawingPanelIndex) {
         Graphics2D graphics2D = (Graphics2D) _graphics;
         graphics2D.setColor(_color);
 
-        Rectangle primitiveRectangle = getRectangle(_minPosition, _maxPosition, _drawingPanelIndex);
+        Rectangle primitiveRectangle = setRectangleBounds(paintedRectangle, _woodPiece, _drawingPanelIndex);
 
         if (_fill) {
             graphics2D.fillRect(
                     primitiveRectangle.x, primitiveRectangle.y, primitiveRectangle.width, primitiveRectangle.height);
         } else {
-            int validStrokeSize = 6;
-
-            graphics2D.setStroke(new BasicStroke(validStrokeSize));
+            graphics2D.setStroke(VALID_STROKE);
             graphics2D.drawRect(
-                    primitiveRectangle.x + validStrokeSize / 2, primitiveRectangle.y + validStrokeSize / 2,
-                    primitiveRectangle.width - validStrokeSize, primitiveRectangle.height - validStrokeSize);
+                    primitiveRectangle.x + VALID_STROKE_SIZE / 2, primitiveRectangle.y + VALID_STROKE_SIZE / 2,
+                    primitiveRectangle.width - VALID_STROKE_SIZE, primitiveRectangle.height - VALID_STROKE_SIZE);
         }
 
         graphics2D.setColor(Color.BLACK);
-        graphics2D.setStroke(new BasicStroke(1));
+        graphics2D.setStroke(OUTLINE_STROKE);
         graphics2D.drawRect(
                 primitiveRectangle.x, primitiveRectangle.y, primitiveRectangle.width, primitiveRectangle.height);
     }
@@ -370,44 +426,14 @@ public class PatioDrawer extends JPanel {
      * Draw dashed border over already drawn rectangle. Represent hidden pieces.
      *
      * @param _graphics2D        Graphic objet.
-     * @param _minPosition       Mix corner position.
-     * @param _maxPosition       Max corner position.
+     * @param _woodPiece         Hidden wood piece.
      * @param _drawingPanelIndex Drawing panel index.
      */
-    private void drawHiddenWoodPiece(Graphics2D _graphics2D, Vector3 _minPosition, Vector3 _maxPosition,
-                                     int _drawingPanelIndex) {
+    private void drawHiddenWoodPiece(Graphics2D _graphics2D, WoodPiece _woodPiece, int _drawingPanelIndex) {
         _graphics2D.setColor(Color.BLACK);
-        _graphics2D.setStroke(new BasicStroke(1.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10.0f,
-                new float[]{10.0f}, 0.0f));
+        _graphics2D.setStroke(HIDDEN_STROKE);
 
-        Rectangle hiddenWoodPiece = new Rectangle();
-
-        switch (viewOrientationsWithIndex[_drawingPanelIndex]) {
-            case SIDE:
-                hiddenWoodPiece.setBounds(
-                        (int) (_minPosition.x * inchUnitInPixel),
-                        (int) (-_maxPosition.y * inchUnitInPixel),
-                        (int) (_maxPosition.x * inchUnitInPixel - _minPosition.x * inchUnitInPixel),
-                        (int) (-_minPosition.y * inchUnitInPixel - -_maxPosition.y * inchUnitInPixel)
-                );
-                break;
-            case TOP:
-                hiddenWoodPiece.setBounds(
-                        (int) (_minPosition.x * inchUnitInPixel),
-                        (int) (-_maxPosition.z * inchUnitInPixel),
-                        (int) (_maxPosition.x * inchUnitInPixel - _minPosition.x * inchUnitInPixel),
-                        (int) (-_minPosition.z * inchUnitInPixel - -_maxPosition.z * inchUnitInPixel)
-                );
-                break;
-            case FACE:
-                hiddenWoodPiece.setBounds(
-                        (int) (_minPosition.z * inchUnitInPixel),
-                        (int) (-_maxPosition.y * inchUnitInPixel),
-                        (int) (_maxPosition.z * inchUnitInPixel - _minPosition.z * inchUnitInPixel),
-                        (int) (-_minPosition.y * inchUnitInPixel - -_maxPosition.y * inchUnitInPixel)
-                );
-                break;
-        }
+        Rectangle hiddenWoodPiece = setRectangleBounds(paintedRectangle, _woodPiece, _drawingPanelIndex);
 
         _graphics2D.drawRect(hiddenWoodPiece.x, hiddenWoodPiece.y, hiddenWoodPiece.width, hiddenWoodPiece.height);
     }
@@ -441,43 +467,50 @@ public class PatioDrawer extends JPanel {
     }
 
     /**
-     * Get rectangle value according to view.
+     * Set a rectangle to a wood piece according to view. The corners are read one coordinate at a time, so no Vector3
+     * is allocated.
      *
-     * @param _minPosition Minimal corner position.
-     * @param _maxPosition Maximal corner position.
-     * @return Rectangle size according to view orientation.
+     * @param _rectangle Rectangle to set.
+     * @param _woodPiece Wood piece to place.
+     * @param _index     Drawing panel index.
+     * @return The rectangle set, sized according to view orientation.
      */
-    private Rectangle getRectangle(Vector3 _minPosition, Vector3 _maxPosition, int _index) {
-        Rectangle rectangle = new Rectangle();
-
+    private Rectangle setRectangleBounds(Rectangle _rectangle, WoodPiece _woodPiece, int _index) {
         switch (viewOrientationsWithIndex[_index]) {
             case SIDE:
-                rectangle.setBounds(
-                        (int) (_minPosition.x * inchUnitInPixel),
-                        (int) (-_maxPosition.y * inchUnitInPixel),
-                        (int) (_maxPosition.x * inchUnitInPixel - _minPosition.x * inchUnitInPixel),
-                        (int) (-_minPosition.y * inchUnitInPixel - -_maxPosition.y * inchUnitInPixel)
-                );
+                setRectangleBounds(_rectangle, _woodPiece.getMinX(), _woodPiece.getMaxX(), _woodPiece.getMinY(),
+                        _woodPiece.getMaxY());
                 break;
             case TOP:
-                rectangle.setBounds(
-                        (int) (_minPosition.x * inchUnitInPixel),
-                        (int) (-_maxPosition.z * inchUnitInPixel),
-                        (int) (_maxPosition.x * inchUnitInPixel - _minPosition.x * inchUnitInPixel),
-                        (int) (-_minPosition.z * inchUnitInPixel - -_maxPosition.z * inchUnitInPixel)
-                );
+                setRectangleBounds(_rectangle, _woodPiece.getMinX(), _woodPiece.getMaxX(), _woodPiece.getMinZ(),
+                        _woodPiece.getMaxZ());
                 break;
             case FACE:
-                rectangle.setBounds(
-                        (int) (_minPosition.z * inchUnitInPixel),
-                        (int) (-_maxPosition.y * inchUnitInPixel),
-                        (int) (_maxPosition.z * inchUnitInPixel - _minPosition.z * inchUnitInPixel),
-                        (int) (-_minPosition.y * inchUnitInPixel - -_maxPosition.y * inchUnitInPixel)
-                );
+                setRectangleBounds(_rectangle, _woodPiece.getMinZ(), _woodPiece.getMaxZ(), _woodPiece.getMinY(),
+                        _woodPiece.getMaxY());
                 break;
         }
 
-        return rectangle;
+        return _rectangle;
+    }
+
+    /**
+     * Set a rectangle to the coordinates of a wood piece on the two axes of the view. The vertical axis points up.
+     *
+     * @param _rectangle      Rectangle to set.
+     * @param _minHorizontal  Minimal position on the horizontal axis.
+     * @param _maxHorizontal  Maximal position on the horizontal axis.
+     * @param _minVertical    Minimal position on the vertical axis.
+     * @param _maxVertical    Maximal position on the vertical axis.
+     */
+    private void setRectangleBounds(Rectangle _rectangle, float _minHorizontal, float _maxHorizontal,
+                                    float _minVertical, float _maxVertical) {
+        _rectangle.setBounds(
+                (int) (_minHorizontal * inchUnitInPixel),
+                (int) (-_maxVertical * inchUnitInPixel),
+                (int) (_maxHorizontal * inchUnitInPixel - _minHorizontal * inchUnitInPixel),
+                (int) (-_minVertical * inchUnitInPixel - -_maxVertical * inchUnitInPixel)
+        );
     }
 
     /**
@@ -493,8 +526,7 @@ public class PatioDrawer extends JPanel {
         Color selectionColor = javax.swing.UIManager.getDefaults().getColor("MenuItem.selectionBackground");
         graphics2D.setColor(selectionColor);
 
-        Rectangle rectangle =
-                getRectangle(_woodPiece.getMinCornerPosition(), _woodPiece.getMaxCornerPosition(), _drawingPanelIndex);
+        Rectangle rectangle = setRectangleBounds(paintedRectangle, _woodPiece, _drawingPanelIndex);
 
         graphics2D.setStroke(new BasicStroke(10));
         graphics2D.drawRect(rectangle.x, rectangle.y, rectangle.width, rectangle.height);
@@ -0,0 +1,120 @@
+package ca.ulaval.glo2004.patio;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the last generated patio snapshots, indexed by the geometry fingerprint of the PatioInfo they were generated
+ * from. When the cache is full, the least recently used snapshot is forgotten.
+ */
+public class PatioGeometryCache {
+    /**
+     * The default number of snapshots kept by the cache
+     */
+    public static final int DEFAULT_CAPACITY = 32;
+
+    private final LinkedHashMap<Long, PatioSnapshot> snapshots;
+    private int capacity;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * The PatioGeometryCache constructor
+     *
+     * @param _capacity The maximum number of snapshots kept by the cache
+     */
+    public PatioGeometryCache(int _capacity) {
+        capacity = _capacity;
+        snapshots = new LinkedHashMap<Long, PatioSnapshot>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, PatioSnapshot> _eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Obtains the snapshot generated from a PatioInfo with the given fingerprint, and counts the hit or the miss
+     *
+     * @param _fingerprint The geometry fingerprint of the PatioInfo
+     * @return The cached snapshot, or null if the geometry is not cached
+     */
+    public synchronized PatioSnapshot get(long _fingerprint) {
+        PatioSnapshot snapshot = snapshots.get(_fingerprint);
+
+        if (snapshot != null)
+            hitCount++;
+        else
+            missCount++;
+
+        return snapshot;
+    }
+
+    /**
+     * Adds a generated snapshot to the cache
+     *
+     * @param _fingerprint The geometry fingerprint of the PatioInfo the snapshot was generated from
+     * @param _snapshot    The generated snapshot
+     */
+    public synchronized void put(long _fingerprint, PatioSnapshot _snapshot) {
+        if (capacity > 0)
+            snapshots.put(_fingerprint, _snapshot);
+    }
+
+    /**
+     * Forgets every cached snapshot. The hit and miss counters are kept
+     */
+    public synchronized void clear() {
+        snapshots.clear();
+    }
+
+    /**
+     * Obtains the number of snapshots currently in the cache
+     *
+     * @return The number of cached snapshots
+     */
+    public synchronized int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * Obtains the maximum number of snapshots kept by the cache
+     *
+     * @return The capacity of the cache
+     */
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the maximum number of snapshots kept by the cache. A capacity of 0 disables the cache
+     *
+     * @param _capacity The new capacity of the cache
+     */
+    public synchronized void setCapacity(int _capacity) {
+        capacity = Math.max(_capacity, 0);
+
+        while (snapshots.size() > capacity) {
+            Long eldestFingerprint = snapshots.keySet().iterator().next();
+            snapshots.remove(eldestFingerprint);
+        }
+    }
+
+    /**
+     * Obtains the number of lookups that found a cached snapshot
+     *
+     * @return The number of cache hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Obtains the number of lookups that did not find a cached snapshot
+     *
+     * @return The number of cache misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+}
@@ -1,13 +1,22 @@
 package ca.ulaval.glo2004.patio;
 
 import ca.ulaval.glo2004.utils.Dimensions;
+import ca.ulaval.glo2004.utils.Fingerprint;
+import ca.ulaval.glo2004.utils.LumberCatalog;
 
 import java.awt.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 public class PatioInfo implements Serializable {
+    //Pinned to the value computed before the class declared it, so the existing .ptor files can still be opened
+    private static final long serialVersionUID = -1271665748186425271L;
     private static final float MIN_COVERING_SPACING_IN_INCHES = 0.01f;
     private static final float MIN_CANTILEVER_LENGTH_IN_INCHES = 0f;
     private static final float MIN_POST_DEPTH_IN_INCHES = 12f;
@@ -53,6 +62,11 @@ public class PatioInfo implements Serializable {
     private final HashMap<String, Float> lumberPrice;
     private boolean hiddenBorderVisibility = true;
     private String rationalFormat = "fraction";
+    private String buildingCode = StructuralTables.DEFAULT_BUILDING_CODE;
+
+    private transient EnumSet<PatioInfoField> modifiedFields = EnumSet.allOf(PatioInfoField.class);
+    //Prices indexed by LumberCatalog ID, rebuilt from lumberPrice when it changes
+    private transient volatile float[] lumberPricesPerId;
 
     public PatioInfo() {
         patioDimensions = new Dimensions();
@@ -100,6 +114,197 @@ public class PatioInfo implements Serializable {
 
         hiddenBorderVisibility = _rhs.hiddenBorderVisibility;
         rationalFormat = _rhs.rationalFormat;
+        buildingCode = _rhs.buildingCode;
+    }
+
+    /**
+     * Obtains the properties modified since the patio was last generated from this PatioInfo. A new, copied or
+     * deserialized PatioInfo is considered entirely modified.
+     *
+     * @return A copy of the modified properties
+     */
+    public EnumSet<PatioInfoField> getModifiedFields() {
+        if (modifiedFields == null) {
+            return EnumSet.allOf(PatioInfoField.class);
+        }
+
+        return EnumSet.copyOf(modifiedFields);
+    }
+
+    /**
+     * Forgets the modified properties, once the patio has been generated from this PatioInfo
+     */
+    public void clearModifiedFields() {
+        if (modifiedFields == null) {
+            modifiedFields = EnumSet.noneOf(PatioInfoField.class);
+        }
+
+        modifiedFields.clear();
+    }
+
+    private void markAsModified(PatioInfoField... _modifiedFields) {
+        if (modifiedFields == null) {
+            modifiedFields = EnumSet.allOf(PatioInfoField.class);
+        }
+
+        for (PatioInfoField modifiedField : _modifiedFields) {
+            modifiedFields.add(modifiedField);
+        }
+    }
+
+    /**
+     * Obtains a 64-bit fingerprint (FNV-1a) of the properties read to generate the patio and calculate its price. The
+     * colors, the visibility and the display preferences are left out, so two PatioInfo producing the same patio
+     * geometry and price have the same fingerprint.
+     *
+     * @return The geometry fingerprint of the PatioInfo
+     */
+    public long getGeometryFingerprint() {
+        return addPricesToFingerprint(getStructureFingerprint());
+    }
+
+    /**
+     * Obtains a 64-bit fingerprint (FNV-1a) of the lumber prices, so two PatioInfo pricing every lumber the same have
+     * the same fingerprint.
+     *
+     * @return The prices fingerprint of the PatioInfo
+     */
+    public long getPricesFingerprint() {
+        return addPricesToFingerprint(Fingerprint.OFFSET_BASIS);
+    }
+
+    private long addPricesToFingerprint(long _fingerprint) {
+        //The prices are added in the order of their lumber dimensions, the HashMap order depending on its history
+        for (Map.Entry<String, Float> price : new TreeMap<>(lumberPrice).entrySet()) {
+            _fingerprint = Fingerprint.add(_fingerprint, price.getKey());
+            _fingerprint = Fingerprint.add(_fingerprint, price.getValue());
+        }
+
+        return _fingerprint;
+    }
+
+    /**
+     * Obtains a 64-bit fingerprint (FNV-1a) of the properties read to generate the patio, without the prices. Two
+     * PatioInfo with the same structure fingerprint produce the same patio geometry.
+     *
+     * @return The structure fingerprint of the PatioInfo
+     */
+    public long getStructureFingerprint() {
+        long fingerprint = getSearchInputsFingerprint();
+
+        fingerprint = Fingerprint.add(fingerprint, joistSpanMaxLength);
+        fingerprint = Fingerprint.add(fingerprint, joistDimensions);
+        fingerprint = Fingerprint.add(fingerprint, joistSpacing);
+        fingerprint = Fingerprint.add(fingerprint, cantileverLength);
+        fingerprint = Fingerprint.add(fingerprint, beamDimensions);
+        fingerprint = Fingerprint.add(fingerprint, pliesPerBeam);
+        fingerprint = Fingerprint.add(fingerprint, postDimensions);
+        fingerprint = Fingerprint.add(fingerprint, postSpacing);
+        return Fingerprint.add(fingerprint, postsPerBeam);
+    }
+
+    /**
+     * Obtains a 64-bit fingerprint (FNV-1a) of the properties specified by the user to search the optimal patio: the
+     * patio dimensions, the covering dimensions, the covering spacing and the building code.
+     *
+     * @return The search inputs fingerprint of the PatioInfo
+     */
+    public long getSearchInputsFingerprint() {
+        long fingerprint = Fingerprint.OFFSET_BASIS;
+
+        fingerprint = Fingerprint.add(fingerprint, patioDimensions);
+        fingerprint = Fingerprint.add(fingerprint, coveringDimensions);
+        fingerprint = Fingerprint.add(fingerprint, coveringSpacing);
+        return Fingerprint.add(fingerprint, getBuildingCode());
+    }
+
+    /**
+     * Copies the properties read to generate the patio from another PatioInfo. The prices, the colors, the visibility
+     * and the display preferences are kept.
+     *
+     * @param _structure The PatioInfo to copy the structure from
+     */
+    public void setStructure(PatioInfo _structure) {
+        patioDimensions = _structure.patioDimensions;
+        coveringDimensions = _structure.coveringDimensions;
+        coveringSpacing = _structure.coveringSpacing;
+        joistSpanMaxLength = _structure.joistSpanMaxLength;
+        joistDimensions = _structure.joistDimensions;
+        joistSpacing = _structure.joistSpacing;
+        cantileverLength = _structure.cantileverLength;
+        beamDimensions = _structure.beamDimensions;
+        pliesPerBeam = _structure.pliesPerBeam;
+        postDimensions = _structure.postDimensions;
+        postSpacing = _structure.postSpacing;
+        postsPerBeam = _structure.postsPerBeam;
+
+        markStructureAsModified();
+    }
+
+    /**
+     * Writes the properties read to generate the patio, as setStructure copies them
+     *
+     * @param _output The output to write the structure to
+     * @throws IOException If the structure cannot be written
+     */
+    public void writeStructure(DataOutput _output) throws IOException {
+        writeDimensions(_output, patioDimensions);
+        writeDimensions(_output, coveringDimensions);
+        _output.writeFloat(coveringSpacing);
+        _output.writeFloat(joistSpanMaxLength);
+        writeDimensions(_output, joistDimensions);
+        _output.writeFloat(joistSpacing);
+        _output.writeFloat(cantileverLength);
+        writeDimensions(_output, beamDimensions);
+        _output.writeInt(pliesPerBeam);
+        writeDimensions(_output, postDimensions);
+        _output.writeFloat(postSpacing);
+        _output.writeInt(postsPerBeam);
+    }
+
+    /**
+     * Reads the properties read to generate the patio, written by writeStructure. The prices, the colors, the
+     * visibility and the display preferences are kept.
+     *
+     * @param _input The input to read the structure from
+     * @throws IOException If the structure cannot be read
+     */
+    public void readStructure(DataInput _input) throws IOException {
+        patioDimensions = readDimensions(_input);
+        coveringDimensions = readDimensions(_input);
+        coveringSpacing = _input.readFloat();
+        joistSpanMaxLength = _input.readFloat();
+        joistDimensions = readDimensions(_input);
+        joistSpacing = _input.readFloat();
+        cantileverLength = _input.readFloat();
+        beamDimensions = readDimensions(_input);
+        pliesPerBeam = _input.readInt();
+        postDimensions = readDimensions(_input);
+        postSpacing = _input.readFloat();
+        postsPerBeam = _input.readInt();
+
+        markStructureAsModified();
+    }
+
+    private static void writeDimensions(DataOutput _output, Dimensions _dimensions) throws IOException {
+        _output.writeFloat(_dimensions.getActualWidth());
+        _output.writeFloat(_dimensions.getActualHeight());
+        _output.writeFloat(_dimensions.getActualDepth());
+    }
+
+    private static Dimensions readDimensions(DataInput _input) throws IOException {
+        float width = _input.readFloat();
+        float height = _input.readFloat();
+
+        return new Dimensions(width, height, _input.readFloat());
+    }
+
+    private void markStructureAsModified() {
+        markAsModified(PatioInfoField.PATIO_DIMENSIONS, PatioInfoField.COVERING_DIMENSIONS,
+                PatioInfoField.COVERING_SPACING, PatioInfoField.JOIST_SPAN_MAX_LENGTH, PatioInfoField.JOIST_DIMENSIONS,
+                PatioInfoField.JOIST_SPACING, PatioInfoField.CANTILEVER_LENGTH, PatioInfoField.BEAM_DIMENSIONS,
+                PatioInfoField.PLIES_PER_BEAM, PatioInfoField.POST_DIMENSIONS, PatioInfoField.POST_SPACING,
+                PatioInfoField.POSTS_PER_BEAM);
     }
 
     public boolean equals(PatioInfo _rhs) {
@@ -131,7 +336,8 @@ public class PatioInfo implements Serializable {
                 postVisibility == _rhs.postVisibility &&
                 lumberPrice.equals(_rhs.lumberPrice) &&
                 hiddenBorderVisibility == _rhs.hiddenBorderVisibility &&
-                rationalFormat.equals(_rhs.rationalFormat);
+                rationalFormat.equals(_rhs.rationalFormat) &&
+                getBuildingCode().equals(_rhs.getBuildingCode());
     }
 
     public MeasureUnit getMeasureUnit() {
@@ -160,10 +366,14 @@ public class PatioInfo implements Serializable {
 
     public void setPatioDimensions(Dimensions _patioDimensions, boolean _resizeAffectingComponents) {
         patioDimensions = _patioDimensions;
+        markAsModified(PatioInfoField.PATIO_DIMENSIONS);
 
         if (!_resizeAffectingComponents)
             return;
 
+        markAsModified(PatioInfoField.CANTILEVER_LENGTH, PatioInfoField.POST_SPACING, PatioInfoField.BEAM_DIMENSIONS,
+                PatioInfoField.COVERING_DIMENSIONS, PatioInfoField.POST_DIMENSIONS, PatioInfoField.JOIST_DIMENSIONS);
+
         float patioDepth = patioDimensions.getActualDepth();
         if (cantileverLength > patioDepth) {
             cantileverLength = patioDepth;
@@ -225,10 +435,13 @@ public class PatioInfo implements Serializable {
 
     public void setCoveringDimensions(Dimensions _coveringDimensions, boolean _resizeAffectingComponents) {
         coveringDimensions = _coveringDimensions;
+        markAsModified(PatioInfoField.COVERING_DIMENSIONS);
 
         if (!_resizeAffectingComponents)
             return;
 
+        markAsModified(PatioInfoField.PATIO_DIMENSIONS);
+
         float patioWidth = patioDimensions.getActualWidth();
         float patioHeight = getPatioHeightExcludingComponent(ComponentType.COVERING_PLANK) + coveringDimensions.getActualHeight();
         float patioDepth = patioDimensions.getActualDepth();
@@ -246,6 +459,7 @@ public class PatioInfo implements Serializable {
 
     public void setCoveringSpacing(float _coveringSpacing) {
         coveringSpacing = _coveringSpacing;
+        markAsModified(PatioInfoField.COVERING_SPACING);
     }
 
     public Color getCoveringColor() {
@@ -254,6 +468,7 @@ public class PatioInfo implements Serializable {
 
     public void setCoveringColor(Color _coveringColor) {
         coveringColor = _coveringColor;
+        markAsModified(PatioInfoField.COMPONENTS_APPEARANCE);
     }
 
     public boolean isCoveringColorFilling() {
@@ -262,6 +477,7 @@ public class PatioInfo implements Serializable {
 
     public void setCoveringColorFilling(boolean _coveringColorFilling) {
         coveringColorFilling = _coveringColorFilling;
+        markAsModified(PatioInfoField.COMPONENTS_APPEARANCE);
     }
 
     public boolean isCoveringVisibility() {
@@ -270,6 +486,7 @@ public class PatioInfo implements Serializable {
 
     public void setCoveringVisibility(boolean _coveringVisibility) {
         coveringVisibility = _coveringVisibility;
+        markAsModified(PatioInfoField.COMPONENTS_APPEARANCE);
     }
 
     public float getJoistSpanMaxLength() {
@@ -282,10 +499,13 @@ public class PatioInfo implements Serializable {
 
     public void setJoistSpanMaxLength(float _joistSpanMaxLength, boolean _resizeAffectingComponents) {
         joistSpanMaxLength = _joistSpanMaxLength;
+        markAsModified(PatioInfoField.JOIST_SPAN_MAX_LENGTH);
 
         if (!_resizeAffectingComponents)
             return;
 
+        markAsModified(PatioInfoField.JOIST_DIMENSIONS);
+
         float patioDepthWithoutCantilever = patioDimensions.getActualDepth() - cantileverLength;
         float spanAmountRatio = patioDepthWithoutCantilever / joistSpanMaxLength;
         int joistsAmountWide = (int) Math.ceil(spanAmountRatio);
@@ -303,10 +523,13 @@ public class PatioInfo implements Serializable {
 
     public void setJoistDimensions(Dimensions _joistDimensions , boolean _resizeAffectingComponents) {
         joistDimensions = _joistDimensions;
+        markAsModified(PatioInfoField.JOIST_DIMENSIONS);
 
         if (!_resizeAffectingComponents)
             return;
 
+        markAsModified(PatioInfoField.PATIO_DIMENSIONS);
+
         float patioWidth = patioDimensions.getActualWidth();
         float patioHeight = getPatioHeightExcludingComponent(ComponentType.JOIST) + joistDimensions.getActualWidth();
         float patioDepth = patioDimensions.getActualDepth();
@@ -324,6 +547,7 @@ public class PatioInfo implements Serializable {
 
     public void setJoistSpacing(float _joistSpacing) {
         joistSpacing = _joistSpacing;
+        markAsModified(PatioInfoField.JOIST_SPACING);
     }
 
     public int getJoistAmountPerSpan() {
@@ -340,6 +564,7 @@ public class PatioInfo implements Serializable {
 
     public void setJoistColor(Color _joistColor) {
         joistColor = _joistColor;
+        markAsModified(PatioInfoField.COMPONENTS_APPEARANCE);
     }
 
     public boolean isJoistColorFilling() {
@@ -348,6 +573,7 @@ public class PatioInfo implements Serializable {
 
     public void setJoistColorFilling(boolean _joistColorFilling) {
         joistColorFilling = _joistColorFilling;
+        markAsModified(PatioInfoField.COMPONENTS_APPEARANCE);
     }
 
     public boolean isJoistVisibility() {
@@ -356,6 +582,7 @@ public class PatioInfo implements Serializable {
 
     public void setJoistVisibility(boolean _joistVisibility) {
         joistVisibility = _joistVisibility;
+        markAsModified(PatioInfoField.COMPONENTS_APPEARANCE);
     }
 
     public int getSpanAmount() {
@@ -372,10 +599,13 @@ public class PatioInfo implements Serializable {
 
     public void setCantileverLength(float _cantileverLength, boolean _resizeAffectingComponents) {
         cantileverLength = _cantileverLength;
+        markAsModified(PatioInfoField.CANTILEVER_LENGTH);
 
         if (!_resizeAffectingComponents)
             return;
 
+        markAsModified(PatioInfoField.PATIO_DIMENSIONS, PatioInfoField.JOIST_DIMENSIONS);
+
         float patioDepth = patioDimensions.getActualDepth();
         if (patioDepth < cantileverLength) {
             float patioWidth = patioDimensions.getActualWidth();
@@ -414,10 +644,14 @@ public class PatioInfo implements Serializable {
 
     public void setBeamDimensions(Dimensions _beamDimensions, boolean _resizeAffectingComponents) {
         beamDimensions = _beamDimensions;
+        markAsModified(PatioInfoField.BEAM_DIMENSIONS);
 
         if (!_resizeAffectingComponents)
             return;
 
+        markAsModified(PatioInfoField.POST_SPACING, PatioInfoField.PATIO_DIMENSIONS,
+                PatioInfoField.COVERING_DIMENSIONS);
+
         postSpacing = beamDimensions.getActualDepth() / (postsPerBeam - 1);
 
         float patioWidth = beamDimensions.getActualDepth() + postDimensions.getActualWidth();
@@ -443,6 +677,7 @@ public class PatioInfo implements Serializable {
 
     public void setBeamColor(Color _beamColor) {
         beamColor = _beamColor;
+        markAsModified(PatioInfoField.COMPONENTS_APPEARANCE);
     }
 
     public boolean isBeamColorFilling() {
@@ -451,6 +686,7 @@ public class PatioInfo implements Serializable {
 
     public void setBeamColorFilling(boolean _beamColorFilling) {
         beamColorFilling = _beamColorFilling;
+        markAsModified(PatioInfoField.COMPONENTS_APPEARANCE);
     }
 
     public boolean isBeamVisibility() {
@@ -459,6 +695,7 @@ public class PatioInfo implements Serializable {
 
     public void setBeamVisibility(boolean _beamVisibility) {
         beamVisibility = _beamVisibility;
+        markAsModified(PatioInfoField.COMPONENTS_APPEARANCE);
     }
 
     public int getPliesPerBeam() {
@@ -475,6 +712,7 @@ public class PatioInfo implements Serializable {
 
     public void setPliesPerBeam(int _pliesPerBeam) {
         pliesPerBeam = _pliesPerBeam;
+        markAsModified(PatioInfoField.PLIES_PER_BEAM);
     }
 
     public Dimensions getPostDimensions() {
@@ -487,10 +725,13 @@ public class PatioInfo implements Serializable {
 
     public void setPostDimensions(Dimensions _postDimensions, boolean _resizeAffectingComponents) {
         postDimensions = _postDimensions;
+        markAsModified(PatioInfoField.POST_DIMENSIONS);
 
         if (!_resizeAffectingComponents)
             return;
 
+        markAsModified(PatioInfoField.PATIO_DIMENSIONS);
+
         float patioWidth = getBeamPlieDimensions().getActualDepth() + postDimensions.getActualWidth();
         float patioHeight = getPatioHeightExcludingComponent(ComponentType.POST) + postDimensions.getActualDepth();
         float patioDepth = patioDimensions.getActualDepth();
@@ -508,10 +749,14 @@ public class PatioInfo implements Serializable {
 
     public void setPostSpacing(float _postSpacing, boolean _resizeAffectingComponents) {
         postSpacing = _postSpacing;
+        markAsModified(PatioInfoField.POST_SPACING);
 
         if (!_resizeAffectingComponents)
             return;
 
+        markAsModified(PatioInfoField.PATIO_DIMENSIONS, PatioInfoField.COVERING_DIMENSIONS,
+                PatioInfoField.BEAM_DIMENSIONS);
+
         float combinedPostSpacing = postSpacing * (postsPerBeam - 1);
 
         float patioWidth = combinedPostSpacing + postDimensions.getActualWidth();
@@ -548,10 +793,13 @@ public class PatioInfo implements Serializable {
 
     public void setPostsPerBeam(int _postsPerBeam, boolean _resizeAffectingComponents) {
         postsPerBeam = _postsPerBeam;
+        markAsModified(PatioInfoField.POSTS_PER_BEAM);
 
         if (!_resizeAffectingComponents)
             return;
 
+        markAsModified(PatioInfoField.POST_SPACING);
+
         postSpacing = (patioDimensions.getActualWidth() - postDimensions.getActualWidth()) / (postsPerBeam - 1);
     }
 
@@ -561,6 +809,7 @@ public class PatioInfo implements Serializable {
 
     public void setPostColor(Color _postColor) {
         postColor = _postColor;
+        markAsModified(PatioInfoField.COMPONENTS_APPEARANCE);
     }
 
     public boolean isPostColorFilling() {
@@ -569,6 +818,7 @@ public class PatioInfo implements Serializable {
 
     public void setPostColorFilling(boolean _postColorFilling) {
         postColorFilling = _postColorFilling;
+        markAsModified(PatioInfoField.COMPONENTS_APPEARANCE);
     }
 
     public boolean isPostVisibility() {
@@ -577,10 +827,13 @@ public class PatioInfo implements Serializable {
 
     public void setPostVisibility(boolean _postVisibility) {
         postVisibility = _postVisibility;
+        markAsModified(PatioInfoField.COMPONENTS_APPEARANCE);
     }
 
     public void setLumberPricePerDimensions(String _lumberDimension, float _newValue) {
         lumberPrice.put(_lumberDimension, _newValue);
+        lumberPricesPerId = null;
+        markAsModified(PatioInfoField.LUMBER_PRICE);
     }
 
     public float getLumberPricePerDimensions(String _lumberDimension) {
@@ -591,6 +844,29 @@ public class PatioInfo implements Serializable {
         return 0f;
     }
 
+    /**
+     * Obtains the price per foot of a lumber without looking up its lumber dimensions string
+     *
+     * @param _lumberId The LumberCatalog ID of the lumber
+     * @return The price per foot specified by the user, or 0 if none was specified
+     */
+    public float getLumberPrice(int _lumberId) {
+        float[] prices = lumberPricesPerId;
+
+        if (prices == null || _lumberId >= prices.length) {
+            LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+            prices = new float[Math.max(lumberCatalog.size(), _lumberId + 1)];
+
+            for (int lumberId = 0; lumberId < prices.length; lumberId++) {
+                prices[lumberId] = getLumberPricePerDimensions(lumberCatalog.getLumberName(lumberId));
+            }
+
+            lumberPricesPerId = prices;
+        }
+
+        return prices[_lumberId];
+    }
+
     public boolean getHiddenBorderVisibility() {
         return hiddenBorderVisibility;
     }
@@ -623,4 +899,27 @@ public class PatioInfo implements Serializable {
         else
             rationalFormat = "fraction";
     }
+
+    /**
+     * Get the building code the patio is validated against. The projects saved before the building codes were
+     * introduced use the default one.
+     *
+     * @return The building code, like cwc-2020.
+     */
+    public String getBuildingCode() {
+        return buildingCode != null ? buildingCode : StructuralTables.DEFAULT_BUILDING_CODE;
+    }
+
+    /**
+     * Set the building code the patio is validated against. Its structural tables are read if they were not yet.
+     *
+     * @param _buildingCode The building code, like cwc-2020.
+     * @throws IllegalStateException If the tables of the building code are missing or malformed.
+     */
+    public void setBuildingCode(String _buildingCode) {
+        StructuralTables.get(_buildingCode);
+
+        buildingCode = _buildingCode;
+        markAsModified(PatioInfoField.BUILDING_CODE);
+    }
 }
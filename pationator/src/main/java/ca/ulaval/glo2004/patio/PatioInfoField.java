@@ -0,0 +1,70 @@
+package ca.ulaval.glo2004.patio;
+
+import java.util.EnumSet;
+
+/**
+ * Represents a PatioInfo property that can be modified by the user. Every property knows which component groups read
+ * it while the patio is generated, so the patio only regenerates the components affected by a modification.
+ */
+public enum PatioInfoField {
+    PATIO_DIMENSIONS(ComponentType.JOIST, ComponentType.POST, ComponentType.BEAM, ComponentType.COVERING_PLANK),
+    COVERING_DIMENSIONS(ComponentType.COVERING_PLANK),
+    COVERING_SPACING(ComponentType.COVERING_PLANK),
+    JOIST_SPAN_MAX_LENGTH(),
+    //The joist width moves the covering up or down, and the joist depth changes the joist span, which moves the posts
+    //and the beams
+    JOIST_DIMENSIONS(ComponentType.JOIST, ComponentType.POST, ComponentType.BEAM, ComponentType.COVERING_PLANK),
+    JOIST_SPACING(ComponentType.JOIST),
+    CANTILEVER_LENGTH(ComponentType.JOIST, ComponentType.POST, ComponentType.BEAM),
+    //The beam width moves the joists and the covering up or down, and the beam height changes the joist span
+    BEAM_DIMENSIONS(ComponentType.JOIST, ComponentType.POST, ComponentType.BEAM, ComponentType.COVERING_PLANK),
+    PLIES_PER_BEAM(ComponentType.BEAM),
+    //The post depth (its height in the patio) moves every component above the posts
+    POST_DIMENSIONS(ComponentType.JOIST, ComponentType.POST, ComponentType.BEAM, ComponentType.COVERING_PLANK),
+    POST_SPACING(ComponentType.POST),
+    POSTS_PER_BEAM(ComponentType.POST),
+    COMPONENTS_APPEARANCE(),
+    LUMBER_PRICE(),
+    //The building code only changes the validation of the patio
+    BUILDING_CODE();
+
+    private final EnumSet<ComponentType> affectedComponentTypes;
+
+    /**
+     * The PatioInfoField constructor
+     *
+     * @param _affectedComponentTypes The component groups that must be regenerated when the property is modified
+     */
+    PatioInfoField(ComponentType... _affectedComponentTypes) {
+        affectedComponentTypes = EnumSet.noneOf(ComponentType.class);
+
+        for (ComponentType componentType : _affectedComponentTypes) {
+            affectedComponentTypes.add(componentType);
+        }
+    }
+
+    /**
+     * Obtains the component groups that must be regenerated when the property is modified
+     *
+     * @return A copy of the component groups affected by the property
+     */
+    public EnumSet<ComponentType> getAffectedComponentTypes() {
+        return EnumSet.copyOf(affectedComponentTypes);
+    }
+
+    /**
+     * Obtains all the component groups affected by a set of modified properties
+     *
+     * @param _modifiedFields The modified properties
+     * @return The component groups that must be regenerated
+     */
+    public static EnumSet<ComponentType> getAffectedComponentTypes(EnumSet<PatioInfoField> _modifiedFields) {
+        EnumSet<ComponentType> affectedComponentTypes = EnumSet.noneOf(ComponentType.class);
+
+        for (PatioInfoField modifiedField : _modifiedFields) {
+            affectedComponentTypes.addAll(modifiedField.affectedComponentTypes);
+        }
+
+        return affectedComponentTypes;
+    }
+}
@@ -0,0 +1,197 @@
+package ca.ulaval.glo2004.patio;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+
+/**
+ * Represents an immutable state of a generated patio: its components, its prices and its pieces quantities. The patio
+ * publishes a new snapshot once a generation is done, so readers always see a consistent patio, even while the next
+ * one is being generated on another thread. Its components only hold their geometry: the colors and the visibility
+ * specified by the user are read from the PatioInfo when the patio is painted, so a cached snapshot published again
+ * is never altered.
+ */
+public final class PatioSnapshot {
+    /**
+     * The snapshot of a patio that has not been generated yet
+     */
+    public static final PatioSnapshot EMPTY = new PatioSnapshot(new ArrayList<Span>(), new ArrayList<Post>(),
+            new ArrayList<Beam>(), new ArrayList<Covering>(), new HashMap<String, Float>(),
+            new HashMap<String, HashMap<Float, Integer>>());
+
+    private final List<Component> components;
+    private final List<Span> spans;
+    private final List<Post> posts;
+    private final List<Beam> beams;
+    private final List<Covering> covering;
+    private final Map<String, Float> totalPricesPerLumberDimensions;
+    private final Map<String, Map<Float, Integer>> piecesQuantities;
+    private final float totalPrice;
+
+    /**
+     * The PatioSnapshot constructor. It copies the given collections, so the patio can reuse them for its next
+     * generation
+     *
+     * @param _spans                          The patio spans
+     * @param _posts                          The patio posts
+     * @param _beams                          The patio beams
+     * @param _covering                       The patio covering
+     * @param _totalPricesPerLumberDimensions The total price of every lumber dimensions
+     * @param _piecesQuantities               The quantity of pieces of every depth, for every lumber dimensions
+     */
+    PatioSnapshot(List<Span> _spans, List<Post> _posts, List<Beam> _beams, List<Covering> _covering,
+                  Map<String, Float> _totalPricesPerLumberDimensions,
+                  Map<String, HashMap<Float, Integer>> _piecesQuantities) {
+        spans = Collections.unmodifiableList(new ArrayList<>(_spans));
+        posts = Collections.unmodifiableList(new ArrayList<>(_posts));
+        beams = Collections.unmodifiableList(new ArrayList<>(_beams));
+        covering = Collections.unmodifiableList(new ArrayList<>(_covering));
+
+        ArrayList<Component> allComponents = new ArrayList<>(spans.size() + posts.size() + beams.size() + covering.size());
+        allComponents.addAll(spans);
+        allComponents.addAll(posts);
+        allComponents.addAll(beams);
+        allComponents.addAll(covering);
+        components = Collections.unmodifiableList(allComponents);
+
+        float price = 0f;
+        for (Float lumberSubTotal : _totalPricesPerLumberDimensions.values()) {
+            price += lumberSubTotal;
+        }
+        totalPrice = price;
+        totalPricesPerLumberDimensions = Collections.unmodifiableMap(new HashMap<>(_totalPricesPerLumberDimensions));
+
+        HashMap<String, Map<Float, Integer>> quantities = new HashMap<>();
+        for (Map.Entry<String, HashMap<Float, Integer>> lumberQuantities : _piecesQuantities.entrySet()) {
+            quantities.put(lumberQuantities.getKey(),
+                    Collections.unmodifiableMap(new HashMap<>(lumberQuantities.getValue())));
+        }
+        piecesQuantities = Collections.unmodifiableMap(quantities);
+    }
+
+    /**
+     * Obtains all the patio components, in the spans, posts, beams and covering order
+     *
+     * @return An unmodifiable list containing all the patio components
+     */
+    public List<Component> getComponents() {
+        return components;
+    }
+
+    /**
+     * Obtains all the patio spans
+     *
+     * @return An unmodifiable list containing all the patio spans
+     */
+    public List<Span> getSpans() {
+        return spans;
+    }
+
+    /**
+     * Obtains all the patio posts
+     *
+     * @return An unmodifiable list containing all the patio posts
+     */
+    public List<Post> getPosts() {
+        return posts;
+    }
+
+    /**
+     * Obtains all the patio beams
+     *
+     * @return An unmodifiable list containing all the patio beams
+     */
+    public List<Beam> getBeams() {
+        return beams;
+    }
+
+    /**
+     * Obtains the patio covering
+     *
+     * @return An unmodifiable list containing all the patio coverings
+     */
+    public List<Covering> getCovering() {
+        return covering;
+    }
+
+    /**
+     * Obtains the components of a type
+     *
+     * @param _componentType The type of the components
+     * @return An unmodifiable list containing the spans for JOIST, the posts for POST, the beams for BEAM and the
+     * covering for COVERING_PLANK
+     */
+    public List<? extends Component> getComponents(ComponentType _componentType) {
+        switch (_componentType) {
+            case JOIST:
+                return spans;
+            case POST:
+                return posts;
+            case BEAM:
+                return beams;
+            case COVERING_PLANK:
+                return covering;
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Obtains a traversal of every wood piece of the patio, in the order of getComponents(). It is sized and can be
+     * split, so it can back a parallel stream without copying the pieces in a list
+     *
+     * @return A spliterator over all the wood pieces
+     */
+    public Spliterator<WoodPiece> pieces() {
+        return new WoodPieceSpliterator(components);
+    }
+
+    /**
+     * Visits the wood pieces of some component types, one type after the other in the given order
+     *
+     * @param _visitor        The visitor called for every wood piece
+     * @param _componentTypes The component types to visit
+     */
+    public void visitPieces(WoodPieceVisitor _visitor, ComponentType... _componentTypes) {
+        for (ComponentType componentType : _componentTypes) {
+            for (Component component : getComponents(componentType)) {
+                for (WoodPiece woodPiece : component.getWoodPieces()) {
+                    _visitor.visit(component, woodPiece);
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtains the quantity of pieces of every depth (in feet), for every lumber dimensions
+     *
+     * @return An unmodifiable map of the pieces quantities
+     */
+    public Map<String, Map<Float, Integer>> getPiecesQuantities() {
+        return piecesQuantities;
+    }
+
+    /**
+     * Returns the total price of the patio
+     *
+     * @return The total price of the patio
+     */
+    public float getTotalPrice() {
+        return totalPrice;
+    }
+
+    /**
+     * Returns the total price of a specific wood piece lumber dimensions
+     *
+     * @param _lumberDimensions The dimensions of a specific wood piece
+     * @return The total price of a specific wood piece lumber dimensions
+     */
+    public float getLumberTotalPrice(String _lumberDimensions) {
+        Float lumberTotalPrice = totalPricesPerLumberDimensions.get(_lumberDimensions);
+
+        return lumberTotalPrice != null ? lumberTotalPrice : 0f;
+    }
+}
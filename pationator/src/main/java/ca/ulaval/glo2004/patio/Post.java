@@ -26,7 +26,7 @@ public class Post extends Component {
         idxPostInSupportedBeam = _idxPostInSupportedBeam;
 
         Vector3 postCentralPosition = getPostCentralPosition();
-        woodPieces.add(new WoodPiece(postDimensions, postCentralPosition, ComponentType.POST));
+        addWoodPiece(postDimensions, postCentralPosition, ComponentType.POST);
     }
 
     /**
@@ -0,0 +1,111 @@
+package ca.ulaval.glo2004.patio;
+
+import java.util.Arrays;
+
+/**
+ * Holds the price and the validity of the patio for evenly spaced values of one of its properties, the other
+ * properties being kept. The breakpoints are the values where the patio becomes valid or invalid.
+ */
+public class PriceSweep {
+    private final SweepParameter parameter;
+    private final float[] values;
+    private final float[] prices;
+    private final boolean[] isValid;
+
+    /**
+     * The PriceSweep constructor. The prices and the validity are filled by the patio sweeping the values
+     *
+     * @param _parameter  The property swept
+     * @param _fromValue  The first value, in inches
+     * @param _toValue    The last value, in inches
+     * @param _nbSamples  The number of values, 2 or more to include the last value
+     */
+    PriceSweep(SweepParameter _parameter, float _fromValue, float _toValue, int _nbSamples) {
+        parameter = _parameter;
+        values = new float[_nbSamples];
+        prices = new float[_nbSamples];
+        isValid = new boolean[_nbSamples];
+
+        for (int idxSample = 0; idxSample < _nbSamples; idxSample++) {
+            values[idxSample] = _nbSamples == 1 ? _fromValue :
+                    _fromValue + (_toValue - _fromValue) * idxSample / (_nbSamples - 1);
+        }
+    }
+
+    /**
+     * Keeps the result of a generated sample. Every sample is only set by one worker of the sweep
+     *
+     * @param _idxSample The index of the sample
+     * @param _price     The total price of the patio generated with the value of the sample
+     * @param _isValid   True if the generated patio has no validation error
+     */
+    void setSample(int _idxSample, float _price, boolean _isValid) {
+        prices[_idxSample] = _price;
+        isValid[_idxSample] = _isValid;
+    }
+
+    /**
+     * Obtains the property swept
+     *
+     * @return The swept parameter
+     */
+    public SweepParameter getParameter() {
+        return parameter;
+    }
+
+    /**
+     * Obtains the number of values swept
+     *
+     * @return The number of samples
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Obtains the value of a sample
+     *
+     * @param _idxSample The index of the sample, the first value being 0
+     * @return The value of the property in inches
+     */
+    public float getValue(int _idxSample) {
+        return values[_idxSample];
+    }
+
+    /**
+     * Obtains the price of a sample
+     *
+     * @param _idxSample The index of the sample
+     * @return The total price of the patio generated with the value of the sample, even if it is not valid
+     */
+    public float getPrice(int _idxSample) {
+        return prices[_idxSample];
+    }
+
+    /**
+     * Indicates if the patio of a sample is valid
+     *
+     * @param _idxSample The index of the sample
+     * @return True if the patio generated with the value of the sample has no validation error
+     */
+    public boolean isValid(int _idxSample) {
+        return isValid[_idxSample];
+    }
+
+    /**
+     * Obtains the samples where the validity of the patio changes
+     *
+     * @return The indexes of the samples whose validity differs from the previous sample, in increasing order
+     */
+    public int[] getBreakpoints() {
+        int[] breakpoints = new int[values.length];
+        int nbBreakpoints = 0;
+
+        for (int idxSample = 1; idxSample < values.length; idxSample++) {
+            if (isValid[idxSample] != isValid[idxSample - 1])
+                breakpoints[nbBreakpoints++] = idxSample;
+        }
+
+        return Arrays.copyOf(breakpoints, nbBreakpoints);
+    }
+}
@@ -0,0 +1,119 @@
+package ca.ulaval.glo2004.patio;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Explores the candidate configurations by simulated annealing, for search spaces too large to be evaluated entirely.
+ * A candidate is a set of choices (joist lumber, cantilever, post lumber, beam properties and beam lumber). Every step
+ * changes one choice at random, and keeps the new candidate if it is cheaper, or with a probability decreasing with its
+ * extra cost and with the temperature. The steps only depend on the seed, so two searches with the same seed and the
+ * same inputs evaluate the same candidates and find the same configuration.
+ * <p>
+ * The ranking only holds the valid configurations visited, so it is never complete.
+ */
+public class SimulatedAnnealingSearchStrategy implements OptimalPatioSearchStrategy {
+    /**
+     * The default number of steps of a search
+     */
+    public static final int DEFAULT_STEPS_COUNT = 400;
+
+    //The first temperature is this ratio of the price of the first valid candidate, so a candidate this much more
+    //expensive is kept with a probability of 1/e at first. It then decreases geometrically to the final ratio
+    private static final double INITIAL_TEMPERATURE_RATIO = 0.2;
+    private static final double FINAL_TEMPERATURE_RATIO = 0.002;
+
+    private final long seed;
+    private final int nbSteps;
+
+    /**
+     * The SimulatedAnnealingSearchStrategy constructor, with the default number of steps
+     *
+     * @param _seed The seed of the random choices
+     */
+    public SimulatedAnnealingSearchStrategy(long _seed) {
+        this(_seed, DEFAULT_STEPS_COUNT);
+    }
+
+    /**
+     * The SimulatedAnnealingSearchStrategy constructor
+     *
+     * @param _seed    The seed of the random choices
+     * @param _nbSteps The number of steps of a search. A candidate visited again is not evaluated again
+     */
+    public SimulatedAnnealingSearchStrategy(long _seed, int _nbSteps) {
+        seed = _seed;
+        nbSteps = _nbSteps;
+    }
+
+    @Override
+    public PatioConfigurationRanking search(Patio _patio, PatioInfo _patioInfo, OptimalPatioSearch _search) {
+        Patio candidatePatio = _patio.createCandidatePatio(_search);
+        int[] choicesCounts = candidatePatio.getCandidateChoicesCounts();
+        HashMap<Integer, Float> evaluatedPrices = new HashMap<>();
+        Random random = new Random(seed);
+
+        int[] currentChoices = new int[choicesCounts.length];
+        for (int idxChoice = 0; idxChoice < choicesCounts.length; idxChoice++) {
+            currentChoices[idxChoice] = random.nextInt(choicesCounts[idxChoice]);
+        }
+        float currentPrice = evaluate(candidatePatio, _patioInfo, currentChoices, choicesCounts, evaluatedPrices);
+        double initialTemperature = Double.NaN;
+
+        for (int idxStep = 0; idxStep < nbSteps && !_search.isStopped(); idxStep++) {
+            int[] neighbourChoices = Arrays.copyOf(currentChoices, currentChoices.length);
+            int idxChoice = random.nextInt(choicesCounts.length);
+            if (choicesCounts[idxChoice] > 1) {
+                neighbourChoices[idxChoice] = (neighbourChoices[idxChoice] + 1 +
+                        random.nextInt(choicesCounts[idxChoice] - 1)) % choicesCounts[idxChoice];
+            }
+            float neighbourPrice =
+                    evaluate(candidatePatio, _patioInfo, neighbourChoices, choicesCounts, evaluatedPrices);
+
+            if (Double.isNaN(initialTemperature) && neighbourPrice != Float.MAX_VALUE)
+                initialTemperature = INITIAL_TEMPERATURE_RATIO * neighbourPrice;
+
+            //An invalid candidate is only left for another one, and a valid one is never left for an invalid one
+            boolean isKept = neighbourPrice <= currentPrice;
+            if (!isKept && neighbourPrice != Float.MAX_VALUE) {
+                double temperature = initialTemperature *
+                        Math.pow(FINAL_TEMPERATURE_RATIO / INITIAL_TEMPERATURE_RATIO, (double) idxStep / nbSteps);
+                isKept = random.nextDouble() < Math.exp((currentPrice - neighbourPrice) / temperature);
+            }
+
+            if (isKept) {
+                currentChoices = neighbourChoices;
+                currentPrice = neighbourPrice;
+            }
+        }
+
+        PatioConfigurationRanking ranking = new PatioConfigurationRanking();
+        ranking.addAll(candidatePatio.getCandidateConfigurations());
+        ranking.rank();
+        ranking.setComplete(false);
+
+        return ranking;
+    }
+
+    /**
+     * Evaluates the candidate of some choices, unless it was already evaluated
+     *
+     * @return The price of the candidate, or Float.MAX_VALUE if it is not valid
+     */
+    private static float evaluate(Patio _candidatePatio, PatioInfo _patioInfo, int[] _choices, int[] _choicesCounts,
+                                  HashMap<Integer, Float> _evaluatedPrices) {
+        int candidateIndex = 0;
+        for (int idxChoice = 0; idxChoice < _choices.length; idxChoice++) {
+            candidateIndex = candidateIndex * _choicesCounts[idxChoice] + _choices[idxChoice];
+        }
+
+        Float price = _evaluatedPrices.get(candidateIndex);
+        if (price == null) {
+            price = _candidatePatio.evaluateCandidateChoices(_patioInfo, _choices);
+            _evaluatedPrices.put(candidateIndex, price);
+        }
+
+        return price;
+    }
+}
@@ -37,9 +37,7 @@ public class Span extends Component {
     private void generateJoists(int _nbJoists) {
         for (int idxJoist = 0; idxJoist < _nbJoists; idxJoist++) {
             Vector3 joistCentralPosition = getJoistCentralPosition(idxJoist);
-            WoodPiece joist = new WoodPiece(joistDimensions, joistCentralPosition, ComponentType.JOIST);
-
-            woodPieces.add(joist);
+            addWoodPiece(joistDimensions, joistCentralPosition, ComponentType.JOIST);
         }
     }
 
@@ -111,17 +109,17 @@ public class Span extends Component {
      * Adds the cantilever length to the joists' length
      */
     private void addCantileverLengthToJoists() {
-        for (WoodPiece joist : woodPieces) {
-            float width = joist.getDimensions().getActualWidth();
-            float height = joist.getDimensions().getActualHeight();
-            float depth = joist.getDimensions().getActualDepth() + cantileverLength;
-            joist.setDimensions(width, height, depth);
-            joist.setBuyingDimensions(width, height, depth);
-
-            float xPos = joist.getCentralPosition().x + (cantileverLength / 2);
-            float yPos = joist.getCentralPosition().y;
-            float zPos = joist.getCentralPosition().z;
-            joist.setCentralPosition(xPos, yPos, zPos);
+        for (int idxJoist = 0; idxJoist < woodPieceStore.size(); idxJoist++) {
+            float width = woodPieceStore.getWidth(idxJoist);
+            float height = woodPieceStore.getHeight(idxJoist);
+            float depth = woodPieceStore.getDepth(idxJoist) + cantileverLength;
+            woodPieceStore.setDimensions(idxJoist, width, height, depth);
+            woodPieceStore.setBuyingDimensions(idxJoist, width, height, depth);
+
+            float xPos = woodPieceStore.getCentralX(idxJoist) + (cantileverLength / 2);
+            float yPos = woodPieceStore.getCentralY(idxJoist);
+            float zPos = woodPieceStore.getCentralZ(idxJoist);
+            woodPieceStore.setCentralPosition(idxJoist, xPos, yPos, zPos);
         }
     }
 
@@ -0,0 +1,591 @@
+package ca.ulaval.glo2004.patio;
+
+import ca.ulaval.glo2004.utils.Conversion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The structural tables the Validator checks a patio against: the joist spans, the joist spacings, the cantilevers,
+ * the beams and the posts allowed. They are read once from a resource file, and kept in sorted primitive arrays, so a
+ * lookup is a binary search that allocates nothing. The lumbers are looked up by their nominal height and width, and
+ * the lengths by the largest value of the row they fall in. Every building code, an edition of the tables for a
+ * jurisdiction, has its own resource file, read the first time the code is used and then shared, so switching
+ * building code does not slow the lookups down.
+ */
+public class StructuralTables {
+    /**
+     * The building code of the Canadian Wood Council guide from 2020, used when a project does not specify one
+     */
+    public static final String DEFAULT_BUILDING_CODE = "cwc-2020";
+
+    private static final String RESOURCES_DIRECTORY = "/structural-tables/";
+    private static final String RESOURCES_EXTENSION = ".txt";
+    //Lists the bundled building codes, with their description
+    private static final String BUILDING_CODES_RESOURCE = RESOURCES_DIRECTORY + "building-codes" + RESOURCES_EXTENSION;
+
+    /**
+     * The resource holding the tables of the Canadian Wood Council guide from 2020
+     */
+    public static final String DEFAULT_RESOURCE = getResource(DEFAULT_BUILDING_CODE);
+
+    private static final int SINGLE_SPAN = 0;
+    private static final int TWO_SPANS = 1;
+    //Matches any value in the posts table
+    private static final String ANY_VALUE = "*";
+
+    private static final ConcurrentHashMap<String, StructuralTables> tablesPerBuildingCode =
+            new ConcurrentHashMap<>();
+    private static volatile Map<String, String> buildingCodes;
+
+    //The largest joist spacing of every row, then the joists of the table, and the allowed span per row and joist
+    private float[] spanJoistSpacingMaxima;
+    private long[] spanJoistKeys;
+    private float[][] allowedSpanLengths;
+
+    private long[] coveringKeys;
+    private float[] allowedJoistSpacings;
+
+    private long[] cantileverJoistKeys;
+    private float[] allowedCantileverLengths;
+
+    //Per single span or two spans beams: the largest post spacing of every group, the first row of every group, then
+    //the largest span and the beam properties of every row
+    private final float[][] beamPostSpacingMaxima = new float[2][];
+    private final int[][] beamGroupStarts = new int[2][];
+    private final float[][] beamSpanMaxima = new float[2][];
+    private final int[][] beamPliesCounts = new int[2][];
+    private final float[][] beamHeights = new float[2][];
+    private final float[][] beamWidths = new float[2][];
+    private final int[][] alternateBeamPliesCounts = new int[2][];
+    private final float[][] alternateBeamHeights = new float[2][];
+    private final float[][] alternateBeamWidths = new float[2][];
+
+    //The posts rows, in order. A plies count of -1 matches any beam
+    private int[] postPliesCounts;
+    private float[] postMinHeights;
+    private float[] postMaxHeights;
+    private float[] postSizes;
+
+    /**
+     * The StructuralTables constructor. The tables are read with load
+     */
+    private StructuralTables() {
+    }
+
+    /**
+     * Obtains the tables of the Canadian Wood Council guide from 2020, read at the first call
+     *
+     * @return The default structural tables
+     */
+    public static StructuralTables getDefault() {
+        return get(DEFAULT_BUILDING_CODE);
+    }
+
+    /**
+     * Obtains the tables of a building code, read from its resource file at the first call
+     *
+     * @param _buildingCode The building code, the name of its resource file without its extension
+     * @return The structural tables of the building code
+     * @throws IllegalArgumentException If the building code is not a valid resource name
+     * @throws IllegalStateException    If the tables of the building code are missing or malformed
+     */
+    public static StructuralTables get(String _buildingCode) {
+        StructuralTables tables = tablesPerBuildingCode.get(_buildingCode);
+        if (tables != null)
+            return tables;
+
+        tables = load(getResource(_buildingCode));
+        //Two threads may read the same tables at once, only the first ones kept are used
+        StructuralTables keptTables = tablesPerBuildingCode.putIfAbsent(_buildingCode, tables);
+
+        return keptTables != null ? keptTables : tables;
+    }
+
+    /**
+     * Obtains the building codes bundled with Pationator, read at the first call
+     *
+     * @return The description of every building code, in the order they are listed
+     * @throws IllegalStateException If the list of the building codes is missing or malformed
+     */
+    public static Map<String, String> getBuildingCodes() {
+        if (buildingCodes == null) {
+            synchronized (StructuralTables.class) {
+                if (buildingCodes == null)
+                    buildingCodes = Collections.unmodifiableMap(readBuildingCodes());
+            }
+        }
+
+        return buildingCodes;
+    }
+
+    private static LinkedHashMap<String, String> readBuildingCodes() {
+        LinkedHashMap<String, String> descriptions = new LinkedHashMap<>();
+
+        try (InputStream input = StructuralTables.class.getResourceAsStream(BUILDING_CODES_RESOURCE)) {
+            if (input == null)
+                throw new IllegalStateException("Missing building codes " + BUILDING_CODES_RESOURCE);
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#"))
+                    continue;
+
+                String[] columns = line.split("\\s+", 2);
+                if (columns.length != 2)
+                    throw new IllegalStateException("Expected a description for the building code " + line);
+                descriptions.put(getBuildingCode(columns[0]), columns[1]);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read the building codes " + BUILDING_CODES_RESOURCE, e);
+        }
+
+        return descriptions;
+    }
+
+    private static String getResource(String _buildingCode) {
+        return RESOURCES_DIRECTORY + getBuildingCode(_buildingCode) + RESOURCES_EXTENSION;
+    }
+
+    /**
+     * Checks a building code, so it can only name a resource of the structural tables directory
+     */
+    private static String getBuildingCode(String _buildingCode) {
+        if (_buildingCode == null || !_buildingCode.matches("[a-z0-9][a-z0-9_-]*"))
+            throw new IllegalArgumentException("Invalid building code " + _buildingCode);
+
+        return _buildingCode;
+    }
+
+    /**
+     * Reads structural tables from a resource file bundled with Pationator
+     *
+     * @param _resource The path of the resource
+     * @return The tables read
+     * @throws IllegalStateException If the resource is missing or malformed
+     */
+    public static StructuralTables load(String _resource) {
+        try (InputStream input = StructuralTables.class.getResourceAsStream(_resource)) {
+            if (input == null)
+                throw new IllegalStateException("Missing structural tables " + _resource);
+
+            return read(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Cannot read the structural tables " + _resource, e);
+        }
+    }
+
+    /**
+     * Reads structural tables. A section starts with its name between brackets, and holds one row per line. Empty
+     * lines and lines starting with # are ignored
+     *
+     * @param _input The tables to read
+     * @return The tables read
+     * @throws IOException              If the tables cannot be read
+     * @throws IllegalArgumentException If a row is malformed
+     */
+    static StructuralTables read(BufferedReader _input) throws IOException {
+        List<String[]> spanRows = new ArrayList<>();
+        List<String[]> joistSpacingRows = new ArrayList<>();
+        List<String[]> cantileverRows = new ArrayList<>();
+        List<String[]> singleSpanBeamRows = new ArrayList<>();
+        List<String[]> twoSpansBeamRows = new ArrayList<>();
+        List<String[]> postRows = new ArrayList<>();
+        List<String[]> sectionRows = null;
+
+        String line;
+        int idxLine = 0;
+        while ((line = _input.readLine()) != null) {
+            idxLine++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#"))
+                continue;
+
+            switch (line) {
+                case "[joist_spans]":
+                    sectionRows = spanRows;
+                    break;
+                case "[joist_spacings]":
+                    sectionRows = joistSpacingRows;
+                    break;
+                case "[cantilevers]":
+                    sectionRows = cantileverRows;
+                    break;
+                case "[single_span_beams]":
+                    sectionRows = singleSpanBeamRows;
+                    break;
+                case "[two_spans_beams]":
+                    sectionRows = twoSpansBeamRows;
+                    break;
+                case "[posts]":
+                    sectionRows = postRows;
+                    break;
+                default:
+                    if (line.startsWith("[") || sectionRows == null)
+                        throw new IllegalArgumentException("Unknown section at line " + idxLine + ": " + line);
+
+                    sectionRows.add(line.split("\\s+"));
+            }
+        }
+
+        StructuralTables tables = new StructuralTables();
+        tables.readSpans(spanRows);
+        tables.readJoistSpacings(joistSpacingRows);
+        tables.readCantilevers(cantileverRows);
+        tables.readBeams(SINGLE_SPAN, singleSpanBeamRows);
+        tables.readBeams(TWO_SPANS, twoSpansBeamRows);
+        tables.readPosts(postRows);
+
+        return tables;
+    }
+
+    private void readSpans(List<String[]> _rows) {
+        spanJoistSpacingMaxima = new float[0];
+        spanJoistKeys = new long[0];
+        for (String[] row : _rows) {
+            checkColumnsCount(row, 3);
+            spanJoistSpacingMaxima = addSorted(spanJoistSpacingMaxima, parseLength(row[0]));
+            spanJoistKeys = addSorted(spanJoistKeys, parseLumberKey(row[1]));
+        }
+
+        allowedSpanLengths = new float[spanJoistSpacingMaxima.length][spanJoistKeys.length];
+        for (float[] allowedSpanLengthsPerJoist : allowedSpanLengths) {
+            Arrays.fill(allowedSpanLengthsPerJoist, -1);
+        }
+        for (String[] row : _rows) {
+            allowedSpanLengths[Arrays.binarySearch(spanJoistSpacingMaxima, parseLength(row[0]))]
+                    [Arrays.binarySearch(spanJoistKeys, parseLumberKey(row[1]))] = parseLength(row[2]);
+        }
+    }
+
+    private void readJoistSpacings(List<String[]> _rows) {
+        coveringKeys = new long[_rows.size()];
+        allowedJoistSpacings = new float[_rows.size()];
+        readLumberTable(_rows, coveringKeys, allowedJoistSpacings);
+    }
+
+    private void readCantilevers(List<String[]> _rows) {
+        cantileverJoistKeys = new long[_rows.size()];
+        allowedCantileverLengths = new float[_rows.size()];
+        readLumberTable(_rows, cantileverJoistKeys, allowedCantileverLengths);
+    }
+
+    /**
+     * Reads a table of one length per lumber, sorted by lumber
+     */
+    private static void readLumberTable(List<String[]> _rows, long[] _lumberKeys, float[] _lengths) {
+        for (String[] row : _rows) {
+            checkColumnsCount(row, 2);
+        }
+
+        Integer[] order = sortedOrder(_rows, 0);
+        for (int idxRow = 0; idxRow < order.length; idxRow++) {
+            String[] row = _rows.get(order[idxRow]);
+            _lumberKeys[idxRow] = parseLumberKey(row[0]);
+            _lengths[idxRow] = parseLength(row[1]);
+        }
+    }
+
+    private void readBeams(int _beamType, List<String[]> _rows) {
+        int nbRows = _rows.size();
+        float[] postSpacingMaxima = new float[0];
+        int[] groupStarts = new int[0];
+        beamSpanMaxima[_beamType] = new float[nbRows];
+        beamPliesCounts[_beamType] = new int[nbRows];
+        beamHeights[_beamType] = new float[nbRows];
+        beamWidths[_beamType] = new float[nbRows];
+        alternateBeamPliesCounts[_beamType] = new int[nbRows];
+        alternateBeamHeights[_beamType] = new float[nbRows];
+        alternateBeamWidths[_beamType] = new float[nbRows];
+
+        for (int idxRow = 0; idxRow < nbRows; idxRow++) {
+            String[] row = _rows.get(idxRow);
+            if (row.length != 4 && row.length != 6)
+                throw new IllegalArgumentException("Expected 4 or 6 columns in beams row " + Arrays.toString(row));
+
+            float postSpacingMax = parseLength(row[0]);
+            float spanMax = parseLength(row[1]);
+            int nbGroups = postSpacingMaxima.length;
+            if (nbGroups == 0 || postSpacingMax > postSpacingMaxima[nbGroups - 1]) {
+                postSpacingMaxima = Arrays.copyOf(postSpacingMaxima, nbGroups + 1);
+                postSpacingMaxima[nbGroups] = postSpacingMax;
+                groupStarts = Arrays.copyOf(groupStarts, nbGroups + 1);
+                groupStarts[nbGroups] = idxRow;
+            } else if (postSpacingMax < postSpacingMaxima[nbGroups - 1] ||
+                    spanMax <= beamSpanMaxima[_beamType][idxRow - 1]) {
+                throw new IllegalArgumentException("Beams rows must be sorted: " + Arrays.toString(row));
+            }
+
+            beamSpanMaxima[_beamType][idxRow] = spanMax;
+            beamPliesCounts[_beamType][idxRow] = Integer.parseInt(row[2]);
+            beamHeights[_beamType][idxRow] = parseNominalSize(row[3])[0];
+            beamWidths[_beamType][idxRow] = parseNominalSize(row[3])[1];
+            if (row.length == 6) {
+                alternateBeamPliesCounts[_beamType][idxRow] = Integer.parseInt(row[4]);
+                alternateBeamHeights[_beamType][idxRow] = parseNominalSize(row[5])[0];
+                alternateBeamWidths[_beamType][idxRow] = parseNominalSize(row[5])[1];
+            }
+        }
+
+        beamPostSpacingMaxima[_beamType] = postSpacingMaxima;
+        beamGroupStarts[_beamType] = groupStarts;
+    }
+
+    private void readPosts(List<String[]> _rows) {
+        int nbRows = _rows.size();
+        postPliesCounts = new int[nbRows];
+        postMinHeights = new float[nbRows];
+        postMaxHeights = new float[nbRows];
+        postSizes = new float[nbRows];
+
+        for (int idxRow = 0; idxRow < nbRows; idxRow++) {
+            String[] row = _rows.get(idxRow);
+            checkColumnsCount(row, 4);
+
+            postPliesCounts[idxRow] = row[0].equals(ANY_VALUE) ? -1 : Integer.parseInt(row[0]);
+            //The post heights are compared in feet
+            postMinHeights[idxRow] = row[1].equals(ANY_VALUE) ? Float.NEGATIVE_INFINITY :
+                    Conversion.inchesToFeet(parseLength(row[1]));
+            postMaxHeights[idxRow] = row[2].equals(ANY_VALUE) ? Float.POSITIVE_INFINITY :
+                    Conversion.inchesToFeet(parseLength(row[2]));
+
+            float[] postSize = parseNominalSize(row[3]);
+            if (postSize[0] != postSize[1])
+                throw new IllegalArgumentException("Posts must be square: " + Arrays.toString(row));
+            postSizes[idxRow] = postSize[0];
+        }
+    }
+
+    /**
+     * Obtains the longest joist span allowed
+     *
+     * @param _joistSpacing        Spacing of the joists, in inches
+     * @param _joistNominalHeight  Nominal height of the joists
+     * @param _joistNominalWidth   Nominal width of the joists
+     * @return The allowed span length in inches, or -1 if the joists or their spacing are not in the table
+     */
+    public float getAllowedSpanLength(float _joistSpacing, float _joistNominalHeight, float _joistNominalWidth) {
+        if (!(_joistSpacing > 0))
+            return -1;
+
+        int idxRow = ceilingIndex(spanJoistSpacingMaxima, 0, spanJoistSpacingMaxima.length, _joistSpacing);
+        int idxJoist = Arrays.binarySearch(spanJoistKeys, getLumberKey(_joistNominalHeight, _joistNominalWidth));
+        if (idxRow == spanJoistSpacingMaxima.length || idxJoist < 0)
+            return -1;
+
+        return allowedSpanLengths[idxRow][idxJoist];
+    }
+
+    /**
+     * Obtains the largest joist spacing allowed under a covering
+     *
+     * @param _coveringNominalHeight Nominal height of the covering planks
+     * @param _coveringNominalWidth  Nominal width of the covering planks
+     * @return The allowed joist spacing in inches, or -1 if the covering is not in the table
+     */
+    public float getAllowedJoistSpacing(float _coveringNominalHeight, float _coveringNominalWidth) {
+        int idxCovering =
+                Arrays.binarySearch(coveringKeys, getLumberKey(_coveringNominalHeight, _coveringNominalWidth));
+
+        return idxCovering >= 0 ? allowedJoistSpacings[idxCovering] : -1;
+    }
+
+    /**
+     * Obtains the longest cantilever allowed
+     *
+     * @param _joistNominalHeight Nominal height of the joists
+     * @param _joistNominalWidth  Nominal width of the joists
+     * @return The allowed cantilever length in inches, or -1 if the joists are not in the table
+     */
+    public float getAllowedCantileverLength(float _joistNominalHeight, float _joistNominalWidth) {
+        int idxJoist = Arrays.binarySearch(cantileverJoistKeys, getLumberKey(_joistNominalHeight, _joistNominalWidth));
+
+        return idxJoist >= 0 ? allowedCantileverLengths[idxJoist] : -1;
+    }
+
+    /**
+     * Looks up the smallest beams allowed
+     *
+     * @param _postsSpacing         Spacing between posts, in inches
+     * @param _spanLength           Joist span, in inches
+     * @param _isSupportingTwoSpans True if the beam supports two spans
+     * @param _result               The beam properties receiving the result, reused between lookups
+     * @return False if no beam is allowed for this post spacing and span, _result being left as it was
+     */
+    public boolean findAllowedBeamProperties(float _postsSpacing, float _spanLength, boolean _isSupportingTwoSpans,
+                                             BeamProperties _result) {
+        if (!(_postsSpacing >= 0))
+            return false;
+
+        int beamType = _isSupportingTwoSpans ? TWO_SPANS : SINGLE_SPAN;
+        float[] postSpacingMaxima = beamPostSpacingMaxima[beamType];
+
+        int idxGroup = ceilingIndex(postSpacingMaxima, 0, postSpacingMaxima.length, _postsSpacing);
+        if (idxGroup == postSpacingMaxima.length)
+            return false;
+
+        int groupStart = beamGroupStarts[beamType][idxGroup];
+        int groupEnd = idxGroup + 1 < postSpacingMaxima.length ? beamGroupStarts[beamType][idxGroup + 1] :
+                beamSpanMaxima[beamType].length;
+        int idxRow = ceilingIndex(beamSpanMaxima[beamType], groupStart, groupEnd, _spanLength);
+        if (idxRow == groupEnd)
+            return false;
+
+        _result.set(beamPliesCounts[beamType][idxRow], beamHeights[beamType][idxRow],
+                beamWidths[beamType][idxRow], alternateBeamPliesCounts[beamType][idxRow],
+                alternateBeamHeights[beamType][idxRow], alternateBeamWidths[beamType][idxRow]);
+        return true;
+    }
+
+    /**
+     * Obtains the smallest square post allowed
+     *
+     * @param _postHeight Post height, in feet
+     * @param _pliesCount Number of plies of the supported beam
+     * @return The nominal width and height of the post, or -1 if no post is allowed
+     */
+    public float getAllowedPostNominalSize(float _postHeight, int _pliesCount) {
+        for (int idxRow = 0; idxRow < postSizes.length; idxRow++) {
+            if ((postPliesCounts[idxRow] == -1 || postPliesCounts[idxRow] == _pliesCount) &&
+                    _postHeight >= postMinHeights[idxRow] && _postHeight <= postMaxHeights[idxRow])
+                return postSizes[idxRow];
+        }
+
+        return -1;
+    }
+
+    /**
+     * Obtains the first index of a sorted range whose value is greater than or equal to a value, which is the row the
+     * value falls in
+     *
+     * @return The index, or the end of the range if every value is smaller. A NaN value is in no row
+     */
+    private static int ceilingIndex(float[] _sortedValues, int _from, int _to, float _value) {
+        int low = _from;
+        int high = _to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (_sortedValues[middle] >= _value)
+                high = middle;
+            else
+                low = middle + 1;
+        }
+
+        return low;
+    }
+
+    private static long getLumberKey(float _nominalHeight, float _nominalWidth) {
+        return ((long) Float.floatToIntBits(_nominalHeight) << 32) | (Float.floatToIntBits(_nominalWidth) & 0xffffffffL);
+    }
+
+    private static long parseLumberKey(String _lumber) {
+        float[] nominalSize = parseNominalSize(_lumber);
+
+        return getLumberKey(nominalSize[0], nominalSize[1]);
+    }
+
+    /**
+     * Reads a nominal lumber size, like 2x6 or 5/4x6
+     *
+     * @return The nominal height and width
+     */
+    private static float[] parseNominalSize(String _lumber) {
+        String[] size = _lumber.split("x");
+        if (size.length != 2)
+            throw new IllegalArgumentException("Malformed lumber " + _lumber);
+
+        return new float[]{parseFraction(size[0]), parseFraction(size[1])};
+    }
+
+    private static float parseFraction(String _value) {
+        int idxSlash = _value.indexOf('/');
+        if (idxSlash == -1)
+            return Float.parseFloat(_value);
+
+        return Float.parseFloat(_value.substring(0, idxSlash)) / Float.parseFloat(_value.substring(idxSlash + 1));
+    }
+
+    /**
+     * Reads a length, in feet and inches like 7'4 or 8', or else in inches
+     *
+     * @return The length in inches
+     */
+    private static float parseLength(String _length) {
+        int idxFoot = _length.indexOf('\'');
+        if (idxFoot == -1)
+            return Float.parseFloat(_length);
+
+        float feet = Float.parseFloat(_length.substring(0, idxFoot));
+        String inches = _length.substring(idxFoot + 1);
+
+        return inches.isEmpty() ? Conversion.feetToInches(feet) : Conversion.feetToInches(feet, Float.parseFloat(inches));
+    }
+
+    private static void checkColumnsCount(String[] _row, int _nbColumns) {
+        if (_row.length != _nbColumns)
+            throw new IllegalArgumentException("Expected " + _nbColumns + " columns in row " + Arrays.toString(_row));
+    }
+
+    private static float[] addSorted(float[] _sortedValues, float _value) {
+        int index = Arrays.binarySearch(_sortedValues, _value);
+        if (index >= 0)
+            return _sortedValues;
+
+        float[] values = new float[_sortedValues.length + 1];
+        int insertionPoint = -index - 1;
+        System.arraycopy(_sortedValues, 0, values, 0, insertionPoint);
+        values[insertionPoint] = _value;
+        System.arraycopy(_sortedValues, insertionPoint, values, insertionPoint + 1,
+                _sortedValues.length - insertionPoint);
+
+        return values;
+    }
+
+    private static long[] addSorted(long[] _sortedValues, long _value) {
+        int index = Arrays.binarySearch(_sortedValues, _value);
+        if (index >= 0)
+            return _sortedValues;
+
+        long[] values = new long[_sortedValues.length + 1];
+        int insertionPoint = -index - 1;
+        System.arraycopy(_sortedValues, 0, values, 0, insertionPoint);
+        values[insertionPoint] = _value;
+        System.arraycopy(_sortedValues, insertionPoint, values, insertionPoint + 1,
+                _sortedValues.length - insertionPoint);
+
+        return values;
+    }
+
+    /**
+     * Obtains the order of the rows sorted by the lumber of a column
+     */
+    private static Integer[] sortedOrder(final List<String[]> _rows, final int _idxLumberColumn) {
+        Integer[] order = new Integer[_rows.size()];
+        for (int idxRow = 0; idxRow < order.length; idxRow++) {
+            order[idxRow] = idxRow;
+        }
+
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer _lhs, Integer _rhs) {
+                return Long.compare(parseLumberKey(_rows.get(_lhs)[_idxLumberColumn]),
+                        parseLumberKey(_rows.get(_rhs)[_idxLumberColumn]));
+            }
+        });
+
+        return order;
+    }
+}
@@ -0,0 +1,76 @@
+package ca.ulaval.glo2004.patio;
+
+import ca.ulaval.glo2004.utils.Dimensions;
+
+/**
+ * Represents a PatioInfo property that the price sweep can vary. The patio dimensions are modified like the user does,
+ * resizing the components they affect.
+ */
+public enum SweepParameter {
+    PATIO_WIDTH {
+        @Override
+        public float getValue(PatioInfo _patioInfo) {
+            return _patioInfo.getPatioDimensions().getActualWidth();
+        }
+
+        @Override
+        public void setValue(PatioInfo _patioInfo, float _value) {
+            Dimensions patioDimensions = _patioInfo.getPatioDimensions();
+            _patioInfo.setPatioDimensions(new Dimensions(_value, patioDimensions.getActualHeight(),
+                    patioDimensions.getActualDepth()), true);
+        }
+    },
+    PATIO_DEPTH {
+        @Override
+        public float getValue(PatioInfo _patioInfo) {
+            return _patioInfo.getPatioDimensions().getActualDepth();
+        }
+
+        @Override
+        public void setValue(PatioInfo _patioInfo, float _value) {
+            Dimensions patioDimensions = _patioInfo.getPatioDimensions();
+            _patioInfo.setPatioDimensions(new Dimensions(patioDimensions.getActualWidth(),
+                    patioDimensions.getActualHeight(), _value), true);
+        }
+    },
+    PATIO_HEIGHT {
+        @Override
+        public float getValue(PatioInfo _patioInfo) {
+            return _patioInfo.getPatioDimensions().getActualHeight();
+        }
+
+        @Override
+        public void setValue(PatioInfo _patioInfo, float _value) {
+            Dimensions patioDimensions = _patioInfo.getPatioDimensions();
+            _patioInfo.setPatioDimensions(new Dimensions(patioDimensions.getActualWidth(), _value,
+                    patioDimensions.getActualDepth()), true);
+        }
+    },
+    JOIST_SPACING {
+        @Override
+        public float getValue(PatioInfo _patioInfo) {
+            return _patioInfo.getJoistSpacing();
+        }
+
+        @Override
+        public void setValue(PatioInfo _patioInfo, float _value) {
+            _patioInfo.setJoistSpacing(_value);
+        }
+    };
+
+    /**
+     * Obtains the value of the property
+     *
+     * @param _patioInfo The PatioInfo to read
+     * @return The value in inches
+     */
+    public abstract float getValue(PatioInfo _patioInfo);
+
+    /**
+     * Modifies the property
+     *
+     * @param _patioInfo The PatioInfo to modify
+     * @param _value     The new value in inches
+     */
+    public abstract void setValue(PatioInfo _patioInfo, float _value);
+}
@@ -0,0 +1,205 @@
+package ca.ulaval.glo2004.patio;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Indexes the wood pieces at fault for the validation errors. Every entry holds a wood piece, its component and the
+ * bitmask of its errors, the bit of a ValidationErrorType being the one of the BulkValidator, in three parallel
+ * arrays. The drawer can then highlight the offending pieces without walking every component of the patio. The
+ * modification count changes whenever the locations change, so a reader can keep what it computed from them until
+ * then.
+ */
+public class ValidationErrorLocations {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] errorsMasks;
+    private Component[] components;
+    private WoodPiece[] woodPieces;
+    private int nbLocations;
+    private int modificationCount;
+
+    /**
+     * The ValidationErrorLocations constructor
+     */
+    public ValidationErrorLocations() {
+        errorsMasks = new int[DEFAULT_CAPACITY];
+        components = new Component[DEFAULT_CAPACITY];
+        woodPieces = new WoodPiece[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adds every wood piece of a component at fault
+     *
+     * @param _errorsMask The bitmask of the errors of the component, nothing is added if it is 0
+     * @param _component  The component at fault
+     */
+    void add(int _errorsMask, Component _component) {
+        if (_errorsMask == 0)
+            return;
+
+        for (WoodPiece woodPiece : _component.getWoodPieces()) {
+            add(_errorsMask, _component, woodPiece);
+        }
+    }
+
+    /**
+     * Adds every wood piece of some components at fault
+     *
+     * @param _errorsMask The bitmask of the errors of the components, nothing is added if it is 0
+     * @param _components The components at fault
+     */
+    void add(int _errorsMask, List<? extends Component> _components) {
+        if (_errorsMask == 0)
+            return;
+
+        for (Component component : _components) {
+            add(_errorsMask, component);
+        }
+    }
+
+    /**
+     * Adds a wood piece at fault
+     *
+     * @param _errorsMask The bitmask of the errors of the wood piece
+     * @param _component  The component of the wood piece
+     * @param _woodPiece  The wood piece at fault
+     */
+    void add(int _errorsMask, Component _component, WoodPiece _woodPiece) {
+        if (nbLocations == errorsMasks.length)
+            grow();
+
+        errorsMasks[nbLocations] = _errorsMask;
+        components[nbLocations] = _component;
+        woodPieces[nbLocations] = _woodPiece;
+        nbLocations++;
+        modificationCount++;
+    }
+
+    /**
+     * Adds every location of another index
+     *
+     * @param _locations The locations to add
+     */
+    void addAll(ValidationErrorLocations _locations) {
+        for (int idxLocation = 0; idxLocation < _locations.nbLocations; idxLocation++) {
+            add(_locations.errorsMasks[idxLocation], _locations.components[idxLocation],
+                    _locations.woodPieces[idxLocation]);
+        }
+    }
+
+    /**
+     * Doubles the capacity of the index
+     */
+    private void grow() {
+        int capacity = errorsMasks.length * 2;
+
+        errorsMasks = Arrays.copyOf(errorsMasks, capacity);
+        components = Arrays.copyOf(components, capacity);
+        woodPieces = Arrays.copyOf(woodPieces, capacity);
+    }
+
+    /**
+     * Forgets every location, keeping the capacity of the index
+     */
+    void clear() {
+        //The references are released so the components of a previous patio can be collected
+        Arrays.fill(components, 0, nbLocations, null);
+        Arrays.fill(woodPieces, 0, nbLocations, null);
+        nbLocations = 0;
+        modificationCount++;
+    }
+
+    /**
+     * Obtains the number of wood pieces at fault
+     *
+     * @return The number of locations
+     */
+    public int size() {
+        return nbLocations;
+    }
+
+    /**
+     * Indicates if no wood piece is at fault
+     *
+     * @return True if the index has no location
+     */
+    public boolean isEmpty() {
+        return nbLocations == 0;
+    }
+
+    /**
+     * Obtains a number changing whenever a location is added or removed
+     *
+     * @return The modification count of the index
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Obtains the bitmask of the errors of a location
+     *
+     * @param _idxLocation The index of the location
+     * @return The bitmask of the errors of the wood piece
+     */
+    public int getErrorsMask(int _idxLocation) {
+        checkIndex(_idxLocation);
+        return errorsMasks[_idxLocation];
+    }
+
+    /**
+     * Obtains the errors of a location
+     *
+     * @param _idxLocation The index of the location
+     * @return The errors of the wood piece
+     */
+    public EnumSet<ValidationErrorType> getErrors(int _idxLocation) {
+        return BulkValidator.getErrors(getErrorsMask(_idxLocation));
+    }
+
+    /**
+     * Obtains the component of a location
+     *
+     * @param _idxLocation The index of the location
+     * @return The component at fault
+     */
+    public Component getComponent(int _idxLocation) {
+        checkIndex(_idxLocation);
+        return components[_idxLocation];
+    }
+
+    /**
+     * Obtains the wood piece of a location
+     *
+     * @param _idxLocation The index of the location
+     * @return The wood piece at fault
+     */
+    public WoodPiece getWoodPiece(int _idxLocation) {
+        checkIndex(_idxLocation);
+        return woodPieces[_idxLocation];
+    }
+
+    /**
+     * Obtains the bitmask of every error of a wood piece
+     *
+     * @param _woodPiece The wood piece, like the hovered one
+     * @return The bitmask of the errors of the wood piece, 0 if it is not at fault
+     */
+    public int getErrorsMask(WoodPiece _woodPiece) {
+        int errorsMask = 0;
+
+        for (int idxLocation = 0; idxLocation < nbLocations; idxLocation++) {
+            if (woodPieces[idxLocation] == _woodPiece)
+                errorsMask |= errorsMasks[idxLocation];
+        }
+
+        return errorsMask;
+    }
+
+    private void checkIndex(int _idxLocation) {
+        if (_idxLocation < 0 || _idxLocation >= nbLocations)
+            throw new IndexOutOfBoundsException("Invalid location index " + _idxLocation);
+    }
+}
@@ -0,0 +1,55 @@
+package ca.ulaval.glo2004.patio;
+
+import java.util.EnumSet;
+
+/**
+ * Represents a rule of the patio validation. Every rule knows which PatioInfo properties it reads, directly or through
+ * the generated components, so the validator only evaluates again the rules reading a modified property. Every rule
+ * reads the building code, which selects its structural tables.
+ */
+enum ValidationRule {
+    //The post height and the plies of the supported beam, for every beam supported by posts. The number of beams
+    //depends on the patio depth, the cantilever and the joist span
+    POSTS(PatioInfoField.BUILDING_CODE, PatioInfoField.PATIO_DIMENSIONS, PatioInfoField.JOIST_DIMENSIONS,
+            PatioInfoField.CANTILEVER_LENGTH, PatioInfoField.BEAM_DIMENSIONS, PatioInfoField.PLIES_PER_BEAM,
+            PatioInfoField.POST_DIMENSIONS),
+    //The joists and the covering of every span. The joist span depends on the joist depth and on the beam height
+    SPANS(PatioInfoField.BUILDING_CODE, PatioInfoField.PATIO_DIMENSIONS, PatioInfoField.COVERING_DIMENSIONS,
+            PatioInfoField.JOIST_DIMENSIONS, PatioInfoField.JOIST_SPACING, PatioInfoField.CANTILEVER_LENGTH,
+            PatioInfoField.BEAM_DIMENSIONS),
+    CANTILEVER(PatioInfoField.BUILDING_CODE, PatioInfoField.JOIST_DIMENSIONS, PatioInfoField.CANTILEVER_LENGTH),
+    //The plies of every beam against the post spacing and the spans it supports
+    BEAMS(PatioInfoField.BUILDING_CODE, PatioInfoField.PATIO_DIMENSIONS, PatioInfoField.JOIST_DIMENSIONS,
+            PatioInfoField.CANTILEVER_LENGTH, PatioInfoField.BEAM_DIMENSIONS, PatioInfoField.PLIES_PER_BEAM,
+            PatioInfoField.POST_SPACING);
+
+    private final EnumSet<PatioInfoField> inputFields;
+
+    /**
+     * The ValidationRule constructor
+     *
+     * @param _inputFields The PatioInfo properties read by the rule
+     */
+    ValidationRule(PatioInfoField... _inputFields) {
+        inputFields = EnumSet.noneOf(PatioInfoField.class);
+
+        for (PatioInfoField inputField : _inputFields) {
+            inputFields.add(inputField);
+        }
+    }
+
+    /**
+     * Indicates if the rule must be evaluated again after a modification
+     *
+     * @param _modifiedFields The modified PatioInfo properties
+     * @return True if the rule reads one of the modified properties
+     */
+    boolean readsAny(EnumSet<PatioInfoField> _modifiedFields) {
+        for (PatioInfoField modifiedField : _modifiedFields) {
+            if (inputFields.contains(modifiedField))
+                return true;
+        }
+
+        return false;
+    }
+}
@@ -2,43 +2,42 @@ package ca.ulaval.glo2004.patio;
 
 import ca.ulaval.glo2004.utils.Conversion;
 import ca.ulaval.glo2004.utils.Dimensions;
+import ca.ulaval.glo2004.utils.Fingerprint;
+import ca.ulaval.glo2004.utils.LumberCatalog;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
+import java.util.Set;
 
 /**
- * This class contains method to validate a patio in Patinator according the Canadian Wood Council Guide from 2020.
+ * This class contains method to validate a patio in Patinator according to the building code of its PatioInfo, the
+ * Canadian Wood Council Guide from 2020 by default. The rules are looked up in the StructuralTables of the building
+ * code, selected once per validation, so the validation allocates nothing. The rules themselves are the
+ * ones of the BulkValidator, which validates many candidate configurations at once. The errors are kept per
+ * ValidationRule, so a modification only evaluates again the rules reading the modified PatioInfo properties. The
+ * wood pieces at fault are indexed with their errors, so the drawer can highlight them.
  */
 public class Validator {
-    /**
-     * Validate the number of plies per beam.
-     */
-    public static final String PLIES_COUNT_KEY = "pliesCount";
-    /**
-     * Validate the beam width.
-     */
-    public static final String BEAMS_WIDTH_KEY = "beamsWidth";
-    /**
-     * Validate the beam height.
-     */
-    public static final String BEAMS_HEIGHT_KEY = "beamsHeight";
-    /**
-     * Validate the alternate plies count.
-     */
-    public static final String ALTERNATE_PLIES_COUNT_KEY = "alternatePliesCount";
-    /**
-     * Validate the alternate beam width.
-     */
-    public static final String ALTERNATE_BEAMS_WIDTH_KEY = "alternateBeamsWidth";
-    /**
-     * Validate the alternate beam height.
-     */
-    public static final String ALTERNATE_BEAMS_HEIGHT_KEY = "alternateBeamsHeight";
+    //The largest parameters probed by getTablesFingerprint, beyond the last row of every table. The post heights are
+    //in feet, the other parameters in inches
+    private static final float TABLES_PROBE_MAX_SPACING = 32f;
+    private static final float TABLES_PROBE_MAX_POST_HEIGHT = 16f;
+    private static final float TABLES_PROBE_MAX_LENGTH = 480f;
 
     private final Patio patio;
     private final HashSet<ValidationErrorType> errors;
+    private final EnumMap<ValidationRule, EnumSet<ValidationErrorType>> errorsPerRule;
+    private final ValidationErrorLocations errorLocations;
+    private final EnumMap<ValidationRule, ValidationErrorLocations> errorLocationsPerRule;
+    //The snapshot in which the errors of the rules were located
+    private PatioSnapshot locatedSnapshot;
+    private boolean isValidated;
+    private String buildingCode;
+    private StructuralTables structuralTables;
+    //Reused by every lookup of the beam rules
+    private final BeamProperties allowedBeamProperties;
 
     /**
      * Create a validator
@@ -48,6 +47,15 @@ public class Validator {
     public Validator(Patio _patio) {
         patio = _patio;
         errors = new HashSet<>();
+        errorsPerRule = new EnumMap<>(ValidationRule.class);
+        errorLocations = new ValidationErrorLocations();
+        errorLocationsPerRule = new EnumMap<>(ValidationRule.class);
+        for (ValidationRule rule : ValidationRule.values()) {
+            errorsPerRule.put(rule, EnumSet.noneOf(ValidationErrorType.class));
+            errorLocationsPerRule.put(rule, new ValidationErrorLocations());
+        }
+        setBuildingCode(StructuralTables.DEFAULT_BUILDING_CODE);
+        allowedBeamProperties = new BeamProperties();
     }
 
     /**
@@ -60,22 +68,122 @@ public class Validator {
     }
 
     /**
-     * Validate the current patio.
+     * Get the wood pieces at fault for the errors found by the last validation of the current patio. The external
+     * errors and the errors of a configuration validation have no location.
+     *
+     * @return The index of the wood pieces at fault, updated by every validation.
+     */
+    public ValidationErrorLocations getErrorLocations() {
+        return errorLocations;
+    }
+
+    /**
+     * Validate the current patio, evaluating every rule.
      */
     public void validate() {
+        validate(EnumSet.allOf(PatioInfoField.class));
+    }
+
+    /**
+     * Validate the current patio after a modification. Only the rules reading a modified property are evaluated again,
+     * the errors of the other rules are kept from the last validation. The external errors are forgotten. The first
+     * validation evaluates every rule. A rule with errors is also evaluated again when the patio was regenerated, so
+     * its errors are located in the current components.
+     *
+     * @param _modifiedFields The PatioInfo properties modified since the last validation.
+     */
+    public void validate(EnumSet<PatioInfoField> _modifiedFields) {
+        setBuildingCode(patio.getPatioInfo().getBuildingCode());
+        PatioSnapshot snapshot = patio.getSnapshot();
+
+        for (ValidationRule rule : ValidationRule.values()) {
+            EnumSet<ValidationErrorType> ruleErrors = errorsPerRule.get(rule);
+            boolean isLocatedInSnapshot = ruleErrors.isEmpty() || snapshot == locatedSnapshot;
+            if (isValidated && isLocatedInSnapshot && !rule.readsAny(_modifiedFields))
+                continue;
+
+            ValidationErrorLocations ruleErrorLocations = errorLocationsPerRule.get(rule);
+            ruleErrors.clear();
+            ruleErrorLocations.clear();
+
+            switch (rule) {
+                case POSTS:
+                    validatePosts(ruleErrors, ruleErrorLocations);
+                    break;
+                case SPANS:
+                    validateSpans(ruleErrors, ruleErrorLocations);
+                    break;
+                case CANTILEVER:
+                    validateCantilever(ruleErrors, ruleErrorLocations);
+                    break;
+                case BEAMS:
+                    validateBeams(ruleErrors, ruleErrorLocations);
+                    break;
+            }
+        }
+        isValidated = true;
+        locatedSnapshot = snapshot;
+
         errors.clear();
+        errorLocations.clear();
+        for (ValidationRule rule : ValidationRule.values()) {
+            errors.addAll(errorsPerRule.get(rule));
+            errorLocations.addAll(errorLocationsPerRule.get(rule));
+        }
+    }
+
+    /**
+     * Validate a patio configuration without generating the patio. The rules only read the dimensions, spacings and
+     * counts of the components, which the PatioInfo holds: every span has the same joists, every post the same
+     * dimensions, and a beam supports two spans when it is neither the first nor the last one. The errors found are
+     * the ones validate finds once the patio is generated, so an invalid candidate of the optimal patio search can be
+     * rejected before its geometry and its price are generated.
+     *
+     * @param _patioInfo The configuration to validate.
+     */
+    public void validateConfiguration(PatioInfo _patioInfo) {
+        errors.clear();
+        setBuildingCode(_patioInfo.getBuildingCode());
+
+        int nbBeams = _patioInfo.getBeamAmount();
+        //The first beam is attached to the house, only the other ones are supported by posts
+        if (nbBeams > 1)
+            validatePost(_patioInfo.getPostDimensions(), _patioInfo.getPliesPerBeam(), errors);
+
+        validateSpan(_patioInfo.getJoistSpacing(), _patioInfo.getJoistDimensions(), _patioInfo.getJoistSpan(),
+                _patioInfo.getCoveringDimensions(), errors);
+        validateCantilever(_patioInfo.getJoistDimensions(), _patioInfo.getCantileverLength(), errors);
+
+        //The first and the last beams support a single span, or none if the patio has a single beam
+        validateBeam(_patioInfo.getPostSpacing(), _patioInfo.getJoistSpan(), false, _patioInfo.getPliesPerBeam(),
+                _patioInfo.getBeamPlieDimensions(), errors);
+        if (nbBeams > 2)
+            validateBeam(_patioInfo.getPostSpacing(), _patioInfo.getJoistSpan(), true, _patioInfo.getPliesPerBeam(),
+                    _patioInfo.getBeamPlieDimensions(), errors);
+    }
+
+    /**
+     * Select the building code whose structural tables the rules and the allowed values are looked up in. The
+     * validations select the building code of the validated PatioInfo themselves.
+     *
+     * @param _buildingCode The building code, like cwc-2020.
+     */
+    public void setBuildingCode(String _buildingCode) {
+        if (_buildingCode.equals(buildingCode))
+            return;
 
-        validatePosts();
-        validateSpans();
-        validateCantilever();
-        validateBeams();
+        structuralTables = StructuralTables.get(_buildingCode);
+        buildingCode = _buildingCode;
     }
 
     /**
      * Validate patio post from beams dimensions.
+     *
+     * @param _errors         Container receiving the errors found.
+     * @param _errorLocations Index receiving the posts at fault.
      */
-    private void validatePosts() {
-        ArrayList<Beam> beams = patio.getBeams();
+    private void validatePosts(Set<ValidationErrorType> _errors, ValidationErrorLocations _errorLocations) {
+        List<Beam> beams = patio.getBeams();
 
         for (Beam beam : beams) {
             //Because the first beam is not supported by any posts, we ignore it
@@ -84,135 +192,141 @@ public class Validator {
             }
 
             Post post = beam.getSupportPosts().get(0);
-            float postHeight = Conversion.inchesToFeet(post.getPostDimensions().getActualDepth());
-            Dimensions validPostDimensions = getAllowedPostDimensions(postHeight, beam);
-
-            if (validPostDimensions != null) {
-                float validWidth = validPostDimensions.getNominalWidth();
-                float validDepth = validPostDimensions.getNominalHeight();
+            int postErrorsMask = validatePost(post.getPostDimensions(), beam.getWoodPieces().size(), _errors);
+            _errorLocations.add(postErrorsMask, beam.getSupportPosts());
+        }
+    }
 
-                if (post.getPostDimensions().getNominalWidth() < validWidth ||
-                        post.getPostDimensions().getNominalHeight() < validDepth) {
-                    errors.add(ValidationErrorType.POST_DIMENSIONS);
-                }
+    /**
+     * Validate the posts supporting a beam from their dimensions and the number of plies of the beam.
+     *
+     * @param _postDimensions Dimensions of the posts, their depth being their height.
+     * @param _pliesCount     Number of plies of the supported beam.
+     * @param _errors         Container receiving the errors found.
+     * @return The bitmask of the errors found.
+     */
+    private int validatePost(Dimensions _postDimensions, int _pliesCount, Set<ValidationErrorType> _errors) {
+        int errorsMask = BulkValidator.validatePost(structuralTables, _postDimensions.getNominalWidth(),
+                _postDimensions.getNominalHeight(), _postDimensions.getActualDepth(), _pliesCount);
+        BulkValidator.addErrors(errorsMask, _errors);
 
-                if (postHeight > 12f) {
-                    errors.add(ValidationErrorType.POST_HEIGHT);
-                }
-            } else {
-                errors.add(ValidationErrorType.POST_HEIGHT);
-            }
-        }
+        return errorsMask;
     }
 
     /**
-     * Validate patio spans from covering dimensions and joist attribute.
+     * Validate patio spans from covering dimensions and joist attribute. The covering dimensions errors are located
+     * in the covering, the other ones in the joists of the span.
+     *
+     * @param _errors         Container receiving the errors found.
+     * @param _errorLocations Index receiving the spans and the covering at fault.
      */
-    private void validateSpans() {
-        ArrayList<Span> spans = patio.getSpans();
+    private void validateSpans(Set<ValidationErrorType> _errors, ValidationErrorLocations _errorLocations) {
+        List<Span> spans = patio.getSpans();
+        int coveringErrorBit = BulkValidator.getErrorBit(ValidationErrorType.COVERING_DIMENSIONS);
+        int coveringErrorsMask = 0;
 
         for (Span span : spans) {
-            float joistSpacing = span.getJoistSpacing();
-            Dimensions joistDimensions = span.getJoistDimensions();
-            Dimensions coveringDimensions = patio.getPatioInfo().getCoveringDimensions();
-
-            float allowedSpanLength = getAllowedSpanLength(joistSpacing, joistDimensions);
-            if (allowedSpanLength != -1) {
-                if (Float.compare(span.getJoistSpan(), allowedSpanLength) > 0) {
-                    errors.add(ValidationErrorType.SPAN_LENGTH);
-                }
-            } else if (joistSpacing > 24) {
-                errors.add(ValidationErrorType.JOIST_SPACING);
-            } else {
-                errors.add(ValidationErrorType.JOIST_DIMENSIONS);
-            }
+            int spanErrorsMask = validateSpan(span.getJoistSpacing(), span.getJoistDimensions(), span.getJoistSpan(),
+                    patio.getPatioInfo().getCoveringDimensions(), _errors);
 
-            float allowedJoistSpacing = getAllowedJoistSpacing(coveringDimensions);
-            if (allowedJoistSpacing != -1) {
-                if (Float.compare(span.getJoistSpacing(), allowedJoistSpacing) > 0) {
-                    errors.add(ValidationErrorType.JOIST_SPACING);
-                }
-            } else {
-                errors.add(ValidationErrorType.COVERING_DIMENSIONS);
-            }
+            _errorLocations.add(spanErrorsMask & ~coveringErrorBit, span);
+            coveringErrorsMask |= spanErrorsMask & coveringErrorBit;
         }
+
+        _errorLocations.add(coveringErrorsMask, patio.getCovering());
     }
 
     /**
-     * Validate patio cantilever from joist dimensions.
+     * Validate a span from its joist attribute and the covering dimensions.
+     *
+     * @param _joistSpacing       Spacing of joist composing the span.
+     * @param _joistDimensions    Dimensions of joist composing the span.
+     * @param _joistSpan          Length of the span.
+     * @param _coveringDimensions Dimensions of the covering planks.
+     * @param _errors             Container receiving the errors found.
+     * @return The bitmask of the errors found.
      */
-    private void validateCantilever() {
-        Dimensions joistDimensions = patio.getPatioInfo().getJoistDimensions();
-        float cantileverLength = patio.getPatioInfo().getCantileverLength();
-        float allowedCantileverLength = getAllowedCantileverLength(joistDimensions);
-
-        if (allowedCantileverLength != -1) {
-            if (Float.compare(cantileverLength, allowedCantileverLength) > 0) {
-                errors.add(ValidationErrorType.CANTILEVER_LENGTH);
-            }
-        } else {
-            errors.add(ValidationErrorType.JOIST_DIMENSIONS);
-        }
+    private int validateSpan(float _joistSpacing, Dimensions _joistDimensions, float _joistSpan,
+                             Dimensions _coveringDimensions, Set<ValidationErrorType> _errors) {
+        int errorsMask = BulkValidator.validateSpan(structuralTables, _joistSpacing,
+                _joistDimensions.getNominalWidth(), _joistDimensions.getNominalHeight(), _joistSpan,
+                _coveringDimensions.getNominalWidth(), _coveringDimensions.getNominalHeight());
+        BulkValidator.addErrors(errorsMask, _errors);
+
+        return errorsMask;
     }
 
     /**
-     * Validate patio beams from joist and post attribute. Also validate if the beam support multiple spans.
+     * Validate patio cantilever from joist dimensions. The errors are located in the last span, whose joists extend
+     * over the cantilever.
+     *
+     * @param _errors         Container receiving the errors found.
+     * @param _errorLocations Index receiving the span at fault.
      */
-    private void validateBeams() {
-        ArrayList<Beam> beams = patio.getBeams();
+    private void validateCantilever(Set<ValidationErrorType> _errors, ValidationErrorLocations _errorLocations) {
+        int errorsMask = validateCantilever(patio.getPatioInfo().getJoistDimensions(),
+                patio.getPatioInfo().getCantileverLength(), _errors);
 
-        for (Beam beam : beams) {
-            float postSpacing = patio.getPatioInfo().getPostSpacing();
-            float spanLength = patio.getPatioInfo().getJoistSpan();
-            boolean isSupportingTwoSpans = beam.isSupportingTwoSpans();
-
-            Map<String, Integer> allowedBeamProperties =
-                    getAllowedBeamProperties(postSpacing, spanLength, isSupportingTwoSpans);
-            ValidationErrorType plieError =
-                    isSupportingTwoSpans ? ValidationErrorType.PLIES_PER_BEAM_TWO_SPANS :
-                            ValidationErrorType.PLIES_PER_BEAM_SINGLE_SPAN;
-            ValidationErrorType dimensionsError =
-                    isSupportingTwoSpans ? ValidationErrorType.BEAM_DIMENSIONS_TWO_SPANS :
-                            ValidationErrorType.BEAM_DIMENSIONS_SINGLE_SPAN;
-
-            if (allowedBeamProperties != null) {
-                int pliesPerBeam = beam.getNbPlies();
-                Dimensions plieDimension = beam.getPliesDimensions();
-
-                ArrayList<ValidationErrorType> possibleErrors = new ArrayList<>();
-
-                if (pliesPerBeam < allowedBeamProperties.get(PLIES_COUNT_KEY)) {
-                    possibleErrors.add(plieError);
-                }
+        List<Span> spans = patio.getSpans();
+        if (!spans.isEmpty())
+            _errorLocations.add(errorsMask, spans.get(spans.size() - 1));
+    }
 
-                if (plieDimension.getNominalWidth() < allowedBeamProperties.get(BEAMS_WIDTH_KEY)) {
-                    possibleErrors.add(dimensionsError);
-                }
+    /**
+     * Validate a cantilever length from joist dimensions.
+     *
+     * @param _joistDimensions  Joist dimension.
+     * @param _cantileverLength Length of the cantilever.
+     * @param _errors           Container receiving the errors found.
+     * @return The bitmask of the errors found.
+     */
+    private int validateCantilever(Dimensions _joistDimensions, float _cantileverLength,
+                                   Set<ValidationErrorType> _errors) {
+        int errorsMask = BulkValidator.validateCantilever(structuralTables, _joistDimensions.getNominalWidth(),
+                _joistDimensions.getNominalHeight(), _cantileverLength);
+        BulkValidator.addErrors(errorsMask, _errors);
 
-                if (plieDimension.getNominalHeight() < allowedBeamProperties.get(BEAMS_HEIGHT_KEY)) {
-                    possibleErrors.add(dimensionsError);
-                }
+        return errorsMask;
+    }
 
-                // if alternate properties exist...
-                if (allowedBeamProperties.get(ALTERNATE_PLIES_COUNT_KEY) != null) {
-                    if (pliesPerBeam < allowedBeamProperties.get(ALTERNATE_PLIES_COUNT_KEY) ||
-                            plieDimension.getNominalWidth() < allowedBeamProperties.get(ALTERNATE_BEAMS_WIDTH_KEY) ||
-                            plieDimension.getNominalHeight() < allowedBeamProperties.get(ALTERNATE_BEAMS_HEIGHT_KEY)) {
-                        errors.addAll(possibleErrors);
-                    }
-                } else {
-                    errors.addAll(possibleErrors);
-                }
-            } else {
-                if (postSpacing > Conversion.feetToInches(8)) {
-                    errors.add(ValidationErrorType.POST_SPACING);
-                } else {
-                    errors.add(ValidationErrorType.SPAN_LENGTH);
-                }
-            }
+    /**
+     * Validate patio beams from joist and post attribute. Also validate if the beam support multiple spans.
+     *
+     * @param _errors         Container receiving the errors found.
+     * @param _errorLocations Index receiving the beams at fault.
+     */
+    private void validateBeams(Set<ValidationErrorType> _errors, ValidationErrorLocations _errorLocations) {
+        List<Beam> beams = patio.getBeams();
+
+        for (Beam beam : beams) {
+            int beamErrorsMask = validateBeam(patio.getPatioInfo().getPostSpacing(),
+                    patio.getPatioInfo().getJoistSpan(), beam.isSupportingTwoSpans(), beam.getNbPlies(),
+                    beam.getPliesDimensions(), _errors);
+            _errorLocations.add(beamErrorsMask, beam);
         }
     }
 
+    /**
+     * Validate a beam from joist and post attribute.
+     *
+     * @param _postSpacing          Spacing between posts.
+     * @param _spanLength           Span length.
+     * @param _isSupportingTwoSpans True if the beam support two spans.
+     * @param _pliesPerBeam         Number of plies of the beam.
+     * @param _plieDimension        Dimensions of every plie of the beam.
+     * @param _errors               Container receiving the errors found.
+     * @return The bitmask of the errors found.
+     */
+    private int validateBeam(float _postSpacing, float _spanLength, boolean _isSupportingTwoSpans,
+                             int _pliesPerBeam, Dimensions _plieDimension, Set<ValidationErrorType> _errors) {
+        int errorsMask = BulkValidator.validateBeam(structuralTables, _postSpacing, _spanLength,
+                _isSupportingTwoSpans, _pliesPerBeam, _plieDimension.getNominalWidth(),
+                _plieDimension.getNominalHeight(), allowedBeamProperties);
+        BulkValidator.addErrors(errorsMask, _errors);
+
+        return errorsMask;
+    }
+
     /**
      * Get allowed post dimensions according to his height and beam attribute.
      *
@@ -221,27 +335,91 @@ public class Validator {
      * @return Allowed post dimensions.
      */
     public Dimensions getAllowedPostDimensions(float _postHeight, Beam _beam) {
-        if (_beam != null) {
-            if (_beam.getWoodPieces().size() == 3) {
-                float postWidthAndHeight = Conversion.getActualInchesFromNominal(6);
-                return new Dimensions(postWidthAndHeight, postWidthAndHeight, _postHeight);
+        if (_beam != null)
+            return getAllowedPostDimensions(_postHeight, _beam.getWoodPieces().size());
+
+        return null;
+    }
+
+    /**
+     * Get allowed post dimensions according to his height and the number of plies of the supported beam.
+     *
+     * @param _postHeight  Post height.
+     * @param _pliesCount  Number of plies of the supported beam.
+     * @return Allowed post dimensions.
+     */
+    public Dimensions getAllowedPostDimensions(float _postHeight, int _pliesCount) {
+        float postNominalSize = structuralTables.getAllowedPostNominalSize(_postHeight, _pliesCount);
+        if (postNominalSize == -1)
+            return null;
+
+        float postWidthAndHeight = Conversion.getActualInchesFromNominal(postNominalSize);
+        return new Dimensions(postWidthAndHeight, postWidthAndHeight, _postHeight);
+    }
+
+    /**
+     * Obtains a fingerprint of the default validation tables. The tables are probed on a grid covering the lumbers of the
+     * catalog and the spacings, spans and heights a patio can have, so the fingerprint changes whenever a table is
+     * modified. The results computed with other tables can then be recognized.
+     *
+     * @return The 64-bit fingerprint of the validation tables.
+     */
+    public static long getTablesFingerprint() {
+        //The tables only read their parameters, never the validated patio
+        Validator validator = new Validator(null);
+        LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+        long fingerprint = Fingerprint.OFFSET_BASIS;
+
+        for (int lumberId = 0; lumberId < LumberCatalog.NB_STANDARD_LUMBERS; lumberId++) {
+            Dimensions lumberDimensions = new Dimensions(lumberCatalog.getActualWidth(lumberId),
+                    lumberCatalog.getActualHeight(lumberId), 0f);
+
+            fingerprint = Fingerprint.add(fingerprint, validator.getAllowedJoistSpacing(lumberDimensions));
+            fingerprint = Fingerprint.add(fingerprint, validator.getAllowedCantileverLength(lumberDimensions));
+            for (float joistSpacing = 0f; joistSpacing <= TABLES_PROBE_MAX_SPACING; joistSpacing += 0.5f) {
+                fingerprint = Fingerprint.add(fingerprint,
+                        validator.getAllowedSpanLength(joistSpacing, lumberDimensions));
             }
+        }
 
-            if (_postHeight < 1) {
-                return null;
+        for (float postHeight = 0f; postHeight <= TABLES_PROBE_MAX_POST_HEIGHT; postHeight += 0.25f) {
+            for (int pliesCount = 1; pliesCount <= 3; pliesCount++) {
+                Dimensions postDimensions = validator.getAllowedPostDimensions(postHeight, pliesCount);
 
-            } else if (_postHeight <= 6.5f) {
-                float postWidthAndHeight = Conversion.getActualInchesFromNominal(4);
-                return new Dimensions(postWidthAndHeight, postWidthAndHeight, _postHeight);
+                fingerprint = postDimensions != null ? Fingerprint.add(fingerprint, postDimensions) :
+                        Fingerprint.add(fingerprint, -1);
+            }
+        }
 
-            } else if (_postHeight <= 12.0f) {
-                float postWidthAndHeight = Conversion.getActualInchesFromNominal(6);
-                return new Dimensions(postWidthAndHeight, postWidthAndHeight, _postHeight);
+        BeamProperties beamProperties = new BeamProperties();
+        for (float postsSpacing = 0f; postsSpacing <= TABLES_PROBE_MAX_LENGTH; postsSpacing += 6f) {
+            for (float spanLength = 0f; spanLength <= TABLES_PROBE_MAX_LENGTH; spanLength += 6f) {
+                for (boolean isSupportingTwoSpans : new boolean[]{false, true}) {
+                    fingerprint = validator.findAllowedBeamProperties(postsSpacing, spanLength, isSupportingTwoSpans,
+                            beamProperties) ? addToFingerprint(fingerprint, beamProperties) :
+                            Fingerprint.add(fingerprint, -1);
+                }
+            }
+        }
 
+        return fingerprint;
+    }
+
+    private static long addToFingerprint(long _fingerprint, BeamProperties _beamProperties) {
+        _fingerprint = Fingerprint.add(_fingerprint, _beamProperties.getPliesCount());
+        _fingerprint = Fingerprint.add(_fingerprint, (int) _beamProperties.getBeamHeight());
+        _fingerprint = Fingerprint.add(_fingerprint, (int) _beamProperties.getBeamWidth());
+
+        if (!_beamProperties.hasAlternate()) {
+            for (int idxAlternateProperty = 0; idxAlternateProperty < 3; idxAlternateProperty++) {
+                _fingerprint = Fingerprint.add(_fingerprint, -1);
             }
+            return _fingerprint;
         }
-        return null;
 
+        _fingerprint = Fingerprint.add(_fingerprint, _beamProperties.getAlternatePliesCount());
+        _fingerprint = Fingerprint.add(_fingerprint, (int) _beamProperties.getAlternateBeamHeight());
+        return Fingerprint.add(_fingerprint, (int) _beamProperties.getAlternateBeamWidth());
     }
 
     /**
@@ -252,70 +430,11 @@ public class Validator {
      * @return Allowed span length value.
      */
     public float getAllowedSpanLength(float _joistSpacing, Dimensions _joistDimensions) {
-        if (_joistDimensions != null) {
-            float nominalHeight = _joistDimensions.getNominalHeight();
-            float nominalWidth = _joistDimensions.getNominalWidth();
-
-            if (_joistSpacing <= 0) {
-                return -1;
-            } else if (nominalHeight == 2) {
-                if (_joistSpacing <= 8) {
-                    switch ((int) nominalWidth) {
-                        case 4:
-                            return Conversion.feetToInches(7, 4);
-                        case 6:
-                            return Conversion.feetToInches(11, 6);
-                        case 8:
-                            return Conversion.feetToInches(15, 1);
-                        case 10:
-                            return Conversion.feetToInches(19, 3);
-                        case 12:
-                            return Conversion.feetToInches(23, 5);
-                    }
-                } else if (_joistSpacing <= 12) {
-                    switch ((int) nominalWidth) {
-                        case 4:
-                            return Conversion.feetToInches(6, 5);
-                        case 6:
-                            return Conversion.feetToInches(10, 0);
-                        case 8:
-                            return Conversion.feetToInches(13, 2);
-                        case 10:
-                            return Conversion.feetToInches(16, 10);
-                        case 12:
-                            return Conversion.feetToInches(20, 4);
-                    }
-                } else if (_joistSpacing <= 16) {
-                    switch ((int) nominalWidth) {
-                        case 4:
-                            return Conversion.feetToInches(5, 10);
-                        case 6:
-                            return Conversion.feetToInches(9, 1);
-                        case 8:
-                            return Conversion.feetToInches(12, 0);
-                        case 10:
-                            return Conversion.feetToInches(15, 2);
-                        case 12:
-                            return Conversion.feetToInches(17, 7);
-                    }
-                } else if (_joistSpacing <= 24) {
-                    switch ((int) nominalWidth) {
-                        case 4:
-                            return Conversion.feetToInches(5, 1);
-                        case 6:
-                            return Conversion.feetToInches(8, 0);
-                        case 8:
-                            return Conversion.feetToInches(10, 2);
-                        case 10:
-                            return Conversion.feetToInches(12, 5);
-                        case 12:
-                            return Conversion.feetToInches(14, 4);
-                    }
-                }
-            }
-        }
-        return -1;
+        if (_joistDimensions == null)
+            return -1;
 
+        return structuralTables.getAllowedSpanLength(_joistSpacing, _joistDimensions.getNominalHeight(),
+                _joistDimensions.getNominalWidth());
     }
 
     /**
@@ -325,20 +444,8 @@ public class Validator {
      * @return Allowed joist spacing value.
      */
     public float getAllowedJoistSpacing(Dimensions _coveringThickness) {
-        float coveringNominalHeight = _coveringThickness.getNominalHeight();
-        float coveringNominalWidth = _coveringThickness.getNominalWidth();
-
-        if (coveringNominalWidth == 6) {
-            if (coveringNominalHeight == 5f / 4f) {
-                return 12;
-
-            } else if (coveringNominalHeight == 2) {
-                return 18;
-
-            }
-        }
-        return -1;
-
+        return structuralTables.getAllowedJoistSpacing(_coveringThickness.getNominalHeight(),
+                _coveringThickness.getNominalWidth());
     }
 
     /**
@@ -348,220 +455,25 @@ public class Validator {
      * @return Allowed cantilever length.
      */
     public float getAllowedCantileverLength(Dimensions _joistDimensions) {
-        if (_joistDimensions != null) {
-            float joistNominalHeight = _joistDimensions.getNominalHeight();
-            float joistNominalWidth = _joistDimensions.getNominalWidth();
-
-            if (joistNominalHeight == 2) {
-                switch ((int) joistNominalWidth) {
-                    case 4:
-                        return 8;
-                    case 6:
-                    case 8:
-                        return 16;
-                    case 10:
-                    case 12:
-                        return 24;
-                }
-            }
-        }
-        return -1;
+        if (_joistDimensions == null)
+            return -1;
 
+        return structuralTables.getAllowedCantileverLength(_joistDimensions.getNominalHeight(),
+                _joistDimensions.getNominalWidth());
     }
 
     /**
-     * Get allowed beam properties according to spans properties and post spacing.
+     * Find allowed beam properties according to spans properties and post spacing.
      *
      * @param _postsSpacing         Spacing between posts.
      * @param _spanLength           Span length.
      * @param _isSupportingTwoSpans True if the beam support two spans.
-     * @return Allowed beam properties.
+     * @param _result               Beam properties receiving the allowed properties, reused between calls.
+     * @return False if no beam is allowed.
      */
-    public Map<String, Integer> getAllowedBeamProperties(
-            float _postsSpacing, float _spanLength, boolean _isSupportingTwoSpans) {
-        if (_isSupportingTwoSpans)
-            return getAllowedTwoSpansBeamProperties(_postsSpacing, _spanLength);
-        else
-            return getAllowedOneSpanBeamProperties(_postsSpacing, _spanLength);
-    }
-
-    /**
-     * Get allowed beam supporting two spans properties according to spans properties and post spacing.
-     *
-     * @param _postsSpacing Spacing between posts.
-     * @param _spanLength   Span length.
-     * @return Allowed beam properties.
-     */
-    private Map<String, Integer> getAllowedTwoSpansBeamProperties(float _postsSpacing, float _spanLength) {
-        Map<String, Integer> beamProperties = new HashMap<>();
-
-        if (_postsSpacing < 0) {
-            return null;
-
-        } else if (_postsSpacing <= Conversion.feetToInches(4)) {
-            if (_spanLength <= Conversion.feetToInches(7)) {
-                beamProperties.put(PLIES_COUNT_KEY, 1);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 6);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(7) && _spanLength <= Conversion.feetToInches(15)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 6);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(15) && _spanLength <= Conversion.feetToInches(16)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 8);
-                return beamProperties;
-
-            }
-        } else if (_postsSpacing <= Conversion.feetToInches(6)) {
-            if (_spanLength <= Conversion.feetToInches(7)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 6);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(7) && _spanLength <= Conversion.feetToInches(10)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 8);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(10) && _spanLength <= Conversion.feetToInches(15)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 10);
-
-                beamProperties.put(ALTERNATE_PLIES_COUNT_KEY, 3);
-                beamProperties.put(ALTERNATE_BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(ALTERNATE_BEAMS_WIDTH_KEY, 8);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(15) && _spanLength <= Conversion.feetToInches(16)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 12);
-
-                beamProperties.put(ALTERNATE_PLIES_COUNT_KEY, 3);
-                beamProperties.put(ALTERNATE_BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(ALTERNATE_BEAMS_WIDTH_KEY, 10);
-            }
-        } else if (_postsSpacing <= Conversion.feetToInches(8)) {
-            if (_spanLength <= Conversion.feetToInches(5)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 8);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(5) && _spanLength <= Conversion.feetToInches(8)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 10);
-
-                beamProperties.put(ALTERNATE_PLIES_COUNT_KEY, 3);
-                beamProperties.put(ALTERNATE_BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(ALTERNATE_BEAMS_WIDTH_KEY, 8);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(8) && _spanLength <= Conversion.feetToInches(11)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 12);
-
-                beamProperties.put(ALTERNATE_PLIES_COUNT_KEY, 3);
-                beamProperties.put(ALTERNATE_BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(ALTERNATE_BEAMS_WIDTH_KEY, 10);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(11) && _spanLength <= Conversion.feetToInches(14)) {
-                beamProperties.put(PLIES_COUNT_KEY, 3);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 10);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(14) && _spanLength <= Conversion.feetToInches(16)) {
-                beamProperties.put(PLIES_COUNT_KEY, 3);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 12);
-                return beamProperties;
-
-            }
-        }
-        return null;
-
-    }
-
-    private Map<String, Integer> getAllowedOneSpanBeamProperties(float _postsSpacing, float _spanLength) {
-        Map<String, Integer> beamProperties = new HashMap<>();
-
-        if (_postsSpacing < 0) {
-            return null;
-
-        } else if (_postsSpacing <= Conversion.feetToInches(4)) {
-            if (_spanLength <= Conversion.feetToInches(15)) {
-                beamProperties.put(PLIES_COUNT_KEY, 1);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 6);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(15) && _spanLength <= Conversion.feetToInches(16)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 6);
-                return beamProperties;
-
-            }
-        } else if (_postsSpacing <= Conversion.feetToInches(6)) {
-            if (_spanLength <= Conversion.feetToInches(7)) {
-                beamProperties.put(PLIES_COUNT_KEY, 1);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 6);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(7) && _spanLength <= Conversion.feetToInches(14)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 6);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(14) && _spanLength <= Conversion.feetToInches(16)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 8);
-                return beamProperties;
-
-            }
-        } else if (_postsSpacing <= Conversion.feetToInches(8)) {
-            if (_spanLength <= Conversion.feetToInches(7)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 6);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(7) && _spanLength <= Conversion.feetToInches(11)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 8);
-                return beamProperties;
-
-            } else if (_spanLength > Conversion.feetToInches(11) && _spanLength <= Conversion.feetToInches(16)) {
-                beamProperties.put(PLIES_COUNT_KEY, 2);
-                beamProperties.put(BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(BEAMS_WIDTH_KEY, 10);
-
-                beamProperties.put(ALTERNATE_PLIES_COUNT_KEY, 3);
-                beamProperties.put(ALTERNATE_BEAMS_HEIGHT_KEY, 2);
-                beamProperties.put(ALTERNATE_BEAMS_WIDTH_KEY, 8);
-                return beamProperties;
-
-            }
-        }
-
-        return null;
+    public boolean findAllowedBeamProperties(float _postsSpacing, float _spanLength, boolean _isSupportingTwoSpans,
+                                             BeamProperties _result) {
+        return structuralTables.findAllowedBeamProperties(_postsSpacing, _spanLength, _isSupportingTwoSpans, _result);
     }
 
     /**
@@ -3,13 +3,12 @@ package ca.ulaval.glo2004.patio;
 import ca.ulaval.glo2004.utils.Dimensions;
 import ca.ulaval.glo2004.utils.Vector3;
 
+/**
+ * A view on a WoodPiece stored in a WoodPieceStore
+ */
 public class WoodPiece {
-    private Dimensions dimensions;
-    private Dimensions buyingDimensions;
-    private Vector3 centralPosition;
-    private ComponentType componentType;
-    private Vector3 minCornerPosition;
-    private Vector3 maxCornerPosition;
+    private final WoodPieceStore store;
+    private final int index;
 
     /**
      * The WoodPiece constructor
@@ -18,11 +17,19 @@ public class WoodPiece {
      * @param _componentType The orientation of the WoodPiece
      */
     public WoodPiece(Dimensions _dimensions, Vector3 _centralPosition, ComponentType _componentType) {
-        dimensions = _dimensions;
-        buyingDimensions = _dimensions;
-        centralPosition = _centralPosition;
-        componentType = _componentType;
-        computeCornerPositions();
+        store = new WoodPieceStore(1);
+        index = store.add(_dimensions.getActualWidth(), _dimensions.getActualHeight(), _dimensions.getActualDepth(),
+                _centralPosition.x, _centralPosition.y, _centralPosition.z, _componentType);
+    }
+
+    /**
+     * The WoodPiece constructor
+     * @param _store The store holding the WoodPiece
+     * @param _index The index of the WoodPiece in the store
+     */
+    WoodPiece(WoodPieceStore _store, int _index) {
+        store = _store;
+        index = _index;
     }
 
     /**
@@ -30,7 +37,31 @@ public class WoodPiece {
      * @return The dimensions of the WoodPiece
      */
     public Dimensions getDimensions() {
-        return dimensions;
+        return new Dimensions(store.getWidth(index), store.getHeight(index), store.getDepth(index));
+    }
+
+    /**
+     * Obtains the width of the WoodPiece without allocating Dimensions
+     * @return The width of the WoodPiece in actual inches
+     */
+    public float getWidth() {
+        return store.getWidth(index);
+    }
+
+    /**
+     * Obtains the height of the WoodPiece without allocating Dimensions
+     * @return The height of the WoodPiece in actual inches
+     */
+    public float getHeight() {
+        return store.getHeight(index);
+    }
+
+    /**
+     * Obtains the depth of the WoodPiece without allocating Dimensions
+     * @return The depth of the WoodPiece in actual inches
+     */
+    public float getDepth() {
+        return store.getDepth(index);
     }
 
     /**
@@ -38,8 +69,7 @@ public class WoodPiece {
      * @param _dimensions The dimensions of the WoodPiece
      */
     public void setDimensions(Dimensions _dimensions) {
-        dimensions = _dimensions;
-        computeCornerPositions();
+        setDimensions(_dimensions.getActualWidth(), _dimensions.getActualHeight(), _dimensions.getActualDepth());
     }
 
     /**
@@ -49,8 +79,7 @@ public class WoodPiece {
      * @param _depth The depth of the WoodPiece in actual inches
      */
     public void setDimensions(float _width, float _height, float _depth) {
-        dimensions = new Dimensions(_width, _height, _depth);
-        computeCornerPositions();
+        store.setDimensions(index, _width, _height, _depth);
     }
 
     /**
@@ -58,7 +87,7 @@ public class WoodPiece {
      * @return The buying dimensions
      */
     public Dimensions getBuyingDimensions() {
-        return buyingDimensions;
+        return new Dimensions(store.getBuyingWidth(index), store.getBuyingHeight(index), store.getBuyingDepth(index));
     }
 
     /**
@@ -66,7 +95,8 @@ public class WoodPiece {
      * @param _buyingDimensions The dimensions of the WoodPiece when it will be bought
      */
     public void setBuyingDimensions(Dimensions _buyingDimensions) {
-        buyingDimensions = _buyingDimensions;
+        setBuyingDimensions(_buyingDimensions.getActualWidth(), _buyingDimensions.getActualHeight(),
+                _buyingDimensions.getActualDepth());
     }
 
     /**
@@ -76,8 +106,15 @@ public class WoodPiece {
      * @param _depth The depth of the WoodPiece in actual inches
      */
     public void setBuyingDimensions(float _width, float _height, float _depth) {
-        buyingDimensions = new Dimensions(_width, _height, _depth);
-        computeCornerPositions();
+        store.setBuyingDimensions(index, _width, _height, _depth);
+    }
+
+    /**
+     * Obtains the ID of the lumber the WoodPiece is bought in
+     * @return The lumber ID of the WoodPiece in the LumberCatalog
+     */
+    public int getLumberId() {
+        return store.getLumberId(index);
     }
 
     /**
@@ -85,7 +122,31 @@ public class WoodPiece {
      * @return A Vector3 representing the central position of the WoodPiece
      */
     public Vector3 getCentralPosition() {
-        return centralPosition;
+        return new Vector3(store.getCentralX(index), store.getCentralY(index), store.getCentralZ(index));
+    }
+
+    /**
+     * Obtains the central X position of the WoodPiece without allocating a Vector3
+     * @return The central X position of the WoodPiece in actual inches
+     */
+    public float getCentralX() {
+        return store.getCentralX(index);
+    }
+
+    /**
+     * Obtains the central Y position of the WoodPiece without allocating a Vector3
+     * @return The central Y position of the WoodPiece in actual inches
+     */
+    public float getCentralY() {
+        return store.getCentralY(index);
+    }
+
+    /**
+     * Obtains the central Z position of the WoodPiece without allocating a Vector3
+     * @return The central Z position of the WoodPiece in actual inches
+     */
+    public float getCentralZ() {
+        return store.getCentralZ(index);
     }
 
     /**
@@ -93,8 +154,7 @@ public class WoodPiece {
      * @param _centralPosition A Vector3 representing the central position of the WoodPiece
      */
     public void setCentralPosition(Vector3 _centralPosition) {
-        centralPosition = _centralPosition;
-        computeCornerPositions();
+        setCentralPosition(_centralPosition.x, _centralPosition.y, _centralPosition.z);
     }
 
     /**
@@ -104,7 +164,7 @@ public class WoodPiece {
      * @param z The Z position of the WoodPiece in actual inches
      */
     public void setCentralPosition(float x, float y, float z) {
-        setCentralPosition(new Vector3(x, y, z));
+        store.setCentralPosition(index, x, y, z);
     }
 
     /**
@@ -112,7 +172,7 @@ public class WoodPiece {
      * @return The orientation of the WoodPiece
      */
     public ComponentType getOrientation() {
-        return componentType;
+        return store.getComponentType(index);
     }
 
     /**
@@ -120,8 +180,7 @@ public class WoodPiece {
      * @param _componentType The orientation of the WoodPiece
      */
     public void setOrientation(ComponentType _componentType) {
-        componentType = _componentType;
-        computeCornerPositions();
+        store.setComponentType(index, _componentType);
     }
 
     /**
@@ -130,7 +189,7 @@ public class WoodPiece {
      * @return A Vector3 representing the minimum corner position of the WoodPiece
      */
     public Vector3 getMinCornerPosition() {
-        return minCornerPosition;
+        return new Vector3(getMinX(), getMinY(), getMinZ());
     }
 
     /**
@@ -139,7 +198,7 @@ public class WoodPiece {
      * @param _minCornerPosition A Vector3 representing the minimum corner position of the WoodPiece
      */
     public void setMinCornerPosition(Vector3 _minCornerPosition) {
-        minCornerPosition = _minCornerPosition;
+        store.setMinCornerPosition(index, _minCornerPosition.x, _minCornerPosition.y, _minCornerPosition.z);
     }
 
     /**
@@ -148,7 +207,7 @@ public class WoodPiece {
      * @return A Vector3 representing the maximum corner position of the WoodPiece
      */
     public Vector3 getMaxCornerPosition() {
-        return maxCornerPosition;
+        return new Vector3(getMaxX(), getMaxY(), getMaxZ());
     }
 
     /**
@@ -157,36 +216,61 @@ public class WoodPiece {
      * @param _maxCornerPosition A Vector3 representing the maximum corner position of the WoodPiece
      */
     public void setMaxCornerPosition(Vector3 _maxCornerPosition) {
-        maxCornerPosition = _maxCornerPosition;
+        store.setMaxCornerPosition(index, _maxCornerPosition.x, _maxCornerPosition.y, _maxCornerPosition.z);
+    }
+
+    /**
+     * Obtains the minimum X position of the WoodPiece without allocating a Vector3
+     * @return The minimum X position of the WoodPiece in actual inches
+     */
+    public float getMinX() {
+        return store.getMinCorner(index, 0);
+    }
+
+    /**
+     * Obtains the minimum Y position of the WoodPiece without allocating a Vector3
+     * @return The minimum Y position of the WoodPiece in actual inches
+     */
+    public float getMinY() {
+        return store.getMinCorner(index, 1);
+    }
+
+    /**
+     * Obtains the minimum Z position of the WoodPiece without allocating a Vector3
+     * @return The minimum Z position of the WoodPiece in actual inches
+     */
+    public float getMinZ() {
+        return store.getMinCorner(index, 2);
+    }
+
+    /**
+     * Obtains the maximum X position of the WoodPiece without allocating a Vector3
+     * @return The maximum X position of the WoodPiece in actual inches
+     */
+    public float getMaxX() {
+        return store.getMaxCorner(index, 0);
+    }
+
+    /**
+     * Obtains the maximum Y position of the WoodPiece without allocating a Vector3
+     * @return The maximum Y position of the WoodPiece in actual inches
+     */
+    public float getMaxY() {
+        return store.getMaxCorner(index, 1);
+    }
+
+    /**
+     * Obtains the maximum Z position of the WoodPiece without allocating a Vector3
+     * @return The maximum Z position of the WoodPiece in actual inches
+     */
+    public float getMaxZ() {
+        return store.getMaxCorner(index, 2);
     }
 
     /**
      * Calculates the minimum and maximum corner positions of the WoodPiece
      */
     public void computeCornerPositions() {
-        Vector3 vectorOffset;
-        float widthOffset = dimensions.getActualWidth() / 2;
-        float heightOffset = dimensions.getActualHeight() / 2;
-        float depthOffset = dimensions.getActualDepth() / 2;
-
-        switch (componentType) {
-            case COVERING_PLANK:
-            default:
-                vectorOffset = new Vector3(widthOffset, heightOffset, depthOffset);
-                break;
-            case JOIST:
-                vectorOffset = new Vector3(depthOffset, widthOffset, heightOffset);
-                break;
-            case BEAM:
-                vectorOffset = new Vector3(heightOffset, widthOffset, depthOffset);
-                break;
-            case POST:
-                vectorOffset = new Vector3(widthOffset, depthOffset, heightOffset);
-                break;
-        }
-
-        setMaxCornerPosition(Vector3.add(centralPosition, vectorOffset));
-        setMinCornerPosition(Vector3.subtract(centralPosition, vectorOffset));
+        store.computeCornerPositions(index);
     }
 }
-
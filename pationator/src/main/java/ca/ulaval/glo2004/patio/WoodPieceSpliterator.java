@@ -0,0 +1,130 @@
+package ca.ulaval.glo2004.patio;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Traverses the wood pieces of a list of components as if they were in a single list. The position of every piece is
+ * known from the number of pieces of the previous components, so the traversal can be split anywhere and sized
+ * without copying the pieces.
+ */
+class WoodPieceSpliterator implements Spliterator<WoodPiece> {
+    private final List<? extends Component> components;
+    private final int[] firstPieceIndices;
+    private int idxComponent;
+    private int index;
+    private final int fence;
+
+    /**
+     * The WoodPieceSpliterator constructor, traversing every piece of the components
+     *
+     * @param _components The components to traverse. They must not change during the traversal
+     */
+    WoodPieceSpliterator(List<? extends Component> _components) {
+        components = _components;
+        firstPieceIndices = new int[_components.size() + 1];
+
+        for (int idxComponent = 0; idxComponent < _components.size(); idxComponent++) {
+            firstPieceIndices[idxComponent + 1] =
+                    firstPieceIndices[idxComponent] + _components.get(idxComponent).getWoodPieces().size();
+        }
+
+        idxComponent = 0;
+        index = 0;
+        fence = firstPieceIndices[_components.size()];
+    }
+
+    /**
+     * The WoodPieceSpliterator constructor, traversing a part of the pieces
+     *
+     * @param _components        The components to traverse
+     * @param _firstPieceIndices The index of the first piece of every component, followed by the number of pieces
+     * @param _index             The index of the first piece to traverse, inclusive
+     * @param _fence             The index of the last piece to traverse, exclusive
+     */
+    private WoodPieceSpliterator(List<? extends Component> _components, int[] _firstPieceIndices, int _index,
+                                 int _fence) {
+        components = _components;
+        firstPieceIndices = _firstPieceIndices;
+        idxComponent = findComponent(_index);
+        index = _index;
+        fence = _fence;
+    }
+
+    /**
+     * Finds the component containing a piece
+     *
+     * @param _index The index of the piece
+     * @return The index of the last component starting at or before the piece
+     */
+    private int findComponent(int _index) {
+        int low = 0;
+        int high = components.size() - 1;
+
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+
+            if (firstPieceIndices[middle] <= _index)
+                low = middle;
+            else
+                high = middle - 1;
+        }
+
+        return low;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super WoodPiece> _action) {
+        if (index >= fence)
+            return false;
+
+        while (firstPieceIndices[idxComponent + 1] <= index) {
+            idxComponent++;
+        }
+
+        _action.accept(components.get(idxComponent).getWoodPieces().get(index - firstPieceIndices[idxComponent]));
+        index++;
+
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super WoodPiece> _action) {
+        while (index < fence) {
+            while (firstPieceIndices[idxComponent + 1] <= index) {
+                idxComponent++;
+            }
+
+            List<WoodPiece> woodPieces = components.get(idxComponent).getWoodPieces();
+            int componentFence = Math.min(fence, firstPieceIndices[idxComponent + 1]);
+
+            for (; index < componentFence; index++) {
+                _action.accept(woodPieces.get(index - firstPieceIndices[idxComponent]));
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<WoodPiece> trySplit() {
+        int middle = (index + fence) >>> 1;
+        if (middle <= index)
+            return null;
+
+        WoodPieceSpliterator prefix = new WoodPieceSpliterator(components, firstPieceIndices, index, middle);
+        index = middle;
+        idxComponent = findComponent(middle);
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+}
@@ -0,0 +1,340 @@
+package ca.ulaval.glo2004.patio;
+
+import ca.ulaval.glo2004.utils.LumberCatalog;
+
+import java.util.Arrays;
+
+/**
+ * Stores the geometry of many WoodPieces in primitive arrays. Every WoodPiece of a component is a lightweight view on
+ * an index of its store, so regenerating a patio does not allocate vectors and dimensions for every piece.
+ */
+public class WoodPieceStore {
+    private static final int DEFAULT_CAPACITY = 4;
+    private static final ComponentType[] COMPONENT_TYPES = ComponentType.values();
+
+    private float[] sizes;
+    private float[] buyingSizes;
+    private float[] centralPositions;
+    private float[] minCornerPositions;
+    private float[] maxCornerPositions;
+    private byte[] componentTypes;
+    private int[] lumberIds;
+    private int nbWoodPieces;
+
+    /**
+     * The WoodPieceStore constructor
+     */
+    public WoodPieceStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * The WoodPieceStore constructor
+     * @param _capacity The number of WoodPieces the store can hold before growing
+     */
+    public WoodPieceStore(int _capacity) {
+        int capacity = Math.max(_capacity, 1);
+
+        sizes = new float[capacity * 3];
+        buyingSizes = new float[capacity * 3];
+        centralPositions = new float[capacity * 3];
+        minCornerPositions = new float[capacity * 3];
+        maxCornerPositions = new float[capacity * 3];
+        componentTypes = new byte[capacity];
+        lumberIds = new int[capacity];
+    }
+
+    /**
+     * Adds a WoodPiece to the store. Its buying dimensions are its dimensions
+     * @param _width The width of the WoodPiece in actual inches
+     * @param _height The height of the WoodPiece in actual inches
+     * @param _depth The depth of the WoodPiece in actual inches
+     * @param _x The X position of the WoodPiece in actual inches
+     * @param _y The Y position of the WoodPiece in actual inches
+     * @param _z The Z position of the WoodPiece in actual inches
+     * @param _componentType The orientation of the WoodPiece
+     * @return The index of the WoodPiece in the store
+     */
+    public int add(float _width, float _height, float _depth, float _x, float _y, float _z,
+                   ComponentType _componentType) {
+        if (nbWoodPieces == componentTypes.length)
+            grow();
+
+        int idxWoodPiece = nbWoodPieces++;
+        componentTypes[idxWoodPiece] = (byte) _componentType.ordinal();
+        set(sizes, idxWoodPiece, _width, _height, _depth);
+        setBuyingDimensions(idxWoodPiece, _width, _height, _depth);
+        set(centralPositions, idxWoodPiece, _x, _y, _z);
+        computeCornerPositions(idxWoodPiece);
+
+        return idxWoodPiece;
+    }
+
+    /**
+     * Doubles the capacity of the store
+     */
+    private void grow() {
+        int capacity = componentTypes.length * 2;
+
+        sizes = Arrays.copyOf(sizes, capacity * 3);
+        buyingSizes = Arrays.copyOf(buyingSizes, capacity * 3);
+        centralPositions = Arrays.copyOf(centralPositions, capacity * 3);
+        minCornerPositions = Arrays.copyOf(minCornerPositions, capacity * 3);
+        maxCornerPositions = Arrays.copyOf(maxCornerPositions, capacity * 3);
+        componentTypes = Arrays.copyOf(componentTypes, capacity);
+        lumberIds = Arrays.copyOf(lumberIds, capacity);
+    }
+
+    /**
+     * Writes three values of a WoodPiece in one of the arrays of the store
+     * @param _values The array to write in
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @param _x The first value
+     * @param _y The second value
+     * @param _z The third value
+     */
+    private static void set(float[] _values, int _idxWoodPiece, float _x, float _y, float _z) {
+        int offset = _idxWoodPiece * 3;
+        _values[offset] = _x;
+        _values[offset + 1] = _y;
+        _values[offset + 2] = _z;
+    }
+
+    /**
+     * Obtains the number of WoodPieces in the store
+     * @return The number of WoodPieces in the store
+     */
+    public int size() {
+        return nbWoodPieces;
+    }
+
+    /**
+     * Obtains the width of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @return The width of the WoodPiece in actual inches
+     */
+    public float getWidth(int _idxWoodPiece) {
+        return sizes[_idxWoodPiece * 3];
+    }
+
+    /**
+     * Obtains the height of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @return The height of the WoodPiece in actual inches
+     */
+    public float getHeight(int _idxWoodPiece) {
+        return sizes[_idxWoodPiece * 3 + 1];
+    }
+
+    /**
+     * Obtains the depth of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @return The depth of the WoodPiece in actual inches
+     */
+    public float getDepth(int _idxWoodPiece) {
+        return sizes[_idxWoodPiece * 3 + 2];
+    }
+
+    /**
+     * Sets the dimensions of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @param _width The width of the WoodPiece in actual inches
+     * @param _height The height of the WoodPiece in actual inches
+     * @param _depth The depth of the WoodPiece in actual inches
+     */
+    public void setDimensions(int _idxWoodPiece, float _width, float _height, float _depth) {
+        set(sizes, _idxWoodPiece, _width, _height, _depth);
+        computeCornerPositions(_idxWoodPiece);
+    }
+
+    /**
+     * Obtains the buying width of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @return The buying width of the WoodPiece in actual inches
+     */
+    public float getBuyingWidth(int _idxWoodPiece) {
+        return buyingSizes[_idxWoodPiece * 3];
+    }
+
+    /**
+     * Obtains the buying height of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @return The buying height of the WoodPiece in actual inches
+     */
+    public float getBuyingHeight(int _idxWoodPiece) {
+        return buyingSizes[_idxWoodPiece * 3 + 1];
+    }
+
+    /**
+     * Obtains the buying depth of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @return The buying depth of the WoodPiece in actual inches
+     */
+    public float getBuyingDepth(int _idxWoodPiece) {
+        return buyingSizes[_idxWoodPiece * 3 + 2];
+    }
+
+    /**
+     * Sets the buying dimensions of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @param _width The buying width of the WoodPiece in actual inches
+     * @param _height The buying height of the WoodPiece in actual inches
+     * @param _depth The buying depth of the WoodPiece in actual inches
+     */
+    public void setBuyingDimensions(int _idxWoodPiece, float _width, float _height, float _depth) {
+        set(buyingSizes, _idxWoodPiece, _width, _height, _depth);
+        lumberIds[_idxWoodPiece] = LumberCatalog.getInstance().getLumberId(_height, _width);
+    }
+
+    /**
+     * Obtains the ID of the lumber a WoodPiece is bought in, interned from its buying height and width
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @return The lumber ID of the WoodPiece in the LumberCatalog
+     */
+    public int getLumberId(int _idxWoodPiece) {
+        return lumberIds[_idxWoodPiece];
+    }
+
+    /**
+     * Obtains the X central position of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @return The X central position of the WoodPiece in actual inches
+     */
+    public float getCentralX(int _idxWoodPiece) {
+        return centralPositions[_idxWoodPiece * 3];
+    }
+
+    /**
+     * Obtains the Y central position of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @return The Y central position of the WoodPiece in actual inches
+     */
+    public float getCentralY(int _idxWoodPiece) {
+        return centralPositions[_idxWoodPiece * 3 + 1];
+    }
+
+    /**
+     * Obtains the Z central position of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @return The Z central position of the WoodPiece in actual inches
+     */
+    public float getCentralZ(int _idxWoodPiece) {
+        return centralPositions[_idxWoodPiece * 3 + 2];
+    }
+
+    /**
+     * Sets the central position of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @param _x The X position of the WoodPiece in actual inches
+     * @param _y The Y position of the WoodPiece in actual inches
+     * @param _z The Z position of the WoodPiece in actual inches
+     */
+    public void setCentralPosition(int _idxWoodPiece, float _x, float _y, float _z) {
+        set(centralPositions, _idxWoodPiece, _x, _y, _z);
+        computeCornerPositions(_idxWoodPiece);
+    }
+
+    /**
+     * Obtains the minimum corner position of a WoodPiece on a given axis
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @param _axis The axis (0 for X, 1 for Y and 2 for Z)
+     * @return The minimum corner position of the WoodPiece on the axis in actual inches
+     */
+    public float getMinCorner(int _idxWoodPiece, int _axis) {
+        return minCornerPositions[_idxWoodPiece * 3 + _axis];
+    }
+
+    /**
+     * Sets the minimum corner position of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @param _x The minimum X position of the WoodPiece in actual inches
+     * @param _y The minimum Y position of the WoodPiece in actual inches
+     * @param _z The minimum Z position of the WoodPiece in actual inches
+     */
+    public void setMinCornerPosition(int _idxWoodPiece, float _x, float _y, float _z) {
+        set(minCornerPositions, _idxWoodPiece, _x, _y, _z);
+    }
+
+    /**
+     * Obtains the maximum corner position of a WoodPiece on a given axis
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @param _axis The axis (0 for X, 1 for Y and 2 for Z)
+     * @return The maximum corner position of the WoodPiece on the axis in actual inches
+     */
+    public float getMaxCorner(int _idxWoodPiece, int _axis) {
+        return maxCornerPositions[_idxWoodPiece * 3 + _axis];
+    }
+
+    /**
+     * Sets the maximum corner position of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @param _x The maximum X position of the WoodPiece in actual inches
+     * @param _y The maximum Y position of the WoodPiece in actual inches
+     * @param _z The maximum Z position of the WoodPiece in actual inches
+     */
+    public void setMaxCornerPosition(int _idxWoodPiece, float _x, float _y, float _z) {
+        set(maxCornerPositions, _idxWoodPiece, _x, _y, _z);
+    }
+
+    /**
+     * Obtains the orientation of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @return The orientation of the WoodPiece
+     */
+    public ComponentType getComponentType(int _idxWoodPiece) {
+        return COMPONENT_TYPES[componentTypes[_idxWoodPiece]];
+    }
+
+    /**
+     * Sets the orientation of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     * @param _componentType The orientation of the WoodPiece
+     */
+    public void setComponentType(int _idxWoodPiece, ComponentType _componentType) {
+        componentTypes[_idxWoodPiece] = (byte) _componentType.ordinal();
+        computeCornerPositions(_idxWoodPiece);
+    }
+
+    /**
+     * Calculates the minimum and maximum corner positions of a WoodPiece
+     * @param _idxWoodPiece The index of the WoodPiece
+     */
+    public void computeCornerPositions(int _idxWoodPiece) {
+        int offset = _idxWoodPiece * 3;
+        float widthOffset = sizes[offset] / 2;
+        float heightOffset = sizes[offset + 1] / 2;
+        float depthOffset = sizes[offset + 2] / 2;
+        float xOffset, yOffset, zOffset;
+
+        switch (getComponentType(_idxWoodPiece)) {
+            case COVERING_PLANK:
+            default:
+                xOffset = widthOffset;
+                yOffset = heightOffset;
+                zOffset = depthOffset;
+                break;
+            case JOIST:
+                xOffset = depthOffset;
+                yOffset = widthOffset;
+                zOffset = heightOffset;
+                break;
+            case BEAM:
+                xOffset = heightOffset;
+                yOffset = widthOffset;
+                zOffset = depthOffset;
+                break;
+            case POST:
+                xOffset = widthOffset;
+                yOffset = depthOffset;
+                zOffset = heightOffset;
+                break;
+        }
+
+        float x = centralPositions[offset];
+        float y = centralPositions[offset + 1];
+        float z = centralPositions[offset + 2];
+
+        set(maxCornerPositions, _idxWoodPiece, x + xOffset, y + yOffset, z + zOffset);
+        set(minCornerPositions, _idxWoodPiece, x - xOffset, y - yOffset, z - zOffset);
+    }
+}
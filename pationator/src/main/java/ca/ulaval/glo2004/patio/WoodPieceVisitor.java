@@ -0,0 +1,14 @@
+package ca.ulaval.glo2004.patio;
+
+/**
+ * Visits the wood pieces of a patio, one component type after the other
+ */
+public interface WoodPieceVisitor {
+    /**
+     * Visits a wood piece
+     *
+     * @param _component The component containing the wood piece
+     * @param _woodPiece The visited wood piece
+     */
+    void visit(Component _component, WoodPiece _woodPiece);
+}
@@ -1,6 +1,6 @@
 package ca.ulaval.glo2004.utils;
 
-import java.util.HashMap;
+import java.util.Arrays;
 
 /**
  * This class contains the conversion method used in Pationator to get nominal value, inches value or metric value from
@@ -11,58 +11,16 @@ public class Conversion {
      * Coefficient used to convert inches to millimeter or the reverse.
      */
     public static final float MM_INCHES_CONVERSION_COEFFICIENT = 25.4f;
-    private static final HashMap<Float, Float> actualInchesFromNominal = new HashMap<Float, Float>() {{
-        put(1f, 3f / 4f);
-        put(1.25f, 1f);
-        put(2f, 1f + 1f / 2f);
-        put(3f, 2f + 1f / 2f);
-        put(4f, 3f + 1f / 2);
-        put(5f, 4f + 1f / 2);
-        put(6f, 5f + 1f / 2);
-        put(7f, 6f + 1f / 4);
-        put(8f, 7f + 1f / 4);
-        put(10f, 9f + 1f / 4);
-        put(12f, 11f + 1f / 4);
-    }};
-    private static final HashMap<Float, Float> nominalFromMillimeter = new HashMap<Float, Float>() {{
-        put(19f, 1f);
-        put(25f, 1.25f);
-        put(38f, 2f);
-        put(64f, 3f);
-        put(89f, 4f);
-        put(114f, 5f);
-        put(140f, 6f);
-        put(159f, 7f);
-        put(184f, 8f);
-        put(235f, 10f);
-        put(286f, 12f);
-    }};
-    private static final HashMap<Float, Float> nominalFromActualInches = new HashMap<Float, Float>() {{
-        put(3f / 4f, 1f);
-        put(1f, 1.25f);
-        put(1f + 1f / 2f, 2f);
-        put(2f + 1f / 2f, 3f);
-        put(3f + 1f / 2, 4f);
-        put(4f + 1f / 2, 5f);
-        put(5f + 1f / 2, 6f);
-        put(6f + 1f / 4, 7f);
-        put(7f + 1f / 4, 8f);
-        put(9f + 1f / 4, 10f);
-        put(11f + 1f / 4, 12f);
-    }};
-    private static final HashMap<Float, Float> millimeterFromNominal = new HashMap<Float, Float>() {{
-        put(1f, 19f);
-        put(1.25f, 25f);
-        put(2f, 38f);
-        put(3f, 64f);
-        put(4f, 89f);
-        put(5f, 114f);
-        put(6f, 140f);
-        put(7f, 159f);
-        put(8f, 184f);
-        put(10f, 235f);
-        put(12f, 286f);
-    }};
+    //The lumber sizes, aligned and sorted in ascending order. The inches are looked up by their fixed-point length
+    private static final float[] NOMINAL_INCHES = {1f, 1.25f, 2f, 3f, 4f, 5f, 6f, 7f, 8f, 10f, 12f};
+    private static final float[] ACTUAL_INCHES = {
+            3f / 4f, 1f, 1f + 1f / 2f, 2f + 1f / 2f, 3f + 1f / 2, 4f + 1f / 2, 5f + 1f / 2, 6f + 1f / 4, 7f + 1f / 4,
+            9f + 1f / 4, 11f + 1f / 4
+    };
+    private static final float[] MILLIMETERS = {19f, 25f, 38f, 64f, 89f, 114f, 140f, 159f, 184f, 235f, 286f};
+    private static final long[] NOMINAL_FIXED_LENGTHS = toFixedLengths(NOMINAL_INCHES);
+    private static final long[] ACTUAL_FIXED_LENGTHS = toFixedLengths(ACTUAL_INCHES);
+    private static final long[] MILLIMETER_KEYS = toMillimeterKeys(MILLIMETERS);
 
     /**
      * Get inches value from a feet value.
@@ -102,7 +60,7 @@ public class Conversion {
      * @return Inches value.
      */
     public static float getActualInchesFromNominal(float _nominalValue) {
-        return actualInchesFromNominal.containsKey(_nominalValue) ? actualInchesFromNominal.get(_nominalValue) : 0;
+        return lookUpInches(NOMINAL_FIXED_LENGTHS, ACTUAL_INCHES, _nominalValue);
     }
 
     /**
@@ -112,7 +70,9 @@ public class Conversion {
      * @return Nominal value
      */
     public static float getNominalFromMillimeter(float _millimeter) {
-        return nominalFromMillimeter.containsKey(_millimeter) ? nominalFromMillimeter.get(_millimeter) : 0;
+        long millimeterKey = Math.round((double) _millimeter);
+
+        return lookUp(MILLIMETER_KEYS, NOMINAL_INCHES, millimeterKey, millimeterKey == _millimeter);
     }
 
     /**
@@ -122,7 +82,7 @@ public class Conversion {
      * @return Nominal value
      */
     public static float getNominalFromActualInches(float _inchesValue) {
-        return nominalFromActualInches.containsKey(_inchesValue) ? nominalFromActualInches.get(_inchesValue) : 0;
+        return lookUpInches(ACTUAL_FIXED_LENGTHS, NOMINAL_INCHES, _inchesValue);
     }
 
     /**
@@ -142,6 +102,69 @@ public class Conversion {
      * @return Millimeter value.
      */
     public static float getMillimeterFromNominal(float _nominalValue) {
-        return millimeterFromNominal.containsKey(_nominalValue) ? millimeterFromNominal.get(_nominalValue) : 0;
+        return lookUpInches(NOMINAL_FIXED_LENGTHS, MILLIMETERS, _nominalValue);
+    }
+
+    /**
+     * Get the value of a lumber size from one of the size tables keyed by fixed-point length.
+     *
+     * @param _keys   Sorted fixed-point keys of the table.
+     * @param _values Values aligned with the keys.
+     * @param _inches Inches value to look up.
+     * @return The value of the inches value, or 0 if it is not exactly in the table.
+     */
+    private static float lookUpInches(long[] _keys, float[] _values, float _inches) {
+        long fixedLength = FixedLength.fromInches(_inches);
+
+        return lookUp(_keys, _values, fixedLength, FixedLength.toInches(fixedLength) == _inches);
+    }
+
+    /**
+     * Get the value of a lumber size from one of the size tables. Like the float keys the tables had, only an exact
+     * value is found: a value rounded to the key of a lumber size is not that size.
+     *
+     * @param _keys       Sorted keys of the table.
+     * @param _values     Values aligned with the keys.
+     * @param _key        Key to look up.
+     * @param _isExactKey True if the key is exactly the value looked up, false if the value was rounded.
+     * @return The value of the key, or 0 if the key is not in the table or was rounded.
+     */
+    private static float lookUp(long[] _keys, float[] _values, long _key, boolean _isExactKey) {
+        if (!_isExactKey)
+            return 0;
+
+        int index = Arrays.binarySearch(_keys, _key);
+
+        return index >= 0 ? _values[index] : 0;
+    }
+
+    /**
+     * Get the fixed-point lengths of inches values.
+     *
+     * @param _inchesValues Values in inches.
+     * @return Number of 1/64 inch of every value.
+     */
+    private static long[] toFixedLengths(float[] _inchesValues) {
+        long[] fixedLengths = new long[_inchesValues.length];
+        for (int i = 0; i < _inchesValues.length; i++) {
+            fixedLengths[i] = FixedLength.fromInches(_inchesValues[i]);
+        }
+
+        return fixedLengths;
+    }
+
+    /**
+     * Get the keys of millimeter values, rounded to the millimeter.
+     *
+     * @param _millimeters Values in millimeter.
+     * @return Rounded value of every millimeter value.
+     */
+    private static long[] toMillimeterKeys(float[] _millimeters) {
+        long[] keys = new long[_millimeters.length];
+        for (int i = 0; i < _millimeters.length; i++) {
+            keys[i] = Math.round((double) _millimeters[i]);
+        }
+
+        return keys;
     }
 }
@@ -1,8 +1,11 @@
 package ca.ulaval.glo2004.utils;
 
 import ca.ulaval.glo2004.patio.Component;
+import ca.ulaval.glo2004.patio.ComponentType;
 import ca.ulaval.glo2004.patio.PatioController;
+import ca.ulaval.glo2004.patio.PatioSnapshot;
 import ca.ulaval.glo2004.patio.WoodPiece;
+import ca.ulaval.glo2004.patio.WoodPieceVisitor;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
@@ -21,6 +24,13 @@ import java.util.Objects;
  * File creator.
  */
 public class CreateFiles {
+    //The components in the order of PatioSnapshot.getComponents()
+    private static final ComponentType[] STL_COMPONENT_TYPES = {
+            ComponentType.JOIST, ComponentType.POST, ComponentType.BEAM, ComponentType.COVERING_PLANK
+    };
+    private static final int STL_HEADER_SIZE = 84;
+    private static final int STL_TRIANGLE_SIZE = 50;
+
     private final PatioController patioController;
     private boolean isModified;
     private int inchUnitInPixel = 24;
@@ -83,29 +93,48 @@ public class CreateFiles {
         }
     }
 
+    /**
+     * Get the component types inserted in STL file: the visible ones only, unless the modifier is true.
+     *
+     * @return Component types in the order of PatioSnapshot.getComponents().
+     */
+    private ComponentType[] getStlComponentTypes() {
+        if (isModified) {
+            return STL_COMPONENT_TYPES;
+        }
+
+        ArrayList<ComponentType> visibleComponentTypes = new ArrayList<>();
+        for (ComponentType componentType : STL_COMPONENT_TYPES) {
+            if (patioController.getVisibility(componentType)) {
+                visibleComponentTypes.add(componentType);
+            }
+        }
+
+        return visibleComponentTypes.toArray(new ComponentType[0]);
+    }
+
     /**
      * Write a Ascii STL file.
      *
-     * @param _path       Path and name for the file writing.
-     * @param _components Every component to insert in STL file.
+     * @param _path     Path and name for the file writing.
+     * @param _snapshot Patio whose wood pieces are inserted in STL file.
      */
-    private void createAsciiSTL(String _path, ArrayList<Component> _components) throws IOException {
-        int i = 0;
+    private void createAsciiSTL(String _path, PatioSnapshot _snapshot) throws IOException {
+        final int[] i = {0};
 
-        StringBuilder stringBuilder = new StringBuilder();
+        final StringBuilder stringBuilder = new StringBuilder();
 
-        for (Component component : _components) {
-            if (component.isVisible() || isModified) {
-                for (WoodPiece woodPiece : component.getWoodPieces()) {
-                    ArrayList<String> lines = getStlAsciiFileLines(woodPiece, "woodPiece_" + ++i);
+        _snapshot.visitPieces(new WoodPieceVisitor() {
+            @Override
+            public void visit(Component _component, WoodPiece _woodPiece) {
+                ArrayList<String> lines = getStlAsciiFileLines(_woodPiece, "woodPiece_" + ++i[0]);
 
-                    for (String line : lines) {
-                        stringBuilder.append(line);
-                        stringBuilder.append("\n");
-                    }
+                for (String line : lines) {
+                    stringBuilder.append(line);
+                    stringBuilder.append("\n");
                 }
             }
-        }
+        }, getStlComponentTypes());
 
         FileWriter myWriter = new FileWriter(_path);
         myWriter.write(stringBuilder.toString());
@@ -132,9 +161,9 @@ public class CreateFiles {
 
         WoodPiece fixedPosition = Component.getFixedPosition(_woodPiece, fixedOrientation);
 
-        xPos = fixedPosition.getCentralPosition().x - (width / 2);
-        yPos = fixedPosition.getCentralPosition().y - (height / 2);
-        zPos = fixedPosition.getCentralPosition().z - (depth / 2);
+        xPos = fixedPosition.getCentralX() - (width / 2);
+        yPos = fixedPosition.getCentralY() - (height / 2);
+        zPos = fixedPosition.getCentralZ() - (depth / 2);
 
         lines.add("solid " + _componentName);
         lines.add("\tfacet normal 0.0 0.0 1.0");
@@ -236,9 +265,9 @@ public class CreateFiles {
      * Extract component values to write them to the STL file format.
      *
      * @param _pathAndExtension Path and name for the file writing.
-     * @param _components       Every component to insert in STL file.
+     * @param _snapshot         Patio whose wood pieces are inserted in STL file.
      */
-    public void createSTL(Pair<String, String> _pathAndExtension, ArrayList<Component> _components) {
+    public void createSTL(Pair<String, String> _pathAndExtension, PatioSnapshot _snapshot) {
         try {
             String path = _pathAndExtension.first;
 
@@ -248,8 +277,8 @@ public class CreateFiles {
                 path = _pathAndExtension + "." + _pathAndExtension.second;
             }
 
-            createBinarySTL(path, _components);
-//            createAsciiSTL(path, _components);
+            createBinarySTL(path, _snapshot);
+//            createAsciiSTL(path, _snapshot);
 
             patioController.notifyExport("STL", path);
         } catch (IOException ignored) {
@@ -259,152 +288,38 @@ public class CreateFiles {
     /**
      * Write a binary STL file.
      *
-     * @param _path       Path and name for the file writing.
-     * @param _components Every component to insert in STL file.
+     * @param _path     Path and name for the file writing.
+     * @param _snapshot Patio whose wood pieces are inserted in STL file.
      */
-    private void createBinarySTL(String _path, ArrayList<Component> _components) throws IOException {
+    private void createBinarySTL(String _path, PatioSnapshot _snapshot) throws IOException {
         new RandomAccessFile(_path, "rw").setLength(0);
 
         try (FileChannel stlFile = new RandomAccessFile(_path, "rw").getChannel()) {
-            ByteBuffer byteBuffer = ByteBuffer.allocate(10000).order(ByteOrder.LITTLE_ENDIAN);
-
-            int triangleQuantity = 0;
-            for (Component component : _components) {
-                if (component.isVisible() || isModified) {
-                    triangleQuantity += component.getWoodPieces().size() * 12;
+            final int[] woodPieceQuantity = {0};
+            _snapshot.visitPieces(new WoodPieceVisitor() {
+                @Override
+                public void visit(Component _component, WoodPiece _woodPiece) {
+                    woodPieceQuantity[0]++;
                 }
-            }
+            }, getStlComponentTypes());
+
+            int triangleQuantity = woodPieceQuantity[0] * 12;
+            final ByteBuffer byteBuffer = ByteBuffer.allocate(STL_HEADER_SIZE + triangleQuantity * STL_TRIANGLE_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
 
             byteBuffer.put(new byte[80]);
             byteBuffer.putInt(triangleQuantity);
 
-            for (Component component : _components) {
-                if (component.isVisible() || isModified) {
-                    for (WoodPiece woodPiece : component.getWoodPieces()) {
-                        float xPos, yPos, zPos, height, depth, width;
-
-                        Dimensions fixedOrientation = Component.getFixedOrientation(
-                                woodPiece.getDimensions(), woodPiece.getOrientation());
-
-                        height = fixedOrientation.getActualHeight();
-                        depth = fixedOrientation.getActualDepth();
-                        width = fixedOrientation.getActualWidth();
-
-                        WoodPiece fixedPosition = Component.getFixedPosition(woodPiece, fixedOrientation);
-
-                        xPos = fixedPosition.getCentralPosition().x - (width / 2);
-                        yPos = fixedPosition.getCentralPosition().y - (height / 2);
-                        zPos = fixedPosition.getCentralPosition().z - (depth / 2);
-
-                        Color color = component.getColor();
-                        int red = (color.getRed() / 255) * 15;
-                        int green = (color.getGreen() / 255) * 15;
-                        int blue = (color.getBlue() / 255) * 15;
-                        int rgb = (red << 10) | (green << 5) | blue;
-
-                        byteBuffer.putFloat(0).putFloat(0).putFloat(1);
-                        byteBuffer.putFloat(xPos).putFloat(yPos).putFloat(zPos);
-                        byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat(zPos);
-                        byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat(zPos);
-                        byteBuffer.putShort((short) rgb);
-                        byteBuffer.flip();
-                        stlFile.write(byteBuffer);
-                        byteBuffer.clear();
-                        byteBuffer.putFloat(0).putFloat(0).putFloat(1);
-                        byteBuffer.putFloat(xPos).putFloat(yPos).putFloat(zPos);
-                        byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat(zPos);
-                        byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat(zPos);
-                        byteBuffer.putShort((short) rgb);
-                        byteBuffer.flip();
-                        stlFile.write(byteBuffer);
-                        byteBuffer.clear();
-
-                        byteBuffer.putFloat(0).putFloat(0).putFloat(-1);
-                        byteBuffer.putFloat(xPos).putFloat(yPos).putFloat((zPos + depth));
-                        byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat((zPos + depth));
-                        byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat((zPos + depth));
-                        byteBuffer.putShort((short) rgb);
-                        byteBuffer.flip();
-                        stlFile.write(byteBuffer);
-                        byteBuffer.clear();
-                        byteBuffer.putFloat(0).putFloat(0).putFloat(-1);
-                        byteBuffer.putFloat(xPos).putFloat(yPos).putFloat((zPos + depth));
-                        byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat((zPos + depth));
-                        byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat((zPos + depth));
-                        byteBuffer.putShort((short) rgb);
-                        byteBuffer.flip();
-                        stlFile.write(byteBuffer);
-                        byteBuffer.clear();
-
-                        byteBuffer.putFloat(0).putFloat(1).putFloat(0);
-                        byteBuffer.putFloat(xPos).putFloat(yPos).putFloat(zPos);
-                        byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat((zPos + depth));
-                        byteBuffer.putFloat(xPos).putFloat(yPos).putFloat((zPos + depth));
-                        byteBuffer.putShort((short) rgb);
-                        byteBuffer.flip();
-                        stlFile.write(byteBuffer);
-                        byteBuffer.clear();
-                        byteBuffer.putFloat(0).putFloat(1).putFloat(0);
-                        byteBuffer.putFloat(xPos).putFloat(yPos).putFloat(zPos);
-                        byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat(zPos);
-                        byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat((zPos + depth));
-                        byteBuffer.putShort((short) rgb);
-                        byteBuffer.flip();
-                        stlFile.write(byteBuffer);
-                        byteBuffer.clear();
-
-                        byteBuffer.putFloat(0).putFloat(-1).putFloat(0);
-                        byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat(zPos);
-                        byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat((zPos + depth));
-                        byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat((zPos + depth));
-                        byteBuffer.putShort((short) rgb);
-                        byteBuffer.flip();
-                        stlFile.write(byteBuffer);
-                        byteBuffer.clear();
-                        byteBuffer.putFloat(0).putFloat(-1).putFloat(0);
-                        byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat(zPos);
-                        byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat((zPos + depth));
-                        byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat(zPos);
-                        byteBuffer.putShort((short) rgb);
-                        byteBuffer.flip();
-                        stlFile.write(byteBuffer);
-                        byteBuffer.clear();
-
-                        byteBuffer.putFloat(1).putFloat(0).putFloat(0);
-                        byteBuffer.putFloat(xPos).putFloat(yPos).putFloat(zPos);
-                        byteBuffer.putFloat(xPos).putFloat(yPos).putFloat((zPos + depth));
-                        byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat((zPos + depth));
-                        byteBuffer.putShort((short) rgb);
-                        byteBuffer.flip();
-                        stlFile.write(byteBuffer);
-                        byteBuffer.clear();
-                        byteBuffer.putFloat(1).putFloat(0).putFloat(0);
-                        byteBuffer.putFloat(xPos).putFloat(yPos).putFloat(zPos);
-                        byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat((zPos + depth));
-                        byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat(zPos);
-                        byteBuffer.putShort((short) rgb);
-                        byteBuffer.flip();
-                        stlFile.write(byteBuffer);
-                        byteBuffer.clear();
-
-                        byteBuffer.putFloat(-1).putFloat(0).putFloat(0);
-                        byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat(zPos);
-                        byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat((zPos + depth));
-                        byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat((zPos + depth));
-                        byteBuffer.putShort((short) rgb);
-                        byteBuffer.flip();
-                        stlFile.write(byteBuffer);
-                        byteBuffer.clear();
-                        byteBuffer.putFloat(-1).putFloat(0).putFloat(0);
-                        byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat(zPos);
-                        byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat(zPos);
-                        byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat((zPos + depth));
-                        byteBuffer.putShort((short) rgb);
-                        byteBuffer.flip();
-                        stlFile.write(byteBuffer);
-                        byteBuffer.clear();
-                    }
+            _snapshot.visitPieces(new WoodPieceVisitor() {
+                @Override
+                public void visit(Component _component, WoodPiece _woodPiece) {
+                    putWoodPieceTriangles(byteBuffer, _woodPiece);
                 }
+            }, getStlComponentTypes());
+
+            byteBuffer.flip();
+            while (byteBuffer.hasRemaining()) {
+                stlFile.write(byteBuffer);
             }
 
             isModified = false;
@@ -413,6 +328,101 @@ public class CreateFiles {
         }
     }
 
+    /**
+     * Insert the 12 triangles of a wood piece in a binary STL buffer.
+     *
+     * @param _byteBuffer Buffer of the STL file content.
+     * @param _woodPiece  Wood piece to insert.
+     */
+    private void putWoodPieceTriangles(ByteBuffer _byteBuffer, WoodPiece _woodPiece) {
+        float xPos, yPos, zPos, height, depth, width;
+
+        Dimensions fixedOrientation = Component.getFixedOrientation(
+                _woodPiece.getDimensions(), _woodPiece.getOrientation());
+
+        height = fixedOrientation.getActualHeight();
+        depth = fixedOrientation.getActualDepth();
+        width = fixedOrientation.getActualWidth();
+
+        WoodPiece fixedPosition = Component.getFixedPosition(_woodPiece, fixedOrientation);
+
+        xPos = fixedPosition.getCentralX() - (width / 2);
+        yPos = fixedPosition.getCentralY() - (height / 2);
+        zPos = fixedPosition.getCentralZ() - (depth / 2);
+
+        Color color = patioController.getColor(_woodPiece.getOrientation());
+        int red = (color.getRed() / 255) * 15;
+        int green = (color.getGreen() / 255) * 15;
+        int blue = (color.getBlue() / 255) * 15;
+        int rgb = (red << 10) | (green << 5) | blue;
+
+        _byteBuffer.putFloat(0).putFloat(0).putFloat(1);
+        _byteBuffer.putFloat(xPos).putFloat(yPos).putFloat(zPos);
+        _byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat(zPos);
+        _byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat(zPos);
+        _byteBuffer.putShort((short) rgb);
+        _byteBuffer.putFloat(0).putFloat(0).putFloat(1);
+        _byteBuffer.putFloat(xPos).putFloat(yPos).putFloat(zPos);
+        _byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat(zPos);
+        _byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat(zPos);
+        _byteBuffer.putShort((short) rgb);
+
+        _byteBuffer.putFloat(0).putFloat(0).putFloat(-1);
+        _byteBuffer.putFloat(xPos).putFloat(yPos).putFloat((zPos + depth));
+        _byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat((zPos + depth));
+        _byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat((zPos + depth));
+        _byteBuffer.putShort((short) rgb);
+        _byteBuffer.putFloat(0).putFloat(0).putFloat(-1);
+        _byteBuffer.putFloat(xPos).putFloat(yPos).putFloat((zPos + depth));
+        _byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat((zPos + depth));
+        _byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat((zPos + depth));
+        _byteBuffer.putShort((short) rgb);
+
+        _byteBuffer.putFloat(0).putFloat(1).putFloat(0);
+        _byteBuffer.putFloat(xPos).putFloat(yPos).putFloat(zPos);
+        _byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat((zPos + depth));
+        _byteBuffer.putFloat(xPos).putFloat(yPos).putFloat((zPos + depth));
+        _byteBuffer.putShort((short) rgb);
+        _byteBuffer.putFloat(0).putFloat(1).putFloat(0);
+        _byteBuffer.putFloat(xPos).putFloat(yPos).putFloat(zPos);
+        _byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat(zPos);
+        _byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat((zPos + depth));
+        _byteBuffer.putShort((short) rgb);
+
+        _byteBuffer.putFloat(0).putFloat(-1).putFloat(0);
+        _byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat(zPos);
+        _byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat((zPos + depth));
+        _byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat((zPos + depth));
+        _byteBuffer.putShort((short) rgb);
+        _byteBuffer.putFloat(0).putFloat(-1).putFloat(0);
+        _byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat(zPos);
+        _byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat((zPos + depth));
+        _byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat(zPos);
+        _byteBuffer.putShort((short) rgb);
+
+        _byteBuffer.putFloat(1).putFloat(0).putFloat(0);
+        _byteBuffer.putFloat(xPos).putFloat(yPos).putFloat(zPos);
+        _byteBuffer.putFloat(xPos).putFloat(yPos).putFloat((zPos + depth));
+        _byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat((zPos + depth));
+        _byteBuffer.putShort((short) rgb);
+        _byteBuffer.putFloat(1).putFloat(0).putFloat(0);
+        _byteBuffer.putFloat(xPos).putFloat(yPos).putFloat(zPos);
+        _byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat((zPos + depth));
+        _byteBuffer.putFloat(xPos).putFloat((yPos + height)).putFloat(zPos);
+        _byteBuffer.putShort((short) rgb);
+
+        _byteBuffer.putFloat(-1).putFloat(0).putFloat(0);
+        _byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat(zPos);
+        _byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat((zPos + depth));
+        _byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat((zPos + depth));
+        _byteBuffer.putShort((short) rgb);
+        _byteBuffer.putFloat(-1).putFloat(0).putFloat(0);
+        _byteBuffer.putFloat((xPos + width)).putFloat(yPos).putFloat(zPos);
+        _byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat(zPos);
+        _byteBuffer.putFloat((xPos + width)).putFloat((yPos + height)).putFloat((zPos + depth));
+        _byteBuffer.putShort((short) rgb);
+    }
+
     /**
      * Export an image in JPG or PNG according to user choice.
      *
@@ -0,0 +1,73 @@
+package ca.ulaval.glo2004.utils;
+
+/**
+ * Computes 64-bit FNV-1a fingerprints. A fingerprint starts at OFFSET_BASIS, and every value is added to it in turn,
+ * so two fingerprints are equal when the same values were added in the same order.
+ */
+public class Fingerprint {
+    /**
+     * The fingerprint of no value
+     */
+    public static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    private Fingerprint() {
+    }
+
+    /**
+     * Adds the four bytes of an integer to a fingerprint
+     *
+     * @param _fingerprint The fingerprint of the previous values
+     * @param _value       The value to add
+     * @return The fingerprint with the value
+     */
+    public static long add(long _fingerprint, int _value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            _fingerprint ^= (_value >>> shift) & 0xff;
+            _fingerprint *= PRIME;
+        }
+
+        return _fingerprint;
+    }
+
+    /**
+     * Adds the bits of a float to a fingerprint
+     *
+     * @param _fingerprint The fingerprint of the previous values
+     * @param _value       The value to add
+     * @return The fingerprint with the value
+     */
+    public static long add(long _fingerprint, float _value) {
+        return add(_fingerprint, Float.floatToIntBits(_value));
+    }
+
+    /**
+     * Adds the characters of a string to a fingerprint
+     *
+     * @param _fingerprint The fingerprint of the previous values
+     * @param _value       The value to add
+     * @return The fingerprint with the value
+     */
+    public static long add(long _fingerprint, String _value) {
+        for (int idxChar = 0; idxChar < _value.length(); idxChar++) {
+            _fingerprint = add(_fingerprint, (int) _value.charAt(idxChar));
+        }
+
+        return _fingerprint;
+    }
+
+    /**
+     * Adds the actual width, height and depth of dimensions to a fingerprint
+     *
+     * @param _fingerprint The fingerprint of the previous values
+     * @param _dimensions  The dimensions to add
+     * @return The fingerprint with the dimensions
+     */
+    public static long add(long _fingerprint, Dimensions _dimensions) {
+        _fingerprint = add(_fingerprint, _dimensions.getActualWidth());
+        _fingerprint = add(_fingerprint, _dimensions.getActualHeight());
+
+        return add(_fingerprint, _dimensions.getActualDepth());
+    }
+}
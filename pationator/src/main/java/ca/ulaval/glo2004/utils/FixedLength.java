@@ -0,0 +1,46 @@
+package ca.ulaval.glo2004.utils;
+
+/**
+ * Converts lengths to a fixed-point representation, a count of 1/64 inch stored in a long. Lengths compared in this
+ * representation are equal when they round to the same 1/64 inch, so the float rounding of the generation cannot
+ * split lengths that should match, and they can be used as primitive map keys.
+ */
+public class FixedLength {
+    /**
+     * The number of fixed-point units in an inch.
+     */
+    public static final int UNITS_PER_INCH = 64;
+
+    private FixedLength() {
+    }
+
+    /**
+     * Get the fixed-point length of an inches value, rounded to the nearest 1/64 inch.
+     *
+     * @param _inches Value in inches.
+     * @return Number of 1/64 inch.
+     */
+    public static long fromInches(float _inches) {
+        return Math.round((double) _inches * UNITS_PER_INCH);
+    }
+
+    /**
+     * Get the inches value of a fixed-point length.
+     *
+     * @param _fixedLength Number of 1/64 inch.
+     * @return Value in inches.
+     */
+    public static float toInches(long _fixedLength) {
+        return (float) _fixedLength / UNITS_PER_INCH;
+    }
+
+    /**
+     * Get the feet value of a fixed-point length.
+     *
+     * @param _fixedLength Number of 1/64 inch.
+     * @return Value in feet.
+     */
+    public static float toFeet(long _fixedLength) {
+        return Conversion.inchesToFeet(toInches(_fixedLength));
+    }
+}
@@ -0,0 +1,148 @@
+package ca.ulaval.glo2004.utils;
+
+import java.util.Arrays;
+
+/**
+ * Maps long keys to int values without boxing them. The entries are stored in insertion order and are found with an
+ * open addressing table of entry indices, so the map can be traversed by index in the order the keys were added.
+ */
+public class LongIntMap {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int NO_ENTRY = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int[] table;
+    private int size;
+
+    /**
+     * The LongIntMap constructor.
+     */
+    public LongIntMap() {
+        keys = new long[DEFAULT_CAPACITY];
+        values = new int[DEFAULT_CAPACITY];
+        table = new int[DEFAULT_CAPACITY * 2];
+        Arrays.fill(table, NO_ENTRY);
+    }
+
+    /**
+     * Get the value of a key.
+     *
+     * @param _key          Key to look up.
+     * @param _defaultValue Value returned if the key is not in the map.
+     * @return The value of the key, or the default value.
+     */
+    public int get(long _key, int _defaultValue) {
+        int idxEntry = table[findSlot(_key)];
+
+        return idxEntry != NO_ENTRY ? values[idxEntry] : _defaultValue;
+    }
+
+    /**
+     * Add an amount to the value of a key. A key that is not in the map is added with the amount as its value.
+     *
+     * @param _key    Key to update.
+     * @param _amount Amount to add.
+     * @return The new value of the key.
+     */
+    public int add(long _key, int _amount) {
+        int slot = findSlot(_key);
+        int idxEntry = table[slot];
+
+        if (idxEntry != NO_ENTRY) {
+            values[idxEntry] += _amount;
+            return values[idxEntry];
+        }
+
+        if (size == keys.length) {
+            grow();
+            slot = findSlot(_key);
+        }
+
+        keys[size] = _key;
+        values[size] = _amount;
+        table[slot] = size++;
+
+        return _amount;
+    }
+
+    /**
+     * Get the number of keys in the map.
+     *
+     * @return The number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get a key by its insertion index.
+     *
+     * @param _idxEntry Insertion index, lower than size().
+     * @return The key added at this index.
+     */
+    public long keyAt(int _idxEntry) {
+        return keys[_idxEntry];
+    }
+
+    /**
+     * Get a value by its insertion index.
+     *
+     * @param _idxEntry Insertion index, lower than size().
+     * @return The value of the key added at this index.
+     */
+    public int valueAt(int _idxEntry) {
+        return values[_idxEntry];
+    }
+
+    /**
+     * Remove every key, keeping the allocated capacity.
+     */
+    public void clear() {
+        Arrays.fill(table, NO_ENTRY);
+        size = 0;
+    }
+
+    /**
+     * Find the table slot of a key, or the empty slot where it would be added.
+     *
+     * @param _key Key to look up.
+     * @return The slot index in the table.
+     */
+    private int findSlot(long _key) {
+        int mask = table.length - 1;
+        int slot = hash(_key) & mask;
+
+        while (table[slot] != NO_ENTRY && keys[table[slot]] != _key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Double the capacity of the map and index the entries again.
+     */
+    private void grow() {
+        keys = Arrays.copyOf(keys, keys.length * 2);
+        values = Arrays.copyOf(values, values.length * 2);
+        table = new int[table.length * 2];
+        Arrays.fill(table, NO_ENTRY);
+
+        for (int idxEntry = 0; idxEntry < size; idxEntry++) {
+            table[findSlot(keys[idxEntry])] = idxEntry;
+        }
+    }
+
+    /**
+     * Spread the bits of a key, so close keys do not fill neighbouring slots.
+     *
+     * @param _key Key to hash.
+     * @return The hash of the key.
+     */
+    private static int hash(long _key) {
+        long hash = _key * 0x9E3779B97F4A7C15L;
+
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
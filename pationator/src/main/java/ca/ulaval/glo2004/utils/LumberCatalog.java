@@ -0,0 +1,338 @@
+package ca.ulaval.glo2004.utils;
+
+import ca.ulaval.glo2004.patio.ComponentType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contains the lumbers used in Pationator. Every lumber has a dense integer ID, with its actual, nominal and metric
+ * sizes computed once, so the patio, the optimizer and the pricing never have to parse lumber dimensions strings. The
+ * strings are only built for display. The lumbers of LumberDimension.getPossibility() always have the IDs 0 to
+ * NB_STANDARD_LUMBERS - 1, in the same order. Other sizes seen on wood pieces get the next IDs.
+ */
+public class LumberCatalog {
+    /**
+     * The number of lumbers sold in Pationator
+     */
+    public static final int NB_STANDARD_LUMBERS = 8;
+
+    private static final float[][] STANDARD_NOMINAL_SIZES = {
+            {2f, 4f}, {2f, 6f}, {2f, 8f}, {2f, 10f}, {2f, 12f}, {4f, 4f}, {1.25f, 6f}, {6f, 6f}
+    };
+    private static final int[] JOIST_LUMBER_IDS = {0, 1, 2, 3, 4};
+    private static final int[] BEAM_LUMBER_IDS = {1, 2, 3, 4};
+    private static final int[] POST_LUMBER_IDS = {5, 7};
+    private static final int[] COVERING_PLANK_LUMBER_IDS = {1, 6};
+    private static final int[] NO_LUMBER_IDS = {};
+
+    private static final LumberCatalog instance = new LumberCatalog();
+
+    private final ConcurrentHashMap<Long, Integer> idsPerActualSize;
+    private final HashMap<String, Integer> idsPerName;
+    private final ArrayList<String> names;
+    private final ArrayList<String> realNames;
+    private final ArrayList<String> metricNames;
+    private volatile float[] actualHeights;
+    private volatile float[] actualWidths;
+    private volatile float[] nominalHeights;
+    private volatile float[] nominalWidths;
+    private volatile float[] metricHeights;
+    private volatile float[] metricWidths;
+
+    /**
+     * The LumberCatalog constructor. It assigns the IDs of the standard lumbers.
+     */
+    private LumberCatalog() {
+        idsPerActualSize = new ConcurrentHashMap<>();
+        idsPerName = new HashMap<>();
+        names = new ArrayList<>();
+        realNames = new ArrayList<>();
+        metricNames = new ArrayList<>();
+        actualHeights = new float[0];
+        actualWidths = new float[0];
+        nominalHeights = new float[0];
+        nominalWidths = new float[0];
+        metricHeights = new float[0];
+        metricWidths = new float[0];
+
+        for (float[] nominalSize : STANDARD_NOMINAL_SIZES) {
+            getLumberId(Conversion.getActualInchesFromNominal(nominalSize[0]),
+                    Conversion.getActualInchesFromNominal(nominalSize[1]));
+        }
+    }
+
+    /**
+     * Obtains the instance of the LumberCatalog singleton. It is created eagerly, because the wood pieces ask for it
+     * from the generation threads
+     *
+     * @return The instance of the LumberCatalog singleton.
+     */
+    public static LumberCatalog getInstance() {
+        return instance;
+    }
+
+    /**
+     * Obtains the ID of the lumber a wood piece is bought in.
+     *
+     * @param _actualHeight Buying height of the wood piece in actual inches.
+     * @param _actualWidth  Buying width of the wood piece in actual inches.
+     * @return The lumber ID, shared by every actual size having the same lumber dimensions.
+     */
+    public int getLumberId(float _actualHeight, float _actualWidth) {
+        long actualSize = ((long) Float.floatToIntBits(_actualHeight) << 32) |
+                (Float.floatToIntBits(_actualWidth) & 0xffffffffL);
+        Integer lumberId = idsPerActualSize.get(actualSize);
+
+        if (lumberId == null) {
+            lumberId = internLumber(actualSize, _actualHeight, _actualWidth);
+        }
+
+        return lumberId;
+    }
+
+    /**
+     * Obtains the ID of a lumber from its nominal lumber dimensions.
+     *
+     * @param _lumberDimensions String of the lumber dimensions in format 'height" x width"'.
+     * @return The lumber ID, or -1 if no wood piece was ever bought in these lumber dimensions.
+     */
+    public synchronized int getLumberId(String _lumberDimensions) {
+        Integer lumberId = idsPerName.get(_lumberDimensions);
+
+        return lumberId != null ? lumberId : -1;
+    }
+
+    /**
+     * Obtains the number of lumbers available for a component type.
+     *
+     * @param _componentType Component type.
+     * @return The number of lumbers a component of this type can be built with.
+     */
+    public int getLumberCount(ComponentType _componentType) {
+        return getLumberIds(_componentType).length;
+    }
+
+    /**
+     * Obtains the ID of a lumber available for a component type, in the order of LumberDimension.getPossibility().
+     *
+     * @param _componentType Component type.
+     * @param _index         Index of the lumber, lower than getLumberCount(_componentType).
+     * @return The lumber ID.
+     */
+    public int getLumberId(ComponentType _componentType, int _index) {
+        return getLumberIds(_componentType)[_index];
+    }
+
+    /**
+     * Obtains the IDs of the lumbers available for a component type.
+     *
+     * @param _componentType Component type.
+     * @return The lumber IDs. The array is shared and must not be modified.
+     */
+    private static int[] getLumberIds(ComponentType _componentType) {
+        switch (_componentType) {
+            case JOIST:
+                return JOIST_LUMBER_IDS;
+            case BEAM:
+                return BEAM_LUMBER_IDS;
+            case POST:
+                return POST_LUMBER_IDS;
+            case COVERING_PLANK:
+                return COVERING_PLANK_LUMBER_IDS;
+            default:
+                return NO_LUMBER_IDS;
+        }
+    }
+
+    /**
+     * Assigns an ID to a lumber actual size seen for the first time, and computes its sizes and names.
+     *
+     * @param _actualSize   Key of the actual size.
+     * @param _actualHeight Buying height in actual inches.
+     * @param _actualWidth  Buying width in actual inches.
+     * @return The lumber ID.
+     */
+    private synchronized int internLumber(long _actualSize, float _actualHeight, float _actualWidth) {
+        Integer lumberId = idsPerActualSize.get(_actualSize);
+        if (lumberId != null) {
+            return lumberId;
+        }
+
+        float nominalHeight = Conversion.getNominalFromActualInches(_actualHeight);
+        float nominalWidth = Conversion.getNominalFromActualInches(_actualWidth);
+        String name = LumberDimension.formatToImperialLumberDimensions(new Fraction(nominalHeight).toString(),
+                new Fraction(nominalWidth).toString());
+
+        lumberId = idsPerName.get(name);
+        if (lumberId == null) {
+            lumberId = names.size();
+
+            float metricHeight = Conversion.getMillimeterFromNominal(nominalHeight);
+            float metricWidth = Conversion.getMillimeterFromNominal(nominalWidth);
+
+            names.add(name);
+            realNames.add(LumberDimension.formatToImperialLumberDimensions(new Fraction(_actualHeight).toString(),
+                    new Fraction(_actualWidth).toString()));
+            metricNames.add((int) metricHeight + " x " + (int) metricWidth + " mm");
+
+            actualHeights = append(actualHeights, _actualHeight);
+            actualWidths = append(actualWidths, _actualWidth);
+            nominalHeights = append(nominalHeights, nominalHeight);
+            nominalWidths = append(nominalWidths, nominalWidth);
+            metricHeights = append(metricHeights, metricHeight);
+            metricWidths = append(metricWidths, metricWidth);
+
+            idsPerName.put(name, lumberId);
+        }
+
+        idsPerActualSize.put(_actualSize, lumberId);
+
+        return lumberId;
+    }
+
+    /**
+     * Copies a size table with one more lumber. The readers keep using the previous table until the new one is set.
+     *
+     * @param _sizes The sizes of the lumbers already in the catalog.
+     * @param _size  The size of the new lumber.
+     * @return The new size table.
+     */
+    private static float[] append(float[] _sizes, float _size) {
+        float[] sizes = Arrays.copyOf(_sizes, _sizes.length + 1);
+        sizes[_sizes.length] = _size;
+
+        return sizes;
+    }
+
+    /**
+     * Obtains the lumber dimensions of a lumber ID, as displayed to the user.
+     *
+     * @param _lumberId Lumber ID.
+     * @return String of the lumber dimensions in format 'height" x width"'.
+     */
+    public synchronized String getLumberName(int _lumberId) {
+        return names.get(_lumberId);
+    }
+
+    /**
+     * Obtains the actual dimensions of a lumber ID, as displayed to the user.
+     *
+     * @param _lumberId Lumber ID.
+     * @return String of the actual dimensions in format 'height" x width"'.
+     */
+    public synchronized String getRealLumberName(int _lumberId) {
+        return realNames.get(_lumberId);
+    }
+
+    /**
+     * Obtains the metric dimensions of a lumber ID, as displayed to the user.
+     *
+     * @param _lumberId Lumber ID.
+     * @return String of the metric dimensions in format 'height x width mm'.
+     */
+    public synchronized String getMetricLumberName(int _lumberId) {
+        return metricNames.get(_lumberId);
+    }
+
+    /**
+     * Obtains the actual height of a lumber.
+     *
+     * @param _lumberId Lumber ID.
+     * @return The height in actual inches.
+     */
+    public float getActualHeight(int _lumberId) {
+        return actualHeights[_lumberId];
+    }
+
+    /**
+     * Obtains the actual width of a lumber.
+     *
+     * @param _lumberId Lumber ID.
+     * @return The width in actual inches.
+     */
+    public float getActualWidth(int _lumberId) {
+        return actualWidths[_lumberId];
+    }
+
+    /**
+     * Obtains the nominal height of a lumber.
+     *
+     * @param _lumberId Lumber ID.
+     * @return The height in nominal inches.
+     */
+    public float getNominalHeight(int _lumberId) {
+        return nominalHeights[_lumberId];
+    }
+
+    /**
+     * Obtains the nominal width of a lumber.
+     *
+     * @param _lumberId Lumber ID.
+     * @return The width in nominal inches.
+     */
+    public float getNominalWidth(int _lumberId) {
+        return nominalWidths[_lumberId];
+    }
+
+    /**
+     * Obtains the metric height of a lumber.
+     *
+     * @param _lumberId Lumber ID.
+     * @return The height in millimeters.
+     */
+    public float getMetricHeight(int _lumberId) {
+        return metricHeights[_lumberId];
+    }
+
+    /**
+     * Obtains the metric width of a lumber.
+     *
+     * @param _lumberId Lumber ID.
+     * @return The width in millimeters.
+     */
+    public float getMetricWidth(int _lumberId) {
+        return metricWidths[_lumberId];
+    }
+
+    /**
+     * Obtains a fingerprint of the lumbers sold in Pationator: their names, their actual and nominal sizes, and the
+     * lumbers available for every component type. It changes whenever the catalog is modified, so the results computed
+     * with another catalog can be recognized
+     *
+     * @return The 64-bit fingerprint of the standard lumbers
+     */
+    public long getFingerprint() {
+        long fingerprint = Fingerprint.OFFSET_BASIS;
+
+        for (int lumberId = 0; lumberId < NB_STANDARD_LUMBERS; lumberId++) {
+            fingerprint = Fingerprint.add(fingerprint, getLumberName(lumberId));
+            fingerprint = Fingerprint.add(fingerprint, getActualHeight(lumberId));
+            fingerprint = Fingerprint.add(fingerprint, getActualWidth(lumberId));
+            fingerprint = Fingerprint.add(fingerprint, getNominalHeight(lumberId));
+            fingerprint = Fingerprint.add(fingerprint, getNominalWidth(lumberId));
+        }
+
+        for (ComponentType componentType : ComponentType.values()) {
+            int[] lumberIds = getLumberIds(componentType);
+
+            fingerprint = Fingerprint.add(fingerprint, lumberIds.length);
+            for (int lumberId : lumberIds) {
+                fingerprint = Fingerprint.add(fingerprint, lumberId);
+            }
+        }
+
+        return fingerprint;
+    }
+
+    /**
+     * Obtains the number of lumber IDs assigned so far. Every ID is lower than this number.
+     *
+     * @return The number of interned lumbers.
+     */
+    public synchronized int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,5 @@
+package ca.ulaval.glo2004.utils;
+
+public interface OptimalPatioAtlasProgressListener {
+    void onOptimalPatioAtlasProgress(int _nbSearchedCells, int _nbCells);
+}
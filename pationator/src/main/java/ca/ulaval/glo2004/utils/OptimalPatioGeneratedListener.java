@@ -0,0 +1,7 @@
+package ca.ulaval.glo2004.utils;
+
+import ca.ulaval.glo2004.patio.OptimalPatioSearchOutcome;
+
+public interface OptimalPatioGeneratedListener {
+    void onOptimalPatioGenerated(OptimalPatioSearchOutcome _outcome);
+}
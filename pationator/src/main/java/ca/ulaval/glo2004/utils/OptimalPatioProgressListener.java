@@ -0,0 +1,5 @@
+package ca.ulaval.glo2004.utils;
+
+public interface OptimalPatioProgressListener {
+    void onOptimalPatioProgress(int _nbEvaluatedCandidates, float _bestPrice);
+}
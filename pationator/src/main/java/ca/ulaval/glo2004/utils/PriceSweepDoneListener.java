@@ -0,0 +1,7 @@
+package ca.ulaval.glo2004.utils;
+
+import ca.ulaval.glo2004.patio.PriceSweep;
+
+public interface PriceSweepDoneListener {
+    void onPriceSweepDone(PriceSweep _priceSweep);
+}
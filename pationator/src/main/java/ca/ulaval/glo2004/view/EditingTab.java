@@ -2,6 +2,7 @@ package ca.ulaval.glo2004.view;
 
 import ca.ulaval.glo2004.patio.ComponentType;
 import ca.ulaval.glo2004.patio.MeasureUnit;
+import ca.ulaval.glo2004.patio.OptimalPatioSearchOutcome;
 import ca.ulaval.glo2004.patio.PatioInfo;
 import ca.ulaval.glo2004.patio.ValidationErrorType;
 import ca.ulaval.glo2004.utils.*;
@@ -21,7 +22,8 @@ import java.util.HashSet;
  * TabsContent showing the dimension and specification of the patio component.
  */
 public class EditingTab extends TabsContent implements ItemListener, ErrorsFoundListener, NoErrorsFoundListener,
-        UndoActivatedListener, RedoActivatedListener, Scrollable {
+        UndoActivatedListener, RedoActivatedListener, OptimalPatioProgressListener, OptimalPatioGeneratedListener,
+        Scrollable {
     private static final String VALIDATION_ERROR_SUFFIX = "_ERROR";
 
     private final JPanel cardOptimalForm;
@@ -54,6 +56,9 @@ public class EditingTab extends TabsContent implements ItemListener, ErrorsFound
     private JSpinner postsPerBeam;
     private JTextArea notOpErrorTextArea;
     private JTextArea opErrorTextArea;
+    private JSpinner optimalTimeBudget;
+    private JButton generateOptimalPatioButton;
+    private JLabel optimalProgressLabel;
 
     private double beamLengthValue;
     private double cantileverLengthValue;
@@ -72,6 +77,7 @@ public class EditingTab extends TabsContent implements ItemListener, ErrorsFound
     private String[] postDimensionPossibility;
 
     private PatioInfo previousPatioState;
+    private PatioInfo patioStateBeforeOptimalPatio;
     private boolean undoActivated = false;
     private boolean redoActivated = false;
 
@@ -87,6 +93,8 @@ public class EditingTab extends TabsContent implements ItemListener, ErrorsFound
         patioController.getPatio().addNoErrorsFoundListener(this);
         patioController.addUndoActivatedListener(this);
         patioController.addRedoActivatedListener(this);
+        patioController.addOptimalPatioProgressListener(this);
+        patioController.addOptimalPatioGeneratedListener(this);
         previousPatioState = new PatioInfo(patioController.getPatio().getPatioInfo());
         isOptimalMode = _isOptimalMode;
 
@@ -154,6 +162,8 @@ public class EditingTab extends TabsContent implements ItemListener, ErrorsFound
             }
         });
         spinnerModel.put("pliesPerBeam", pliesPerBeam);
+
+        spinnerModel.put("optimalTimeBudget", new SpinnerNumberModel(0, 0, 600, 5));
     }
 
     /**
@@ -166,6 +176,8 @@ public class EditingTab extends TabsContent implements ItemListener, ErrorsFound
         beamLength = new JTextField();
         pliesPerBeam = new JSpinner(spinnerModel.get("pliesPerBeam"));
         postsPerBeam = new JSpinner(spinnerModel.get("postPerBeam"));
+        optimalTimeBudget = new JSpinner(spinnerModel.get("optimalTimeBudget"));
+        optimalProgressLabel = new JLabel(" ");
         postHeight = new JTextField();
 
         opPatioWidth = new JTextField();
@@ -231,16 +243,28 @@ public class EditingTab extends TabsContent implements ItemListener, ErrorsFound
         addComponent(optimalForm, new JLabel(LocaleText.getString("COVERING_SPACING_LABEL")), opCoveringSpacing);
         addSeparator(optimalForm);
 
-        JButton generateOptimalPatioButton = new JButton(LocaleText.getString("GENERATE_OPTIMAL_PATIO_BUTTON"));
+        addComponent(optimalForm, new JLabel(LocaleText.getString("OPTIMAL_PATIO_TIME_BUDGET_LABEL")),
+                optimalTimeBudget);
+        addSeparator(optimalForm);
+
+        generateOptimalPatioButton = new JButton(LocaleText.getString("GENERATE_OPTIMAL_PATIO_BUTTON"));
         generateOptimalPatioButton.addActionListener(new ActionListener() {
             public void actionPerformed(ActionEvent e) {
-                if (!redoActivated && !undoActivated)
-                    patioController.addPatioState();
-                patioController.generateOptimalPatio();
-                patioController.updateTabsContent();
+                if (patioController.isGeneratingOptimalPatio()) {
+                    patioController.cancelOptimalPatioGeneration();
+                    return;
+                }
+
+                // The undo state is only added when the search is done, since a cancelled search keeps the patio
+                patioStateBeforeOptimalPatio = !redoActivated && !undoActivated ?
+                        new PatioInfo(patioController.getPatio().getPatioInfo()) : null;
+                generateOptimalPatioButton.setText(LocaleText.getString("CANCEL_OPTIMAL_PATIO_BUTTON"));
+                optimalProgressLabel.setText(" ");
+                patioController.generateOptimalPatioInBackground((int) optimalTimeBudget.getValue());
             }
         });
         addButton(optimalForm, generateOptimalPatioButton);
+        addLabel(optimalForm, optimalProgressLabel);
         addSeparator(optimalForm);
 
         addTextArea(optimalForm, opErrorTextArea);
@@ -452,6 +476,8 @@ public class EditingTab extends TabsContent implements ItemListener, ErrorsFound
                     patioWidthValue = newValue;
                     notOpPatioWidth.setText(opPatioWidth.getText());
                     patioController.setPatioWidth(newValue);
+                    if (isOptimalMode)
+                        patioController.suggestOptimalPatio();
                 }
             }
         });
@@ -475,6 +501,8 @@ public class EditingTab extends TabsContent implements ItemListener, ErrorsFound
                     patioLengthValue = newValue;
                     notOpPatioLength.setText(opPatioLength.getText());
                     patioController.setPatioLength(newValue);
+                    if (isOptimalMode)
+                        patioController.suggestOptimalPatio();
                 }
             }
         });
@@ -499,6 +527,8 @@ public class EditingTab extends TabsContent implements ItemListener, ErrorsFound
                     patioHeightValue = newValue;
                     notOpPatioHeight.setText(opPatioHeight.getText());
                     patioController.setPatioHeight(newValue);
+                    if (isOptimalMode)
+                        patioController.suggestOptimalPatio();
                 }
             }
         });
@@ -1205,6 +1235,7 @@ public class EditingTab extends TabsContent implements ItemListener, ErrorsFound
     public void itemStateChanged(ItemEvent _itemEvent) {
         AbstractButton tgbOptimalCost = (AbstractButton) (_itemEvent.getSource());
 
+        patioController.cancelOptimalPatioGeneration();
         isOptimalMode = tgbOptimalCost.isSelected();
         patioController.setIsOptimalMode();
         patioController.updateTabsContent();
@@ -1260,6 +1291,48 @@ public class EditingTab extends TabsContent implements ItemListener, ErrorsFound
         opErrorTextArea.setText(LocaleText.getString("NO_ERROR"));
     }
 
+    /**
+     * Behavior when the optimal patio search progresses.
+     *
+     * @param _nbEvaluatedCandidates Number of configurations evaluated so far.
+     * @param _bestPrice             Price of the cheapest patio found so far.
+     */
+    @Override
+    public void onOptimalPatioProgress(int _nbEvaluatedCandidates, float _bestPrice) {
+        String progressText = LocaleText.getString("OPTIMAL_PATIO_EVALUATED_LABEL") + " " + _nbEvaluatedCandidates;
+        if (_bestPrice != Float.MAX_VALUE)
+            progressText += "   " + LocaleText.getString("OPTIMAL_PATIO_BEST_PRICE_LABEL") + " " +
+                    String.format("%.2f", _bestPrice) + "$";
+
+        optimalProgressLabel.setText(progressText);
+    }
+
+    /**
+     * Behavior when the optimal patio search is done.
+     *
+     * @param _outcome How the search ended, and whether its result was applied.
+     */
+    @Override
+    public void onOptimalPatioGenerated(OptimalPatioSearchOutcome _outcome) {
+        generateOptimalPatioButton.setText(LocaleText.getString("GENERATE_OPTIMAL_PATIO_BUTTON"));
+
+        switch (_outcome) {
+            case CANCELLED:
+                optimalProgressLabel.setText(LocaleText.getString("OPTIMAL_PATIO_CANCELLED_LABEL"));
+                return;
+            case OUTDATED:
+                optimalProgressLabel.setText(LocaleText.getString("OPTIMAL_PATIO_OUTDATED_LABEL"));
+                return;
+            case FAILED:
+                optimalProgressLabel.setText(LocaleText.getString("OPTIMAL_PATIO_FAILED_LABEL"));
+                return;
+        }
+
+        if (patioStateBeforeOptimalPatio != null)
+            patioController.addPatioState(patioStateBeforeOptimalPatio);
+        patioController.updateTabsContent();
+    }
+
     /**
      * Get an error message corresponding a validation type error.
      *
@@ -9,7 +9,6 @@ import ca.ulaval.glo2004.utils.LocaleText;
 import javax.swing.*;
 import java.awt.*;
 import java.text.NumberFormat;
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 
@@ -53,9 +52,9 @@ public class MaterialTab extends TabsContent {
         materialTextZone.setText("");
         boolean addSpace = false;
 
-        HashMap<String, HashMap<Float, Integer>> piecesQuantities = patioController.getPatio().getPiecesQuantities();
-        for (Map.Entry<String, HashMap<Float, Integer>> lumberDimensionQuantity : piecesQuantities.entrySet()) {
-            HashMap<Float, Integer> quantitiesPerDepth = lumberDimensionQuantity.getValue();
+        Map<String, Map<Float, Integer>> piecesQuantities = patioController.getPatio().getSnapshot().getPiecesQuantities();
+        for (Map.Entry<String, Map<Float, Integer>> lumberDimensionQuantity : piecesQuantities.entrySet()) {
+            Map<Float, Integer> quantitiesPerDepth = lumberDimensionQuantity.getValue();
             for (Map.Entry<Float, Integer> quantity : quantitiesPerDepth.entrySet()) {
                 String woodPieceText = quantity.getValue() > 1 ? LocaleText.getString("WOOD_PIECES") : LocaleText.getString("WOOD_PIECE");
 
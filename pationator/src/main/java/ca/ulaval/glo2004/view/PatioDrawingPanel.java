@@ -493,7 +493,7 @@ public class PatioDrawingPanel extends JPanel implements ComponentListener, Seri
         protected void paintComponent(Graphics _graphics) {
             super.paintComponent(_graphics);
 
-            if (isVisible && component.isVisible()) {
+            if (isVisible && patioController.getVisibility(woodPiece.getOrientation())) {
                 String tooltipText = getComponentInformationString();
 
                 int rectWidth = 250, rectHeight = 150;
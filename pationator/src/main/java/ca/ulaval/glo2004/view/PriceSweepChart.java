@@ -0,0 +1,200 @@
+package ca.ulaval.glo2004.view;
+
+import ca.ulaval.glo2004.patio.PatioController;
+import ca.ulaval.glo2004.patio.PriceSweep;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.text.NumberFormat;
+
+/**
+ * Chart of the price of the patio against the value of the property swept. The invalid values are drawn in red, the
+ * breakpoints where the patio becomes valid or invalid are drawn as dashed lines, and the current value as a grey line.
+ */
+public class PriceSweepChart extends JComponent {
+    private static final long serialVersionUID = 3634217163383672585L;
+
+    private static final int MARGIN = 12;
+    private static final int POINT_SIZE = 4;
+    private static final Color INVALID_COLOR = Color.RED;
+    private static final Color CURRENT_VALUE_COLOR = Color.GRAY;
+
+    private final PatioController patioController;
+    private PriceSweep priceSweep;
+    private float currentValue;
+    private String message;
+
+    /**
+     * Create an empty chart.
+     *
+     * @param _patioController Controller formatting the values with the measure unit.
+     */
+    public PriceSweepChart(PatioController _patioController) {
+        patioController = _patioController;
+
+        setPreferredSize(new Dimension(240, 160));
+        setToolTipText("");
+    }
+
+    /**
+     * Show the result of a price sweep.
+     *
+     * @param _priceSweep   Price and validity of every value swept.
+     * @param _currentValue Value of the property in the current patio, in inches.
+     */
+    public void setPriceSweep(PriceSweep _priceSweep, float _currentValue) {
+        priceSweep = _priceSweep;
+        currentValue = _currentValue;
+        message = null;
+
+        repaint();
+    }
+
+    /**
+     * Show a message instead of a price sweep, like when the sweep failed.
+     *
+     * @param _message Message centered in the chart.
+     */
+    public void showMessage(String _message) {
+        priceSweep = null;
+        message = _message;
+
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics _graphics) {
+        super.paintComponent(_graphics);
+
+        if (message != null) {
+            FontMetrics fontMetrics = _graphics.getFontMetrics();
+            _graphics.setColor(getForeground());
+            _graphics.drawString(message, (getWidth() - fontMetrics.stringWidth(message)) / 2,
+                    (getHeight() + fontMetrics.getAscent()) / 2);
+            return;
+        }
+
+        if (priceSweep == null || priceSweep.size() < 2)
+            return;
+
+        Graphics2D graphics2D = (Graphics2D) _graphics.create();
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        FontMetrics fontMetrics = graphics2D.getFontMetrics();
+        NumberFormat formatter = NumberFormat.getCurrencyInstance();
+
+        float minPrice = getMinPrice();
+        float maxPrice = getMaxPrice();
+        int chartTop = MARGIN + fontMetrics.getHeight();
+        int chartBottom = getHeight() - MARGIN - fontMetrics.getHeight();
+
+        graphics2D.setColor(getForeground());
+        graphics2D.drawLine(MARGIN, chartBottom, getWidth() - MARGIN, chartBottom);
+        graphics2D.drawString(formatter.format(maxPrice), MARGIN, MARGIN + fontMetrics.getAscent());
+        graphics2D.drawString(formatter.format(minPrice), MARGIN, chartBottom - fontMetrics.getDescent());
+
+        String firstValue = patioController.getValueWithMeasureUnit(priceSweep.getValue(0));
+        String lastValue = patioController.getValueWithMeasureUnit(priceSweep.getValue(priceSweep.size() - 1));
+        graphics2D.drawString(firstValue, MARGIN, getHeight() - MARGIN);
+        graphics2D.drawString(lastValue, getWidth() - MARGIN - fontMetrics.stringWidth(lastValue),
+                getHeight() - MARGIN);
+
+        graphics2D.setColor(CURRENT_VALUE_COLOR);
+        int currentValueX = getX(currentValue);
+        graphics2D.drawLine(currentValueX, chartTop, currentValueX, chartBottom);
+
+        graphics2D.setStroke(new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 10f,
+                new float[]{4f, 4f}, 0f));
+        graphics2D.setColor(INVALID_COLOR);
+        for (int breakpoint : priceSweep.getBreakpoints()) {
+            int breakpointX = getX(priceSweep.getValue(breakpoint));
+            graphics2D.drawLine(breakpointX, chartTop, breakpointX, chartBottom);
+        }
+
+        graphics2D.setStroke(new BasicStroke(1.5f));
+        int previousX = 0;
+        int previousY = 0;
+        for (int idxSample = 0; idxSample < priceSweep.size(); idxSample++) {
+            int x = getX(priceSweep.getValue(idxSample));
+            int y = getY(priceSweep.getPrice(idxSample), minPrice, maxPrice, chartTop, chartBottom);
+            boolean isValid = priceSweep.isValid(idxSample);
+
+            graphics2D.setColor(isValid ? getForeground() : INVALID_COLOR);
+            if (idxSample > 0)
+                graphics2D.drawLine(previousX, previousY, x, y);
+            if (!isValid)
+                graphics2D.fillOval(x - POINT_SIZE / 2, y - POINT_SIZE / 2, POINT_SIZE, POINT_SIZE);
+
+            previousX = x;
+            previousY = y;
+        }
+
+        graphics2D.dispose();
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent _event) {
+        if (priceSweep == null || priceSweep.size() < 2)
+            return null;
+
+        int closestSample = 0;
+        for (int idxSample = 1; idxSample < priceSweep.size(); idxSample++) {
+            if (Math.abs(getX(priceSweep.getValue(idxSample)) - _event.getX()) <
+                    Math.abs(getX(priceSweep.getValue(closestSample)) - _event.getX()))
+                closestSample = idxSample;
+        }
+
+        return patioController.getValueWithMeasureUnit(priceSweep.getValue(closestSample)) + " : " +
+                NumberFormat.getCurrencyInstance().format(priceSweep.getPrice(closestSample));
+    }
+
+    /**
+     * Obtain the horizontal position of a value.
+     *
+     * @param _value Value of the swept property in inches.
+     * @return Position in pixels.
+     */
+    private int getX(float _value) {
+        float fromValue = priceSweep.getValue(0);
+        float toValue = priceSweep.getValue(priceSweep.size() - 1);
+        if (toValue == fromValue)
+            return MARGIN;
+
+        return MARGIN + Math.round((getWidth() - 2 * MARGIN) * (_value - fromValue) / (toValue - fromValue));
+    }
+
+    /**
+     * Obtain the vertical position of a price.
+     *
+     * @param _price      Price to place.
+     * @param _minPrice   Price at the bottom of the chart.
+     * @param _maxPrice   Price at the top of the chart.
+     * @param _chartTop   Top of the chart in pixels.
+     * @param _chartBottom Bottom of the chart in pixels.
+     * @return Position in pixels.
+     */
+    private int getY(float _price, float _minPrice, float _maxPrice, int _chartTop, int _chartBottom) {
+        if (_maxPrice == _minPrice)
+            return (_chartTop + _chartBottom) / 2;
+
+        return _chartBottom - Math.round((_chartBottom - _chartTop) * (_price - _minPrice) / (_maxPrice - _minPrice));
+    }
+
+    private float getMinPrice() {
+        float minPrice = Float.MAX_VALUE;
+        for (int idxSample = 0; idxSample < priceSweep.size(); idxSample++) {
+            minPrice = Math.min(minPrice, priceSweep.getPrice(idxSample));
+        }
+
+        return minPrice;
+    }
+
+    private float getMaxPrice() {
+        float maxPrice = 0f;
+        for (int idxSample = 0; idxSample < priceSweep.size(); idxSample++) {
+            maxPrice = Math.max(maxPrice, priceSweep.getPrice(idxSample));
+        }
+
+        return maxPrice;
+    }
+}
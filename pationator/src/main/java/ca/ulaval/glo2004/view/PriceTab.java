@@ -1,8 +1,12 @@
 package ca.ulaval.glo2004.view;
 
 import ca.ulaval.glo2004.patio.PatioInfo;
+import ca.ulaval.glo2004.patio.PatioSnapshot;
+import ca.ulaval.glo2004.patio.PriceSweep;
+import ca.ulaval.glo2004.patio.SweepParameter;
 import ca.ulaval.glo2004.utils.LocaleText;
 import ca.ulaval.glo2004.utils.LumberDimension;
+import ca.ulaval.glo2004.utils.PriceSweepDoneListener;
 import ca.ulaval.glo2004.utils.StringValidator;
 
 import javax.swing.*;
@@ -11,17 +15,26 @@ import javax.swing.border.LineBorder;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.text.NumberFormat;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  * TabsContent showing the quantity and price of all patio components.
  */
-public class PriceTab extends TabsContent {
+public class PriceTab extends TabsContent implements PriceSweepDoneListener {
+    //The values swept go from half to one and a half times the current value
+    private static final float PRICE_SWEEP_RANGE_RATIO = 0.5f;
+    private static final int PRICE_SWEEP_SAMPLES = 41;
+    private static final String PRICE_SWEEP_LABEL_SUFFIX = "_SWEEP_LABEL";
+
     private final JTextArea currentPricesTextArea;
+    private final PriceSweepChart priceSweepChart;
+    private JComboBox<String> priceSweepParameter;
+    private JButton priceSweepButton;
     private final boolean undoActivated = false;
     private final boolean redoActivated = false;
     private JTextField[] priceTextField;
@@ -40,6 +53,8 @@ public class PriceTab extends TabsContent {
 
         currentPricesTextArea = new JTextArea();
         currentPricesTextArea.setEditable(false);
+        priceSweepChart = new PriceSweepChart(patioController);
+        patioController.addPriceSweepDoneListener(this);
 
         setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
 
@@ -53,6 +68,8 @@ public class PriceTab extends TabsContent {
         addSeparator(form);
         addSectionTitle(form, LocaleText.getString("CURRENT_PRICE"));
         addTextArea(form, currentPricesTextArea);
+        addSeparator(form);
+        addPriceSweepSection(form);
         addEndFilling(form);
         add(form);
 
@@ -133,7 +150,6 @@ public class PriceTab extends TabsContent {
                         priceTextField[index].setBorder(defaultBorder);
                         priceTextField[index].setText(String.format("%.2f", priceArray[index]) + "$");
 
-                        patioController.getPatio().calculateTotalPrice();
                         patioController.updateTabsContent();
                     }
                 }
@@ -143,6 +159,53 @@ public class PriceTab extends TabsContent {
         }
     }
 
+    /**
+     * Add the section sweeping a patio property to chart the price against its value.
+     *
+     * @param _form JPanel representing the form.
+     */
+    private void addPriceSweepSection(JPanel _form) {
+        SweepParameter[] parameters = SweepParameter.values();
+        String[] parameterLabels = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            parameterLabels[i] = LocaleText.getString(parameters[i].name() + PRICE_SWEEP_LABEL_SUFFIX);
+        }
+        priceSweepParameter = new JComboBox<>(parameterLabels);
+
+        priceSweepButton = new JButton(LocaleText.getString("PRICE_SWEEP_BUTTON"));
+        priceSweepButton.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+                SweepParameter parameter = SweepParameter.values()[priceSweepParameter.getSelectedIndex()];
+                float currentValue = patioController.getSweepValue(parameter);
+
+                priceSweepButton.setEnabled(false);
+                patioController.sweepPriceInBackground(parameter, currentValue * (1 - PRICE_SWEEP_RANGE_RATIO),
+                        currentValue * (1 + PRICE_SWEEP_RANGE_RATIO), PRICE_SWEEP_SAMPLES);
+            }
+        });
+
+        addSectionTitle(_form, LocaleText.getString("PRICE_SWEEP_SECTION_TITLE"));
+        addComponent(_form, new JLabel(LocaleText.getString("PRICE_SWEEP_PARAMETER_LABEL")), priceSweepParameter);
+        addButton(_form, priceSweepButton);
+        addChart(_form, priceSweepChart);
+    }
+
+    /**
+     * Show the price of the patio against the values swept.
+     *
+     * @param _priceSweep Price and validity of every value swept, or null if the sweep failed.
+     */
+    @Override
+    public void onPriceSweepDone(PriceSweep _priceSweep) {
+        priceSweepButton.setEnabled(true);
+        if (_priceSweep == null) {
+            priceSweepChart.showMessage(LocaleText.getString("PRICE_SWEEP_FAILED_LABEL"));
+            return;
+        }
+
+        priceSweepChart.setPriceSweep(_priceSweep, patioController.getSweepValue(_priceSweep.getParameter()));
+    }
+
     /**
      * Updates the current prices in the price tab
      */
@@ -150,21 +213,23 @@ public class PriceTab extends TabsContent {
         currentPricesTextArea.setText("");
         boolean addSpace = false;
 
-        HashMap<String, HashMap<Float, Integer>> piecesQuantities = patioController.getPatio().getPiecesQuantities();
-        for (Map.Entry<String, HashMap<Float, Integer>> lumberDimensionQuantity : piecesQuantities.entrySet()) {
+        PatioSnapshot snapshot = patioController.getPatio().getSnapshot();
+        Map<String, Map<Float, Integer>> piecesQuantities = snapshot.getPiecesQuantities();
+        for (Map.Entry<String, Map<Float, Integer>> lumberDimensionQuantity : piecesQuantities.entrySet()) {
             int totalLumberQuantity = 0;
-            HashMap<Float, Integer> quantitiesPerDepth = lumberDimensionQuantity.getValue();
+            Map<Float, Integer> quantitiesPerDepth = lumberDimensionQuantity.getValue();
 
             for (Map.Entry<Float, Integer> quantity : quantitiesPerDepth.entrySet()) {
                 int depthQuantity = quantity.getValue();
                 totalLumberQuantity += depthQuantity;
             }
 
-            addStringToTextArea(getLumberPriceText(lumberDimensionQuantity.getKey(), totalLumberQuantity), addSpace);
+            addStringToTextArea(getLumberPriceText(snapshot, lumberDimensionQuantity.getKey(), totalLumberQuantity),
+                    addSpace);
             addSpace = true;
         }
 
-        addCurrentTotalPriceText();
+        addCurrentTotalPriceText(snapshot);
         patioController.setPriceText(currentPricesTextArea.getText());
     }
 
@@ -182,13 +247,14 @@ public class PriceTab extends TabsContent {
 
     /**
      * Get formated text for the lumber prices
+     * @param _snapshot the patio state to read the prices from
      * @param _lumberDimension the lumber size
      * @param _quantity the amount of lumbers.
      * @return formated string
      */
-    private String getLumberPriceText(String _lumberDimension, int _quantity) {
+    private String getLumberPriceText(PatioSnapshot _snapshot, String _lumberDimension, int _quantity) {
         String woodPieceText = _quantity > 1 ? LocaleText.getString("WOOD_PIECES") : LocaleText.getString("WOOD_PIECE");
-        float price = patioController.getPatio().getLumberTotalPrice(_lumberDimension);
+        float price = _snapshot.getLumberTotalPrice(_lumberDimension);
         NumberFormat formatter = NumberFormat.getCurrencyInstance();
 
         return "• " + _quantity + " " + woodPieceText + " " + _lumberDimension + ' '
@@ -197,10 +263,11 @@ public class PriceTab extends TabsContent {
 
     /**
      * Add the current total price text to the price tab
+     * @param _snapshot the patio state to read the total price from
      */
-    private void addCurrentTotalPriceText() {
+    private void addCurrentTotalPriceText(PatioSnapshot _snapshot) {
         NumberFormat formatter = NumberFormat.getCurrencyInstance();
-        float totalPrice = patioController.getPatio().getTotalPrice();
+        float totalPrice = _snapshot.getTotalPrice();
 
         currentPricesTextArea.append("\n\n" + LocaleText.getString("TOTAL_PRICE_LABEL") + " " +
                 formatter.format(totalPrice));
@@ -11,6 +11,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.ArrayList;
 import java.util.HashMap;
 
 /**
@@ -26,6 +27,8 @@ public class SettingsTab extends TabsContent implements UndoActivatedListener, R
     private JRadioButton imperialUnit;
     private JRadioButton decimalFormat;
     private JRadioButton fractionFormat;
+    private JComboBox<String> buildingCode;
+    private ArrayList<String> buildingCodes;
     private JToggleButton borderVisibilityButton;
     private boolean redoActivated = false;
     private boolean undoActivated = false;
@@ -65,6 +68,7 @@ public class SettingsTab extends TabsContent implements UndoActivatedListener, R
         createMesureUnitSection(form);
         createMesureTypeSection(form);
         createRationalFormatSection(form);
+        createBuildingCodeSection(form);
         addSeparator(form);
 
         addSectionTitle(form, LocaleText.getString("VIEW_SETTINGS_SECTION_TITLE"));
@@ -191,6 +195,33 @@ public class SettingsTab extends TabsContent implements UndoActivatedListener, R
         addRadioButtonPair(_form, new JLabel(LocaleText.getString("RATIONAL_LABEL")), decimalFormat, fractionFormat);
     }
 
+    /**
+     * Create building code section inside the form.
+     *
+     * @param _form JPanel where we want the section.
+     */
+    private void createBuildingCodeSection(JPanel _form) {
+        buildingCodes = new ArrayList<>(patioController.getBuildingCodes().keySet());
+
+        buildingCode = new JComboBox<>(patioController.getBuildingCodes().values().toArray(new String[0]));
+        buildingCode.setSelectedIndex(buildingCodes.indexOf(patioController.getBuildingCode()));
+        buildingCode.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                int selectedIndex = buildingCode.getSelectedIndex();
+                //Also fired when the tab is refreshed
+                if (selectedIndex == -1 || buildingCodes.get(selectedIndex).equals(patioController.getBuildingCode()))
+                    return;
+
+                patioController.addPatioState();
+                patioController.setBuildingCode(buildingCodes.get(selectedIndex));
+                patioController.updateTabsContent();
+            }
+        });
+
+        addComponent(_form, new JLabel(LocaleText.getString("BUILDING_CODE_LABEL")), buildingCode);
+    }
+
     /**
      * Create general component detail section.
      *
@@ -340,6 +371,8 @@ public class SettingsTab extends TabsContent implements UndoActivatedListener, R
         decimalFormat.setSelected(patioController.getRationalFormat().equals("decimal"));
         fractionFormat.setSelected(patioController.getRationalFormat().equals("fraction"));
 
+        buildingCode.setSelectedIndex(buildingCodes.indexOf(patioController.getBuildingCode()));
+
         borderVisibilityButton.setSelected(patioController.getHiddenBorderVisibility());
 
         for (ComponentType componentType : ComponentType.values()) {
@@ -87,6 +87,25 @@ public abstract class TabsContent extends JPanel {
         ++lineNumber;
     }
 
+    /**
+     * Add a label on the whole width of the form.
+     *
+     * @param _form  JPanel representing the form.
+     * @param _label Label to add on the form.
+     */
+    protected void addLabel(JPanel _form, JLabel _label) {
+        gridBagConstraints.weightx = 1;
+        gridBagConstraints.weighty = 0;
+        gridBagConstraints.gridx = 0;
+        gridBagConstraints.gridy = lineNumber;
+        gridBagConstraints.gridwidth = 2;
+        gridBagConstraints.insets = new Insets(4, 4, 0, 4);
+
+        _form.add(_label, gridBagConstraints);
+
+        ++lineNumber;
+    }
+
     /**
      * Add a separator between the lines of the form.
      *
@@ -243,6 +262,26 @@ public abstract class TabsContent extends JPanel {
         _form.add(blankSpace, gridBagConstraints);
     }
 
+    /**
+     * Add a chart to the form, filling its width.
+     *
+     * @param _form  JPanel representing the form.
+     * @param _chart Chart component.
+     */
+    protected void addChart(JPanel _form, JComponent _chart) {
+        gridBagConstraints.weightx = 1;
+        gridBagConstraints.weighty = 0;
+        gridBagConstraints.gridx = 0;
+        gridBagConstraints.gridy = lineNumber;
+        gridBagConstraints.gridwidth = 2;
+        gridBagConstraints.insets = new Insets(8, 0, 0, 0);
+        gridBagConstraints.fill = GridBagConstraints.HORIZONTAL;
+
+        _form.add(_chart, gridBagConstraints);
+        gridBagConstraints.fill = GridBagConstraints.NONE;
+        ++lineNumber;
+    }
+
     protected void addTextArea(JPanel _form, JTextComponent _textArea) {
         gridBagConstraints.weightx = 1;
         gridBagConstraints.weighty = 0;
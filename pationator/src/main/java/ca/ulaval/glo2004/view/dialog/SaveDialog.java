@@ -1,7 +1,7 @@
 package ca.ulaval.glo2004.view.dialog;
 
-import ca.ulaval.glo2004.patio.Component;
 import ca.ulaval.glo2004.patio.PatioController;
+import ca.ulaval.glo2004.patio.PatioSnapshot;
 import ca.ulaval.glo2004.utils.CreateFiles;
 import ca.ulaval.glo2004.utils.ExportDoneListener;
 import ca.ulaval.glo2004.utils.LocaleText;
@@ -58,14 +58,13 @@ public class SaveDialog implements Dialog {
                     }
                     break;
                 case STL:
-                    ArrayList<Component> components;
-                    components = patioController.getPatio().getComponents();
+                    PatioSnapshot snapshot = patioController.getPatio().getSnapshot();
                     filter.add(new FileNameExtensionFilter(LocaleText.getString("STL_FILENAME"), "stl"));
                     pathAndExtension = saveDialogBox(LocaleText.getString("STL_EXPORT_TITLE"), filter);
                     if (pathAndExtension != null) {
                         CreateFiles createFiles = new CreateFiles(patioController);
                         createFiles.setModifierValue(modifierValue);
-                        createFiles.createSTL(pathAndExtension, components);
+                        createFiles.createSTL(pathAndExtension, snapshot);
                     }
                     break;
                 case IMAGE:
@@ -0,0 +1,37 @@
+package ca.ulaval.glo2004.benchmark;
+
+import ca.ulaval.glo2004.patio.Covering;
+import ca.ulaval.glo2004.utils.Dimensions;
+
+/**
+ * Measures the time needed to lay out very large coverings. Run it manually with its main method, it is not part of
+ * the unit tests.
+ */
+public class CoveringBenchmark {
+    private static final int NB_PLANKS = 10000;
+    private static final int NB_WARMUP_ITERATIONS = 20;
+    private static final int NB_ITERATIONS = 50;
+
+    public static void main(String[] args) {
+        Dimensions plankDimensions = new Dimensions(5.5f, 1.5f, 183.0f);
+        float checksum = 0;
+
+        for (int idxIteration = 0; idxIteration < NB_WARMUP_ITERATIONS; idxIteration++) {
+            checksum += createCovering(plankDimensions).getWoodPieces().size();
+        }
+
+        long start = System.nanoTime();
+        for (int idxIteration = 0; idxIteration < NB_ITERATIONS; idxIteration++) {
+            Covering covering = createCovering(plankDimensions);
+            checksum += covering.getWoodPieces().get(NB_PLANKS - 1).getMaxX();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(String.format("%d planks: %.3f ms per covering (checksum %.1f)", NB_PLANKS,
+                elapsed / 1e6 / NB_ITERATIONS, checksum));
+    }
+
+    private static Covering createCovering(Dimensions _plankDimensions) {
+        return new Covering(NB_PLANKS, 0.5f, _plankDimensions, 3.25f, 0f, 3.5f, 80.625f, 183.0f);
+    }
+}
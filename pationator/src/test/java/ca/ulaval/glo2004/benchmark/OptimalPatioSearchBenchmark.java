@@ -0,0 +1,65 @@
+package ca.ulaval.glo2004.benchmark;
+
+import ca.ulaval.glo2004.patio.Patio;
+import ca.ulaval.glo2004.patio.PatioInfo;
+import ca.ulaval.glo2004.patio.PatioInfoFactory;
+import ca.ulaval.glo2004.utils.Dimensions;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the optimal patio search with a growing number of fork/join threads, with and without the branch-and-bound
+ * pruning, and reports the speedup over the exhaustive search on a single thread. Run it manually with its main
+ * method, it is not part of the unit tests.
+ */
+public class OptimalPatioSearchBenchmark {
+    private static final float PATIO_WIDTH = 480f;
+    private static final float PATIO_DEPTH = 600f;
+    private static final int NB_WARMUP_ITERATIONS = 2;
+    private static final int NB_ITERATIONS = 5;
+
+    public static void main(String[] args) {
+        int nbProcessors = Runtime.getRuntime().availableProcessors();
+        double singleThreadMs = 0;
+
+        for (boolean isPruning : new boolean[]{false, true}) {
+            for (int parallelism = 1; parallelism <= nbProcessors; parallelism *= 2) {
+                ForkJoinPool optimizationPool = new ForkJoinPool(parallelism);
+                float cheapestPrice = 0f;
+
+                for (int idxIteration = 0; idxIteration < NB_WARMUP_ITERATIONS; idxIteration++) {
+                    searchOptimalPatio(optimizationPool, isPruning);
+                }
+
+                long start = System.nanoTime();
+                for (int idxIteration = 0; idxIteration < NB_ITERATIONS; idxIteration++) {
+                    cheapestPrice = searchOptimalPatio(optimizationPool, isPruning);
+                }
+                double elapsedMs = (System.nanoTime() - start) / 1e6 / NB_ITERATIONS;
+                optimizationPool.shutdown();
+
+                if (parallelism == 1 && !isPruning)
+                    singleThreadMs = elapsedMs;
+
+                System.out.println(String.format(
+                        "%s, %d thread(s): %.1f ms per search, speedup %.2fx (cheapest price %.2f)",
+                        isPruning ? "pruned" : "exhaustive", parallelism, elapsedMs, singleThreadMs / elapsedMs,
+                        cheapestPrice));
+            }
+        }
+    }
+
+    private static float searchOptimalPatio(ForkJoinPool _optimizationPool, boolean _isPruning) {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        patioInfo.setPatioDimensions(new Dimensions(PATIO_WIDTH, 70.5f, PATIO_DEPTH), true);
+
+        Patio patio = new Patio();
+        patio.setOptimizationPool(_optimizationPool);
+        patio.setPruningOptimalPatioSearch(_isPruning);
+        patio.setPatioInfo(patioInfo);
+        patio.setAsInitialPatioInfo();
+        patio.generateOptimalPatio();
+
+        return patio.getTotalPrice();
+    }
+}
@@ -0,0 +1,77 @@
+package ca.ulaval.glo2004.benchmark;
+
+import ca.ulaval.glo2004.patio.ExhaustiveSearchStrategy;
+import ca.ulaval.glo2004.patio.OptimalPatioSearch;
+import ca.ulaval.glo2004.patio.OptimalPatioSearchStrategy;
+import ca.ulaval.glo2004.patio.Patio;
+import ca.ulaval.glo2004.patio.PatioInfo;
+import ca.ulaval.glo2004.patio.PatioInfoFactory;
+import ca.ulaval.glo2004.patio.SimulatedAnnealingSearchStrategy;
+import ca.ulaval.glo2004.utils.Dimensions;
+
+/**
+ * Compares the simulated annealing search to the exhaustive search on patios of several sizes: time, number of
+ * candidates evaluated and extra cost of the configuration found. Every seed is searched once, so the results can be
+ * compared between runs. Run it manually with its main method, it is not part of the unit tests.
+ */
+public class OptimalPatioSearchStrategyBenchmark {
+    private static final float[][] PATIO_DIMENSIONS = {
+            {120f, 40f, 150f}, {188.5f, 70.5f, 225f}, {240f, 70.5f, 300f}, {360f, 100f, 420f}, {480f, 70.5f, 600f}};
+    private static final int NB_SEEDS = 20;
+
+    public static void main(String[] args) {
+        //Warms up the generation of the patios
+        search(PATIO_DIMENSIONS[0], new ExhaustiveSearchStrategy(), new OptimalPatioSearch());
+
+        for (float[] dimensions : PATIO_DIMENSIONS) {
+            OptimalPatioSearch exhaustiveSearch = new OptimalPatioSearch();
+            long start = System.nanoTime();
+            PatioInfo exhaustiveConfiguration = search(dimensions, new ExhaustiveSearchStrategy(), exhaustiveSearch);
+            double exhaustiveMs = (System.nanoTime() - start) / 1e6;
+
+            if (exhaustiveConfiguration == null) {
+                System.out.println(String.format("%.1f x %.1f: no valid configuration", dimensions[0], dimensions[2]));
+                continue;
+            }
+            float cheapestPrice = exhaustiveSearch.getRanking().getPrice(0);
+
+            double annealingMs = 0;
+            long nbAnnealingCandidates = 0;
+            int nbCheapestFound = 0;
+            float worstGap = 0f;
+            for (long seed = 1; seed <= NB_SEEDS; seed++) {
+                OptimalPatioSearch annealingSearch = new OptimalPatioSearch();
+                start = System.nanoTime();
+                PatioInfo annealingConfiguration =
+                        search(dimensions, new SimulatedAnnealingSearchStrategy(seed), annealingSearch);
+                annealingMs += (System.nanoTime() - start) / 1e6;
+                nbAnnealingCandidates += annealingSearch.getEvaluatedCandidatesCount();
+
+                float gap = annealingConfiguration == null ? Float.POSITIVE_INFINITY :
+                        annealingSearch.getRanking().getPrice(0) / cheapestPrice - 1f;
+                if (gap <= 0f)
+                    nbCheapestFound++;
+                worstGap = Math.max(worstGap, gap);
+            }
+
+            System.out.println(String.format(
+                    "%.1f x %.1f: exhaustive %.1f ms, %d candidates (cheapest price %.2f); annealing %.1f ms, " +
+                            "%.1f candidates per seed, cheapest found by %d/%d seeds, worst extra cost %.2f%%",
+                    dimensions[0], dimensions[2], exhaustiveMs, exhaustiveSearch.getEvaluatedCandidatesCount(),
+                    cheapestPrice, annealingMs / NB_SEEDS, (double) nbAnnealingCandidates / NB_SEEDS,
+                    nbCheapestFound, NB_SEEDS, 100f * worstGap));
+        }
+    }
+
+    private static PatioInfo search(float[] _dimensions, OptimalPatioSearchStrategy _strategy,
+                                     OptimalPatioSearch _search) {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        patioInfo.setPatioDimensions(new Dimensions(_dimensions[0], _dimensions[1], _dimensions[2]), true);
+
+        Patio patio = new Patio();
+        patio.setPruningOptimalPatioSearch(false);
+        patio.setOptimalPatioSearchStrategy(_strategy);
+
+        return patio.searchOptimalPatioConfiguration(patioInfo, _search);
+    }
+}
@@ -0,0 +1,55 @@
+package ca.ulaval.glo2004.benchmark;
+
+import ca.ulaval.glo2004.patio.Component;
+import ca.ulaval.glo2004.patio.Patio;
+import ca.ulaval.glo2004.patio.PatioInfo;
+import ca.ulaval.glo2004.patio.PatioInfoFactory;
+import ca.ulaval.glo2004.utils.Dimensions;
+
+/**
+ * Measures the time needed to update the prices and the pieces quantities of a patio of about 5,000 wood pieces when
+ * a lumber price changes. Run it manually with its main method, it is not part of the unit tests.
+ */
+public class PriceAggregationBenchmark {
+    private static final float PATIO_SIZE = 2450f;
+    private static final String LUMBER_DIMENSIONS = "2\" x 6\"";
+    private static final int NB_WARMUP_ITERATIONS = 200;
+    private static final int NB_ITERATIONS = 1000;
+
+    public static void main(String[] args) {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        patioInfo.setPatioDimensions(new Dimensions(PATIO_SIZE, 70.5f, PATIO_SIZE), true);
+
+        Patio patio = new Patio();
+        //Every iteration uses a new price, the cache would only add its lookups to the measure
+        patio.getGeometryCache().setCapacity(0);
+        patio.setPatioInfo(patioInfo);
+        patio.updatePatio();
+
+        int nbWoodPieces = 0;
+        for (Component component : patio.getComponents()) {
+            nbWoodPieces += component.getWoodPieces().size();
+        }
+
+        float checksum = 0;
+        for (int idxIteration = 0; idxIteration < NB_WARMUP_ITERATIONS; idxIteration++) {
+            checksum += updatePrice(patio, patioInfo, idxIteration);
+        }
+
+        long start = System.nanoTime();
+        for (int idxIteration = 0; idxIteration < NB_ITERATIONS; idxIteration++) {
+            checksum += updatePrice(patio, patioInfo, NB_WARMUP_ITERATIONS + idxIteration);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(String.format("%d wood pieces: %.3f ms per price update (checksum %.1f)", nbWoodPieces,
+                elapsed / 1e6 / NB_ITERATIONS, checksum));
+    }
+
+    private static float updatePrice(Patio _patio, PatioInfo _patioInfo, int _idxIteration) {
+        _patioInfo.setLumberPricePerDimensions(LUMBER_DIMENSIONS, 1f + _idxIteration * 0.01f);
+        _patio.updatePatio();
+
+        return _patio.getTotalPrice();
+    }
+}
@@ -0,0 +1,124 @@
+package ca.ulaval.glo2004.patio;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import ca.ulaval.glo2004.utils.Dimensions;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Verifies the validation of many candidate configurations at once
+ */
+public class BulkValidatorTest {
+    private static final float[][] PATIO_DIMENSIONS = {
+            {120f, 40f, 150f}, {240f, 70.5f, 300f}, {360f, 100f, 420f}, {480f, 150f, 600f}};
+    private static final float[] JOIST_SPACINGS = {8f, 12f, 16f, 24f, 26f};
+    private static final float[] CANTILEVER_LENGTHS = {0f, 12f, 30f};
+    private static final float[] POST_WIDTHS = {3.5f, 5.5f};
+    private static final int NB_THREADS = 4;
+
+    @Test
+    public void bulkValidationFindsTheErrorsOfTheConfigurationValidation() {
+        ArrayList<PatioInfo> configurations = createConfigurations();
+        PatioCandidateStore candidates = new PatioCandidateStore(1);
+        for (PatioInfo configuration : configurations) {
+            candidates.add(configuration);
+        }
+
+        int[] errorsMasks = new BulkValidator().validate(candidates);
+
+        assertThat(errorsMasks.length).isEqualTo(configurations.size());
+        Validator configurationValidator = new Validator(null);
+        int nbValidConfigurations = 0;
+        for (int idxConfiguration = 0; idxConfiguration < configurations.size(); idxConfiguration++) {
+            configurationValidator.validateConfiguration(configurations.get(idxConfiguration));
+
+            assertThat(errorsMasks[idxConfiguration])
+                    .isEqualTo(BulkValidator.getErrorsMask(configurationValidator.getErrors()));
+            if (errorsMasks[idxConfiguration] == 0)
+                nbValidConfigurations++;
+        }
+
+        assertThat(nbValidConfigurations > 0).isTrue();
+        assertThat(nbValidConfigurations < configurations.size()).isTrue();
+    }
+
+    @Test
+    public void sharedValidatorFindsTheSameErrorsFromManyThreads() throws Exception {
+        final PatioCandidateStore candidates = new PatioCandidateStore();
+        for (PatioInfo configuration : createConfigurations()) {
+            candidates.add(configuration);
+        }
+        final BulkValidator validator = new BulkValidator();
+        int[] sequentialErrorsMasks = validator.validate(candidates);
+
+        final int[] parallelErrorsMasks = new int[candidates.size()];
+        ExecutorService executor = Executors.newFixedThreadPool(NB_THREADS);
+        try {
+            ArrayList<Future<Void>> validations = new ArrayList<>();
+            for (int idxThread = 0; idxThread < NB_THREADS; idxThread++) {
+                final int idxFirst = candidates.size() * idxThread / NB_THREADS;
+                final int idxEnd = candidates.size() * (idxThread + 1) / NB_THREADS;
+
+                validations.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        validator.validate(candidates, idxFirst, idxEnd, parallelErrorsMasks);
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> validation : validations) {
+                validation.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int idxCandidate = 0; idxCandidate < candidates.size(); idxCandidate++) {
+            assertThat(parallelErrorsMasks[idxCandidate]).isEqualTo(sequentialErrorsMasks[idxCandidate]);
+        }
+    }
+
+    @Test
+    public void errorsMaskHoldsEveryErrorType() {
+        EnumSet<ValidationErrorType> errors = EnumSet.of(ValidationErrorType.POST_HEIGHT,
+                ValidationErrorType.BEAM_DIMENSIONS_TWO_SPANS, ValidationErrorType.OPTIMAL_PATIO_CONFIGURATION);
+
+        assertThat(BulkValidator.getErrors(BulkValidator.getErrorsMask(errors))).isEqualTo(errors);
+        assertThat(BulkValidator.getErrors(0)).isEqualTo(EnumSet.noneOf(ValidationErrorType.class));
+    }
+
+    private static ArrayList<PatioInfo> createConfigurations() {
+        ArrayList<PatioInfo> configurations = new ArrayList<>();
+
+        for (float[] patioDimensions : PATIO_DIMENSIONS) {
+            for (float joistSpacing : JOIST_SPACINGS) {
+                for (float cantileverLength : CANTILEVER_LENGTHS) {
+                    for (float postWidth : POST_WIDTHS) {
+                        for (int pliesPerBeam = 1; pliesPerBeam <= 3; pliesPerBeam++) {
+                            PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+                            patioInfo.setPatioDimensions(
+                                    new Dimensions(patioDimensions[0], patioDimensions[1], patioDimensions[2]), true);
+                            patioInfo.setJoistSpacing(joistSpacing);
+                            patioInfo.setCantileverLength(cantileverLength, true);
+                            patioInfo.setPostDimensions(new Dimensions(postWidth, postWidth,
+                                    patioInfo.getPostDimensions().getActualDepth()), true);
+                            patioInfo.setPliesPerBeam(pliesPerBeam);
+
+                            configurations.add(patioInfo);
+                        }
+                    }
+                }
+            }
+        }
+
+        return configurations;
+    }
+}
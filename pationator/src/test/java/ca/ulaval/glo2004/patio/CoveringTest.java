@@ -0,0 +1,79 @@
+package ca.ulaval.glo2004.patio;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import ca.ulaval.glo2004.utils.Dimensions;
+import org.junit.Test;
+
+/**
+ * Verifies that the covering planks are laid out at the same positions as the original layout, which summed the
+ * offsets of every previous plank for each plank
+ */
+public class CoveringTest {
+    private static final float COVERING_SPACING = 0.3125f;
+    private static final Dimensions PLANK_DIMENSIONS = new Dimensions(5.5f, 1.5f, 183.0f);
+    private static final float FIRST_PLANK_WIDTH = 2.1875f;
+    private static final float BEGIN_SPACING = 0.0625f;
+    private static final float BEAM_WIDTH = 3.5f;
+    private static final float COVERING_Y_POS = 80.625f;
+    private static final float COVERING_LENGTH = 183.0f;
+
+    @Test
+    public void plankPositionsMatchTheSummedLayout() {
+        assertLayoutMatchesSummedLayout(24);
+    }
+
+    @Test
+    public void plankPositionsMatchTheSummedLayoutOnLargeCoverings() {
+        assertLayoutMatchesSummedLayout(10000);
+    }
+
+    @Test
+    public void singlePlankUsesTheFirstPlankWidth() {
+        Covering covering = createCovering(1);
+
+        assertThat(covering.getWoodPieces()).hasSize(1);
+        assertThat(covering.getWoodPieces().get(0).getDimensions().getActualWidth()).isEqualTo(FIRST_PLANK_WIDTH);
+        assertThat(covering.getWoodPieces().get(0).getBuyingDimensions().getActualWidth())
+                .isEqualTo(PLANK_DIMENSIONS.getActualWidth());
+    }
+
+    private void assertLayoutMatchesSummedLayout(int _nbPlanks) {
+        Covering covering = createCovering(_nbPlanks);
+
+        assertThat(covering.getWoodPieces()).hasSize(_nbPlanks);
+        for (int idxPlank = 0; idxPlank < _nbPlanks; idxPlank++) {
+            WoodPiece plank = covering.getWoodPieces().get(idxPlank);
+            float width = idxPlank == 0 ? FIRST_PLANK_WIDTH : PLANK_DIMENSIONS.getActualWidth();
+            float expectedX = getSummedPlankXPosition(idxPlank);
+
+            assertThat(plank.getCentralPosition().x).isEqualTo(expectedX);
+            assertThat(plank.getCentralPosition().y).isEqualTo(COVERING_Y_POS);
+            assertThat(plank.getCentralPosition().z).isEqualTo(COVERING_LENGTH / 2);
+            assertThat(plank.getMinX()).isEqualTo(expectedX - width / 2);
+            assertThat(plank.getMaxX()).isEqualTo(expectedX + width / 2);
+        }
+    }
+
+    private static Covering createCovering(int _nbPlanks) {
+        return new Covering(_nbPlanks, COVERING_SPACING, PLANK_DIMENSIONS, FIRST_PLANK_WIDTH, BEGIN_SPACING,
+                BEAM_WIDTH, COVERING_Y_POS, COVERING_LENGTH);
+    }
+
+    /**
+     * The original plank layout, summing the offsets from the first plank up to the given one
+     */
+    static float getSummedPlankXPosition(int _idxPlank) {
+        float posX = 0;
+        for (int k = 0; k <= _idxPlank; k++) {
+            if (k == 0)
+                posX += BEGIN_SPACING + (FIRST_PLANK_WIDTH / 2) - (BEAM_WIDTH);
+            else if (k == 1)
+                posX += (FIRST_PLANK_WIDTH / 2) + COVERING_SPACING + (PLANK_DIMENSIONS.getActualWidth() / 2);
+            else
+                posX += PLANK_DIMENSIONS.getActualWidth() + COVERING_SPACING;
+        }
+
+        return posX;
+    }
+}
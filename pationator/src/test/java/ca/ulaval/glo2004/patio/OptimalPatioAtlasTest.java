@@ -0,0 +1,78 @@
+package ca.ulaval.glo2004.patio;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import ca.ulaval.glo2004.utils.Dimensions;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Verifies the optimal patios read from a precomputed atlas
+ */
+public class OptimalPatioAtlasTest {
+    private static final Dimensions MIN_DIMENSIONS = new Dimensions(240f, 70.5f, 300f);
+    private static final Dimensions MAX_DIMENSIONS = new Dimensions(246f, 70.5f, 300f);
+
+    @Test
+    public void patioOnTheGridIsReadLikeASearch() throws IOException {
+        Path file = Files.createTempFile("optimal-patio-atlas", ".bin");
+        try {
+            OptimalPatioAtlas.build(file, createPatioInfo(240f), MIN_DIMENSIONS, MAX_DIMENSIONS, 6f, null);
+            OptimalPatioAtlas atlas = OptimalPatioAtlas.open(file);
+
+            for (float patioWidth : new float[]{240f, 246f}) {
+                PatioInfo patioInfo = createPatioInfo(patioWidth);
+                PatioInfo searchedPatioInfo =
+                        new Patio().searchOptimalPatioConfiguration(patioInfo, new OptimalPatioSearch());
+
+                assertThat(atlas.isCovering(patioInfo)).isTrue();
+                assertThat(atlas.getOptimalConfiguration(patioInfo).getStructureFingerprint())
+                        .isEqualTo(searchedPatioInfo.getStructureFingerprint());
+            }
+            assertThat(atlas.getCellsCount()).isEqualTo(2);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void patioOffTheGridOrWithOtherPricesIsNotCovered() throws IOException {
+        Path file = Files.createTempFile("optimal-patio-atlas", ".bin");
+        try {
+            OptimalPatioAtlas.build(file, createPatioInfo(240f), MIN_DIMENSIONS, MIN_DIMENSIONS, 6f, null);
+            OptimalPatioAtlas atlas = OptimalPatioAtlas.open(file);
+
+            PatioInfo repricedPatioInfo = createPatioInfo(240f);
+            repricedPatioInfo.setLumberPricePerDimensions("2\" x 10\"", 100f);
+
+            assertThat(atlas.isCovering(createPatioInfo(240f))).isTrue();
+            assertThat(atlas.isCovering(createPatioInfo(243f))).isFalse();
+            assertThat(atlas.isCovering(createPatioInfo(246f))).isFalse();
+            assertThat(atlas.isCovering(repricedPatioInfo)).isFalse();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void damagedFileIsNotOpened() throws IOException {
+        Path file = Files.createTempFile("optimal-patio-atlas", ".bin");
+        try {
+            Files.write(file, new byte[]{0x50, 0x54, 0x4f, 0x41});
+
+            assertThat(OptimalPatioAtlas.open(file)).isNull();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static PatioInfo createPatioInfo(float _patioWidth) {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        patioInfo.setPatioDimensions(new Dimensions(_patioWidth, 70.5f, 300f), true);
+
+        return patioInfo;
+    }
+}
@@ -0,0 +1,88 @@
+package ca.ulaval.glo2004.patio;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import ca.ulaval.glo2004.utils.Dimensions;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Verifies the optimization of the patios of a CSV file
+ */
+public class OptimalPatioBatchTest {
+    @Test
+    public void rowsAreWrittenInTheirOrderWithTheOptimalPrice() throws IOException {
+        String input = "quote,width,depth,height,covering\n" +
+                "A-1,240,300,70.5,2x6\n" +
+                "A-2,188.5,225,70.5,5/4x6\n" +
+                "A-3,360,420,100,\n";
+        StringWriter output = new StringWriter();
+
+        int nbRows = new OptimalPatioBatch(2).run(new BufferedReader(new StringReader(input)), output);
+
+        String[] lines = output.toString().split(System.lineSeparator());
+        assertThat(nbRows).isEqualTo(3);
+        assertThat(lines.length).isEqualTo(4);
+        assertThat(OptimalPatioBatch.parseLine(lines[0]).get(5)).isEqualTo("status");
+
+        float[][] patioDimensions = {{240f, 70.5f, 300f}, {188.5f, 70.5f, 225f}, {360f, 100f, 420f}};
+        for (int idxRow = 0; idxRow < patioDimensions.length; idxRow++) {
+            List<String> fields = OptimalPatioBatch.parseLine(lines[idxRow + 1]);
+
+            assertThat(fields.get(0)).isEqualTo("A-" + (idxRow + 1));
+            assertThat(fields.get(5)).isEqualTo(OptimalPatioBatch.OK_STATUS);
+            if (idxRow != 1) {
+                assertThat(fields.get(6)).isEqualTo(String.format(Locale.ROOT, "%.2f",
+                        generateOptimalPatioPrice(patioDimensions[idxRow])));
+            }
+            assertThat(fields.get(fields.size() - 1).isEmpty()).isFalse();
+        }
+    }
+
+    @Test
+    public void unreadableRowGetsAnErrorStatus() throws IOException {
+        String input = "width,depth,height,covering,building_code\n" +
+                "240,-300,70.5,2x6,\n" +
+                "240,300,70.5,3x7,\n" +
+                "240,300,70.5,2x6,missing-code\n";
+        StringWriter output = new StringWriter();
+
+        new OptimalPatioBatch(1).run(new BufferedReader(new StringReader(input)), output);
+
+        String[] lines = output.toString().split(System.lineSeparator());
+        assertThat(OptimalPatioBatch.parseLine(lines[1]).get(5))
+                .isEqualTo(OptimalPatioBatch.INVALID_ROW_STATUS + "depth must be a positive number of inches");
+        assertThat(OptimalPatioBatch.parseLine(lines[2]).get(5))
+                .isEqualTo(OptimalPatioBatch.INVALID_ROW_STATUS + "unknown covering 3x7");
+        assertThat(OptimalPatioBatch.parseLine(lines[3]).get(5))
+                .isEqualTo(OptimalPatioBatch.INVALID_ROW_STATUS + "unknown building code missing-code");
+    }
+
+    @Test
+    public void quotedFieldsAreReadBack() {
+        List<String> fields = OptimalPatioBatch.parseLine("a,\"2\"\" x 6\"\", 12 ft\",");
+
+        assertThat(fields).hasSize(3);
+        assertThat(fields.get(1)).isEqualTo("2\" x 6\", 12 ft");
+        assertThat(fields.get(2)).isEqualTo("");
+    }
+
+    private static float generateOptimalPatioPrice(float[] _patioDimensions) {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        patioInfo.setPatioDimensions(new Dimensions(_patioDimensions[0], _patioDimensions[1], _patioDimensions[2]),
+                true);
+
+        Patio patio = new Patio();
+        patio.setPatioInfo(patioInfo);
+        patio.setAsInitialPatioInfo();
+        patio.generateOptimalPatio();
+
+        return patio.getTotalPrice();
+    }
+}
@@ -0,0 +1,95 @@
+package ca.ulaval.glo2004.patio;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import ca.ulaval.glo2004.utils.Dimensions;
+import ca.ulaval.glo2004.utils.LumberCatalog;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Verifies the results of the optimal patio search kept between sessions
+ */
+public class OptimalPatioCacheTest {
+    @Test
+    public void searchWithTheSameInputsIsReadFromTheFileOfAnotherSession() throws IOException {
+        Path file = Files.createTempFile("optimal-patio-cache", ".bin");
+        try {
+            Patio searchedPatio = createPatioToOptimize(new OptimalPatioCache(file));
+            searchedPatio.generateOptimalPatio();
+
+            Patio cachedPatio = createPatioToOptimize(new OptimalPatioCache(file));
+            OptimalPatioSearch search = new OptimalPatioSearch();
+            PatioInfo cachedPatioInfo = cachedPatio.searchOptimalPatioConfiguration(
+                    new PatioInfo(cachedPatio.getPatioInfo()), search);
+            cachedPatio.applyOptimalPatioConfiguration(cachedPatioInfo);
+
+            assertThat(search.getEvaluatedCandidatesCount()).isEqualTo(0);
+            assertThat(search.getRanking().isComplete()).isTrue();
+            assertThat(cachedPatioInfo.getStructureFingerprint())
+                    .isEqualTo(searchedPatio.getPatioInfo().getStructureFingerprint());
+            assertThat(cachedPatio.getTotalPrice()).isEqualTo(searchedPatio.getTotalPrice());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void cachedResultIsRankedWithTheCurrentPrices() throws IOException {
+        Path file = Files.createTempFile("optimal-patio-cache", ".bin");
+        try {
+            createPatioToOptimize(new OptimalPatioCache(file)).generateOptimalPatio();
+
+            Patio cachedPatio = createPatioToOptimize(new OptimalPatioCache(file));
+            cachedPatio.getPatioInfo().setLumberPricePerDimensions("2\" x 10\"", 100f);
+            cachedPatio.generateOptimalPatio();
+
+            Patio searchedPatio = createPatioToOptimize(null);
+            searchedPatio.getPatioInfo().setLumberPricePerDimensions("2\" x 10\"", 100f);
+            searchedPatio.generateOptimalPatio();
+
+            assertThat(cachedPatio.getPatioInfo().getStructureFingerprint())
+                    .isEqualTo(searchedPatio.getPatioInfo().getStructureFingerprint());
+            assertThat(cachedPatio.getTotalPrice()).isEqualTo(searchedPatio.getTotalPrice());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void fileWrittenWithAnotherCatalogIsIgnored() throws IOException {
+        Path file = Files.createTempFile("optimal-patio-cache", ".bin");
+        try {
+            try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(file))) {
+                output.writeInt(0x50544f43);
+                output.writeInt(1);
+                output.writeLong(LumberCatalog.getInstance().getFingerprint() + 1);
+                output.writeLong(Validator.getTablesFingerprint());
+                output.writeInt(1);
+            }
+
+            OptimalPatioCache cache = new OptimalPatioCache(file);
+
+            assertThat(cache.size()).isEqualTo(0);
+            assertThat(cache.get(createPatioToOptimize(null).getPatioInfo())).isNull();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static Patio createPatioToOptimize(OptimalPatioCache _optimalPatioCache) {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        patioInfo.setPatioDimensions(new Dimensions(240f, 70.5f, 300f), true);
+
+        Patio patio = new Patio();
+        patio.setOptimalPatioCache(_optimalPatioCache);
+        patio.setPatioInfo(patioInfo);
+        patio.setAsInitialPatioInfo();
+
+        return patio;
+    }
+}
@@ -0,0 +1,333 @@
+package ca.ulaval.glo2004.patio;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import ca.ulaval.glo2004.utils.Dimensions;
+import ca.ulaval.glo2004.utils.OptimalPatioProgressListener;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
+
+/**
+ * Verifies the generation of the patio components
+ */
+public class PatioTest {
+    private static final String EXPENSIVE_LUMBER_DIMENSIONS = "2\" x 10\"";
+    private static final float EXPENSIVE_LUMBER_PRICE = 100f;
+
+    @Test
+    public void parallelGenerationMatchesSequentialGeneration() {
+        Patio sequentialPatio = createLargePatio(Integer.MAX_VALUE);
+        Patio parallelPatio = createLargePatio(0);
+
+        assertSameComponents(sequentialPatio.getComponents(), parallelPatio.getComponents());
+
+        assertThat(parallelPatio.getBeams()).hasSize(sequentialPatio.getBeams().size());
+        for (int idxBeam = 0; idxBeam < sequentialPatio.getBeams().size(); idxBeam++) {
+            Beam sequentialBeam = sequentialPatio.getBeams().get(idxBeam);
+            Beam parallelBeam = parallelPatio.getBeams().get(idxBeam);
+
+            assertThat(parallelBeam.getIdxBeam()).isEqualTo(idxBeam);
+            assertThat(parallelBeam.getSupportedSpans()).hasSize(sequentialBeam.getSupportedSpans().size());
+            for (int idxSpan = 0; idxSpan < sequentialBeam.getSupportedSpans().size(); idxSpan++) {
+                assertThat(parallelBeam.getSupportedSpans().get(idxSpan).getIdxSpan())
+                        .isEqualTo(sequentialBeam.getSupportedSpans().get(idxSpan).getIdxSpan());
+            }
+
+            assertSameComponents(sequentialBeam.getSupportPosts(), parallelBeam.getSupportPosts());
+        }
+
+        assertThat(parallelPatio.getTotalPrice()).isEqualTo(sequentialPatio.getTotalPrice());
+        assertThat(parallelPatio.getPiecesQuantities()).isEqualTo(sequentialPatio.getPiecesQuantities());
+    }
+
+    @Test
+    public void revertedModificationIsRestoredFromTheGeometryCache() {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        Patio patio = new Patio();
+        patio.setPatioInfo(patioInfo);
+        patio.updatePatio();
+
+        PatioSnapshot initialSnapshot = patio.getSnapshot();
+        float joistSpacing = patioInfo.getJoistSpacing();
+
+        patioInfo.setJoistSpacing(joistSpacing - 2f);
+        patio.updatePatio();
+        assertThat(patio.getSnapshot()).isNotEqualTo(initialSnapshot);
+
+        patioInfo.setJoistSpacing(joistSpacing);
+        patio.updatePatio();
+        assertThat(patio.getSnapshot()).isSameInstanceAs(initialSnapshot);
+        assertThat(patio.getGeometryCache().getHitCount()).isEqualTo(1L);
+        assertThat(patio.getGeometryCache().getMissCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void appearanceChangeLeavesThePublishedSnapshotsUntouched() {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        Patio patio = new Patio();
+        patio.setPatioInfo(patioInfo);
+        patio.updatePatio();
+
+        PatioSnapshot initialSnapshot = patio.getSnapshot();
+        List<Component> initialComponents = new ArrayList<>(initialSnapshot.getComponents());
+        float joistSpacing = patioInfo.getJoistSpacing();
+
+        patioInfo.setJoistSpacing(joistSpacing - 2f);
+        patio.updatePatio();
+
+        patioInfo.setPostColor(java.awt.Color.ORANGE);
+        patioInfo.setPostVisibility(false);
+        patioInfo.setJoistSpacing(joistSpacing);
+        patio.updatePatio();
+
+        assertThat(patio.getSnapshot()).isSameInstanceAs(initialSnapshot);
+        assertThat(initialSnapshot.getComponents()).isEqualTo(initialComponents);
+    }
+
+    @Test
+    public void appearanceDoesNotChangeTheGeometryFingerprint() {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        long fingerprint = patioInfo.getGeometryFingerprint();
+
+        patioInfo.setBeamColor(java.awt.Color.ORANGE);
+        patioInfo.setPostVisibility(false);
+        assertThat(patioInfo.getGeometryFingerprint()).isEqualTo(fingerprint);
+
+        patioInfo.setPliesPerBeam(patioInfo.getPliesPerBeam() + 1);
+        assertThat(patioInfo.getGeometryFingerprint()).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    public void piecesAreSplitInComponentOrderWithoutLosingAnyPiece() {
+        Patio patio = createLargePatio(Integer.MAX_VALUE);
+
+        List<WoodPiece> expectedPieces = new ArrayList<>();
+        for (Component component : patio.getComponents()) {
+            expectedPieces.addAll(component.getWoodPieces());
+        }
+
+        Spliterator<WoodPiece> suffix = patio.pieces();
+        assertThat(suffix.getExactSizeIfKnown()).isEqualTo((long) expectedPieces.size());
+
+        Spliterator<WoodPiece> prefix = suffix.trySplit();
+        Spliterator<WoodPiece> middle = suffix.trySplit();
+        assertThat(prefix.estimateSize() + middle.estimateSize() + suffix.estimateSize())
+                .isEqualTo((long) expectedPieces.size());
+
+        final List<WoodPiece> actualPieces = new ArrayList<>();
+        Consumer<WoodPiece> collector = new Consumer<WoodPiece>() {
+            @Override
+            public void accept(WoodPiece _woodPiece) {
+                actualPieces.add(_woodPiece);
+            }
+        };
+        prefix.tryAdvance(collector);
+        prefix.forEachRemaining(collector);
+        middle.forEachRemaining(collector);
+        while (suffix.tryAdvance(collector)) {
+        }
+
+        assertThat(actualPieces).isEqualTo(expectedPieces);
+        assertThat(StreamSupport.stream(patio.pieces(), true).count()).isEqualTo((long) expectedPieces.size());
+    }
+
+    @Test
+    public void visitorSkipsOtherTypes() {
+        Patio patio = createLargePatio(Integer.MAX_VALUE);
+        PatioSnapshot snapshot = patio.getSnapshot();
+
+        int expectedPieces = 0;
+        for (Post post : snapshot.getPosts()) {
+            expectedPieces += post.getWoodPieces().size();
+        }
+
+        final int[] visitedPieces = {0};
+        snapshot.visitPieces(new WoodPieceVisitor() {
+            @Override
+            public void visit(Component _component, WoodPiece _woodPiece) {
+                assertThat(_woodPiece.getOrientation()).isEqualTo(ComponentType.POST);
+                visitedPieces[0]++;
+            }
+        }, ComponentType.POST);
+
+        assertThat(visitedPieces[0]).isEqualTo(expectedPieces);
+    }
+
+    @Test
+    public void parallelOptimalPatioSearchFindsTheSequentialCheapestPatio() {
+        Patio sequentialPatio = createOptimizedPatio(new ForkJoinPool(1));
+        Patio parallelPatio = createOptimizedPatio(new ForkJoinPool(4));
+
+        assertThat(parallelPatio.getPatioInfo().equals(sequentialPatio.getPatioInfo())).isTrue();
+        assertThat(parallelPatio.getTotalPrice()).isEqualTo(sequentialPatio.getTotalPrice());
+    }
+
+    @Test
+    public void prunedOptimalPatioSearchFindsTheExhaustiveCheapestPatio() {
+        Patio exhaustivePatio = createOptimizedPatio(new ForkJoinPool(4), false);
+        Patio prunedPatio = createOptimizedPatio(new ForkJoinPool(4), true);
+
+        assertThat(prunedPatio.getPatioInfo().equals(exhaustivePatio.getPatioInfo())).isTrue();
+        assertThat(prunedPatio.getTotalPrice()).isEqualTo(exhaustivePatio.getTotalPrice());
+    }
+
+    @Test
+    public void optimalPatioSearchReportsItsLastProgressWithTheCheapestPrice() {
+        Patio optimizedPatio = createOptimizedPatio(new ForkJoinPool(4));
+        Patio patio = createPatioToOptimize();
+        OptimalPatioSearch search = new OptimalPatioSearch();
+        final int[] lastEvaluatedCandidates = {-1};
+        final float[] lastBestPrice = {-1f};
+        search.addProgressListener(new OptimalPatioProgressListener() {
+            @Override
+            public void onOptimalPatioProgress(int _nbEvaluatedCandidates, float _bestPrice) {
+                lastEvaluatedCandidates[0] = _nbEvaluatedCandidates;
+                lastBestPrice[0] = _bestPrice;
+            }
+        });
+
+        PatioInfo optimalPatioInfo = patio.searchOptimalPatioConfiguration(new PatioInfo(patio.getPatioInfo()), search);
+        patio.applyOptimalPatioConfiguration(optimalPatioInfo);
+
+        assertThat(optimalPatioInfo.equals(optimizedPatio.getPatioInfo())).isTrue();
+        assertThat(lastEvaluatedCandidates[0]).isEqualTo(search.getEvaluatedCandidatesCount());
+        assertThat(lastEvaluatedCandidates[0] > 0).isTrue();
+        assertThat(lastBestPrice[0]).isEqualTo(optimizedPatio.getTotalPrice());
+        assertThat(patio.getTotalPrice()).isEqualTo(optimizedPatio.getTotalPrice());
+    }
+
+    @Test
+    public void cancelledOptimalPatioSearchEvaluatesNoCandidate() {
+        Patio patio = createPatioToOptimize();
+        OptimalPatioSearch search = new OptimalPatioSearch();
+        search.cancel();
+
+        PatioInfo optimalPatioInfo = patio.searchOptimalPatioConfiguration(new PatioInfo(patio.getPatioInfo()), search);
+
+        assertThat(optimalPatioInfo).isNull();
+        assertThat(search.isCancelled()).isTrue();
+        assertThat(search.getEvaluatedCandidatesCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void exhaustedTimeBudgetStopsTheOptimalPatioSearch() {
+        Patio patio = createPatioToOptimize();
+        OptimalPatioSearch search = new OptimalPatioSearch(1, TimeUnit.NANOSECONDS);
+
+        patio.searchOptimalPatioConfiguration(new PatioInfo(patio.getPatioInfo()), search);
+
+        assertThat(search.isTimeBudgetExhausted()).isTrue();
+        assertThat(search.isCancelled()).isFalse();
+        assertThat(search.getEvaluatedCandidatesCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void rankedConfigurationsFollowThePriceChangesLikeANewSearch() {
+        Patio patio = createPatioToOptimize();
+        OptimalPatioSearch search = new OptimalPatioSearch();
+        search.setKeepingEveryConfiguration(true);
+        patio.applyOptimalPatioConfiguration(
+                patio.searchOptimalPatioConfiguration(new PatioInfo(patio.getPatioInfo()), search));
+        patio.setOptimalPatioRanking(search.getRanking());
+        long searchedStructureFingerprint = patio.getPatioInfo().getStructureFingerprint();
+
+        patio.getPatioInfo().setLumberPricePerDimensions(EXPENSIVE_LUMBER_DIMENSIONS, EXPENSIVE_LUMBER_PRICE);
+        boolean isStructureChanged = patio.rankOptimalPatioConfigurations();
+        patio.updatePatio();
+
+        Patio searchedPatio = createPatioToOptimize();
+        searchedPatio.getPatioInfo().setLumberPricePerDimensions(EXPENSIVE_LUMBER_DIMENSIONS, EXPENSIVE_LUMBER_PRICE);
+        searchedPatio.generateOptimalPatio();
+
+        assertThat(search.getRanking().isComplete()).isTrue();
+        assertThat(isStructureChanged).isTrue();
+        assertThat(patio.getPatioInfo().getStructureFingerprint()).isNotEqualTo(searchedStructureFingerprint);
+        assertThat(patio.getPatioInfo().getStructureFingerprint())
+                .isEqualTo(searchedPatio.getPatioInfo().getStructureFingerprint());
+        assertThat(patio.getTotalPrice()).isEqualTo(searchedPatio.getTotalPrice());
+    }
+
+    @Test
+    public void modifiedOptimalPatioIsNotRankedAgain() {
+        Patio patio = createPatioToOptimize();
+        OptimalPatioSearch search = new OptimalPatioSearch();
+        search.setKeepingEveryConfiguration(true);
+        patio.applyOptimalPatioConfiguration(
+                patio.searchOptimalPatioConfiguration(new PatioInfo(patio.getPatioInfo()), search));
+        patio.setOptimalPatioRanking(search.getRanking());
+
+        patio.getPatioInfo().setPliesPerBeam(patio.getPatioInfo().getPliesPerBeam() + 1);
+        long modifiedStructureFingerprint = patio.getPatioInfo().getStructureFingerprint();
+        patio.getPatioInfo().setLumberPricePerDimensions(EXPENSIVE_LUMBER_DIMENSIONS, EXPENSIVE_LUMBER_PRICE);
+
+        assertThat(patio.rankOptimalPatioConfigurations()).isFalse();
+        assertThat(patio.getPatioInfo().getStructureFingerprint()).isEqualTo(modifiedStructureFingerprint);
+    }
+
+    private static Patio createPatioToOptimize() {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        patioInfo.setPatioDimensions(new Dimensions(240f, 70.5f, 300f), true);
+
+        Patio patio = new Patio();
+        patio.setPatioInfo(patioInfo);
+        patio.setAsInitialPatioInfo();
+
+        return patio;
+    }
+
+    private static Patio createOptimizedPatio(ForkJoinPool _optimizationPool) {
+        return createOptimizedPatio(_optimizationPool, true);
+    }
+
+    private static Patio createOptimizedPatio(ForkJoinPool _optimizationPool, boolean _isPruning) {
+        Patio patio = createPatioToOptimize();
+        patio.setOptimizationPool(_optimizationPool);
+        patio.setPruningOptimalPatioSearch(_isPruning);
+        patio.generateOptimalPatio();
+        _optimizationPool.shutdown();
+
+        return patio;
+    }
+
+    private static Patio createLargePatio(int _parallelGenerationThreshold) {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        patioInfo.setPatioDimensions(new Dimensions(1200f, 70.5f, 1500f), true);
+
+        Patio patio = new Patio();
+        patio.setParallelGenerationThreshold(_parallelGenerationThreshold);
+        patio.setPatioInfo(patioInfo);
+        patio.updatePatio();
+
+        return patio;
+    }
+
+    private static void assertSameComponents(List<? extends Component> _expected, List<? extends Component> _actual) {
+        assertThat(_actual).hasSize(_expected.size());
+
+        for (int idxComponent = 0; idxComponent < _expected.size(); idxComponent++) {
+            List<WoodPiece> expectedPieces = _expected.get(idxComponent).getWoodPieces();
+            List<WoodPiece> actualPieces = _actual.get(idxComponent).getWoodPieces();
+
+            assertThat(actualPieces).hasSize(expectedPieces.size());
+            for (int idxPiece = 0; idxPiece < expectedPieces.size(); idxPiece++) {
+                WoodPiece expected = expectedPieces.get(idxPiece);
+                WoodPiece actual = actualPieces.get(idxPiece);
+
+                assertThat(actual.getOrientation()).isEqualTo(expected.getOrientation());
+                assertThat(actual.getMinX()).isEqualTo(expected.getMinX());
+                assertThat(actual.getMinY()).isEqualTo(expected.getMinY());
+                assertThat(actual.getMinZ()).isEqualTo(expected.getMinZ());
+                assertThat(actual.getMaxX()).isEqualTo(expected.getMaxX());
+                assertThat(actual.getMaxY()).isEqualTo(expected.getMaxY());
+                assertThat(actual.getMaxZ()).isEqualTo(expected.getMaxZ());
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ca.ulaval.glo2004.patio;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Verifies the price and the validity of the patio swept over the values of one of its properties
+ */
+public class PriceSweepTest {
+    @Test
+    public void sweptPricesAreThePricesOfTheGeneratedPatios() {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        Patio patio = new Patio();
+        patio.setOptimizationPool(new ForkJoinPool(2));
+
+        PriceSweep priceSweep = patio.sweepPrice(patioInfo, SweepParameter.PATIO_DEPTH, 150f, 300f, 7);
+
+        assertThat(priceSweep.size()).isEqualTo(7);
+        for (int idxSample = 0; idxSample < priceSweep.size(); idxSample++) {
+            PatioInfo samplePatioInfo = new PatioInfo(patioInfo);
+            SweepParameter.PATIO_DEPTH.setValue(samplePatioInfo, priceSweep.getValue(idxSample));
+            Patio samplePatio = new Patio();
+            samplePatio.setPatioInfo(samplePatioInfo);
+            samplePatio.updatePatio();
+
+            assertThat(priceSweep.getValue(idxSample)).isEqualTo(150f + 25f * idxSample);
+            assertThat(priceSweep.getPrice(idxSample)).isEqualTo(samplePatio.getTotalPrice());
+            Validator sampleValidator = new Validator(samplePatio);
+            sampleValidator.validate();
+            assertThat(priceSweep.isValid(idxSample)).isEqualTo(sampleValidator.getErrors().isEmpty());
+        }
+    }
+
+    @Test
+    public void breakpointIsTheFirstValueMakingThePatioInvalid() {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        Patio patio = new Patio();
+
+        float maxJoistSpacing = new Validator(patio).getAllowedJoistSpacing(patioInfo.getCoveringDimensions());
+
+        PriceSweep priceSweep = patio.sweepPrice(patioInfo, SweepParameter.JOIST_SPACING, 12f, 36f, 25);
+
+        int[] breakpoints = priceSweep.getBreakpoints();
+        assertThat(breakpoints.length).isEqualTo(1);
+        assertThat(priceSweep.isValid(breakpoints[0] - 1)).isTrue();
+        assertThat(priceSweep.isValid(breakpoints[0])).isFalse();
+        assertThat(priceSweep.getValue(breakpoints[0])).isEqualTo((float) Math.floor(maxJoistSpacing) + 1f);
+    }
+
+    @Test
+    public void sweepDoesNotModifyThePatioInfo() {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        long structureFingerprint = patioInfo.getStructureFingerprint();
+
+        new Patio().sweepPrice(patioInfo, SweepParameter.PATIO_WIDTH, 100f, 200f, 3);
+
+        assertThat(patioInfo.getStructureFingerprint()).isEqualTo(structureFingerprint);
+    }
+}
@@ -0,0 +1,93 @@
+package ca.ulaval.glo2004.patio;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import ca.ulaval.glo2004.utils.Dimensions;
+import org.junit.Test;
+
+/**
+ * Verifies the optimal patio search by simulated annealing
+ */
+public class SimulatedAnnealingSearchStrategyTest {
+    private static final int NB_SEEDS = 5;
+
+    @Test
+    public void searchesWithTheSameSeedFindTheSameConfiguration() {
+        for (long seed = 0; seed < NB_SEEDS; seed++) {
+            OptimalPatioSearch firstSearch = new OptimalPatioSearch();
+            PatioInfo firstConfiguration = searchOptimalPatio(new SimulatedAnnealingSearchStrategy(seed), firstSearch);
+            OptimalPatioSearch secondSearch = new OptimalPatioSearch();
+            PatioInfo secondConfiguration =
+                    searchOptimalPatio(new SimulatedAnnealingSearchStrategy(seed), secondSearch);
+
+            assertThat(secondSearch.getEvaluatedCandidatesCount())
+                    .isEqualTo(firstSearch.getEvaluatedCandidatesCount());
+            if (firstConfiguration == null) {
+                assertThat(secondConfiguration).isNull();
+                continue;
+            }
+            assertThat(secondConfiguration.getStructureFingerprint())
+                    .isEqualTo(firstConfiguration.getStructureFingerprint());
+            assertThat(secondSearch.getRanking().getPrice(0)).isEqualTo(firstSearch.getRanking().getPrice(0));
+        }
+    }
+
+    @Test
+    public void searchFindsAValidConfigurationNoCheaperThanTheExhaustiveSearch() {
+        OptimalPatioSearch exhaustiveSearch = new OptimalPatioSearch();
+        searchOptimalPatio(new ExhaustiveSearchStrategy(), exhaustiveSearch);
+        float cheapestPrice = exhaustiveSearch.getRanking().getPrice(0);
+
+        for (long seed = 0; seed < NB_SEEDS; seed++) {
+            OptimalPatioSearch annealingSearch = new OptimalPatioSearch();
+            PatioInfo annealingConfiguration =
+                    searchOptimalPatio(new SimulatedAnnealingSearchStrategy(seed), annealingSearch);
+
+            //A candidate visited again is not evaluated again
+            assertThat(annealingSearch.getEvaluatedCandidatesCount() <=
+                    SimulatedAnnealingSearchStrategy.DEFAULT_STEPS_COUNT + 1).isTrue();
+            if (annealingConfiguration == null)
+                continue;
+
+            Patio configurationPatio = new Patio();
+            configurationPatio.setPatioInfo(annealingConfiguration);
+            configurationPatio.updatePatio();
+            Validator configurationValidator = new Validator(configurationPatio);
+            configurationValidator.validate();
+            assertThat(configurationValidator.getErrors().isEmpty()).isTrue();
+            assertThat(annealingSearch.getRanking().getPrice(0) >= cheapestPrice).isTrue();
+        }
+    }
+
+    @Test
+    public void everyCandidateIsCounted() {
+        for (long seed = 0; seed < NB_SEEDS * 4; seed++) {
+            OptimalPatioSearch search = new OptimalPatioSearch();
+            searchOptimalPatio(new SimulatedAnnealingSearchStrategy(seed, 0), search);
+
+            //Only the first candidate is evaluated, even if its choices are rejected before it is generated
+            assertThat(search.getEvaluatedCandidatesCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void rankingOfTheAnnealingIsNeverComplete() {
+        for (long seed = 0; seed < NB_SEEDS; seed++) {
+            OptimalPatioSearch search = new OptimalPatioSearch();
+            searchOptimalPatio(new SimulatedAnnealingSearchStrategy(seed), search);
+
+            assertThat(search.getRanking().isComplete()).isFalse();
+        }
+    }
+
+    private static PatioInfo searchOptimalPatio(OptimalPatioSearchStrategy _strategy, OptimalPatioSearch _search) {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        patioInfo.setPatioDimensions(new Dimensions(240f, 70.5f, 300f), true);
+
+        Patio patio = new Patio();
+        patio.setPruningOptimalPatioSearch(false);
+        patio.setOptimalPatioSearchStrategy(_strategy);
+
+        return patio.searchOptimalPatioConfiguration(patioInfo, _search);
+    }
+}
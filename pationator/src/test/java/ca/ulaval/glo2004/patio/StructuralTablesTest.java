@@ -0,0 +1,109 @@
+package ca.ulaval.glo2004.patio;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import ca.ulaval.glo2004.utils.Conversion;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Verifies the structural tables read from their resource file
+ */
+public class StructuralTablesTest {
+    //Read from the test resources
+    static final String SHORT_SPANS_BUILDING_CODE = "test-short-spans";
+
+    @Test
+    public void defaultTablesHoldTheRulesOfTheGuide() {
+        StructuralTables tables = StructuralTables.getDefault();
+
+        assertThat(tables.getAllowedSpanLength(16f, 2f, 10f)).isEqualTo(Conversion.feetToInches(15, 2));
+        assertThat(tables.getAllowedSpanLength(12.5f, 2f, 10f)).isEqualTo(Conversion.feetToInches(15, 2));
+        assertThat(tables.getAllowedSpanLength(24.5f, 2f, 10f)).isEqualTo(-1f);
+        assertThat(tables.getAllowedSpanLength(16f, 4f, 4f)).isEqualTo(-1f);
+        assertThat(tables.getAllowedJoistSpacing(1.25f, 6f)).isEqualTo(12f);
+        assertThat(tables.getAllowedCantileverLength(2f, 8f)).isEqualTo(16f);
+        assertThat(tables.getAllowedPostNominalSize(7f, 2)).isEqualTo(6f);
+        assertThat(tables.getAllowedPostNominalSize(0.5f, 2)).isEqualTo(-1f);
+        assertThat(tables.getAllowedPostNominalSize(0.5f, 3)).isEqualTo(6f);
+    }
+
+    @Test
+    public void beamLookupFillsTheReusedProperties() {
+        StructuralTables tables = StructuralTables.getDefault();
+        BeamProperties beamProperties = new BeamProperties();
+
+        assertThat(tables.findAllowedBeamProperties(Conversion.feetToInches(7), Conversion.feetToInches(12), true,
+                beamProperties)).isTrue();
+        assertThat(beamProperties.getPliesCount()).isEqualTo(3);
+        assertThat(beamProperties.getBeamWidth()).isEqualTo(10f);
+        assertThat(beamProperties.hasAlternate()).isFalse();
+
+        assertThat(tables.findAllowedBeamProperties(Conversion.feetToInches(5), Conversion.feetToInches(12), false,
+                beamProperties)).isTrue();
+        assertThat(beamProperties.getPliesCount()).isEqualTo(2);
+        assertThat(beamProperties.getBeamWidth()).isEqualTo(6f);
+
+        assertThat(tables.findAllowedBeamProperties(Conversion.feetToInches(9), Conversion.feetToInches(12), false,
+                beamProperties)).isFalse();
+        assertThat(tables.findAllowedBeamProperties(-1f, Conversion.feetToInches(12), false, beamProperties))
+                .isFalse();
+    }
+
+    @Test
+    public void unsortedBeamRowsAreRejected() throws IOException {
+        String tables = "[single_span_beams]\n" +
+                "4'  15'  1  2x6\n" +
+                "4'  7'   2  2x6\n";
+        boolean isRejected = false;
+
+        try {
+            StructuralTables.read(new BufferedReader(new StringReader(tables)));
+        } catch (IllegalArgumentException e) {
+            isRejected = true;
+        }
+
+        assertThat(isRejected).isTrue();
+    }
+
+    @Test
+    public void buildingCodeTablesAreReadOnce() {
+        assertThat(StructuralTables.getBuildingCodes().containsKey(StructuralTables.DEFAULT_BUILDING_CODE)).isTrue();
+        assertThat(StructuralTables.get(StructuralTables.DEFAULT_BUILDING_CODE))
+                .isSameInstanceAs(StructuralTables.getDefault());
+
+        StructuralTables shortSpansTables = StructuralTables.get(SHORT_SPANS_BUILDING_CODE);
+        assertThat(StructuralTables.get(SHORT_SPANS_BUILDING_CODE)).isSameInstanceAs(shortSpansTables);
+        assertThat(shortSpansTables.getAllowedSpanLength(16f, 2f, 10f)).isEqualTo(Conversion.feetToInches(2));
+        assertThat(shortSpansTables.getAllowedJoistSpacing(1.25f, 6f)).isEqualTo(12f);
+    }
+
+    @Test
+    public void buildingCodeOutsideTheTablesDirectoryIsRejected() {
+        boolean isRejected = false;
+
+        try {
+            StructuralTables.get("../pationator");
+        } catch (IllegalArgumentException e) {
+            isRejected = true;
+        }
+
+        assertThat(isRejected).isTrue();
+    }
+
+    @Test
+    public void buildingCodeWithoutTablesIsRejected() {
+        boolean isRejected = false;
+
+        try {
+            StructuralTables.get("missing-code");
+        } catch (IllegalStateException e) {
+            isRejected = true;
+        }
+
+        assertThat(isRejected).isTrue();
+    }
+}
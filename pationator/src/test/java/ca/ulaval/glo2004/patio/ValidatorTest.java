@@ -0,0 +1,244 @@
+package ca.ulaval.glo2004.patio;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import ca.ulaval.glo2004.utils.Dimensions;
+import ca.ulaval.glo2004.utils.ErrorsFoundListener;
+import ca.ulaval.glo2004.utils.NoErrorsFoundListener;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Verifies the validation of the patio
+ */
+public class ValidatorTest {
+    private static final float[][] PATIO_DIMENSIONS = {
+            {120f, 40f, 150f}, {240f, 70.5f, 300f}, {360f, 100f, 420f}, {480f, 150f, 600f}};
+    private static final float[] JOIST_SPACINGS = {8f, 16f, 26f};
+    private static final float[] POST_WIDTHS = {3.5f, 5.5f};
+    private static final float[] LUMBER_HEIGHTS = {5.5f, 7.25f, 9.25f, 11.25f};
+    private static final int NB_MODIFICATIONS = 300;
+
+    @Test
+    public void configurationValidationFindsTheErrorsOfTheGeneratedPatio() {
+        int nbInvalidConfigurations = 0;
+        int nbValidConfigurations = 0;
+
+        for (float[] patioDimensions : PATIO_DIMENSIONS) {
+            for (float joistSpacing : JOIST_SPACINGS) {
+                for (float postWidth : POST_WIDTHS) {
+                    for (int pliesPerBeam = 1; pliesPerBeam <= 3; pliesPerBeam++) {
+                        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+                        patioInfo.setPatioDimensions(
+                                new Dimensions(patioDimensions[0], patioDimensions[1], patioDimensions[2]), true);
+                        patioInfo.setJoistSpacing(joistSpacing);
+                        patioInfo.setPostDimensions(new Dimensions(postWidth, postWidth,
+                                patioInfo.getPostDimensions().getActualDepth()), true);
+                        patioInfo.setPliesPerBeam(pliesPerBeam);
+
+                        Patio patio = new Patio();
+                        patio.setPatioInfo(patioInfo);
+                        patio.updatePatio();
+
+                        Validator patioValidator = new Validator(patio);
+                        patioValidator.validate();
+                        Validator configurationValidator = new Validator(null);
+                        configurationValidator.validateConfiguration(patioInfo);
+
+                        assertThat(configurationValidator.getErrors()).isEqualTo(patioValidator.getErrors());
+                        if (configurationValidator.getErrors().isEmpty())
+                            nbValidConfigurations++;
+                        else
+                            nbInvalidConfigurations++;
+                    }
+                }
+            }
+        }
+
+        assertThat(nbValidConfigurations > 0).isTrue();
+        assertThat(nbInvalidConfigurations > 0).isTrue();
+    }
+
+    @Test
+    public void incrementalValidationFindsTheErrorsOfAFullValidation() {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        Patio patio = new Patio();
+        patio.setPatioInfo(patioInfo);
+
+        final HashSet<ValidationErrorType> notifiedErrors = new HashSet<>();
+        patio.addErrorsFoundListener(new ErrorsFoundListener() {
+            @Override
+            public void onErrorsFound(HashSet<ValidationErrorType> _errors) {
+                notifiedErrors.clear();
+                notifiedErrors.addAll(_errors);
+            }
+        });
+        patio.addNoErrorsFoundListener(new NoErrorsFoundListener() {
+            @Override
+            public void onNoErrorsFound() {
+                notifiedErrors.clear();
+            }
+        });
+
+        Random random = new Random(22);
+        int nbInvalidPatios = 0;
+        for (int idxModification = 0; idxModification < NB_MODIFICATIONS; idxModification++) {
+            modifyRandomly(patioInfo, random);
+            patio.updatePatio();
+
+            Validator fullValidator = new Validator(patio);
+            fullValidator.validate();
+
+            assertThat(notifiedErrors).isEqualTo(fullValidator.getErrors());
+            assertThat(getLocatedErrors(patio.getErrorLocations()))
+                    .isEqualTo(getLocatedErrors(fullValidator.getErrorLocations()));
+            if (!notifiedErrors.isEmpty())
+                nbInvalidPatios++;
+        }
+
+        assertThat(nbInvalidPatios > 0).isTrue();
+        assertThat(nbInvalidPatios < NB_MODIFICATIONS).isTrue();
+    }
+
+    @Test
+    public void errorsAreLocatedInTheOffendingPieces() {
+        int postErrorsMask = BulkValidator.getErrorBit(ValidationErrorType.POST_HEIGHT) |
+                BulkValidator.getErrorBit(ValidationErrorType.POST_DIMENSIONS);
+        int coveringErrorsMask = BulkValidator.getErrorBit(ValidationErrorType.COVERING_DIMENSIONS);
+        int nbLocatedBeams = 0;
+
+        for (float[] patioDimensions : PATIO_DIMENSIONS) {
+            for (float joistSpacing : JOIST_SPACINGS) {
+                for (int pliesPerBeam = 1; pliesPerBeam <= 3; pliesPerBeam++) {
+                    PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+                    patioInfo.setPatioDimensions(
+                            new Dimensions(patioDimensions[0], patioDimensions[1], patioDimensions[2]), true);
+                    patioInfo.setJoistSpacing(joistSpacing);
+                    patioInfo.setPliesPerBeam(pliesPerBeam);
+                    Patio patio = new Patio();
+                    patio.setPatioInfo(patioInfo);
+                    patio.updatePatio();
+
+                    ValidationErrorLocations errorLocations = patio.getErrorLocations();
+                    int locatedErrorsMask = 0;
+                    for (int idxLocation = 0; idxLocation < errorLocations.size(); idxLocation++) {
+                        Component component = errorLocations.getComponent(idxLocation);
+                        int errorsMask = errorLocations.getErrorsMask(idxLocation);
+
+                        assertThat(patio.getComponents().contains(component)).isTrue();
+                        assertThat(component.getWoodPieces().contains(errorLocations.getWoodPiece(idxLocation)))
+                                .isTrue();
+                        assertThat(errorsMask != 0).isTrue();
+                        if (component instanceof Post)
+                            assertThat(errorsMask & ~postErrorsMask).isEqualTo(0);
+                        else if (component instanceof Covering)
+                            assertThat(errorsMask).isEqualTo(coveringErrorsMask);
+                        else if (component instanceof Beam)
+                            nbLocatedBeams++;
+
+                        locatedErrorsMask |= errorsMask;
+                    }
+
+                    //Every error found is located in some piece
+                    assertThat(locatedErrorsMask).isEqualTo(BulkValidator.getErrorsMask(getFullValidationErrors(patio)));
+                }
+            }
+        }
+
+        assertThat(nbLocatedBeams > 0).isTrue();
+    }
+
+    @Test
+    public void buildingCodeSelectsTheTablesOfTheValidation() {
+        PatioInfo patioInfo = PatioInfoFactory.getInstance().createDefaultPatio();
+        patioInfo.setJoistSpacing(8f);
+        Patio patio = new Patio();
+        patio.setPatioInfo(patioInfo);
+        patio.updatePatio();
+        Validator patioValidator = new Validator(patio);
+
+        patioValidator.validate();
+        assertThat(patioValidator.getErrors().contains(ValidationErrorType.SPAN_LENGTH)).isFalse();
+
+        patioInfo.setBuildingCode(StructuralTablesTest.SHORT_SPANS_BUILDING_CODE);
+        patioValidator.validate(patioInfo.getModifiedFields());
+        assertThat(patioValidator.getErrors().contains(ValidationErrorType.SPAN_LENGTH)).isTrue();
+
+        Validator configurationValidator = new Validator(null);
+        configurationValidator.validateConfiguration(patioInfo);
+        assertThat(configurationValidator.getErrors()).isEqualTo(patioValidator.getErrors());
+    }
+
+    private static HashSet<ValidationErrorType> getFullValidationErrors(Patio _patio) {
+        Validator validator = new Validator(_patio);
+        validator.validate();
+
+        return validator.getErrors();
+    }
+
+    private static HashMap<WoodPiece, Integer> getLocatedErrors(ValidationErrorLocations _errorLocations) {
+        HashMap<WoodPiece, Integer> locatedErrors = new HashMap<>();
+
+        for (int idxLocation = 0; idxLocation < _errorLocations.size(); idxLocation++) {
+            WoodPiece woodPiece = _errorLocations.getWoodPiece(idxLocation);
+            Integer errorsMask = locatedErrors.get(woodPiece);
+
+            locatedErrors.put(woodPiece,
+                    (errorsMask != null ? errorsMask : 0) | _errorLocations.getErrorsMask(idxLocation));
+        }
+
+        return locatedErrors;
+    }
+
+    private static void modifyRandomly(PatioInfo _patioInfo, Random _random) {
+        //The components affected by a modification are only resized sometimes, so the rules must not rely on it
+        boolean resizeAffectingComponents = _random.nextBoolean();
+
+        switch (_random.nextInt(10)) {
+            case 0:
+                _patioInfo.setPatioDimensions(new Dimensions(_patioInfo.getPatioDimensions().getActualWidth(),
+                        _patioInfo.getPatioDimensions().getActualHeight(), 150f + _random.nextInt(450)), true);
+                break;
+            case 1:
+                _patioInfo.setJoistSpacing(8f + _random.nextInt(19));
+                break;
+            case 2:
+                Dimensions joistDimensions = _patioInfo.getJoistDimensions();
+                _patioInfo.setJoistDimensions(new Dimensions(joistDimensions.getActualWidth(),
+                        LUMBER_HEIGHTS[_random.nextInt(LUMBER_HEIGHTS.length)], joistDimensions.getActualDepth()),
+                        resizeAffectingComponents);
+                break;
+            case 3:
+                _patioInfo.setCantileverLength(_random.nextInt(40), resizeAffectingComponents);
+                break;
+            case 4:
+                Dimensions beamDimensions = _patioInfo.getBeamPlieDimensions();
+                _patioInfo.setBeamDimensions(new Dimensions(beamDimensions.getActualWidth(),
+                        LUMBER_HEIGHTS[_random.nextInt(LUMBER_HEIGHTS.length)], beamDimensions.getActualDepth()),
+                        resizeAffectingComponents);
+                break;
+            case 5:
+                _patioInfo.setPliesPerBeam(1 + _random.nextInt(3));
+                break;
+            case 6:
+                float postWidth = POST_WIDTHS[_random.nextInt(POST_WIDTHS.length)];
+                _patioInfo.setPostDimensions(new Dimensions(postWidth, postWidth,
+                        _patioInfo.getPostDimensions().getActualDepth()), true);
+                break;
+            case 7:
+                _patioInfo.setPostsPerBeam(2 + _random.nextInt(4), true);
+                break;
+            case 8:
+                _patioInfo.setBuildingCode(_random.nextBoolean() ? StructuralTables.DEFAULT_BUILDING_CODE :
+                        StructuralTablesTest.SHORT_SPANS_BUILDING_CODE);
+                break;
+            default:
+                _patioInfo.setJoistColor(new Color(_random.nextInt(0x1000000)));
+                break;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ca.ulaval.glo2004.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Verifies that the lumber sizes are only found for the exact values of their tables
+ */
+public class ConversionTest {
+    @Test
+    public void exactValuesAreFound() {
+        assertThat(Conversion.getNominalFromMillimeter(19f)).isEqualTo(1f);
+        assertThat(Conversion.getNominalFromMillimeter(286f)).isEqualTo(12f);
+        assertThat(Conversion.getActualInchesFromNominal(1.25f)).isEqualTo(1f);
+        assertThat(Conversion.getNominalFromActualInches(7.25f)).isEqualTo(8f);
+        assertThat(Conversion.getMillimeterFromNominal(2f)).isEqualTo(38f);
+    }
+
+    @Test
+    public void roundedValuesAreNotFound() {
+        assertThat(Conversion.getNominalFromMillimeter(19.4f)).isEqualTo(0f);
+        assertThat(Conversion.getNominalFromMillimeter(18.6f)).isEqualTo(0f);
+        assertThat(Conversion.getActualInchesFromNominal(2f + 1f / 256f)).isEqualTo(0f);
+        assertThat(Conversion.getNominalFromActualInches(7.26f)).isEqualTo(0f);
+        assertThat(Conversion.getMillimeterFromNominal(1.99f)).isEqualTo(0f);
+    }
+
+    @Test
+    public void valuesOutOfTheTablesAreNotFound() {
+        assertThat(Conversion.getNominalFromMillimeter(20f)).isEqualTo(0f);
+        assertThat(Conversion.getActualInchesFromNominal(9f)).isEqualTo(0f);
+        assertThat(Conversion.getNominalFromActualInches(-1f)).isEqualTo(0f);
+    }
+}
@@ -0,0 +1,50 @@
+package ca.ulaval.glo2004.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Verifies the primitive map used to count the pieces per fixed-point length
+ */
+public class LongIntMapTest {
+    @Test
+    public void keysAreCountedAndKeptInInsertionOrderWhileGrowing() {
+        LongIntMap map = new LongIntMap();
+
+        for (int repetition = 0; repetition < 3; repetition++) {
+            for (long key = 1000; key > 0; key--) {
+                map.add(key * FixedLength.UNITS_PER_INCH, 1);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(1000);
+        for (int idxEntry = 0; idxEntry < map.size(); idxEntry++) {
+            assertThat(map.keyAt(idxEntry)).isEqualTo((1000L - idxEntry) * FixedLength.UNITS_PER_INCH);
+            assertThat(map.valueAt(idxEntry)).isEqualTo(3);
+        }
+        assertThat(map.get(-1L, 0)).isEqualTo(0);
+
+        map.clear();
+        assertThat(map.size()).isEqualTo(0);
+        assertThat(map.get(FixedLength.UNITS_PER_INCH, -1)).isEqualTo(-1);
+    }
+
+    @Test
+    public void lengthsRoundingToTheSameSixtyFourthAreGroupedTogether() {
+        float length = 100f / 3f;
+        float accumulatedLength = 0f;
+        for (int i = 0; i < 100; i++) {
+            accumulatedLength += length / 100f;
+        }
+
+        assertThat(accumulatedLength).isNotEqualTo(length);
+
+        LongIntMap map = new LongIntMap();
+        map.add(FixedLength.fromInches(length), 1);
+        map.add(FixedLength.fromInches(accumulatedLength), 1);
+
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.valueAt(0)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,63 @@
+package ca.ulaval.glo2004.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import ca.ulaval.glo2004.patio.ComponentType;
+import ca.ulaval.glo2004.patio.MeasureType;
+import ca.ulaval.glo2004.patio.MeasureUnit;
+import org.junit.Test;
+
+/**
+ * Verifies that the lumber IDs of the catalog describe the same lumbers as the possibilities displayed to the user
+ */
+public class LumberCatalogTest {
+    private static final ComponentType[] COMPONENT_TYPES = {
+            ComponentType.JOIST, ComponentType.BEAM, ComponentType.POST, ComponentType.COVERING_PLANK
+    };
+
+    @Test
+    public void standardLumbersAreInTheOrderOfThePossibilities() {
+        LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+        String[] possibilities = LumberDimension.getPossibility();
+
+        assertThat(LumberCatalog.NB_STANDARD_LUMBERS).isEqualTo(possibilities.length);
+        for (int lumberId = 0; lumberId < possibilities.length; lumberId++) {
+            String[] nominalDimensions = LumberDimension.splitLumberDimensions(possibilities[lumberId]);
+
+            assertThat(lumberCatalog.getNominalHeight(lumberId))
+                    .isEqualTo(new Fraction(nominalDimensions[0]).toFloat());
+            assertThat(lumberCatalog.getNominalWidth(lumberId))
+                    .isEqualTo(new Fraction(nominalDimensions[1]).toFloat());
+            assertThat(lumberCatalog.getLumberId(lumberCatalog.getLumberName(lumberId))).isEqualTo(lumberId);
+        }
+    }
+
+    @Test
+    public void componentLumbersMatchThePossibilities() {
+        LumberCatalog lumberCatalog = LumberCatalog.getInstance();
+
+        for (ComponentType componentType : COMPONENT_TYPES) {
+            String[] nominalPossibilities = LumberDimension.getPossibility(MeasureType.NOMINAL, componentType);
+            String[] realPossibilities = LumberDimension.getPossibility(MeasureType.REAL, componentType);
+            String[] metricPossibilities = LumberDimension.getPossibility(MeasureUnit.METRIC, componentType);
+
+            assertThat(lumberCatalog.getLumberCount(componentType)).isEqualTo(nominalPossibilities.length);
+            for (int idxLumber = 0; idxLumber < nominalPossibilities.length; idxLumber++) {
+                int lumberId = lumberCatalog.getLumberId(componentType, idxLumber);
+                String[] nominalDimensions = LumberDimension.splitLumberDimensions(nominalPossibilities[idxLumber]);
+                String[] realDimensions = LumberDimension.splitLumberDimensions(realPossibilities[idxLumber]);
+
+                assertThat(lumberCatalog.getNominalHeight(lumberId))
+                        .isEqualTo(new Fraction(nominalDimensions[0]).toFloat());
+                assertThat(lumberCatalog.getNominalWidth(lumberId))
+                        .isEqualTo(new Fraction(nominalDimensions[1]).toFloat());
+                assertThat(lumberCatalog.getRealLumberName(lumberId)).isEqualTo(realPossibilities[idxLumber]);
+                assertThat(lumberCatalog.getMetricLumberName(lumberId)).isEqualTo(metricPossibilities[idxLumber]);
+                assertThat(lumberCatalog.getActualHeight(lumberId))
+                        .isEqualTo(new Fraction(realDimensions[0]).toFloat());
+                assertThat(lumberCatalog.getActualWidth(lumberId))
+                        .isEqualTo(new Fraction(realDimensions[1]).toFloat());
+            }
+        }
+    }
+}